@@ -54,6 +54,12 @@ public class IPAddressIntelligenceResponse implements Serializable {
     @Builder.Default
     private IPAddressIntelligenceStatus status = IPAddressIntelligenceStatus.ALLOWED;
 
+    /**
+     * Whether the examination could not be completed, such as when the remote service
+     * could not be reached. Such responses are never reused for other requests.
+     */
+    private boolean failed;
+
     public boolean isBanned() {
         return status == IPAddressIntelligenceStatus.BANNED;
     }
@@ -89,4 +95,17 @@ public class IPAddressIntelligenceResponse implements Serializable {
             .score(IPAddressIntelligenceStatus.BANNED.getScore())
             .build();
     }
+
+    /**
+     * Banned ip address intelligence response, for an examination that could not be completed.
+     *
+     * @return the ip address intelligence response
+     */
+    public static IPAddressIntelligenceResponse failed() {
+        return builder()
+            .status(IPAddressIntelligenceStatus.BANNED)
+            .score(IPAddressIntelligenceStatus.BANNED.getScore())
+            .failed(true)
+            .build();
+    }
 }
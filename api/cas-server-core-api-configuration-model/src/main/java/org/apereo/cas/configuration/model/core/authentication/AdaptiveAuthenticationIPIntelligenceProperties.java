@@ -38,6 +38,19 @@ public class AdaptiveAuthenticationIPIntelligenceProperties implements Serializa
      */
     private BlackDot blackDot = new BlackDot();
 
+    /**
+     * How long verdicts of the REST or BlackDot services should be remembered for an ip address,
+     * so that repeated authentication attempts from the same address do not call out to the service again.
+     * IPv6 addresses share a verdict with the rest of their {@code /64} network.
+     * Verdicts from failed calls are never remembered. A zero value disables caching.
+     */
+    private String cacheExpiration = "PT10M";
+
+    /**
+     * Maximum number of ip addresses whose verdicts are remembered.
+     */
+    private long cacheMaximumSize = 10_000;
+
     @RequiresModule(name = "cas-server-core-authentication", automated = true)
     @Getter
     @Setter
@@ -7,6 +7,8 @@ import lombok.Setter;
 import org.springframework.core.io.Resource;
 
 import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Configuration properties class for http.client.truststore.
@@ -64,6 +66,121 @@ public class HttpClientProperties implements Serializable {
      */
     private boolean authorityValidationRegExCaseSensitive = true;
 
+    /**
+     * Settings of the connection pool used for outbound REST calls,
+     * unless the caller's named pool is defined separately.
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * Connection pools used for outbound REST calls, keyed by name.
+     * Components that reach out to remote endpoints ask for a pool by name
+     * and are given an independent pool with the settings defined here,
+     * or with the default pool settings if the name is not listed.
+     */
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Pool implements Serializable {
+
+        private static final long serialVersionUID = 2374628593840193542L;
+
+        /**
+         * Maximum number of connections held by the pool.
+         */
+        private int maxConnections = 200;
+
+        /**
+         * Maximum number of connections held by the pool for a single route.
+         */
+        private int maxConnectionsPerRoute = 20;
+
+        /**
+         * Timeout for establishing a connection.
+         */
+        private String connectTimeout = "PT5S";
+
+        /**
+         * Timeout for waiting on data, once the connection is established.
+         * If left blank, requests wait on the endpoint for as long as it takes.
+         */
+        private String socketTimeout = "PT30S";
+
+        /**
+         * Timeout for leasing a connection from the pool, or a permit from the bulkhead.
+         */
+        private String connectionRequestTimeout = "PT5S";
+
+        /**
+         * How long idle connections are kept alive for reuse,
+         * unless the remote endpoint asks for a shorter period.
+         */
+        private String keepAlive = "PT30S";
+
+        /**
+         * Idle period after which pooled connections are validated before they are reused.
+         */
+        private String validateAfterInactivity = "PT2S";
+
+        /**
+         * Maximum number of requests allowed to run concurrently through the pool.
+         * Requests that cannot obtain a permit within the connection request timeout are rejected.
+         * Zero or negative values disable the bulkhead.
+         */
+        private int maxConcurrentRequests;
+
+        /**
+         * Number of consecutive failures, i.e. I/O errors or server errors, after which
+         * the circuit opens and requests are rejected right away. Zero or negative values
+         * disable circuit breaking.
+         */
+        private int circuitBreakerFailureThreshold;
+
+        /**
+         * How long the circuit stays open before a request is allowed to try the endpoint again.
+         */
+        private String circuitBreakerOpenDuration = "PT30S";
+
+        /**
+         * Cache responses to {@code GET} requests made through this pool.
+         */
+        private ResponseCache responseCache = new ResponseCache();
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache implements Serializable {
+
+        private static final long serialVersionUID = 6638251870328849431L;
+
+        /**
+         * Whether responses should be cached. Freshness is determined by the {@code Cache-Control}
+         * and {@code Expires} headers of the response, and expired responses that carry an {@code ETag}
+         * or {@code Last-Modified} header are revalidated with a conditional request.
+         * Concurrent identical requests are coalesced into a single request to the endpoint.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of responses kept in the cache.
+         */
+        private long maxEntries = 10_000;
+
+        /**
+         * How long responses that carry no freshness information of their own are considered fresh.
+         * Useful for endpoints whose responses are known not to change. Zero disables caching of such responses,
+         * unless they can be revalidated.
+         */
+        private String ttl = "PT0S";
+
+        /**
+         * How long after expiring a cached response may still be served when the endpoint fails
+         * or responds with a server error. Expired responses are also kept around for revalidation during this period.
+         */
+        private String staleIfError = "PT5M";
+    }
+
     @Getter
     @Setter
     public static class Truststore implements Serializable {
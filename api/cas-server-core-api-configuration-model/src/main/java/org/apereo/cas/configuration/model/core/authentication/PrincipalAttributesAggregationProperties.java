@@ -0,0 +1,59 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link PrincipalAttributesAggregationProperties}.
+ * Controls how the configured attribute repository sources are queried when their results are merged together.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-support-person-directory", automated = true)
+@Getter
+@Setter
+public class PrincipalAttributesAggregationProperties implements Serializable {
+
+    private static final long serialVersionUID = 2364193857520441763L;
+
+    /**
+     * Query attribute repository sources concurrently rather than one after another.
+     * Results are always merged in the order in which sources are defined, regardless of
+     * which source responds first. Sources are then queried on worker threads, so sources
+     * that depend on the state of the calling thread may not be queried concurrently.
+     */
+    private boolean parallel;
+
+    /**
+     * Maximum number of sources that may be queried concurrently across all requests.
+     * When all threads are busy, the calling thread queries the source itself.
+     */
+    private int maxConcurrency = 10;
+
+    /**
+     * Maximum amount of time to wait for a source to produce results, measured from the moment
+     * all sources are queried. A zero value waits indefinitely.
+     */
+    private String timeout = "PT0S";
+
+    /**
+     * Timeouts for specific source types, overriding the default timeout.
+     * Keys are source types, such as {@code ldap}, {@code jdbc}, {@code rest}, {@code groovy},
+     * {@code json}, {@code script}, {@code grouper} or {@code stub}.
+     */
+    private Map<String, String> timeouts = new LinkedHashMap<>();
+
+    /**
+     * Whether results of the remaining sources should be used when a source fails or times out.
+     * If false, principal attribute resolution fails as a whole. If left undefined,
+     * the default behavior of the attribute repository is kept.
+     */
+    private Boolean partialResults;
+}
@@ -1,9 +1,12 @@
 package org.apereo.cas.configuration.model.core.slo;
 
+import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
+import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serializable;
 
@@ -30,4 +33,124 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Settings that control how back-channel logout messages are dispatched.
+     */
+    private Dispatcher dispatcher = new Dispatcher();
+
+    /**
+     * Settings that control the durable outbox for back-channel logout messages.
+     */
+    private Outbox outbox = new Outbox();
+
+    @RequiresModule(name = "cas-server-core-logout", automated = true)
+    @Getter
+    @Setter
+    public static class Dispatcher implements Serializable {
+
+        private static final long serialVersionUID = 2471547352914315766L;
+
+        /**
+         * Whether back-channel logout messages should be fanned out concurrently
+         * to all applications by a dedicated dispatcher, rather than sent one at a time.
+         * When SLO is not asynchronous, logout waits for all messages to complete
+         * for up to the configured timeout, instead of waiting for each message in turn.
+         */
+        private boolean enabled;
+
+        /**
+         * Number of threads used to deliver logout messages concurrently.
+         */
+        private int poolSize = 20;
+
+        /**
+         * Maximum number of logout messages in flight against a single destination host.
+         * Remaining messages for that host are queued until a slot frees up.
+         */
+        private int maxInFlightPerHost = 4;
+
+        /**
+         * Maximum number of logout messages that may be queued for a single destination host.
+         * Messages beyond this limit are dropped and recorded as failures.
+         */
+        private int maxQueuedPerHost = 1000;
+
+        /**
+         * Maximum number of delivery attempts per logout message, including the first.
+         * Only connection failures and server errors are retried.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Delay before the first retry. Each subsequent retry doubles the delay.
+         */
+        private String retryBackoff = "PT0.5S";
+
+        /**
+         * When SLO is not asynchronous, the maximum amount of time logout
+         * waits for all logout messages of a single session to complete.
+         */
+        private String timeout = "PT10S";
+    }
+
+    @RequiresModule(name = "cas-server-support-slo-jdbc")
+    @Getter
+    @Setter
+    public static class Outbox implements Serializable {
+
+        private static final long serialVersionUID = -2925139452783416307L;
+
+        /**
+         * Maximum number of pending logout messages claimed from the outbox in one batch.
+         */
+        private int batchSize = 100;
+
+        /**
+         * How long a claimed batch is reserved for the claiming node.
+         * If the node does not complete the batch within this period,
+         * for example because it was stopped, the messages may be claimed by any other node.
+         */
+        private String leaseDuration = "PT2M";
+
+        /**
+         * Maximum number of delivery rounds for a logout message before it is abandoned and removed from the outbox.
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * Delay before a failed logout message becomes eligible for delivery again.
+         * Each subsequent failure doubles the delay.
+         */
+        private String retryBackoff = "PT30S";
+
+        /**
+         * Scheduler settings to indicate how often the outbox is drained.
+         */
+        @NestedConfigurationProperty
+        private SchedulingProperties schedule = new SchedulingProperties();
+
+        /**
+         * Store pending logout messages in a relational database.
+         */
+        private Jdbc jdbc = new Jdbc();
+
+        public Outbox() {
+            schedule.setStartDelay("PT15S");
+            schedule.setRepeatInterval("PT10S");
+        }
+    }
+
+    @RequiresModule(name = "cas-server-support-slo-jdbc")
+    @Getter
+    @Setter
+    public static class Jdbc extends AbstractJpaProperties {
+
+        private static final long serialVersionUID = 5283794216720350215L;
+
+        /**
+         * Name of the table that holds pending logout messages.
+         */
+        private String tableName = "CAS_SLO_OUTBOX";
+    }
 }
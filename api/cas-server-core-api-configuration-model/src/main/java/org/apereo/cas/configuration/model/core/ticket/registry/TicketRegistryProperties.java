@@ -119,6 +119,33 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
 
+    /**
+     * Decide how child tickets, such as service, proxy and OAuth tickets, reference
+     * their parent ticket-granting ticket once serialized by the ticket registry.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code REFERENCE}: The parent ticket is serialized along with each child ticket.</li>
+     * <li>{@code ID}: Only the parent ticket id is serialized, and the parent ticket is resolved
+     * lazily from the ticket registry once accessed. This does not apply to the JPA ticket registry,
+     * where tickets are linked via table relationships.</li>
+     * </ul>
+     */
+    private ParentTicketLinkageTypes parentTicketLinkage = ParentTicketLinkageTypes.REFERENCE;
+
+    /**
+     * The parent ticket linkage types.
+     */
+    public enum ParentTicketLinkageTypes {
+        /**
+         * Serialize the parent ticket along with the child ticket.
+         */
+        REFERENCE,
+        /**
+         * Serialize the parent ticket id with the child ticket.
+         */
+        ID
+    }
+
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     @Getter
     @Setter
@@ -35,6 +35,14 @@ public class ViewProperties implements Serializable {
      */
     private List<String> templatePrefixes = new ArrayList<>();
 
+    /**
+     * Render CAS2 and CAS3 validation responses as well as proxy responses
+     * directly into the response, without evaluating view templates.
+     * The output matches that of the default protocol templates.
+     * Views whose location is changed from the default continue to be rendered via templates.
+     */
+    private boolean templateFreeValidationResponses;
+
     /**
      * CAS1 views and locations.
      */
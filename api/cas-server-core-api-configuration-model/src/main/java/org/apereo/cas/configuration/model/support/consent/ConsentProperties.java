@@ -82,6 +82,11 @@ public class ConsentProperties implements Serializable {
     @NestedConfigurationProperty
     private EncryptionJwtSigningJwtCryptographyProperties crypto = new EncryptionJwtSigningJwtCryptographyProperties();
 
+    /**
+     * Cache consent decisions per principal.
+     */
+    private Cache cache = new Cache();
+
     public ConsentProperties() {
         crypto.getEncryption().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_ENCRYPTION_KEY_SIZE);
         crypto.getSigning().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_SIGNING_KEY_SIZE);
@@ -164,4 +169,31 @@ public class ConsentProperties implements Serializable {
          */
         private String endpoint;
     }
+
+    @RequiresModule(name = "cas-server-support-consent-webflow")
+    @Getter
+    @Setter
+    public static class Cache implements Serializable {
+
+        private static final long serialVersionUID = 3524926316376327312L;
+
+        /**
+         * Whether consent decisions should be cached per principal, so that the
+         * repository is queried at most once per principal and service while the entry lives.
+         * Cached decisions are updated when decisions are stored or deleted through CAS.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Amount of time after which a principal's cached decisions are evicted once loaded,
+         * so that decisions changed outside of this CAS node are eventually picked up.
+         * This should typically match the lifetime of the single sign-on session.
+         */
+        private String expireAfterWrite = "PT8H";
+
+        /**
+         * Maximum number of principals whose decisions are cached.
+         */
+        private long maximumSize = 10_000;
+    }
 }
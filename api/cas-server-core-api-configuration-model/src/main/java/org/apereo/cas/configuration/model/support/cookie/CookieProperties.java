@@ -74,4 +74,17 @@ public class CookieProperties implements Serializable {
      * the current session, such as IP address, user-agent, etc.
      */
     private boolean pinToSession = true;
+
+    /**
+     * How long decoded cookie values are remembered, keyed by the cookie value along with
+     * the client IP address and user-agent of the request. Repeated requests that present the same
+     * cookie from the same client within this period skip verifying and decrypting the cookie again.
+     * A zero value disables the cache. The decoded value is always memoized for the duration of a single request.
+     */
+    private String decodedValueCacheDuration = "PT0S";
+
+    /**
+     * Maximum number of decoded cookie values that are remembered.
+     */
+    private long decodedValueCacheSize = 10_000;
 }
@@ -34,6 +34,7 @@ public class TicketGrantingCookieProperties extends CookieProperties {
 
     public TicketGrantingCookieProperties() {
         super.setName("TGC");
+        super.setDecodedValueCacheDuration("PT5S");
         crypto.getEncryption().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_ENCRYPTION_KEY_SIZE);
         crypto.getSigning().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_SIGNING_KEY_SIZE);
     }
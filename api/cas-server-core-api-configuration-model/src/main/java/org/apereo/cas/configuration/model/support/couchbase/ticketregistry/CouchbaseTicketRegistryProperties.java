@@ -27,6 +27,19 @@ public class CouchbaseTicketRegistryProperties extends BaseCouchbaseProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Number of view rows fetched per page when tickets are
+     * listed or removed in bulk. Pages are fetched one after the other,
+     * each starting right after the last key of the previous page.
+     */
+    private int pageSize = 500;
+
+    /**
+     * Maximum number of documents removed concurrently
+     * when tickets are removed in bulk.
+     */
+    private int maxConcurrentMutations = 16;
+
     public CouchbaseTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
@@ -30,6 +30,12 @@ public class CouchDbTicketRegistryProperties extends BaseCouchDbProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Number of ticket documents fetched from views, or removed in a single bulk operation,
+     * when tickets are listed, cleaned or removed together.
+     */
+    private int pageSize = 500;
+
     public CouchDbTicketRegistryProperties() {
         this.crypto.setEnabled(false);
         this.setDbName("ticket_registry");
@@ -21,4 +21,17 @@ public abstract class BaseGeoLocationProperties implements Serializable {
      * for geo locations. See <a href="http://ipstack.com">this link</a> for more info.
      */
     private String ipStackApiAccessKey;
+
+    /**
+     * How long the geo location of an ip address should be remembered, so that repeated
+     * authentication attempts from the same address do not look it up again.
+     * IPv6 addresses share a location with the rest of their {@code /64} network.
+     * A zero value disables caching.
+     */
+    private String cacheExpiration = "PT30M";
+
+    /**
+     * Maximum number of ip addresses whose geo locations are remembered.
+     */
+    private long cacheMaximumSize = 10_000;
 }
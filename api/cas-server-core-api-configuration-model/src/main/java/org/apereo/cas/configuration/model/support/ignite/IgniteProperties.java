@@ -170,6 +170,19 @@ public class IgniteProperties implements Serializable {
      */
     private boolean forceServerMode;
 
+    /**
+     * Store tickets along with SQL-indexed fields, such as the ticket expiration time.
+     * When enabled, expired tickets other than ticket-granting tickets are deleted by the nodes that own them
+     * rather than being pulled onto a single node by the cleaner. Requires the {@code ignite-indexing} module.
+     * Changing this setting requires the ticket caches to be recreated.
+     */
+    private boolean indexingEnabled;
+
+    /**
+     * Number of entries fetched per page when streaming tickets from the ticket caches.
+     */
+    private int queryPageSize = 1024;
+
     /**
      * Crypto settings for the registry.
      */
@@ -27,4 +27,30 @@ public class JmsTicketRegistryProperties implements Serializable {
      */
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+
+    /**
+     * Amount of time during which registry changes are collected before they are
+     * published together as a single compressed batch. Repeated changes to the same ticket
+     * within the window are coalesced so only the latest state is published.
+     * A zero value, which is the default, publishes every change immediately on the calling thread.
+     */
+    private String batchWindow = "PT0S";
+
+    /**
+     * Maximum number of changes that are published in a single batch message.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of changes that may be waiting to be published. Once reached,
+     * the calling thread publishes pending changes itself before proceeding.
+     */
+    private int maxPendingChanges = 10_000;
+
+    /**
+     * Whether this node should ask other nodes for a snapshot of their tickets on startup,
+     * so that it does not start with an empty registry. The first node to offer a snapshot
+     * publishes its tickets to this node only.
+     */
+    private boolean snapshotOnStartup = true;
 }
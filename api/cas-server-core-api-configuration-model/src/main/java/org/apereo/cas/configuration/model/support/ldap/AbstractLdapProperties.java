@@ -104,6 +104,12 @@ public abstract class AbstractLdapProperties implements Serializable {
      * number of connections that can be created
      */
     private String blockWaitTime = "PT3S";
+    /**
+     * Whether the connection pool may be shared with other LDAP components
+     * whose connection, bind and pool settings are identical to these.
+     * When disabled, a dedicated connection pool is created for this component.
+     */
+    private boolean shareConnectionPool = true;
     /**
      * If multiple URLs are provided as the ldapURL this describes how each URL will be processed.
      * <ul>
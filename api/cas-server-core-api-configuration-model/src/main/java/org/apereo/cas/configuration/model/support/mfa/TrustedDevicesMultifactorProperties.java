@@ -56,6 +56,24 @@ public class TrustedDevicesMultifactorProperties implements Serializable {
      */
     private TimeUnit timeUnit = TimeUnit.DAYS;
 
+    /**
+     * Indicates how long the absence of a trusted record for a principal and device
+     * should be remembered, so that repeated checks for untrusted devices do not hit the storage.
+     * Records created by this node are reflected immediately; records created by other nodes
+     * become visible once the remembered result expires. A zero value disables this cache.
+     */
+    private String negativeResultCacheExpiration = "PT30S";
+
+    /**
+     * Maximum number of principal and device combinations whose absence of a trusted record is remembered.
+     */
+    private long negativeResultCacheMaximumSize = 10_000;
+
+    /**
+     * Maximum number of expired records removed by the storage in a single delete operation.
+     */
+    private int expirationBatchSize = 500;
+
     /**
      * Store devices records via REST.
      */
@@ -1,9 +1,13 @@
 package org.apereo.cas.configuration.model.support.oauth;
 
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.configuration.model.core.util.EncryptionJwtSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serializable;
 
@@ -30,4 +34,39 @@ public class OAuthAccessTokenProperties implements Serializable {
      * Essentially, this is an idle time out.
      */
     private String timeToKillInSeconds = "PT7200S";
+
+    /**
+     * Crypto settings for access tokens issued as JWTs to services that ask for them.
+     * Such tokens are always signed; encryption is only applied if crypto operations are enabled.
+     */
+    @NestedConfigurationProperty
+    private EncryptionJwtSigningJwtCryptographyProperties crypto = new EncryptionJwtSigningJwtCryptographyProperties();
+
+    /**
+     * Scheduler settings to indicate how often the usage of access tokens, recorded in memory
+     * when access tokens are presented, is written to the ticket registry. The repeat interval
+     * should be well below half of the idle timeout of access tokens. If the scheduler is disabled,
+     * every use of an access token is written to the ticket registry right away.
+     */
+    @NestedConfigurationProperty
+    private SchedulingProperties usageSchedule = new SchedulingProperties();
+
+    /**
+     * Scheduler settings to indicate how often access tokens issued as JWTs that were revoked
+     * by other CAS nodes are collected from the ticket registry. Revocations are checked against
+     * the tokens collected by the node, so tokens revoked on another node may still be accepted
+     * until the next run.
+     */
+    @NestedConfigurationProperty
+    private SchedulingProperties revocationSchedule = new SchedulingProperties();
+
+    public OAuthAccessTokenProperties() {
+        crypto.setEnabled(false);
+        crypto.getEncryption().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_ENCRYPTION_KEY_SIZE);
+        crypto.getSigning().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_SIGNING_KEY_SIZE);
+        usageSchedule.setStartDelay("PT30S");
+        usageSchedule.setRepeatInterval("PT1M");
+        revocationSchedule.setStartDelay("PT5S");
+        revocationSchedule.setRepeatInterval("PT30S");
+    }
 }
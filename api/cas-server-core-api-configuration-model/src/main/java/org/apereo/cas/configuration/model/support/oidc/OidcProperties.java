@@ -33,6 +33,13 @@ public class OidcProperties implements Serializable {
      */
     private int jwksCacheInMinutes = 60;
 
+    /**
+     * How long relying parties and intermediary caches may reuse the JWKS and discovery documents
+     * before revalidating them, advertised via the {@code Cache-Control} header. Revalidation is
+     * answered with {@code 304 Not Modified} as long as the documents remain unchanged.
+     */
+    private String documentCacheControlMaxAge = "PT5M";
+
     /**
      * OIDC issuer.
      */
@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Configuration properties class for cas.throttle.
@@ -39,4 +41,38 @@ public class Bucket4jThrottleProperties implements Serializable {
      * Whether the request should block until capacity becomes available.
      */
     private boolean blocking = true;
+
+    /**
+     * Request attributes used to assign individual token buckets.
+     * When left undefined, a single token bucket is shared by all requests.
+     * Otherwise, every distinct key is given its own bucket with the above capacity
+     * and the request is throttled once any of its buckets is exhausted.
+     * Keyed buckets never block the request.
+     */
+    private List<KeyTypes> keys = new ArrayList<>();
+
+    /**
+     * Maximum number of keyed token buckets tracked in memory.
+     * Once exceeded, buckets least likely to be used again are evicted;
+     * idle buckets are also evicted once they would have fully refilled.
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * Types of keys used to assign token buckets.
+     */
+    public enum KeyTypes {
+        /**
+         * Assign buckets by the client IP address.
+         */
+        IP_ADDRESS,
+        /**
+         * Assign buckets by the username submitted with the request.
+         */
+        USERNAME,
+        /**
+         * Assign buckets by the client IP address and the submitted username.
+         */
+        IP_ADDRESS_AND_USERNAME
+    }
 }
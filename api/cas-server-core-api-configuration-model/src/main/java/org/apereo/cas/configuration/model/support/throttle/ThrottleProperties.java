@@ -125,5 +125,18 @@ public class ThrottleProperties implements Serializable {
          * an application code along with the relevant audit action.
          */
         private String auditQuery = SQL_AUDIT_QUERY;
+
+        /**
+         * Track failed attempts in a dedicated failure counter table
+         * instead of querying the audit log on every submission.
+         * Failures are recorded in the table as they occur and each
+         * throttling check then becomes a single primary-key lookup.
+         */
+        private boolean failureCounterEnabled;
+
+        /**
+         * Name of the table that tracks failure counters, keyed by IP address and username.
+         */
+        private String failureCounterTableName = "CAS_THROTTLE_FAILURE";
     }
 }
@@ -20,5 +20,10 @@ public enum LogoutRequestStatus {
     /**
      * The logout request is successful.
      */
-    SUCCESS
+    SUCCESS,
+
+    /**
+     * The logout request has been handed over for delivery, and its outcome is not known yet.
+     */
+    PENDING
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import java.util.Collection;
 import java.util.function.Predicate;
@@ -98,6 +99,20 @@ public interface TicketRegistry {
         return getTicketsStream().filter(predicate);
     }
 
+    /**
+     * Gets the ticket-granting tickets of the principal that have not expired.
+     *
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param principalId the principal id
+     * @return the tickets
+     */
+    default Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired()
+            && principalId.equals(((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId()));
+    }
+
     /**
      * Update the received ticket.
      *
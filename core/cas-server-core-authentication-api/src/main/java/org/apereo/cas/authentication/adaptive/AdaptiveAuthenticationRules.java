@@ -0,0 +1,121 @@
+package org.apereo.cas.authentication.adaptive;
+
+import org.apereo.cas.configuration.model.core.authentication.AdaptiveAuthenticationProperties;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * This is {@link AdaptiveAuthenticationRules} that holds the reject rules of adaptive authentication,
+ * compiled once from the configured expressions. Rules are immutable; callers are expected to
+ * compare them against the current settings via {@link #isCompiledFrom(AdaptiveAuthenticationProperties)}
+ * and build new rules once the settings change.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@ToString(of = {"rejectCountries", "rejectBrowsers", "rejectIpAddresses"})
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AdaptiveAuthenticationRules {
+    private final String rejectCountries;
+    private final String rejectBrowsers;
+    private final String rejectIpAddresses;
+
+    private final Pattern rejectCountriesPattern;
+    private final Pattern rejectBrowsersPattern;
+    private final Pattern rejectIpAddressesPattern;
+
+    /**
+     * Compile the reject rules of the given adaptive authentication settings.
+     *
+     * @param properties the properties
+     * @return the rules
+     */
+    public static AdaptiveAuthenticationRules compile(final AdaptiveAuthenticationProperties properties) {
+        return new AdaptiveAuthenticationRules(properties.getRejectCountries(),
+            properties.getRejectBrowsers(),
+            properties.getRejectIpAddresses(),
+            compilePattern(properties.getRejectCountries()),
+            compilePattern(properties.getRejectBrowsers()),
+            compilePattern(properties.getRejectIpAddresses()));
+    }
+
+    /**
+     * Compile the given rules, unless they are already compiled from the given settings.
+     *
+     * @param rules      the current rules, may be null
+     * @param properties the properties
+     * @return the rules
+     */
+    public static AdaptiveAuthenticationRules compileIfNecessary(final AdaptiveAuthenticationRules rules,
+                                                                 final AdaptiveAuthenticationProperties properties) {
+        if (rules != null && rules.isCompiledFrom(properties)) {
+            return rules;
+        }
+        return compile(properties);
+    }
+
+    private static Pattern compilePattern(final String expression) {
+        return StringUtils.isNotBlank(expression) ? Pattern.compile(expression) : null;
+    }
+
+    private static boolean find(final Pattern pattern, final String value) {
+        return pattern != null && value != null && pattern.matcher(value).find();
+    }
+
+    /**
+     * Whether these rules are compiled from the current expressions of the given settings.
+     *
+     * @param properties the properties
+     * @return true/false
+     */
+    public boolean isCompiledFrom(final AdaptiveAuthenticationProperties properties) {
+        return Objects.equals(this.rejectCountries, properties.getRejectCountries())
+            && Objects.equals(this.rejectBrowsers, properties.getRejectBrowsers())
+            && Objects.equals(this.rejectIpAddresses, properties.getRejectIpAddresses());
+    }
+
+    /**
+     * Whether countries are subject to rejection at all.
+     *
+     * @return true/false
+     */
+    public boolean isRejectingCountries() {
+        return this.rejectCountriesPattern != null;
+    }
+
+    /**
+     * Is the geo location rejected?
+     *
+     * @param location the location
+     * @return true/false
+     */
+    public boolean isCountryRejected(final String location) {
+        return find(this.rejectCountriesPattern, location);
+    }
+
+    /**
+     * Is the user agent rejected?
+     *
+     * @param userAgent the user agent
+     * @return true/false
+     */
+    public boolean isUserAgentRejected(final String userAgent) {
+        return find(this.rejectBrowsersPattern, userAgent);
+    }
+
+    /**
+     * Is the ip address rejected?
+     *
+     * @param ipAddress the ip address
+     * @return true/false
+     */
+    public boolean isIpAddressRejected(final String ipAddress) {
+        return find(this.rejectIpAddressesPattern, ipAddress);
+    }
+}
@@ -1,7 +1,6 @@
 package org.apereo.cas.authentication.adaptive;
 
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
-import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.authentication.adaptive.intel.IPAddressIntelligenceService;
 import org.apereo.cas.configuration.model.core.authentication.AdaptiveAuthenticationProperties;
@@ -13,10 +12,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.webflow.execution.RequestContext;
 
-import java.util.regex.Pattern;
-
 /**
  * This is {@link DefaultAdaptiveAuthenticationPolicy}.
+ * Reject rules are compiled once and only compiled again once the configured expressions change.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -29,6 +27,8 @@ public class DefaultAdaptiveAuthenticationPolicy implements AdaptiveAuthenticati
     private final IPAddressIntelligenceService ipAddressIntelligenceService;
     private final AdaptiveAuthenticationProperties adaptiveAuthenticationProperties;
 
+    private volatile AdaptiveAuthenticationRules rules;
+
     @Override
     public boolean apply(final RequestContext requestContext, final String userAgent, final GeoLocationRequest location) {
         val clientInfo = ClientInfoHolder.getClientInfo();
@@ -42,17 +42,18 @@ public class DefaultAdaptiveAuthenticationPolicy implements AdaptiveAuthenticati
             return false;
         }
 
-        if (isUserAgentRejected(userAgent)) {
+        val compiledRules = getRules();
+        if (compiledRules.isUserAgentRejected(userAgent)) {
             LOGGER.warn("User agent [{}] is rejected for authentication", userAgent);
             return false;
         }
         LOGGER.debug("User agent [{}] is authorized to proceed", userAgent);
         if (this.geoLocationService != null && location != null && StringUtils.isNotBlank(clientIp)
-            && StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectCountries())) {
+            && compiledRules.isRejectingCountries()) {
             val loc = this.geoLocationService.locate(clientIp, location);
             if (loc != null) {
                 LOGGER.debug("Determined geolocation to be [{}]", loc);
-                if (isGeoLocationCountryRejected(loc)) {
+                if (compiledRules.isCountryRejected(loc.build())) {
                     LOGGER.warn("Client [{}] is rejected for authentication", clientIp);
                     return false;
                 }
@@ -64,14 +65,18 @@ public class DefaultAdaptiveAuthenticationPolicy implements AdaptiveAuthenticati
         return true;
     }
 
-    private boolean isGeoLocationCountryRejected(final GeoLocationResponse finalLoc) {
-        return StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectCountries())
-            && Pattern.compile(this.adaptiveAuthenticationProperties.getRejectCountries()).matcher(finalLoc.build()).find();
-    }
-
-    private boolean isUserAgentRejected(final String userAgent) {
-        return StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectBrowsers())
-            && Pattern.compile(this.adaptiveAuthenticationProperties.getRejectBrowsers()).matcher(userAgent).find();
+    /**
+     * Gets the reject rules, compiled from the current settings.
+     *
+     * @return the rules
+     */
+    protected AdaptiveAuthenticationRules getRules() {
+        val current = AdaptiveAuthenticationRules.compileIfNecessary(this.rules, this.adaptiveAuthenticationProperties);
+        if (current != this.rules) {
+            LOGGER.debug("Compiled adaptive authentication rules [{}]", current);
+            this.rules = current;
+        }
+        return current;
     }
 
     private boolean isIpAddressRejected(final RequestContext requestContext, final String clientIp) {
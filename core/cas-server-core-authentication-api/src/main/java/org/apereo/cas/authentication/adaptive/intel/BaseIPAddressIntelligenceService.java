@@ -1,30 +1,65 @@
 package org.apereo.cas.authentication.adaptive.intel;
 
+import org.apereo.cas.authentication.adaptive.AdaptiveAuthenticationRules;
 import org.apereo.cas.configuration.model.core.authentication.AdaptiveAuthenticationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.InetAddressUtils;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.webflow.execution.RequestContext;
 
-import java.util.regex.Pattern;
-
 /**
  * This is {@link BaseIPAddressIntelligenceService}.
+ * Verdicts are remembered per ip address, or per {@code /64} network for IPv6 addresses,
+ * if the service is cacheable. Concurrent examinations of the same address are collapsed into one.
  *
  * @author Misagh Moayyed
  * @since 6.0.0
  */
-@RequiredArgsConstructor
+@Slf4j
 public abstract class BaseIPAddressIntelligenceService implements IPAddressIntelligenceService {
     /**
      * Adaptive authentication settings.
      */
     protected final AdaptiveAuthenticationProperties adaptiveAuthenticationProperties;
 
+    private final Cache<String, IPAddressIntelligenceResponse> verdicts;
+
+    private volatile AdaptiveAuthenticationRules rules;
+
+    protected BaseIPAddressIntelligenceService(final AdaptiveAuthenticationProperties adaptiveAuthenticationProperties) {
+        this(adaptiveAuthenticationProperties, true);
+    }
+
+    /**
+     * Instantiates a new service.
+     *
+     * @param adaptiveAuthenticationProperties the adaptive authentication properties
+     * @param cacheable                        whether verdicts only depend on the ip address,
+     *                                         and may be remembered for other requests from the same address
+     */
+    protected BaseIPAddressIntelligenceService(final AdaptiveAuthenticationProperties adaptiveAuthenticationProperties,
+                                               final boolean cacheable) {
+        this.adaptiveAuthenticationProperties = adaptiveAuthenticationProperties;
+        val intel = adaptiveAuthenticationProperties.getIpIntel();
+        val expiration = Beans.newDuration(intel.getCacheExpiration());
+        if (cacheable && !expiration.isZero() && !expiration.isNegative()) {
+            this.verdicts = Caffeine.newBuilder()
+                .expireAfterWrite(expiration)
+                .maximumSize(intel.getCacheMaximumSize())
+                .build();
+        } else {
+            this.verdicts = null;
+        }
+    }
+
     private boolean isClientIpAddressRejected(final String clientIp) {
-        return StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectIpAddresses())
-            && Pattern.compile(this.adaptiveAuthenticationProperties.getRejectIpAddresses()).matcher(clientIp).find();
+        val current = AdaptiveAuthenticationRules.compileIfNecessary(this.rules, this.adaptiveAuthenticationProperties);
+        this.rules = current;
+        return current.isIpAddressRejected(clientIp);
     }
 
     @Override
@@ -34,11 +69,26 @@ public abstract class BaseIPAddressIntelligenceService implements IPAddressIntel
             trackResponseInRequestContext(context, response);
             return response;
         }
-        val response = examineInternal(context, clientIpAddress);
+        val response = examineOrGetCached(context, clientIpAddress);
         trackResponseInRequestContext(context, response);
         return response;
     }
 
+    private IPAddressIntelligenceResponse examineOrGetCached(final RequestContext context, final String clientIpAddress) {
+        val network = this.verdicts != null ? InetAddressUtils.getNetworkAddress(clientIpAddress) : null;
+        if (network == null) {
+            return examineInternal(context, clientIpAddress);
+        }
+        val response = this.verdicts.get(network, key -> {
+            LOGGER.trace("Examining ip address [{}] for network [{}]", clientIpAddress, key);
+            return examineInternal(context, clientIpAddress);
+        });
+        if (response == null || response.isFailed()) {
+            this.verdicts.invalidate(network);
+        }
+        return response;
+    }
+
     private static void trackResponseInRequestContext(final RequestContext context, final IPAddressIntelligenceResponse response) {
         context.getFlowScope().put("ipAddressIntelligenceResponse", response);
     }
@@ -2,6 +2,7 @@ package org.apereo.cas.authentication.adaptive.intel;
 
 import org.apereo.cas.configuration.model.core.authentication.AdaptiveAuthenticationProperties;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.webflow.execution.RequestContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -34,6 +36,7 @@ public class BlackDotIPAddressIntelligenceService extends BaseIPAddressIntellige
     @Override
     public IPAddressIntelligenceResponse examineInternal(final RequestContext context, final String clientIpAddress) {
         val bannedResponse = IPAddressIntelligenceResponse.banned();
+        val failedResponse = IPAddressIntelligenceResponse.failed();
 
         HttpResponse response = null;
         try {
@@ -59,14 +62,15 @@ public class BlackDotIPAddressIntelligenceService extends BaseIPAddressIntellige
             }
             val url = builder.toString();
             LOGGER.debug("Sending IP check request to [{}]", url);
-            response = HttpUtils.execute(url, HttpMethod.GET.name());
+            response = HttpUtils.execute(HttpClientPool.IP_ADDRESS_INTELLIGENCE_POOL_NAME, url, HttpMethod.GET.name(),
+                null, null, new HashMap<>(), new HashMap<>(), null);
             if (response == null) {
-                return bannedResponse;
+                return failedResponse;
             }
 
             if (response.getStatusLine().getStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
                 LOGGER.error("Exceeded the number of allowed queries");
-                return bannedResponse;
+                return failedResponse;
             }
             val result = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
             LOGGER.debug("Received payload result after examining IP address [{}] as [{}]", clientIpAddress, result);
@@ -88,12 +92,12 @@ public class BlackDotIPAddressIntelligenceService extends BaseIPAddressIntellige
             }
             val message = json.getOrDefault("message", "Invalid IP address").toString();
             LOGGER.error(message);
-            return bannedResponse;
+            return failedResponse;
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         } finally {
             HttpUtils.close(response);
         }
-        return bannedResponse;
+        return failedResponse;
     }
 }
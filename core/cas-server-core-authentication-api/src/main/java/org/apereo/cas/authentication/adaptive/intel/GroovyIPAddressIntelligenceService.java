@@ -18,7 +18,7 @@ public class GroovyIPAddressIntelligenceService extends BaseIPAddressIntelligenc
     private final transient WatchableGroovyScriptResource watchableScript;
 
     public GroovyIPAddressIntelligenceService(final AdaptiveAuthenticationProperties adaptiveAuthenticationProperties) {
-        super(adaptiveAuthenticationProperties);
+        super(adaptiveAuthenticationProperties, false);
         val groovyScript = adaptiveAuthenticationProperties.getIpIntel().getGroovy().getLocation();
         this.watchableScript = new WatchableGroovyScriptResource(groovyScript);
     }
@@ -2,6 +2,7 @@ package org.apereo.cas.authentication.adaptive.intel;
 
 import org.apereo.cas.configuration.model.core.authentication.AdaptiveAuthenticationProperties;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -34,9 +35,9 @@ public class RestfulIPAddressIntelligenceService extends BaseIPAddressIntelligen
 
             val parameters = new HashMap<String, Object>();
             parameters.put("clientIpAddress", clientIpAddress);
-            response = HttpUtils.execute(restProperties.getUrl(), HttpMethod.GET.name(),
+            response = HttpUtils.execute(HttpClientPool.IP_ADDRESS_INTELLIGENCE_POOL_NAME, restProperties.getUrl(), HttpMethod.GET.name(),
                 restProperties.getBasicAuthUsername(), restProperties.getBasicAuthPassword(),
-                parameters, new HashMap<>());
+                parameters, new HashMap<>(), null);
 
             if (response != null) {
                 val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
@@ -57,6 +58,6 @@ public class RestfulIPAddressIntelligenceService extends BaseIPAddressIntelligen
         } finally {
             HttpUtils.close(response);
         }
-        return IPAddressIntelligenceResponse.banned();
+        return IPAddressIntelligenceResponse.failed();
     }
 }
@@ -101,4 +101,19 @@ public class DefaultAdaptiveAuthenticationPolicyTests {
         val p = new DefaultAdaptiveAuthenticationPolicy(service, IPAddressIntelligenceService.allowed(), props);
         assertTrue(p.apply(new MockRequestContext(), "something", new GeoLocationRequest()));
     }
+
+    @Test
+    public void verifyRulesFollowSettings() {
+        val request = new MockHttpServletRequest();
+        request.setRemoteAddr("185.86.151.11");
+        request.setLocalAddr("185.88.151.11");
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+
+        val props = new AdaptiveAuthenticationProperties();
+        val service = mock(GeoLocationService.class);
+        val p = new DefaultAdaptiveAuthenticationPolicy(service, IPAddressIntelligenceService.allowed(), props);
+        assertTrue(p.apply(new MockRequestContext(), USER_AGENT, new GeoLocationRequest(51.5, -0.118)));
+        props.setRejectBrowsers("Mozilla/5.0.+");
+        assertFalse(p.apply(new MockRequestContext(), USER_AGENT, new GeoLocationRequest(51.5, -0.118)));
+    }
 }
@@ -57,4 +57,24 @@ public class RestfulIPAddressIntelligenceServiceTests {
         }
 
     }
+
+    @Test
+    public void verifyCachedOperation() {
+        val props = new AdaptiveAuthenticationProperties();
+        props.getIpIntel().getRest().setUrl("http://localhost:9305");
+        val service = new RestfulIPAddressIntelligenceService(props);
+        assertTrue(service.examine(new MockRequestContext(), "1.2.3.4").isFailed());
+
+        try (val webServer = new MockWebServer(9305,
+            new ByteArrayResource(StringUtils.EMPTY.getBytes(StandardCharsets.UTF_8), "Output"), HttpStatus.OK)) {
+            webServer.start();
+            assertTrue(service.examine(new MockRequestContext(), "1.2.3.4").isAllowed());
+            assertTrue(service.examine(new MockRequestContext(), "2001:db8::1").isAllowed());
+        } catch (final Exception e) {
+            throw new AssertionError(e.getMessage(), e);
+        }
+        assertTrue(service.examine(new MockRequestContext(), "1.2.3.4").isAllowed());
+        assertTrue(service.examine(new MockRequestContext(), "2001:db8::2").isAllowed());
+        assertTrue(service.examine(new MockRequestContext(), "1.2.3.5").isFailed());
+    }
 }
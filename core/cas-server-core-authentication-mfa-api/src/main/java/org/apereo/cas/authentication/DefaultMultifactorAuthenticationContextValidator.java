@@ -11,9 +11,7 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.context.ConfigurableApplicationContext;
-import org.springframework.core.OrderComparator;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Optional;
@@ -88,11 +86,10 @@ public class DefaultMultifactorAuthenticationContextValidator implements Multifa
             LOGGER.debug("Either multifactor authentication was not bypassed or the requested context [{}] does not match the bypassed provider [{}]",
                 requestedProvider, bypassedId);
         }
-        val satisfiedProviders = getSatisfiedAuthenticationProviders(authentication, providerMap.values());
+        val rankedProviders = MultifactorAuthenticationUtils.getRankedMultifactorAuthenticationProviders(this.applicationContext);
+        val satisfiedProviders = getSatisfiedAuthenticationProviders(authentication, rankedProviders);
         if (satisfiedProviders != null && !satisfiedProviders.isEmpty()) {
-            val providers = satisfiedProviders.toArray(MultifactorAuthenticationProvider[]::new);
-            OrderComparator.sortIfNecessary(providers);
-            val result = Arrays.stream(providers)
+            val result = satisfiedProviders.stream()
                 .filter(provider -> {
                     val p = requestedProvider.get();
                     return provider.equals(p) || provider.getOrder() >= p.getOrder();
@@ -39,6 +39,7 @@ public class MultifactorAuthenticationProviderBean<T extends MultifactorAuthenti
             beanFactory.destroySingleton(name);
             beanFactory.registerSingleton(name, providerFactory.createProvider(p));
         });
+        MultifactorAuthenticationProviderRegistry.invalidate();
     }
 
     /**
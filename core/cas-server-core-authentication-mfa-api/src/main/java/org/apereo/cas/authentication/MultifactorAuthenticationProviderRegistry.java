@@ -0,0 +1,209 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.OrderComparator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderRegistry} that indexes the multifactor authentication
+ * providers found in an application context, so they can be looked up without scanning the bean factory
+ * on every request. The index is built once per application context and is rebuilt lazily
+ * when the context is refreshed, configuration is rebound, or provider beans are registered or removed.
+ * Collections exposed by the registry are shared and must not be modified by callers.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class MultifactorAuthenticationProviderRegistry {
+    private static final MultifactorAuthenticationProviderRegistry EMPTY =
+        new MultifactorAuthenticationProviderRegistry(new LinkedHashMap<>(0), -1);
+
+    private static final Map<ApplicationContext, MultifactorAuthenticationProviderRegistry> REGISTRIES =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final Set<ApplicationContext> OBSERVED_CONTEXTS =
+        Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * Providers keyed by their bean name, in bean factory order.
+     */
+    @Getter
+    private final Map<String, MultifactorAuthenticationProvider> providers;
+
+    /**
+     * Providers keyed by their id.
+     */
+    @Getter
+    private final Map<String, MultifactorAuthenticationProvider> providersById;
+
+    /**
+     * Providers sorted by their order.
+     */
+    @Getter
+    private final List<MultifactorAuthenticationProvider> rankedProviders;
+
+    private final Map<Set<String>, Collection<MultifactorAuthenticationProvider>> servicePermittedProviders = new ConcurrentHashMap<>();
+
+    @Getter
+    private final long version;
+
+    protected MultifactorAuthenticationProviderRegistry(final Map<String, MultifactorAuthenticationProvider> providers, final long version) {
+        this.providers = providers;
+        this.version = version;
+
+        val byId = new HashMap<String, MultifactorAuthenticationProvider>(providers.size());
+        providers.values().forEach(p -> byId.putIfAbsent(p.getId(), p));
+        this.providersById = byId;
+
+        val ranked = new ArrayList<MultifactorAuthenticationProvider>(providers.values());
+        OrderComparator.sort(ranked);
+        this.rankedProviders = ranked;
+    }
+
+    /**
+     * Gets the registry of providers for the given application context,
+     * building it if it does not exist yet or if the providers may have changed.
+     *
+     * @param applicationContext the application context
+     * @return the registry
+     */
+    public static MultifactorAuthenticationProviderRegistry getInstance(final ApplicationContext applicationContext) {
+        if (applicationContext == null) {
+            return EMPTY;
+        }
+        val registry = REGISTRIES.get(applicationContext);
+        if (registry != null && registry.getVersion() == getBeanFactoryVersion(applicationContext)) {
+            return registry;
+        }
+        observe(applicationContext);
+        val providers = findProviders(applicationContext);
+        val result = new MultifactorAuthenticationProviderRegistry(providers, getBeanFactoryVersion(applicationContext));
+        LOGGER.trace("Indexed [{}] multifactor authentication provider(s) in the application context", result.getProviders().size());
+        REGISTRIES.put(applicationContext, result);
+        return result;
+    }
+
+    /**
+     * Invalidate all registries, forcing providers to be located again on next access.
+     */
+    public static void invalidate() {
+        LOGGER.trace("Invalidating multifactor authentication provider registries");
+        REGISTRIES.clear();
+    }
+
+    /**
+     * Find a provider whose id matches the given identifier.
+     * Providers are first looked up by their exact id, and then by matching their id against the identifier.
+     *
+     * @param identifier the identifier
+     * @return the provider
+     */
+    public Optional<MultifactorAuthenticationProvider> findProvider(final String identifier) {
+        if (identifier == null) {
+            return Optional.empty();
+        }
+        val provider = this.providersById.get(identifier);
+        if (provider != null) {
+            return Optional.of(provider);
+        }
+        return this.providers.values()
+            .stream()
+            .filter(p -> p.matches(identifier))
+            .findFirst();
+    }
+
+    /**
+     * Gets the providers that are permitted by the multifactor policy of the registered service.
+     *
+     * @param service the registered service
+     * @return the providers, or null if the service has no multifactor policy
+     */
+    public Collection<MultifactorAuthenticationProvider> getProvidersForService(final RegisteredService service) {
+        val policy = service.getMultifactorPolicy();
+        if (policy == null) {
+            return null;
+        }
+        val providerIds = new LinkedHashSet<String>(policy.getMultifactorAuthenticationProviders());
+        return this.servicePermittedProviders.computeIfAbsent(providerIds, ids -> {
+            val results = new LinkedHashSet<MultifactorAuthenticationProvider>(ids.size());
+            ids.forEach(id -> findProvider(id).ifPresent(results::add));
+            return results;
+        });
+    }
+
+    private static Map<String, MultifactorAuthenticationProvider> findProviders(final ApplicationContext applicationContext) {
+        try {
+            return new LinkedHashMap<>(applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true));
+        } catch (final Exception e) {
+            LOGGER.trace("No beans of type [{}] are available in the application context. "
+                    + "CAS may not be configured to handle multifactor authentication requests in absence of a provider",
+                MultifactorAuthenticationProvider.class);
+        }
+        return new LinkedHashMap<>(0);
+    }
+
+    /**
+     * Providers may be registered into the bean factory as singletons at runtime, which does not
+     * produce events. The number of bean definitions and singletons is tracked to detect such changes.
+     *
+     * @param applicationContext the application context
+     * @return the version
+     */
+    private static long getBeanFactoryVersion(final ApplicationContext applicationContext) {
+        try {
+            if (applicationContext instanceof ConfigurableApplicationContext) {
+                val beanFactory = ((ConfigurableApplicationContext) applicationContext).getBeanFactory();
+                return ((long) beanFactory.getBeanDefinitionCount() << Integer.SIZE) + beanFactory.getSingletonCount();
+            }
+            return applicationContext.getBeanDefinitionCount();
+        } catch (final IllegalStateException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    private static void observe(final ApplicationContext applicationContext) {
+        if (applicationContext instanceof ConfigurableApplicationContext && OBSERVED_CONTEXTS.add(applicationContext)) {
+            ((ConfigurableApplicationContext) applicationContext).addApplicationListener(new RegistryInvalidatingListener());
+        }
+    }
+
+    /**
+     * Drops the registries when the context is refreshed or closed, or configuration is rebound,
+     * as any of those may replace or reorder providers.
+     */
+    private static class RegistryInvalidatingListener implements ApplicationListener<ApplicationEvent> {
+        @Override
+        public void onApplicationEvent(final ApplicationEvent event) {
+            if (event instanceof ContextRefreshedEvent || event instanceof ContextClosedEvent
+                || event instanceof RefreshScopeRefreshedEvent || event instanceof EnvironmentChangeEvent) {
+                invalidate();
+            }
+        }
+    }
+}
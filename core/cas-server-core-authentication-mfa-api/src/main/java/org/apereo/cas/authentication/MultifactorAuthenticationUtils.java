@@ -14,9 +14,12 @@ import org.springframework.webflow.core.collection.LocalAttributeMap;
 import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.execution.RequestContext;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -181,15 +184,8 @@ public class MultifactorAuthenticationUtils {
      * @return the authentication provider for service
      */
     public Collection<MultifactorAuthenticationProvider> getAuthenticationProviderForService(final RegisteredService service) {
-        val policy = service.getMultifactorPolicy();
-        if (policy != null) {
-            return policy.getMultifactorAuthenticationProviders().stream()
-                .map(MultifactorAuthenticationUtils::getMultifactorAuthenticationProviderFromApplicationContext)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toSet());
-        }
-        return null;
+        return MultifactorAuthenticationProviderRegistry.getInstance(ApplicationContextProvider.getApplicationContext())
+            .getProvidersForService(service);
     }
 
     /**
@@ -199,15 +195,8 @@ public class MultifactorAuthenticationUtils {
      * @return the registered service multifactor authentication provider
      */
     public static Optional<MultifactorAuthenticationProvider> getMultifactorAuthenticationProviderFromApplicationContext(final String providerId) {
-        try {
-            LOGGER.trace("Locating bean definition for [{}]", providerId);
-            return MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(ApplicationContextProvider.getApplicationContext()).values().stream()
-                .filter(p -> p.matches(providerId))
-                .findFirst();
-        } catch (final Exception e) {
-            LOGGER.trace("Could not locate [{}] bean id in the application context as an authentication provider.", providerId);
-        }
-        return Optional.empty();
+        LOGGER.trace("Locating bean definition for [{}]", providerId);
+        return getMultifactorAuthenticationProviderById(providerId, ApplicationContextProvider.getApplicationContext());
     }
 
     /**
@@ -243,14 +232,17 @@ public class MultifactorAuthenticationUtils {
      */
     public static Map<String, MultifactorAuthenticationProvider> getAvailableMultifactorAuthenticationProviders(
         final ApplicationContext applicationContext) {
-        try {
-            return applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
-        } catch (final Exception e) {
-            LOGGER.trace("No beans of type [{}] are available in the application context. "
-                    + "CAS may not be configured to handle multifactor authentication requests in absence of a provider",
-                MultifactorAuthenticationProvider.class);
-        }
-        return new HashMap<>(0);
+        return new LinkedHashMap<>(MultifactorAuthenticationProviderRegistry.getInstance(applicationContext).getProviders());
+    }
+
+    /**
+     * Gets all multifactor authentication providers from application context, sorted by their order.
+     *
+     * @param applicationContext the application context
+     * @return the ranked multifactor authentication providers
+     */
+    public static List<MultifactorAuthenticationProvider> getRankedMultifactorAuthenticationProviders(final ApplicationContext applicationContext) {
+        return new ArrayList<>(MultifactorAuthenticationProviderRegistry.getInstance(applicationContext).getRankedProviders());
     }
 
     /**
@@ -263,9 +255,6 @@ public class MultifactorAuthenticationUtils {
      */
     public static Optional<MultifactorAuthenticationProvider> getMultifactorAuthenticationProviderById(final String providerId,
                                                                                                        final ApplicationContext context) {
-        return getAvailableMultifactorAuthenticationProviders(context).values()
-            .stream()
-            .filter(p -> p.matches(providerId))
-            .findFirst();
+        return MultifactorAuthenticationProviderRegistry.getInstance(context).findProvider(providerId);
     }
 }
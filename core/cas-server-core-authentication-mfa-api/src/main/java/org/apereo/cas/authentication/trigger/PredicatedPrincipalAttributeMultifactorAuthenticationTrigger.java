@@ -19,7 +19,6 @@ import lombok.val;
 import org.springframework.core.Ordered;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -52,8 +51,7 @@ public class PredicatedPrincipalAttributeMultifactorAuthenticationTrigger implem
             return Optional.empty();
         }
 
-        val providerMap = MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(ApplicationContextProvider.getApplicationContext());
-        val providers = providerMap.values();
+        val providers = MultifactorAuthenticationUtils.getRankedMultifactorAuthenticationProviders(ApplicationContextProvider.getApplicationContext());
 
         if (providers.isEmpty()) {
             LOGGER.error("No multifactor authentication providers are available in the application context");
@@ -70,6 +68,6 @@ public class PredicatedPrincipalAttributeMultifactorAuthenticationTrigger implem
         return providers
             .stream()
             .filter(predicate)
-            .min(Comparator.comparingInt(MultifactorAuthenticationProvider::getOrder));
+            .findFirst();
     }
 }
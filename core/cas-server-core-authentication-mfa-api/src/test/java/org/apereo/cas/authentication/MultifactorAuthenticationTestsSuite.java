@@ -2,6 +2,7 @@ package org.apereo.cas.authentication;
 
 import org.apereo.cas.authentication.mfa.DefaultMultifactorAuthenticationContextValidatorTests;
 import org.apereo.cas.authentication.mfa.MultifactorAuthenticationProviderBypassTests;
+import org.apereo.cas.authentication.mfa.MultifactorAuthenticationProviderRegistryTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -18,7 +19,8 @@ import org.junit.runners.Suite;
     MultifactorAuthenticationProviderBypassTests.class,
     GroovyMultifactorAuthenticationProviderBypassTests.class,
     DefaultMultifactorTriggerSelectionStrategyTests.class,
-    RestMultifactorAuthenticationProviderBypassTests.class
+    RestMultifactorAuthenticationProviderBypassTests.class,
+    MultifactorAuthenticationProviderRegistryTests.class
 })
 public class MultifactorAuthenticationTestsSuite {
 }
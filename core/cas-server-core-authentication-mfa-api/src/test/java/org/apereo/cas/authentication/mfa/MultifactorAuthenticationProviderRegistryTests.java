@@ -0,0 +1,127 @@
+package org.apereo.cas.authentication.mfa;
+
+import org.apereo.cas.authentication.MultifactorAuthenticationProvider;
+import org.apereo.cas.authentication.MultifactorAuthenticationProviderRegistry;
+import org.apereo.cas.authentication.MultifactorAuthenticationUtils;
+import org.apereo.cas.services.RegisteredServiceMultifactorPolicy;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class MultifactorAuthenticationProviderRegistryTests {
+    private StaticApplicationContext applicationContext;
+
+    @Before
+    public void initialize() {
+        this.applicationContext = new StaticApplicationContext();
+        this.applicationContext.refresh();
+    }
+
+    @After
+    public void tearDown() {
+        this.applicationContext.close();
+    }
+
+    @Test
+    public void verifyRegistryIsCached() {
+        registerProvider("mfa-duo", 10);
+        registerProvider("mfa-gauth", 1);
+        val registry = MultifactorAuthenticationProviderRegistry.getInstance(applicationContext);
+        assertEquals(2, registry.getProviders().size());
+        assertSame(registry, MultifactorAuthenticationProviderRegistry.getInstance(applicationContext));
+        assertEquals(2, MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(applicationContext).size());
+    }
+
+    @Test
+    public void verifyRegistryRebuiltWhenProvidersChange() {
+        registerProvider("mfa-duo", 10);
+        val registry = MultifactorAuthenticationProviderRegistry.getInstance(applicationContext);
+        registerProvider("mfa-gauth", 1);
+        val result = MultifactorAuthenticationProviderRegistry.getInstance(applicationContext);
+        assertNotSame(registry, result);
+        assertEquals(2, result.getProviders().size());
+    }
+
+    @Test
+    public void verifyRegistryRebuiltOnRefresh() {
+        registerProvider("mfa-duo", 10);
+        val registry = MultifactorAuthenticationProviderRegistry.getInstance(applicationContext);
+        applicationContext.publishEvent(new RefreshScopeRefreshedEvent());
+        assertNotSame(registry, MultifactorAuthenticationProviderRegistry.getInstance(applicationContext));
+    }
+
+    @Test
+    public void verifyProviderLookup() {
+        val duo = registerProvider("mfa-duo", 10);
+        registerProvider("mfa-gauth", 1);
+        val registry = MultifactorAuthenticationProviderRegistry.getInstance(applicationContext);
+        assertSame(duo, registry.findProvider("mfa-duo").get());
+        assertSame(duo, registry.findProvider("mfa-d.+").get());
+        assertTrue(registry.findProvider("mfa-unknown").isEmpty());
+        assertTrue(registry.findProvider(null).isEmpty());
+        assertSame(duo, MultifactorAuthenticationUtils.getMultifactorAuthenticationProviderById("mfa-duo", applicationContext).get());
+    }
+
+    @Test
+    public void verifyRankedProviders() {
+        registerProvider("mfa-duo", 10);
+        registerProvider("mfa-gauth", 1);
+        registerProvider("mfa-u2f", 5);
+        val ranked = MultifactorAuthenticationUtils.getRankedMultifactorAuthenticationProviders(applicationContext)
+            .stream()
+            .map(MultifactorAuthenticationProvider::getId)
+            .collect(Collectors.toList());
+        assertEquals(List.of("mfa-gauth", "mfa-u2f", "mfa-duo"), ranked);
+    }
+
+    @Test
+    public void verifyProvidersForService() {
+        val duo = registerProvider("mfa-duo", 10);
+        registerProvider("mfa-gauth", 1);
+        val registry = MultifactorAuthenticationProviderRegistry.getInstance(applicationContext);
+
+        val policy = mock(RegisteredServiceMultifactorPolicy.class);
+        when(policy.getMultifactorAuthenticationProviders()).thenReturn(Set.of("mfa-duo", "mfa-unknown"));
+        val service = MultifactorAuthenticationTestUtils.getRegisteredService();
+        when(service.getMultifactorPolicy()).thenReturn(policy);
+
+        val providers = registry.getProvidersForService(service);
+        assertEquals(1, providers.size());
+        assertTrue(providers.contains(duo));
+        assertSame(providers, registry.getProvidersForService(service));
+        assertNull(registry.getProvidersForService(MultifactorAuthenticationTestUtils.getRegisteredService()));
+    }
+
+    @Test
+    public void verifyNoApplicationContext() {
+        assertTrue(MultifactorAuthenticationProviderRegistry.getInstance(null).getProviders().isEmpty());
+        assertTrue(MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(null).isEmpty());
+    }
+
+    private MultifactorAuthenticationProvider registerProvider(final String id, final int order) {
+        val provider = mock(MultifactorAuthenticationProvider.class);
+        when(provider.getId()).thenReturn(id);
+        when(provider.getOrder()).thenReturn(order);
+        when(provider.matches(anyString())).thenAnswer(args -> id.matches(args.getArgument(0)));
+        applicationContext.getBeanFactory().registerSingleton(id + "Provider", provider);
+        return provider;
+    }
+}
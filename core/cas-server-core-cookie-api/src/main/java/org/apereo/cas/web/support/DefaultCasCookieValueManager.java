@@ -2,6 +2,7 @@ package org.apereo.cas.web.support;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.model.support.cookie.CookieProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.HttpRequestUtils;
 
 import com.google.common.base.Splitter;
@@ -31,7 +32,9 @@ public class DefaultCasCookieValueManager extends EncryptedCookieValueManager {
 
     public DefaultCasCookieValueManager(final CipherExecutor<Serializable, Serializable> cipherExecutor,
                                         final CookieProperties cookieProperties) {
-        super(cipherExecutor);
+        super(cipherExecutor,
+            Beans.newDuration(cookieProperties.getDecodedValueCacheDuration()),
+            cookieProperties.getDecodedValueCacheSize());
         this.cookieProperties = cookieProperties;
     }
 
@@ -1,32 +1,65 @@
 package org.apereo.cas.web.support;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.HttpRequestUtils;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import java.io.Serializable;
+import java.time.Duration;
 
 /**
  * Provides basic encryption/decryption support for cookie values.
+ * <p>
+ * Decoded values are memoized for the duration of the request, since the same cookie is typically retrieved
+ * several times while processing a single request. Decoded values may also be remembered across requests
+ * for a short period, keyed by a hash of the cookie value along with the client IP address and user-agent,
+ * so that repeated requests from the same client skip verifying and decrypting the cookie again.
  *
  * @author Daniel Frett
  * @since 5.3.0
  */
 @Slf4j
-@RequiredArgsConstructor
 public class EncryptedCookieValueManager implements CookieValueManager {
     private static final long serialVersionUID = 6362136147071376270L;
+
+    private static final String REQUEST_ATTRIBUTE_DECODED_VALUE = EncryptedCookieValueManager.class.getName() + ".decodedValue.";
+
     /**
      * The cipher exec that is responsible for encryption and signing of the cookie.
      */
     private final transient CipherExecutor<Serializable, Serializable> cipherExecutor;
 
+    private final transient Cache<String, String> decodedValueCache;
+
+    public EncryptedCookieValueManager(final CipherExecutor<Serializable, Serializable> cipherExecutor) {
+        this(cipherExecutor, Duration.ZERO, 0);
+    }
+
+    public EncryptedCookieValueManager(final CipherExecutor<Serializable, Serializable> cipherExecutor,
+                                       final Duration decodedValueCacheDuration,
+                                       final long decodedValueCacheSize) {
+        this.cipherExecutor = cipherExecutor;
+        if (decodedValueCacheDuration.isZero() || decodedValueCacheDuration.isNegative() || decodedValueCacheSize <= 0) {
+            this.decodedValueCache = null;
+        } else {
+            this.decodedValueCache = Caffeine.newBuilder()
+                .expireAfterWrite(decodedValueCacheDuration)
+                .maximumSize(decodedValueCacheSize)
+                .build();
+        }
+    }
+
     @Override
     public final String buildCookieValue(final String givenCookieValue, final HttpServletRequest request) {
         val res = buildCompoundCookieValue(givenCookieValue, request);
@@ -36,6 +69,30 @@ public class EncryptedCookieValueManager implements CookieValueManager {
 
     @Override
     public final String obtainCookieValue(final Cookie cookie, final HttpServletRequest request) {
+        val attributeName = REQUEST_ATTRIBUTE_DECODED_VALUE + cookie.getName();
+        val memoized = request.getAttribute(attributeName);
+        if (memoized instanceof Pair && cookie.getValue().equals(((Pair) memoized).getLeft())) {
+            LOGGER.trace("Using decoded value of cookie [{}] memoized for the current request", cookie.getName());
+            return (String) ((Pair) memoized).getRight();
+        }
+
+        val cacheKey = this.decodedValueCache != null ? buildDecodedValueCacheKey(cookie, request) : null;
+        var value = cacheKey != null ? this.decodedValueCache.getIfPresent(cacheKey) : null;
+        if (value == null) {
+            value = decodeCookieValue(cookie, request);
+            if (value != null && cacheKey != null) {
+                this.decodedValueCache.put(cacheKey, value);
+            }
+        } else {
+            LOGGER.trace("Using recently decoded value of cookie [{}]", cookie.getName());
+        }
+        if (value != null) {
+            request.setAttribute(attributeName, Pair.of(cookie.getValue(), value));
+        }
+        return value;
+    }
+
+    private String decodeCookieValue(final Cookie cookie, final HttpServletRequest request) {
         val decoded = cipherExecutor.decode(cookie.getValue(), ArrayUtils.EMPTY_OBJECT_ARRAY);
         if (decoded == null) {
             LOGGER.trace("Could not decode cookie value [{}] for cookie [{}]", cookie.getValue(), cookie.getName());
@@ -51,6 +108,13 @@ public class EncryptedCookieValueManager implements CookieValueManager {
         return obtainValueFromCompoundCookie(cookieValue, request);
     }
 
+    private static String buildDecodedValueCacheKey(final Cookie cookie, final HttpServletRequest request) {
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        val clientIpAddress = clientInfo != null ? clientInfo.getClientIpAddress() : request.getRemoteAddr();
+        val userAgent = HttpRequestUtils.getHttpServletRequestUserAgent(request);
+        return DigestUtils.sha256(cookie.getName() + '@' + cookie.getValue() + '@' + clientIpAddress + '@' + userAgent);
+    }
+
     /**
      * Build the compound cookie value.
      *
@@ -12,12 +12,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
+import java.io.Serializable;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -65,6 +68,55 @@ public class DefaultCasCookieValueManagerTests {
         assertEquals(VALUE, decoded);
     }
 
+    @Test
+    public void verifyDecodedValueIsCachedPerClient() {
+        whenGettingClientIp().thenReturn(CLIENT_IP);
+        whenGettingUserAgent().thenReturn(USER_AGENT);
+        val cipher = getCountingCipherExecutor();
+        val manager = new DefaultCasCookieValueManager(cipher, new TicketGrantingCookieProperties());
+        val encoded = manager.buildCookieValue(VALUE, request);
+        when(cookie.getValue()).thenReturn(encoded);
+
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, request));
+        verify(cipher, times(1)).decode(any(Serializable.class), any(Object[].class));
+
+        whenGettingClientIp().thenReturn("10.0.0.1");
+        assertThrows(IllegalStateException.class, () -> manager.obtainCookieValue(cookie, request));
+        verify(cipher, times(2)).decode(any(Serializable.class), any(Object[].class));
+    }
+
+    @Test
+    public void verifyDecodedValueIsMemoizedPerRequest() {
+        whenGettingClientIp().thenReturn(CLIENT_IP);
+        val properties = new TicketGrantingCookieProperties();
+        properties.setDecodedValueCacheDuration("PT0S");
+        val cipher = getCountingCipherExecutor();
+        val manager = new DefaultCasCookieValueManager(cipher, properties);
+
+        val httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader("User-Agent", USER_AGENT);
+        val encoded = manager.buildCookieValue(VALUE, httpRequest);
+        when(cookie.getValue()).thenReturn(encoded);
+
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, httpRequest));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, httpRequest));
+        verify(cipher, times(1)).decode(any(Serializable.class), any(Object[].class));
+
+        val otherRequest = new MockHttpServletRequest();
+        otherRequest.addHeader("User-Agent", USER_AGENT);
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, otherRequest));
+        verify(cipher, times(2)).decode(any(Serializable.class), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CipherExecutor<Serializable, Serializable> getCountingCipherExecutor() {
+        val cipher = (CipherExecutor<Serializable, Serializable>) mock(CipherExecutor.class);
+        when(cipher.encode(any(Serializable.class), any(Object[].class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cipher.decode(any(Serializable.class), any(Object[].class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return cipher;
+    }
+
     private OngoingStubbing<String> whenGettingClientIp() {
         return when(clientInfo.getClientIpAddress());
     }
@@ -141,7 +141,9 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
 
         if (logoutRequest.getLogoutType() == RegisteredServiceLogoutType.BACK_CHANNEL) {
             if (performBackChannelLogout(logoutRequest)) {
-                logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
+                if (logoutRequest.getStatus() == LogoutRequestStatus.NOT_ATTEMPTED) {
+                    logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
+                }
             } else {
                 logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
                 LOGGER.warn("Logout message is not sent to [{}]; Continuing processing...", selectedService);
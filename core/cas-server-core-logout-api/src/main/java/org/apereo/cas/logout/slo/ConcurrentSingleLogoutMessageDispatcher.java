@@ -0,0 +1,335 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.logout.LogoutHttpMessage;
+import org.apereo.cas.logout.LogoutPostProcessor;
+import org.apereo.cas.logout.LogoutRequestStatus;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.http.HttpClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link ConcurrentSingleLogoutMessageDispatcher} that fans back-channel logout messages
+ * out concurrently instead of sending them one at a time. The number of messages in flight
+ * against each destination host is bounded, failed deliveries are retried with exponential backoff,
+ * and a logout message for an application session that is already in flight is sent only once.
+ * <p>
+ * When logout messages are not asynchronous, the dispatcher also acts as a {@link LogoutPostProcessor}
+ * that waits for all messages of the session being destroyed to complete, so logout takes
+ * as long as the slowest application rather than the sum of all applications. Messages are only tracked
+ * per session for as long as they are in flight.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class ConcurrentSingleLogoutMessageDispatcher implements LogoutPostProcessor, DisposableBean {
+    private static final String METRIC_NAME_DISPATCH = "cas.slo.dispatch";
+
+    private static final String METRIC_NAME_RETRIES = "cas.slo.dispatch.retries";
+
+    private static final String METRIC_NAME_DEDUPLICATED = "cas.slo.dispatch.deduplicated";
+
+    private final HttpClient httpClient;
+
+    private final int maxInFlightPerHost;
+
+    private final int maxQueuedPerHost;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    private final Duration timeout;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService retryScheduler;
+
+    private final ConcurrentMap<String, HostLane> lanes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Set<CompletableFuture<Boolean>>> pendingBySession = new ConcurrentHashMap<>();
+
+    public ConcurrentSingleLogoutMessageDispatcher(final HttpClient httpClient, final int poolSize,
+                                                   final int maxInFlightPerHost, final int maxQueuedPerHost,
+                                                   final int maxAttempts, final Duration retryBackoff,
+                                                   final Duration timeout) {
+        this(httpClient, poolSize, maxInFlightPerHost, maxQueuedPerHost, maxAttempts, retryBackoff, timeout, Metrics.globalRegistry);
+    }
+
+    public ConcurrentSingleLogoutMessageDispatcher(final HttpClient httpClient, final int poolSize,
+                                                   final int maxInFlightPerHost, final int maxQueuedPerHost,
+                                                   final int maxAttempts, final Duration retryBackoff,
+                                                   final Duration timeout, final MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.maxInFlightPerHost = Math.max(1, maxInFlightPerHost);
+        this.maxQueuedPerHost = maxQueuedPerHost;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, poolSize));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    /**
+     * Dispatch the logout message of the logout request to its destination.
+     * A message for the same application session, identified by the logout url and the ticket id of the request,
+     * that is already in flight shares the same outcome. The logout request is pending until the outcome is known,
+     * after which its status reflects whether the message was delivered.
+     *
+     * @param request the logout request
+     * @param message the message
+     * @return the outcome of the delivery, which is true once the message is acknowledged by the application
+     */
+    public CompletableFuture<Boolean> dispatch(final SingleLogoutRequest request, final LogoutHttpMessage message) {
+        request.setStatus(LogoutRequestStatus.PENDING);
+        val future = dispatch(message.getUrl(), message.getMessage(), message.getContentType(), request.getTicketId())
+            .thenApply(result -> {
+                request.setStatus(result ? LogoutRequestStatus.SUCCESS : LogoutRequestStatus.FAILURE);
+                if (request.getService() != null) {
+                    request.getService().setLoggedOutAlready(result);
+                }
+                return result;
+            });
+        val ticketGrantingTicket = request.getTicketGrantingTicket();
+        if (!message.isAsynchronous() && ticketGrantingTicket != null) {
+            track(ticketGrantingTicket.getId(), future);
+        }
+        return future;
+    }
+
+    /**
+     * Dispatch an already formatted logout message body to the given url.
+     * A message with the same url and deduplication key that is already in flight shares the same outcome.
+     *
+     * @param url              the url
+     * @param body             the formatted message body
+     * @param contentType      the content type
+     * @param deduplicationKey identifies the application session the message is about, such as the ticket id
+     * @return the outcome of the delivery, which is true once the message is acknowledged by the application
+     */
+    public CompletableFuture<Boolean> dispatch(final URL url, final String body, final String contentType,
+                                               final String deduplicationKey) {
+        val future = new CompletableFuture<Boolean>();
+        if (StringUtils.isBlank(deduplicationKey)) {
+            enqueue(new Delivery(url, body, contentType, future, System.nanoTime()));
+            return future;
+        }
+        val key = url.toExternalForm() + '\n' + deduplicationKey;
+        val existing = this.inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            LOGGER.debug("Logout message to [{}] for [{}] is already in flight and will not be sent again", url, deduplicationKey);
+            Counter.builder(METRIC_NAME_DEDUPLICATED).register(this.meterRegistry).increment();
+            return existing;
+        }
+        future.whenComplete((result, error) -> this.inFlight.remove(key, future));
+        enqueue(new Delivery(url, body, contentType, future, System.nanoTime()));
+        return future;
+    }
+
+    /**
+     * Waits for the logout messages of the given ticket-granting ticket to complete.
+     *
+     * @param ticketGrantingTicket the ticket granting ticket
+     */
+    @Override
+    public void handle(final TicketGrantingTicket ticketGrantingTicket) {
+        val pending = this.pendingBySession.remove(ticketGrantingTicket.getId());
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("Waiting for [{}] logout message(s) of [{}] to complete", pending.size(), ticketGrantingTicket.getId());
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            LOGGER.warn("Logout messages of [{}] did not complete within [{}]; continuing...", ticketGrantingTicket.getId(), this.timeout);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.retryScheduler.shutdownNow();
+        this.executor.shutdown();
+    }
+
+    private void track(final String ticketGrantingTicketId, final CompletableFuture<Boolean> future) {
+        this.pendingBySession.compute(ticketGrantingTicketId, (id, pending) -> {
+            val result = pending == null ? ConcurrentHashMap.<CompletableFuture<Boolean>>newKeySet() : pending;
+            result.add(future);
+            return result;
+        });
+        future.whenComplete((result, error) -> this.pendingBySession.computeIfPresent(ticketGrantingTicketId, (id, pending) -> {
+            pending.remove(future);
+            return pending.isEmpty() ? null : pending;
+        }));
+    }
+
+    private void enqueue(final Delivery delivery) {
+        val lane = this.lanes.computeIfAbsent(delivery.getHost(), k -> new HostLane());
+        if (lane.getQueued().get() >= this.maxQueuedPerHost) {
+            LOGGER.warn("Too many logout messages are queued for [{}]; dropping logout message to [{}]",
+                delivery.getHost(), delivery.getUrl());
+            complete(delivery, false);
+            return;
+        }
+        lane.getQueued().incrementAndGet();
+        lane.getPending().add(delivery);
+        drain(lane);
+    }
+
+    private void drain(final HostLane lane) {
+        while (!lane.getPending().isEmpty()) {
+            val current = lane.getInFlight().get();
+            if (current >= this.maxInFlightPerHost) {
+                return;
+            }
+            if (!lane.getInFlight().compareAndSet(current, current + 1)) {
+                continue;
+            }
+            val delivery = lane.getPending().poll();
+            if (delivery == null) {
+                lane.getInFlight().decrementAndGet();
+                continue;
+            }
+            lane.getQueued().decrementAndGet();
+            try {
+                this.executor.execute(() -> deliver(lane, delivery));
+            } catch (final RejectedExecutionException e) {
+                lane.getInFlight().decrementAndGet();
+                LOGGER.warn("Unable to dispatch logout message to [{}]", delivery.getUrl());
+                complete(delivery, false);
+            }
+        }
+    }
+
+    private void deliver(final HostLane lane, final Delivery delivery) {
+        var outcome = Outcome.FAILURE;
+        try {
+            outcome = send(delivery);
+        } finally {
+            lane.getInFlight().decrementAndGet();
+        }
+        val attempt = delivery.getAttempts().incrementAndGet();
+        if (outcome == Outcome.RETRY && attempt < this.maxAttempts) {
+            val delay = this.retryBackoff.toMillis() << (attempt - 1);
+            LOGGER.debug("Retrying logout message to [{}] in [{}] ms; attempt [{}] of [{}]",
+                delivery.getUrl(), delay, attempt + 1, this.maxAttempts);
+            Counter.builder(METRIC_NAME_RETRIES).tag("host", delivery.getHost()).register(this.meterRegistry).increment();
+            try {
+                this.retryScheduler.schedule(() -> enqueue(delivery), delay, TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                complete(delivery, false);
+            }
+        } else {
+            complete(delivery, outcome == Outcome.SUCCESS);
+        }
+        drain(lane);
+    }
+
+    private Outcome send(final Delivery delivery) {
+        try {
+            val request = new HttpPost(delivery.getUrl().toURI());
+            request.addHeader("Content-Type", delivery.getContentType());
+            request.setEntity(new StringEntity(delivery.getBody(), ContentType.create(delivery.getContentType())));
+            return this.httpClient.getWrappedHttpClient().execute(request, response -> {
+                EntityUtils.consumeQuietly(response.getEntity());
+                val status = response.getStatusLine().getStatusCode();
+                if (status >= HttpStatus.SC_OK && status < HttpStatus.SC_MULTIPLE_CHOICES) {
+                    return Outcome.SUCCESS;
+                }
+                LOGGER.debug("Logout message to [{}] was answered with status [{}]", delivery.getUrl(), status);
+                return status >= HttpStatus.SC_INTERNAL_SERVER_ERROR ? Outcome.RETRY : Outcome.FAILURE;
+            });
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to send logout message to [{}]: [{}]", delivery.getUrl(), e.getMessage());
+            return Outcome.RETRY;
+        }
+    }
+
+    private void complete(final Delivery delivery, final boolean result) {
+        Timer.builder(METRIC_NAME_DISPATCH)
+            .description("Time taken to deliver back-channel logout messages, including retries")
+            .tag("host", delivery.getHost())
+            .tag("outcome", result ? "success" : "failure")
+            .register(this.meterRegistry)
+            .record(System.nanoTime() - delivery.getStartNanos(), TimeUnit.NANOSECONDS);
+        if (!result) {
+            LOGGER.warn("Logout message could not be delivered to [{}]", delivery.getUrl());
+        }
+        delivery.getFuture().complete(result);
+    }
+
+    private enum Outcome {
+        SUCCESS, FAILURE, RETRY
+    }
+
+    @Getter
+    private static class HostLane {
+        private final Queue<Delivery> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger queued = new AtomicInteger();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Delivery {
+        private final URL url;
+
+        private final String body;
+
+        private final String contentType;
+
+        private final CompletableFuture<Boolean> future;
+
+        private final long startNanos;
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        String getHost() {
+            return this.url.getHost();
+        }
+    }
+}
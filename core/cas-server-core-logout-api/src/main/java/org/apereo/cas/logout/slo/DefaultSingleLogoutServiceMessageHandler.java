@@ -4,6 +4,13 @@ import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.http.HttpClient;
 
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.UUID;
+
 /**
  * This is {@link DefaultSingleLogoutServiceMessageHandler} which handles the processing of logout messages
  * to logout endpoints processed by the logout manager.
@@ -11,8 +18,22 @@ import org.apereo.cas.util.http.HttpClient;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
+@Slf4j
+@Getter
+@Setter
 public class DefaultSingleLogoutServiceMessageHandler extends BaseSingleLogoutServiceMessageHandler {
 
+    /**
+     * When defined, back-channel logout messages are handed over to the dispatcher
+     * and sent concurrently rather than one at a time.
+     */
+    private ConcurrentSingleLogoutMessageDispatcher dispatcher;
+
+    /**
+     * When defined, back-channel logout messages are stored in the outbox
+     * and delivered later by whichever node drains it.
+     */
+    private SingleLogoutMessageOutbox outbox;
 
     public DefaultSingleLogoutServiceMessageHandler(final HttpClient httpClient,
                                                     final SingleLogoutMessageCreator logoutMessageBuilder,
@@ -23,4 +44,47 @@ public class DefaultSingleLogoutServiceMessageHandler extends BaseSingleLogoutSe
         super(httpClient, logoutMessageBuilder, servicesManager, singleLogoutServiceLogoutUrlBuilder,
             asynchronous, authenticationRequestServiceSelectionStrategies);
     }
+
+    @Override
+    protected boolean sendSingleLogoutMessage(final SingleLogoutRequest request, final SingleLogoutMessage logoutMessage) {
+        if (this.outbox != null && storeSingleLogoutMessage(request, logoutMessage)) {
+            return true;
+        }
+        if (this.dispatcher == null) {
+            return super.sendSingleLogoutMessage(request, logoutMessage);
+        }
+        val msg = getLogoutHttpMessageToSend(request, logoutMessage);
+        LOGGER.debug("Dispatching logout message [{}] to [{}]", msg, request.getLogoutUrl());
+        request.getService().setLoggedOutAlready(true);
+        this.dispatcher.dispatch(request, msg);
+        return true;
+    }
+
+    /**
+     * Store the logout message in the outbox for later delivery.
+     *
+     * @param request       the request
+     * @param logoutMessage the logout message
+     * @return true if the message was stored, false if it should be sent right away instead.
+     */
+    protected boolean storeSingleLogoutMessage(final SingleLogoutRequest request, final SingleLogoutMessage logoutMessage) {
+        try {
+            val msg = getLogoutHttpMessageToSend(request, logoutMessage);
+            val entry = SingleLogoutOutboxMessage.builder()
+                .id(UUID.randomUUID().toString())
+                .url(msg.getUrl().toExternalForm())
+                .body(msg.getMessage())
+                .contentType(msg.getContentType())
+                .nextAttempt(System.currentTimeMillis())
+                .build();
+            this.outbox.store(entry);
+            LOGGER.debug("Stored logout message [{}] to [{}] in the outbox", entry.getId(), entry.getUrl());
+            request.getService().setLoggedOutAlready(true);
+            return true;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to store logout message to [{}] in the outbox; sending it right away: [{}]",
+                request.getLogoutUrl(), e.getMessage());
+            return false;
+        }
+    }
 }
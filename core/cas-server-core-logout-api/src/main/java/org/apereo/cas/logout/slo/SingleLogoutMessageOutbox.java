@@ -0,0 +1,48 @@
+package org.apereo.cas.logout.slo;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * This is {@link SingleLogoutMessageOutbox} that durably keeps back-channel logout messages
+ * until they are delivered, so pending messages survive restarts and may be delivered
+ * by any node that shares the outbox.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface SingleLogoutMessageOutbox {
+
+    /**
+     * Store the message in the outbox.
+     *
+     * @param message the message
+     */
+    void store(SingleLogoutOutboxMessage message);
+
+    /**
+     * Claim messages that are due for delivery. Claimed messages
+     * are reserved for the caller for the duration of the lease
+     * and are not handed out again until the lease expires.
+     *
+     * @param count the maximum number of messages to claim
+     * @param lease the lease
+     * @return the claimed messages
+     */
+    Collection<SingleLogoutOutboxMessage> claim(int count, Duration lease);
+
+    /**
+     * Remove a claimed message from the outbox once it is delivered or abandoned.
+     *
+     * @param message the message
+     */
+    void remove(SingleLogoutOutboxMessage message);
+
+    /**
+     * Release a claimed message back into the outbox, recording
+     * its attempts and the time of its next delivery attempt.
+     *
+     * @param message the message
+     */
+    void release(SingleLogoutOutboxMessage message);
+}
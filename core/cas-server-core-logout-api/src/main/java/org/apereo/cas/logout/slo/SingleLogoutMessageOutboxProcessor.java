@@ -0,0 +1,115 @@
+package org.apereo.cas.logout.slo;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This is {@link SingleLogoutMessageOutboxProcessor} that periodically drains the {@link SingleLogoutMessageOutbox}.
+ * Pending messages are claimed in batches and handed over to the {@link ConcurrentSingleLogoutMessageDispatcher},
+ * which bounds the number of messages in flight. Delivered messages are removed from the outbox while failed
+ * messages are released back with an exponentially growing delay, until they run out of attempts.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class SingleLogoutMessageOutboxProcessor implements Runnable {
+    private static final int MAX_BACKOFF_DOUBLINGS = 16;
+
+    private final SingleLogoutMessageOutbox outbox;
+
+    private final ConcurrentSingleLogoutMessageDispatcher dispatcher;
+
+    private final int batchSize;
+
+    private final Duration leaseDuration;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    /**
+     * Drain the outbox.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${cas.slo.outbox.schedule.startDelay:PT15S}",
+        fixedDelayString = "${cas.slo.outbox.schedule.repeatInterval:PT10S}")
+    public void run() {
+        try {
+            var claimed = this.outbox.claim(this.batchSize, this.leaseDuration);
+            while (!claimed.isEmpty()) {
+                LOGGER.debug("Claimed [{}] logout message(s) from the outbox", claimed.size());
+                deliver(claimed);
+                if (claimed.size() < this.batchSize) {
+                    break;
+                }
+                claimed = this.outbox.claim(this.batchSize, this.leaseDuration);
+            }
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deliver the claimed messages and wait for them to settle within the lease.
+     *
+     * @param messages the messages
+     */
+    protected void deliver(final Collection<SingleLogoutOutboxMessage> messages) {
+        val futures = messages
+            .stream()
+            .map(message -> {
+                try {
+                    return this.dispatcher.dispatch(new URL(message.getUrl()), message.getBody(), message.getContentType(), message.getId())
+                        .thenAccept(result -> settle(message, result));
+                } catch (final Exception e) {
+                    LOGGER.warn("Logout message [{}] cannot be delivered and is removed: [{}]", message.getId(), e.getMessage());
+                    this.outbox.remove(message);
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
+            })
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).get(this.leaseDuration.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            LOGGER.warn("Logout messages claimed from the outbox did not complete within [{}]", this.leaseDuration);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private void settle(final SingleLogoutOutboxMessage message, final boolean delivered) {
+        try {
+            if (delivered) {
+                this.outbox.remove(message);
+                return;
+            }
+            val attempts = message.getAttempts() + 1;
+            if (attempts >= this.maxAttempts) {
+                LOGGER.warn("Logout message [{}] to [{}] could not be delivered after [{}] attempts and is abandoned",
+                    message.getId(), message.getUrl(), attempts);
+                this.outbox.remove(message);
+                return;
+            }
+            message.setAttempts(attempts);
+            message.setNextAttempt(System.currentTimeMillis() + (this.retryBackoff.toMillis() << Math.min(attempts - 1, MAX_BACKOFF_DOUBLINGS)));
+            this.outbox.release(message);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to update logout message [{}] in the outbox: [{}]", message.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.apereo.cas.logout.slo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link SingleLogoutOutboxMessage} that represents a back-channel logout message
+ * that is kept in a {@link SingleLogoutMessageOutbox} until delivered.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@ToString(exclude = "body")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SingleLogoutOutboxMessage implements Serializable {
+
+    private static final long serialVersionUID = 6104827718389523116L;
+
+    /**
+     * Unique identifier of the message.
+     */
+    private String id;
+
+    /**
+     * The logout url of the application.
+     */
+    private String url;
+
+    /**
+     * The formatted message body, as it should be sent to the application.
+     */
+    private String body;
+
+    /**
+     * The content type of the message body.
+     */
+    private String contentType;
+
+    /**
+     * Number of delivery rounds attempted so far.
+     */
+    private int attempts;
+
+    /**
+     * The time, in milliseconds since the epoch, after which the message may be delivered.
+     */
+    private long nextAttempt;
+}
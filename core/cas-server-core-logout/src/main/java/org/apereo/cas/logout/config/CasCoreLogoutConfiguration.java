@@ -2,15 +2,18 @@ package org.apereo.cas.logout.config;
 
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutMessageCreator;
 import org.apereo.cas.logout.LogoutExecutionPlan;
 import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.logout.slo.ConcurrentSingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceMessageHandler;
 import org.apereo.cas.logout.slo.SingleLogoutMessageCreator;
+import org.apereo.cas.logout.slo.SingleLogoutMessageOutbox;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
@@ -25,6 +28,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -66,6 +70,10 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @Qualifier("authenticationServiceSelectionPlan")
     private ObjectProvider<AuthenticationServiceSelectionPlan> authenticationServiceSelectionPlan;
 
+    @Autowired
+    @Qualifier("singleLogoutMessageOutbox")
+    private ObjectProvider<SingleLogoutMessageOutbox> singleLogoutMessageOutbox;
+
     @ConditionalOnMissingBean(name = "singleLogoutServiceLogoutUrlBuilder")
     @Bean
     public SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder() {
@@ -75,12 +83,31 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
+        val handler = new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
             defaultSingleLogoutMessageCreator(),
             servicesManager.getIfAvailable(),
             singleLogoutServiceLogoutUrlBuilder(),
             casProperties.getSlo().isAsynchronous(),
             authenticationServiceSelectionPlan.getIfAvailable());
+        if (casProperties.getSlo().getDispatcher().isEnabled()) {
+            handler.setDispatcher(singleLogoutMessageDispatcher());
+            singleLogoutMessageOutbox.ifAvailable(handler::setOutbox);
+        }
+        return handler;
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutMessageDispatcher")
+    @ConditionalOnProperty(prefix = "cas.slo.dispatcher", name = "enabled", havingValue = "true")
+    @Bean
+    public ConcurrentSingleLogoutMessageDispatcher singleLogoutMessageDispatcher() {
+        val dispatcher = casProperties.getSlo().getDispatcher();
+        return new ConcurrentSingleLogoutMessageDispatcher(httpClient.getIfAvailable(),
+            dispatcher.getPoolSize(),
+            dispatcher.getMaxInFlightPerHost(),
+            dispatcher.getMaxQueuedPerHost(),
+            dispatcher.getMaxAttempts(),
+            Beans.newDuration(dispatcher.getRetryBackoff()),
+            Beans.newDuration(dispatcher.getTimeout()));
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
@@ -113,6 +140,9 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @Override
     public void configureLogoutExecutionPlan(final LogoutExecutionPlan plan) {
         plan.registerSingleLogoutServiceMessageHandler(defaultSingleLogoutServiceMessageHandler());
+        if (casProperties.getSlo().getDispatcher().isEnabled()) {
+            plan.registerLogoutPostProcessor(singleLogoutMessageDispatcher());
+        }
 
         if (casProperties.getLogout().isRemoveDescendantTickets()) {
             LOGGER.debug("CAS is configured to remove descendant tickets of the ticket-granting tickets");
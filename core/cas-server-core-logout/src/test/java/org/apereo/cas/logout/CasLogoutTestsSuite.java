@@ -9,10 +9,12 @@ import org.junit.platform.suite.api.SelectClasses;
  * @since 6.0.0
  */
 @SelectClasses({
+    ConcurrentSingleLogoutMessageDispatcherTests.class,
     DefaultLogoutManagerTests.class,
     DefaultSingleLogoutServiceLogoutUrlBuilderTests.class,
     LogoutHttpMessageTests.class,
-    SamlCompliantLogoutMessageCreatorTests.class
+    SamlCompliantLogoutMessageCreatorTests.class,
+    SingleLogoutMessageOutboxProcessorTests.class
 })
 public class CasLogoutTestsSuite {
 }
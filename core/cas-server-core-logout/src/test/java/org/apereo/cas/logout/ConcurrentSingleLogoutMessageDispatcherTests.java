@@ -0,0 +1,203 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionStrategy;
+import org.apereo.cas.logout.slo.ConcurrentSingleLogoutMessageDispatcher;
+import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceLogoutUrlBuilder;
+import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceMessageHandler;
+import org.apereo.cas.logout.slo.SingleLogoutRequest;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceLogoutType;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.web.SimpleUrlValidatorFactoryBean;
+
+import io.micrometer.core.instrument.search.MeterNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ConcurrentSingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class ConcurrentSingleLogoutMessageDispatcherTests {
+    private static final String URL = "https://www.github.com";
+
+    private final Queue<Object> responses = new ArrayDeque<>();
+
+    private org.apache.http.client.HttpClient wrappedHttpClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConcurrentSingleLogoutMessageDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void initialize() throws Exception {
+        this.wrappedHttpClient = mock(org.apache.http.client.HttpClient.class);
+        when(wrappedHttpClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenAnswer(invocation -> {
+            val next = nextResponse();
+            if (next instanceof IOException) {
+                throw (IOException) next;
+            }
+            val handler = (ResponseHandler<Object>) invocation.getArgument(1);
+            return handler.handleResponse(new BasicHttpResponse(HttpVersion.HTTP_1_1, (Integer) next, null));
+        });
+        val client = mock(HttpClient.class);
+        when(client.getWrappedHttpClient()).thenReturn(wrappedHttpClient);
+        when(client.isValidEndPoint(any(URL.class))).thenReturn(true);
+        when(client.isValidEndPoint(any(String.class))).thenReturn(true);
+
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.dispatcher = new ConcurrentSingleLogoutMessageDispatcher(client, 4, 2, 10, 3,
+            Duration.ofMillis(10), Duration.ofSeconds(10), meterRegistry);
+    }
+
+    private static SingleLogoutRequest getLogoutRequest(final String ticketId, final TicketGrantingTicket ticketGrantingTicket) {
+        return DefaultSingleLogoutRequest.builder()
+            .ticketId(ticketId)
+            .ticketGrantingTicket(ticketGrantingTicket)
+            .build();
+    }
+
+    private synchronized Object nextResponse() {
+        return responses.isEmpty() ? 200 : responses.poll();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    public void verifyMessagesAreDispatched() throws Exception {
+        val tgt = new MockTicketGrantingTicket("casuser");
+        val futures = Arrays.asList(
+            dispatcher.dispatch(getLogoutRequest("ST-1", tgt), new LogoutHttpMessage(new URL(URL + "/app1"), "message1", false)),
+            dispatcher.dispatch(getLogoutRequest("ST-2", tgt), new LogoutHttpMessage(new URL(URL + "/app2"), "message2", false)),
+            dispatcher.dispatch(getLogoutRequest("ST-3", tgt), new LogoutHttpMessage(new URL(URL + "/app3"), "message3", false)));
+        dispatcher.handle(tgt);
+        for (val future : futures) {
+            assertTrue(future.isDone());
+            assertTrue(future.get());
+        }
+        assertEquals(3, meterRegistry.get("cas.slo.dispatch").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    public void verifyAnySuccessfulStatusIsAccepted() throws Exception {
+        responses.addAll(Arrays.asList(202, 204));
+        val accepted = dispatcher.dispatch(getLogoutRequest("ST-1", null), new LogoutHttpMessage(new URL(URL + "/app1"), "message1", true));
+        val noContent = dispatcher.dispatch(getLogoutRequest("ST-2", null), new LogoutHttpMessage(new URL(URL + "/app2"), "message2", true));
+        assertTrue(accepted.get());
+        assertTrue(noContent.get());
+        assertThrows(MeterNotFoundException.class, () -> meterRegistry.get("cas.slo.dispatch.retries").counter());
+    }
+
+    @Test
+    public void verifyFailedMessageIsRetried() throws Exception {
+        responses.add(503);
+        responses.add(new IOException("Connection refused"));
+        val future = dispatcher.dispatch(getLogoutRequest("ST-1", null), new LogoutHttpMessage(new URL(URL), "message", true));
+        assertTrue(future.get());
+        assertEquals(2, meterRegistry.get("cas.slo.dispatch.retries").counter().count());
+        verify(wrappedHttpClient, times(3)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+    }
+
+    @Test
+    public void verifyMessageFailsAfterMaxAttempts() throws Exception {
+        responses.addAll(Arrays.asList(500, 500, 500));
+        val future = dispatcher.dispatch(getLogoutRequest("ST-1", null), new LogoutHttpMessage(new URL(URL), "message", true));
+        assertFalse(future.get());
+        assertEquals(1, meterRegistry.get("cas.slo.dispatch").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    public void verifyClientErrorIsNotRetried() throws Exception {
+        responses.add(404);
+        val future = dispatcher.dispatch(getLogoutRequest("ST-1", null), new LogoutHttpMessage(new URL(URL), "message", true));
+        assertFalse(future.get());
+        verify(wrappedHttpClient, times(1)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+    }
+
+    @Test
+    public void verifyLogoutStatusReflectsDelivery() {
+        responses.add(404);
+        val servicesManager = mock(ServicesManager.class);
+        val handler = new DefaultSingleLogoutServiceMessageHandler(dispatcher.getHttpClient(),
+            new DefaultSingleLogoutMessageCreator(), servicesManager,
+            new DefaultSingleLogoutServiceLogoutUrlBuilder(new SimpleUrlValidatorFactoryBean(true).getObject()), false,
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()));
+        handler.setDispatcher(dispatcher);
+
+        val service = DefaultLogoutManagerTests.getService(URL);
+        val registeredService = DefaultLogoutManagerTests.getRegisteredService(URL);
+        registeredService.setLogoutType(RegisteredServiceLogoutType.BACK_CHANNEL);
+        when(servicesManager.findServiceBy(service)).thenReturn(registeredService);
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.getServices().put("ST-1", service);
+
+        val plan = new DefaultLogoutExecutionPlan();
+        plan.registerSingleLogoutServiceMessageHandler(handler);
+        plan.registerLogoutPostProcessor(dispatcher);
+        val logoutRequests = new DefaultLogoutManager(false, plan).performLogout(tgt);
+        assertEquals(1, logoutRequests.size());
+        assertEquals(LogoutRequestStatus.FAILURE, logoutRequests.iterator().next().getStatus());
+        assertFalse(service.isLoggedOutAlready());
+    }
+
+    @Test
+    public void verifyMessagesAreDeduplicatedPerApplicationSession() throws Exception {
+        val blocked = new CompletableFuture<Void>();
+        when(wrappedHttpClient.execute(any(HttpUriRequest.class), any(ResponseHandler.class))).thenAnswer(invocation -> {
+            blocked.get();
+            return invocation.<ResponseHandler<Object>>getArgument(1)
+                .handleResponse(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null));
+        });
+        val tgt = new MockTicketGrantingTicket("casuser");
+        val first = dispatcher.dispatch(getLogoutRequest("ST-1", tgt), new LogoutHttpMessage(new URL(URL), "message-id-1", false));
+        val repeated = dispatcher.dispatch(getLogoutRequest("ST-1", tgt), new LogoutHttpMessage(new URL(URL), "message-id-2", false));
+        val other = dispatcher.dispatch(getLogoutRequest("ST-2", tgt), new LogoutHttpMessage(new URL(URL), "message-id-1", false));
+        assertEquals(1, meterRegistry.get("cas.slo.dispatch.deduplicated").counter().count());
+        blocked.complete(null);
+        dispatcher.handle(tgt);
+        assertTrue(first.get());
+        assertTrue(repeated.get());
+        assertTrue(other.get());
+        verify(wrappedHttpClient, times(2)).execute(any(HttpUriRequest.class), any(ResponseHandler.class));
+    }
+
+    @Test
+    public void verifyCompletedMessagesAreNoLongerTracked() throws Exception {
+        val tgt = new MockTicketGrantingTicket("casuser");
+        val request = getLogoutRequest("ST-1", tgt);
+        val future = dispatcher.dispatch(request, new LogoutHttpMessage(new URL(URL), "message", false));
+        assertTrue(future.get());
+        assertEquals(LogoutRequestStatus.SUCCESS, request.getStatus());
+        assertTrue(dispatcher.getPendingBySession().isEmpty());
+        assertTrue(dispatcher.getInFlight().isEmpty());
+    }
+}
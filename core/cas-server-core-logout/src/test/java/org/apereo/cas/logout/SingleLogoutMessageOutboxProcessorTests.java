@@ -0,0 +1,67 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.logout.slo.ConcurrentSingleLogoutMessageDispatcher;
+import org.apereo.cas.logout.slo.SingleLogoutMessageOutbox;
+import org.apereo.cas.logout.slo.SingleLogoutMessageOutboxProcessor;
+import org.apereo.cas.logout.slo.SingleLogoutOutboxMessage;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SingleLogoutMessageOutboxProcessorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SingleLogoutMessageOutboxProcessorTests {
+
+    private static SingleLogoutOutboxMessage getMessage(final String url, final int attempts) {
+        return SingleLogoutOutboxMessage.builder()
+            .id(url)
+            .url(url)
+            .body("logoutRequest=message")
+            .contentType("application/x-www-form-urlencoded")
+            .attempts(attempts)
+            .build();
+    }
+
+    @Test
+    public void verifyOutboxIsDrained() {
+        val delivered = getMessage("https://app1.example.org/logout", 0);
+        val failed = getMessage("https://app2.example.org/logout", 0);
+        val abandoned = getMessage("https://app3.example.org/logout", 2);
+
+        val outbox = mock(SingleLogoutMessageOutbox.class);
+        when(outbox.claim(anyInt(), any(Duration.class))).thenReturn(List.of(delivered, failed, abandoned));
+
+        val dispatcher = mock(ConcurrentSingleLogoutMessageDispatcher.class);
+        when(dispatcher.dispatch(any(URL.class), anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(false));
+        when(dispatcher.dispatch(argThat(url -> url.toExternalForm().equals(delivered.getUrl())), anyString(), anyString(), anyString()))
+            .thenReturn(CompletableFuture.completedFuture(true));
+
+        val processor = new SingleLogoutMessageOutboxProcessor(outbox, dispatcher, 10,
+            Duration.ofSeconds(5), 3, Duration.ofSeconds(30));
+        val now = System.currentTimeMillis();
+        processor.run();
+
+        verify(outbox).remove(delivered);
+        verify(outbox).remove(abandoned);
+        verify(outbox).release(failed);
+        verify(outbox, times(1)).claim(anyInt(), any(Duration.class));
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttempt() >= now + Duration.ofSeconds(30).toMillis());
+    }
+}
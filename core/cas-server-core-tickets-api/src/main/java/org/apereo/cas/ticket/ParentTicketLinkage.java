@@ -0,0 +1,40 @@
+package org.apereo.cas.ticket;
+
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+/**
+ * This is {@link ParentTicketLinkage}, implemented by child tickets that may only serialize
+ * the id of their parent {@link TicketGrantingTicket}. The parent ticket is then resolved again
+ * by the ticket registry once the child ticket is retrieved.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface ParentTicketLinkage {
+
+    /**
+     * Whether child tickets of the given parent ticket should only serialize the id of their parent ticket.
+     *
+     * @param ticketGrantingTicket the parent ticket granting ticket
+     * @return true/false
+     */
+    static boolean isLinkedById(final TicketGrantingTicket ticketGrantingTicket) {
+        return ticketGrantingTicket instanceof TicketGrantingTicketImpl
+            && ((TicketGrantingTicketImpl) ticketGrantingTicket).isChildTicketsLinkedById();
+    }
+
+    /**
+     * Gets the id of the parent ticket-granting ticket.
+     *
+     * @return the ticket granting ticket id
+     */
+    String getTicketGrantingTicketId();
+
+    /**
+     * Resolve the parent ticket-granting ticket from the ticket registry, if it was not serialized
+     * with this ticket. The ticket is marked as expired if its parent ticket can no longer be found.
+     *
+     * @param ticketRegistry the ticket registry
+     */
+    void resolveTicketGrantingTicket(TicketRegistry ticketRegistry);
+}
@@ -3,6 +3,7 @@ package org.apereo.cas.ticket;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -21,6 +22,9 @@ import javax.persistence.Entity;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 
 /**
  * Domain object representing a Service Ticket. A service ticket grants specific
@@ -40,7 +44,7 @@ import javax.persistence.Table;
 @Setter
 @NoArgsConstructor
 @Getter
-public class ServiceTicketImpl extends AbstractTicket implements ServiceTicket {
+public class ServiceTicketImpl extends AbstractTicket implements ServiceTicket, ParentTicketLinkage {
 
     private static final long serialVersionUID = -4223319704861765405L;
 
@@ -50,6 +54,13 @@ public class ServiceTicketImpl extends AbstractTicket implements ServiceTicket {
     @ManyToOne(targetEntity = TicketGrantingTicketImpl.class)
     private TicketGrantingTicket ticketGrantingTicket;
 
+    /**
+     * The id of the {@link TicketGrantingTicket} this is associated with,
+     * used to resolve the parent ticket if it was not serialized with this ticket.
+     */
+    @Transient
+    private String ticketGrantingTicketId;
+
     /**
      * The service this ticket is valid for.
      */
@@ -115,12 +126,33 @@ public class ServiceTicketImpl extends AbstractTicket implements ServiceTicket {
     }
 
     @Override
-    public Authentication getAuthentication() {
-        return getTicketGrantingTicket().getAuthentication();
+    public String getTicketGrantingTicketId() {
+        return this.ticketGrantingTicket != null ? this.ticketGrantingTicket.getId() : this.ticketGrantingTicketId;
+    }
+
+    @Override
+    public void resolveTicketGrantingTicket(final TicketRegistry ticketRegistry) {
+        if (this.ticketGrantingTicket == null && this.ticketGrantingTicketId != null) {
+            this.ticketGrantingTicket = ticketRegistry.getTicket(this.ticketGrantingTicketId, TicketGrantingTicket.class);
+            if (this.ticketGrantingTicket == null) {
+                LOGGER.debug("Parent ticket [{}] of [{}] can no longer be found", this.ticketGrantingTicketId, getId());
+                markTicketExpired();
+            }
+        }
     }
 
     @Override
     public String getPrefix() {
         return ServiceTicket.PREFIX;
     }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        val fields = out.putFields();
+        fields.put("ticketGrantingTicket", ParentTicketLinkage.isLinkedById(this.ticketGrantingTicket) ? null : this.ticketGrantingTicket);
+        fields.put("ticketGrantingTicketId", getTicketGrantingTicketId());
+        fields.put("service", this.service);
+        fields.put("fromNewLogin", this.fromNewLogin);
+        fields.put("grantedTicketAlready", this.grantedTicketAlready);
+        out.writeFields();
+    }
 }
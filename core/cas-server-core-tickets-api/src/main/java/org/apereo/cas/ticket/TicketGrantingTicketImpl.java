@@ -2,6 +2,7 @@ package org.apereo.cas.ticket;
 
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -11,6 +12,8 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
@@ -21,6 +24,9 @@ import javax.persistence.Entity;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -44,7 +50,8 @@ import java.util.List;
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
 @Getter
 @NoArgsConstructor
-public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGrantingTicket {
+@Slf4j
+public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGrantingTicket, ParentTicketLinkage {
 
     /**
      * Unique Id for serialization.
@@ -78,6 +85,21 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @ManyToOne(targetEntity = TicketGrantingTicketImpl.class)
     private TicketGrantingTicket ticketGrantingTicket;
 
+    /**
+     * The id of the {@link TicketGrantingTicket} this is associated with,
+     * used to resolve the parent ticket if it was not serialized with this ticket.
+     */
+    @Transient
+    private String ticketGrantingTicketId;
+
+    /**
+     * Whether child tickets of this ticket only serialize the id of this ticket,
+     * rather than this ticket itself.
+     */
+    @Transient
+    @Setter
+    private boolean childTicketsLinkedById;
+
     /**
      * The PGTs associated to this ticket.
      */
@@ -111,6 +133,7 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
             throw new IllegalArgumentException("Must specify proxiedBy when providing parent ticket-granting ticket");
         }
         this.ticketGrantingTicket = parentTicketGrantingTicket;
+        this.childTicketsLinkedById = ParentTicketLinkage.isLinkedById(parentTicketGrantingTicket);
         this.authentication = authentication;
         this.proxiedBy = proxiedBy;
     }
@@ -189,7 +212,23 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      */
     @Override
     public boolean isRoot() {
-        return this.getTicketGrantingTicket() == null;
+        return getTicketGrantingTicketId() == null;
+    }
+
+    @Override
+    public String getTicketGrantingTicketId() {
+        return this.ticketGrantingTicket != null ? this.ticketGrantingTicket.getId() : this.ticketGrantingTicketId;
+    }
+
+    @Override
+    public void resolveTicketGrantingTicket(final TicketRegistry ticketRegistry) {
+        if (this.ticketGrantingTicket == null && this.ticketGrantingTicketId != null) {
+            this.ticketGrantingTicket = ticketRegistry.getTicket(this.ticketGrantingTicketId, TicketGrantingTicket.class);
+            if (this.ticketGrantingTicket == null) {
+                LOGGER.debug("Parent ticket [{}] of [{}] can no longer be found", this.ticketGrantingTicketId, getId());
+                markTicketExpired();
+            }
+        }
     }
 
     @JsonIgnore
@@ -219,4 +258,16 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         return TicketGrantingTicket.PREFIX;
     }
 
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        val fields = out.putFields();
+        fields.put("authentication", this.authentication);
+        fields.put("proxiedBy", this.proxiedBy);
+        fields.put("services", this.services);
+        fields.put("ticketGrantingTicket", ParentTicketLinkage.isLinkedById(this.ticketGrantingTicket) ? null : this.ticketGrantingTicket);
+        fields.put("ticketGrantingTicketId", getTicketGrantingTicketId());
+        fields.put("childTicketsLinkedById", this.childTicketsLinkedById);
+        fields.put("proxyGrantingTickets", this.proxyGrantingTickets);
+        fields.put("descendantTickets", this.descendantTickets);
+        out.writeFields();
+    }
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.factory;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties.ParentTicketLinkageTypes;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketFactory;
@@ -11,6 +12,7 @@ import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
@@ -41,6 +43,12 @@ public class DefaultTicketGrantingTicketFactory implements TicketGrantingTicketF
      */
     protected final CipherExecutor<Serializable, String> cipherExecutor;
 
+    /**
+     * How child tickets reference the ticket granting tickets created here once serialized.
+     */
+    @Setter
+    protected ParentTicketLinkageTypes parentTicketLinkage = ParentTicketLinkageTypes.REFERENCE;
+
     @Override
     public <T extends TicketGrantingTicket> T create(final Authentication authentication, final Class<T> clazz) {
         val tgtId = produceTicketIdentifier(authentication);
@@ -64,6 +72,7 @@ public class DefaultTicketGrantingTicketFactory implements TicketGrantingTicketF
     protected <T extends TicketGrantingTicket> T produceTicket(final Authentication authentication,
                                                                final String tgtId, final Class<T> clazz) {
         val result = new TicketGrantingTicketImpl(tgtId, authentication, this.ticketGrantingTicketExpirationPolicy);
+        result.setChildTicketsLinkedById(this.parentTicketLinkage == ParentTicketLinkageTypes.ID);
         if (!clazz.isAssignableFrom(result.getClass())) {
             throw new ClassCastException("Result [" + result
                 + " is of type " + result.getClass()
@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ParentTicketLinkage;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
@@ -46,6 +47,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     @Override
     public Ticket getTicket(final String ticketId) {
         return getTicket(ticketId, ticket -> {
+            if (ticket instanceof ParentTicketLinkage) {
+                ((ParentTicketLinkage) ticket).resolveTicketGrantingTicket(this);
+            }
             if (ticket != null && ticket.isExpired()) {
                 LOGGER.debug("Ticket [{}] has expired and is now removed from the ticket registry", ticket.getId());
                 deleteSingleTicket(ticketId);
@@ -155,8 +159,13 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     }
 
     private void deleteProxyGrantingTicketFromParent(final ProxyGrantingTicket ticket) {
-        ticket.getTicketGrantingTicket().getProxyGrantingTickets().remove(ticket.getId());
-        updateTicket(ticket.getTicketGrantingTicket());
+        val parent = ticket.getTicketGrantingTicket();
+        if (parent == null) {
+            LOGGER.debug("Parent ticket of [{}] could not be found; it may have been expired and deleted.", ticket.getId());
+            return;
+        }
+        parent.getProxyGrantingTickets().remove(ticket.getId());
+        updateTicket(parent);
     }
 
     /**
@@ -237,9 +237,11 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     @ConditionalOnMissingBean(name = "defaultTicketGrantingTicketFactory")
     @Bean
     public TicketGrantingTicketFactory defaultTicketGrantingTicketFactory() {
-        return new DefaultTicketGrantingTicketFactory(ticketGrantingTicketUniqueIdGenerator(),
+        val factory = new DefaultTicketGrantingTicketFactory(ticketGrantingTicketUniqueIdGenerator(),
             grantingTicketExpirationPolicy(),
             protocolTicketCipherExecutor());
+        factory.setParentTicketLinkage(casProperties.getTicket().getRegistry().getParentTicketLinkage());
+        return factory;
     }
 
     @ConditionalOnMissingBean(name = "defaultTicketFactory")
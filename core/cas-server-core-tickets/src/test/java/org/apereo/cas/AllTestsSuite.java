@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.ticket.InvalidTicketExceptionTests;
+import org.apereo.cas.ticket.ParentTicketLinkageTests;
 import org.apereo.cas.ticket.ServiceTicketImplTests;
 import org.apereo.cas.ticket.TicketGrantingTicketImplTests;
 import org.apereo.cas.ticket.TicketSerializersTests;
@@ -53,6 +54,7 @@ import org.junit.runners.Suite;
     NeverExpiresExpirationPolicyTests.class,
     DefaultTicketRegistryCleanerTests.class,
     TicketSerializersTests.class,
+    ParentTicketLinkageTests.class,
     Cas20ProxyHandlerTests.class})
 public class AllTestsSuite {
 }
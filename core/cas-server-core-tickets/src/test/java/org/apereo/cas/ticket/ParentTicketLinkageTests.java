@@ -0,0 +1,143 @@
+package org.apereo.cas.ticket;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ParentTicketLinkageTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class ParentTicketLinkageTests {
+    private static final int SERVICE_COUNT = 50;
+
+    private static final int ITERATIONS = 2_000;
+
+    private DefaultTicketRegistry ticketRegistry;
+
+    private TicketGrantingTicketImpl ticketGrantingTicket;
+
+    @Before
+    public void initialize() {
+        this.ticketRegistry = new DefaultTicketRegistry(CoreTicketUtils.newTicketRegistryCipherExecutor(
+            new EncryptionRandomizedSigningJwtCryptographyProperties(), "[tests]"));
+        this.ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        for (var i = 0; i < SERVICE_COUNT; i++) {
+            this.ticketGrantingTicket.grantServiceTicket("ST-" + i, RegisteredServiceTestUtils.getService("https://app" + i + ".example.org"),
+                new NeverExpiresExpirationPolicy(), false, false);
+        }
+    }
+
+    @Test
+    public void verifyServiceTicketLinkedByReference() {
+        val st = grantServiceTicket();
+        ticketRegistry.addTicket(st);
+        val result = ticketRegistry.getTicket(st.getId(), ServiceTicketImpl.class);
+        assertNotSame(ticketGrantingTicket, result.getTicketGrantingTicket());
+        assertEquals(ticketGrantingTicket, result.getTicketGrantingTicket());
+        assertEquals(ticketGrantingTicket.getId(), result.getTicketGrantingTicketId());
+    }
+
+    @Test
+    public void verifyServiceTicketLinkedById() {
+        ticketGrantingTicket.setChildTicketsLinkedById(true);
+        ticketRegistry.addTicket(ticketGrantingTicket);
+        val st = grantServiceTicket();
+        ticketRegistry.addTicket(st);
+
+        val result = ticketRegistry.getTicket(st.getId(), ServiceTicketImpl.class);
+        assertEquals(ticketGrantingTicket.getId(), result.getTicketGrantingTicketId());
+        assertEquals(ticketGrantingTicket, result.getTicketGrantingTicket());
+        assertEquals(ticketGrantingTicket.getAuthentication(), result.getAuthentication());
+        assertFalse(result.isExpired());
+        assertTrue(result.isValidFor(st.getService()));
+    }
+
+    @Test
+    public void verifyProxyGrantingTicketLinkedById() throws Exception {
+        ticketGrantingTicket.setChildTicketsLinkedById(true);
+        ticketRegistry.addTicket(ticketGrantingTicket);
+        val st = grantServiceTicket();
+        val pgt = st.grantProxyGrantingTicket("PGT-1", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(pgt);
+
+        val result = ticketRegistry.getTicket(pgt.getId(), ProxyGrantingTicketImpl.class);
+        assertFalse(result.isRoot());
+        assertTrue(result.isChildTicketsLinkedById());
+        assertEquals(ticketGrantingTicket, result.getRoot());
+        assertEquals(2, result.getChainedAuthentications().size());
+
+        val pt = result.grantProxyTicket("PT-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false);
+        ticketRegistry.addTicket(pt);
+        val proxyTicket = ticketRegistry.getTicket(pt.getId(), ProxyTicketImpl.class);
+        assertEquals(result.getId(), proxyTicket.getTicketGrantingTicket().getId());
+    }
+
+    @Test
+    public void verifyMissingParentTicket() {
+        ticketGrantingTicket.setChildTicketsLinkedById(true);
+        ticketRegistry.addTicket(ticketGrantingTicket);
+        val st = grantServiceTicket();
+        ticketRegistry.addTicket(st);
+        ticketRegistry.deleteSingleTicket(ticketGrantingTicket.getId());
+
+        val serialized = SerializationUtils.serialize(st);
+        val result = SerializationUtils.deserialize(serialized, ServiceTicketImpl.class);
+        assertNull(result.getTicketGrantingTicket());
+        result.resolveTicketGrantingTicket(ticketRegistry);
+        assertNull(result.getTicketGrantingTicket());
+        assertNull(result.getAuthentication());
+        assertTrue(result.isExpired());
+
+        assertNull(ticketRegistry.getTicket(st.getId(), ServiceTicket.class));
+        assertNull(ticketRegistry.getTicket(st.getId()));
+        assertEquals(0, ticketRegistry.getTickets().size());
+    }
+
+    @Test
+    public void verifySerializedSizeAndThroughput() {
+        val st = grantServiceTicket();
+
+        val byReference = SerializationUtils.serialize(st).length;
+        val byReferenceTime = measure(st);
+
+        ticketGrantingTicket.setChildTicketsLinkedById(true);
+        val byId = SerializationUtils.serialize(st).length;
+        val byIdTime = measure(st);
+
+        LOGGER.info("Serialized service ticket size is [{}] bytes by reference and [{}] bytes by id", byReference, byId);
+        LOGGER.info("Serializing [{}] service tickets took [{}]ms by reference and [{}]ms by id",
+            ITERATIONS, byReferenceTime / 1_000_000, byIdTime / 1_000_000);
+        assertTrue(byId * 2 < byReference);
+    }
+
+    private ServiceTicketImpl grantServiceTicket() {
+        return (ServiceTicketImpl) ticketGrantingTicket.grantServiceTicket("ST-" + SERVICE_COUNT,
+            RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, false);
+    }
+
+    private static long measure(final Serializable ticket) {
+        val start = System.nanoTime();
+        for (var i = 0; i < ITERATIONS; i++) {
+            assertNotNull(SerializationUtils.deserialize(SerializationUtils.serialize(ticket), ServiceTicketImpl.class));
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -1,5 +1,9 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
+import org.apereo.cas.util.http.HttpClientPoolRegistry;
+
+import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -7,7 +11,6 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
@@ -15,7 +18,6 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 
@@ -37,13 +39,21 @@ import java.util.Map;
 @UtilityClass
 public class HttpUtils {
 
-    private static final int MAX_CONNECTIONS = 200;
-    private static final int MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static volatile HttpClientPoolRegistry HTTP_CLIENT_POOL_REGISTRY = new HttpClientPoolRegistry(new HttpClientProperties());
 
-    private static final HttpClient HTTP_CLIENT = HttpClientBuilder.create()
-        .setMaxConnTotal(MAX_CONNECTIONS)
-        .setMaxConnPerRoute(MAX_CONNECTIONS_PER_ROUTE)
-        .build();
+    /**
+     * Replace the registry of connection pools used for outbound requests.
+     * The previous registry is released once the new one is in place.
+     *
+     * @param registry the registry
+     */
+    public static void setHttpClientPoolRegistry(@NonNull final HttpClientPoolRegistry registry) {
+        val previous = HTTP_CLIENT_POOL_REGISTRY;
+        HTTP_CLIENT_POOL_REGISTRY = registry;
+        if (previous != registry) {
+            previous.destroy();
+        }
+    }
 
     /**
      * Execute http response.
@@ -138,12 +148,38 @@ public class HttpUtils {
                                        final Map<String, Object> parameters,
                                        final Map<String, Object> headers,
                                        final String entity) {
+        return execute(HttpClientPoolRegistry.DEFAULT_POOL_NAME, url, method, basicAuthUsername, basicAuthPassword, parameters, headers, entity);
+    }
+
+    /**
+     * Execute http request through the named connection pool and produce a response.
+     * Callers that reach out to a particular destination should ask for their own pool,
+     * so that a slow or failing destination does not hold up requests to others.
+     *
+     * @param poolName          the name of the connection pool
+     * @param url               the url
+     * @param method            the method
+     * @param basicAuthUsername the basic auth username
+     * @param basicAuthPassword the basic auth password
+     * @param parameters        the parameters
+     * @param headers           the headers
+     * @param entity            the entity
+     * @return the http response
+     */
+    public static HttpResponse execute(final String poolName,
+                                       final String url,
+                                       final String method,
+                                       final String basicAuthUsername,
+                                       final String basicAuthPassword,
+                                       final Map<String, Object> parameters,
+                                       final Map<String, Object> headers,
+                                       final String entity) {
         try {
             val uri = buildHttpUri(url, parameters);
             val request = getHttpRequestByMethod(method.toLowerCase().trim(), entity, uri);
             headers.forEach((k, v) -> request.addHeader(k, v.toString()));
             prepareHttpRequest(request, basicAuthUsername, basicAuthPassword, parameters);
-            return HTTP_CLIENT.execute(request);
+            return HTTP_CLIENT_POOL_REGISTRY.getPool(poolName).execute(request);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
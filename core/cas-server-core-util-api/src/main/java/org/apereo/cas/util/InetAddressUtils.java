@@ -1,12 +1,16 @@
 package org.apereo.cas.util;
 
+import com.google.common.net.InetAddresses;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 
+import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.URL;
+import java.util.Arrays;
 
 /**
  * This is {@link InetAddressUtils}.
@@ -17,6 +21,7 @@ import java.net.URL;
 @Slf4j
 @UtilityClass
 public class InetAddressUtils {
+    private static final int IPV6_NETWORK_PREFIX_LENGTH = 64;
 
     /**
      * Gets by name.
@@ -64,4 +69,40 @@ public class InetAddressUtils {
         }
         return null;
     }
+
+    /**
+     * Parse an ip address literal without ever resolving host names.
+     *
+     * @param address the ip address literal
+     * @return the address, or null if the given value is not an ip address literal
+     */
+    public static InetAddress parseAddress(final String address) {
+        if (StringUtils.isBlank(address) || !InetAddresses.isInetAddress(address.trim())) {
+            LOGGER.trace("[{}] is not an ip address literal", address);
+            return null;
+        }
+        return InetAddresses.forString(address.trim());
+    }
+
+    /**
+     * Gets the network an ip address literal belongs to, in CIDR notation.
+     * This is the address itself for IPv4 addresses and its {@code /64} prefix for IPv6 addresses,
+     * as those are typically handed out to a single client as a whole.
+     *
+     * @param address the ip address literal
+     * @return the network, or null if the given value is not an ip address literal
+     */
+    @SneakyThrows
+    public static String getNetworkAddress(final String address) {
+        val inetAddress = parseAddress(address);
+        if (inetAddress == null) {
+            return null;
+        }
+        if (inetAddress instanceof Inet6Address) {
+            val bytes = inetAddress.getAddress();
+            Arrays.fill(bytes, IPV6_NETWORK_PREFIX_LENGTH / Byte.SIZE, bytes.length, (byte) 0);
+            return InetAddresses.toAddrString(InetAddress.getByAddress(bytes)) + '/' + IPV6_NETWORK_PREFIX_LENGTH;
+        }
+        return InetAddresses.toAddrString(inetAddress) + "/32";
+    }
 }
@@ -0,0 +1,395 @@
+package org.apereo.cas.util.http;
+
+import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.EofSensorInputStream;
+import org.apache.http.conn.EofSensorWatcher;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.springframework.http.HttpHeaders;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This is {@link HttpClientPool} that executes outbound requests for a single named destination.
+ * Each pool owns its connections, so a slow endpoint can only exhaust its own pool. Requests are guarded
+ * by an optional bulkhead that bounds how many of them may wait on or stream from the endpoint at the same time,
+ * holding a permit until the response is closed or its content is consumed, and by an optional circuit breaker that rejects requests right away once the endpoint has failed repeatedly.
+ * Pool usage and request latency are reported to the meter registry, tagged with the pool name;
+ * the pool usage gauges are removed from the registry when the pool is closed.
+ * If a {@link HttpResponseCache} is attached, {@code GET} requests are answered from it when possible.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class HttpClientPool implements Closeable {
+    /**
+     * Name of the pool used for IP address intelligence requests.
+     */
+    public static final String IP_ADDRESS_INTELLIGENCE_POOL_NAME = "ipAddressIntelligence";
+
+    /**
+     * Name of the pool used for surrogate authentication requests.
+     */
+    public static final String SURROGATE_POOL_NAME = "surrogate";
+
+    /**
+     * Name of the pool used for passwordless authentication requests.
+     */
+    public static final String PASSWORDLESS_POOL_NAME = "passwordless";
+
+    /**
+     * Name of the pool used for acceptable usage policy requests.
+     */
+    public static final String ACCEPTABLE_USAGE_POLICY_POOL_NAME = "acceptableUsagePolicy";
+
+    /**
+     * Name of the pool used for SAML metadata requests.
+     */
+    public static final String SAML_METADATA_POOL_NAME = "samlMetadata";
+
+    /**
+     * Name of the pool whose response cache is used by the REST consent store.
+     */
+    public static final String CONSENT_POOL_NAME = "consent";
+
+    /**
+     * Name of the pool whose response cache is used by the REST trusted device store.
+     */
+    public static final String TRUSTED_DEVICES_POOL_NAME = "trustedDevices";
+
+    private static final String METER_PREFIX = "cas.http.client";
+
+    private final String name;
+
+    private final CloseableHttpClient httpClient;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final Semaphore bulkhead;
+
+    private final Duration permitTimeout;
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry;
+
+    private final HttpResponseCache responseCache;
+
+    private final RequestConfig requestConfig;
+
+    private final List<Meter> gauges = new ArrayList<>();
+
+    private volatile long openUntil;
+
+    public HttpClientPool(final String name, final HttpClientProperties.Pool properties, final MeterRegistry meterRegistry) {
+        this(name, properties, meterRegistry, properties.getResponseCache().isEnabled()
+            ? new HttpResponseCache(name, properties.getResponseCache(), meterRegistry)
+            : null);
+    }
+
+    public HttpClientPool(final String name, final HttpClientProperties.Pool properties,
+                          final MeterRegistry meterRegistry, final HttpResponseCache responseCache) {
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+        this.responseCache = responseCache;
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(properties.getMaxConnections());
+        this.connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        this.connectionManager.setValidateAfterInactivity((int) Beans.newDuration(properties.getValidateAfterInactivity()).toMillis());
+
+        this.permitTimeout = Beans.newDuration(properties.getConnectionRequestTimeout());
+        val requestConfigBuilder = RequestConfig.custom()
+            .setConnectTimeout((int) Beans.newDuration(properties.getConnectTimeout()).toMillis())
+            .setConnectionRequestTimeout((int) this.permitTimeout.toMillis());
+        if (StringUtils.isNotBlank(properties.getSocketTimeout())) {
+            requestConfigBuilder.setSocketTimeout((int) Beans.newDuration(properties.getSocketTimeout()).toMillis());
+        }
+        this.requestConfig = requestConfigBuilder.build();
+        val keepAlive = Beans.newDuration(properties.getKeepAlive());
+        this.httpClient = HttpClientBuilder.create()
+            .setConnectionManager(this.connectionManager)
+            .setDefaultRequestConfig(this.requestConfig)
+            .setKeepAliveStrategy((response, context) -> {
+                val advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return advertised > 0 ? Math.min(advertised, keepAlive.toMillis()) : keepAlive.toMillis();
+            })
+            .evictExpiredConnections()
+            .evictIdleConnections(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+
+        this.bulkhead = properties.getMaxConcurrentRequests() > 0 ? new Semaphore(properties.getMaxConcurrentRequests()) : null;
+        this.failureThreshold = properties.getCircuitBreakerFailureThreshold();
+        this.openDuration = Beans.newDuration(properties.getCircuitBreakerOpenDuration());
+
+        this.meterRegistry.find(METER_PREFIX + ".connections").tag("pool", name).meters().forEach(this.meterRegistry::remove);
+        registerGauge("leased", PoolStats::getLeased);
+        registerGauge("available", PoolStats::getAvailable);
+        registerGauge("pending", PoolStats::getPending);
+    }
+
+    /**
+     * Execute the request through this pool.
+     *
+     * @param request the request
+     * @return the response
+     * @throws IOException if the request fails, or is rejected by the bulkhead or the open circuit
+     */
+    public HttpResponse execute(final HttpUriRequest request) throws IOException {
+        if (this.responseCache == null) {
+            return executeInternal(request);
+        }
+        if (!HttpGet.METHOD_NAME.equalsIgnoreCase(request.getMethod())) {
+            this.responseCache.invalidate(request.getURI());
+            return executeInternal(request);
+        }
+        val headers = new HttpHeaders();
+        Arrays.stream(request.getAllHeaders()).forEach(header -> headers.add(header.getName(), header.getValue()));
+        val entry = this.responseCache.get(request.getURI(), headers, conditions -> {
+            conditions.forEach((header, values) -> values.forEach(value -> request.setHeader(header, value)));
+            try (val response = (CloseableHttpResponse) executeInternal(request)) {
+                val responseHeaders = new HttpHeaders();
+                Arrays.stream(response.getAllHeaders()).forEach(header -> responseHeaders.add(header.getName(), header.getValue()));
+                val body = response.getEntity() != null ? EntityUtils.toByteArray(response.getEntity()) : new byte[0];
+                return new HttpResponseCache.Entry(response.getStatusLine().getStatusCode(),
+                    response.getStatusLine().getReasonPhrase(), responseHeaders, body);
+            }
+        });
+        return new CachedHttpResponse(entry);
+    }
+
+    private HttpResponse executeInternal(final HttpUriRequest request) throws IOException {
+        if (isCircuitOpen()) {
+            record("short_circuited", 0);
+            throw new IOException("Circuit for HTTP client pool [" + this.name + "] is open; request to ["
+                + request.getURI().getHost() + "] is rejected");
+        }
+        val permit = acquirePermit(request);
+        val start = System.nanoTime();
+        var handedOver = false;
+        try {
+            val response = this.httpClient.execute(request);
+            val serverError = response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+            recordOutcome(!serverError);
+            record(serverError ? "server_error" : "success", System.nanoTime() - start);
+            if (permit == null || response.getEntity() == null) {
+                return response;
+            }
+            handedOver = true;
+            return new PermitHoldingHttpResponse(response, permit);
+        } catch (final IOException e) {
+            recordOutcome(false);
+            record("failure", System.nanoTime() - start);
+            throw e;
+        } finally {
+            if (permit != null && !handedOver) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Whether the circuit is currently open.
+     *
+     * @return true/false
+     */
+    public boolean isCircuitOpen() {
+        return this.failureThreshold > 0 && System.currentTimeMillis() < this.openUntil;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.meterRegistry.getMeters()
+            .stream()
+            .filter(meter -> this.gauges.stream().anyMatch(gauge -> gauge == meter))
+            .forEach(this.meterRegistry::remove);
+        this.gauges.clear();
+        this.httpClient.close();
+    }
+
+    private Permit acquirePermit(final HttpUriRequest request) throws IOException {
+        if (this.bulkhead == null) {
+            return null;
+        }
+        try {
+            if (this.bulkhead.tryAcquire(this.permitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return new Permit(this.bulkhead);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        record("rejected", 0);
+        throw new IOException("HTTP client pool [" + this.name + "] has too many requests in flight; request to ["
+            + request.getURI().getHost() + "] is rejected");
+    }
+
+    private void recordOutcome(final boolean success) {
+        if (this.failureThreshold <= 0) {
+            return;
+        }
+        if (success) {
+            this.consecutiveFailures.set(0);
+            return;
+        }
+        if (this.consecutiveFailures.incrementAndGet() >= this.failureThreshold) {
+            LOGGER.warn("HTTP client pool [{}] failed [{}] consecutive times; opening circuit for [{}]",
+                this.name, this.consecutiveFailures.get(), this.openDuration);
+            this.openUntil = System.currentTimeMillis() + this.openDuration.toMillis();
+        }
+    }
+
+    private void record(final String outcome, final long nanos) {
+        Timer.builder(METER_PREFIX + ".requests")
+            .tag("pool", this.name)
+            .tag("outcome", outcome)
+            .register(this.meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static class CachedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        CachedHttpResponse(final HttpResponseCache.Entry entry) {
+            super(HttpVersion.HTTP_1_1, entry.getStatus(), entry.getReason());
+            entry.getHeaders().forEach((header, values) -> values.forEach(value -> addHeader(header, value)));
+            val contentType = entry.getHeaders().getContentType();
+            setEntity(new ByteArrayEntity(entry.getBody(), contentType != null ? ContentType.parse(contentType.toString()) : null));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private void registerGauge(final String state, final ToDoubleFunction<PoolStats> function) {
+        this.gauges.add(Gauge.builder(METER_PREFIX + ".connections", this.connectionManager, manager -> function.applyAsDouble(manager.getTotalStats()))
+            .tag("pool", this.name)
+            .tag("state", state)
+            .register(this.meterRegistry));
+    }
+
+    /**
+     * Bulkhead permit that is given back once, whichever way the response is finished with.
+     */
+    private static class Permit implements EofSensorWatcher {
+        private final Semaphore bulkhead;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(final Semaphore bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        void release() {
+            if (this.released.compareAndSet(false, true)) {
+                this.bulkhead.release();
+            }
+        }
+
+        @Override
+        public boolean eofDetected(final InputStream wrapped) {
+            release();
+            return true;
+        }
+
+        @Override
+        public boolean streamClosed(final InputStream wrapped) {
+            release();
+            return true;
+        }
+
+        @Override
+        public boolean streamAbort(final InputStream wrapped) {
+            release();
+            return true;
+        }
+    }
+
+    private static class PermitHoldingHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        private final CloseableHttpResponse response;
+
+        private final Permit permit;
+
+        PermitHoldingHttpResponse(final CloseableHttpResponse response, final Permit permit) {
+            super(response.getStatusLine());
+            this.response = response;
+            this.permit = permit;
+            setHeaders(response.getAllHeaders());
+            setLocale(response.getLocale());
+            setEntity(new PermitHoldingHttpEntity(response.getEntity(), permit));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.response.close();
+            } finally {
+                this.permit.release();
+            }
+        }
+    }
+
+    private static class PermitHoldingHttpEntity extends HttpEntityWrapper {
+        private final Permit permit;
+
+        PermitHoldingHttpEntity(final HttpEntity entity, final Permit permit) {
+            super(entity);
+            this.permit = permit;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new EofSensorInputStream(super.getContent(), this.permit);
+        }
+
+        @Override
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            try {
+                super.writeTo(outputStream);
+            } finally {
+                this.permit.release();
+            }
+        }
+    }
+}
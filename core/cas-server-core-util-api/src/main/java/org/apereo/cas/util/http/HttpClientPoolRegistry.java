@@ -0,0 +1,98 @@
+package org.apereo.cas.util.http;
+
+import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link HttpClientPoolRegistry} that hands out {@link HttpClientPool} instances by name.
+ * Pools are created on first use, with the settings defined for that name or with the default pool settings,
+ * so every caller that asks for its own name is isolated from the others even without explicit configuration.
+ * Response caches are kept by name as well, and are shared between the pool and any other client of the same name.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class HttpClientPoolRegistry implements DisposableBean {
+    /**
+     * Name of the pool used by callers that do not ask for one.
+     */
+    public static final String DEFAULT_POOL_NAME = "default";
+
+    private final Map<String, HttpClientPool> pools = new ConcurrentHashMap<>();
+
+    private final Map<String, HttpResponseCache> responseCaches = new ConcurrentHashMap<>();
+
+    private final HttpClientProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public HttpClientPoolRegistry(final HttpClientProperties properties) {
+        this(properties, Metrics.globalRegistry);
+    }
+
+    /**
+     * Gets the pool registered under the given name, creating it if needed.
+     *
+     * @param name the name
+     * @return the pool
+     */
+    public HttpClientPool getPool(final String name) {
+        return this.pools.computeIfAbsent(name, key -> {
+            LOGGER.debug("Creating HTTP client pool [{}]", key);
+            return new HttpClientPool(key, getPoolProperties(key), this.meterRegistry, getResponseCache(key).orElse(null));
+        });
+    }
+
+    /**
+     * Gets the response cache registered under the given name, if response caching is enabled for it.
+     * Callers that do not go through the pool, such as those using a {@code RestTemplate},
+     * may use the cache via a {@link HttpResponseCacheInterceptor}.
+     *
+     * @param name the name
+     * @return the response cache
+     */
+    public Optional<HttpResponseCache> getResponseCache(final String name) {
+        val cacheProperties = getPoolProperties(name).getResponseCache();
+        if (!cacheProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.of(this.responseCaches.computeIfAbsent(name, key -> new HttpResponseCache(key, cacheProperties, this.meterRegistry)));
+    }
+
+    /**
+     * Gets the default pool.
+     *
+     * @return the pool
+     */
+    public HttpClientPool getDefaultPool() {
+        return getPool(DEFAULT_POOL_NAME);
+    }
+
+    private HttpClientProperties.Pool getPoolProperties(final String name) {
+        return this.properties.getPools().getOrDefault(name, this.properties.getPool());
+    }
+
+    @Override
+    public void destroy() {
+        this.pools.values().forEach(pool -> {
+            try {
+                pool.close();
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        });
+        this.pools.clear();
+    }
+}
@@ -0,0 +1,364 @@
+package org.apereo.cas.util.http;
+
+import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link HttpResponseCache} that caches responses to {@code GET} requests made to REST endpoints.
+ * Freshness follows the {@code Cache-Control} and {@code Expires} headers of the response, or the configured
+ * lifetime for responses that carry none. Expired responses are revalidated with {@code If-None-Match} and
+ * {@code If-Modified-Since} when the endpoint supplied validators, and are served stale for a while if the
+ * endpoint fails. Concurrent identical requests share a single request to the endpoint. Requests are considered
+ * identical when their URI and headers match, so responses are never shared across different credentials.
+ * Cached responses are indexed by path, so that a request that changes a resource can drop the responses for that
+ * path as well as for the paths above and below it, which covers endpoints that are read and written under
+ * different paths, without going through the whole cache.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class HttpResponseCache {
+    private static final String METER_NAME = "cas.http.client.cache";
+
+    private static final int MILLIS_PER_SECOND = 1000;
+
+    private final String name;
+
+    private final Cache<String, Entry> cache;
+
+    private final Map<String, CompletableFuture<Entry>> requests = new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<String, Set<String>> keysByPath = new ConcurrentSkipListMap<>();
+
+    private final Duration ttl;
+
+    private final Duration staleIfError;
+
+    private final MeterRegistry meterRegistry;
+
+    public HttpResponseCache(final String name, final HttpClientProperties.ResponseCache properties, final MeterRegistry meterRegistry) {
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Beans.newDuration(properties.getTtl());
+        this.staleIfError = Beans.newDuration(properties.getStaleIfError());
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .expireAfter(new EntryExpiry())
+            .executor(Runnable::run)
+            .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                if (key != null && entry != null && cause != RemovalCause.REPLACED) {
+                    unindex(key, entry.getPath());
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Gets the response to the given request, from the cache when possible.
+     *
+     * @param uri     the request uri
+     * @param headers the request headers
+     * @param fetcher the fetcher that sends the request to the endpoint
+     * @return the response
+     * @throws IOException if the endpoint cannot be reached and no usable response is cached
+     */
+    public Entry get(final URI uri, final HttpHeaders headers, final Fetcher fetcher) throws IOException {
+        val key = getKey(uri, headers);
+        val cached = this.cache.getIfPresent(key);
+        if (cached != null && cached.isFresh()) {
+            count("hit");
+            return cached;
+        }
+        val future = new CompletableFuture<Entry>();
+        val inflight = this.requests.putIfAbsent(key, future);
+        if (inflight != null) {
+            count("coalesced");
+            return await(inflight);
+        }
+        try {
+            val result = fetch(key, getPath(uri), cached, fetcher);
+            future.complete(result);
+            return result;
+        } catch (final Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.requests.remove(key, future);
+        }
+    }
+
+    /**
+     * Invalidate all cached responses for the path of the given uri, as well as for the paths above
+     * and below it, typically once a request that may change the state of the resource is made.
+     * For example, a write to {@code /accounts/casuser} invalidates {@code /accounts}, and a write to
+     * {@code /accounts/} invalidates {@code /accounts/casuser}.
+     *
+     * @param uri the uri
+     */
+    public void invalidate(final URI uri) {
+        val path = getPath(uri);
+        val paths = new ArrayList<String>();
+        paths.add(path);
+        paths.addAll(this.keysByPath.subMap(path + '/', true, path + "/\uffff", true).keySet());
+        val root = getRoot(uri);
+        var index = path.lastIndexOf('/');
+        while (index >= root.length()) {
+            paths.add(path.substring(0, index));
+            index = path.lastIndexOf('/', index - 1);
+        }
+        paths.forEach(p -> {
+            val keys = this.keysByPath.remove(p);
+            if (keys != null) {
+                this.cache.invalidateAll(keys);
+            }
+        });
+    }
+
+    private Entry fetch(final String key, final String path, final Entry cached, final Fetcher fetcher) throws IOException {
+        val conditions = new HttpHeaders();
+        if (cached != null) {
+            if (StringUtils.isNotBlank(cached.getHeaders().getETag())) {
+                conditions.setIfNoneMatch(cached.getHeaders().getETag());
+            }
+            if (getDate(cached.getHeaders(), HttpHeaders.LAST_MODIFIED) > 0) {
+                conditions.setIfModifiedSince(getDate(cached.getHeaders(), HttpHeaders.LAST_MODIFIED));
+            }
+        }
+        try {
+            return handle(key, path, cached, fetcher.fetch(conditions));
+        } catch (final IOException e) {
+            if (isUsableOnError(cached)) {
+                LOGGER.warn("Serving stale response for [{}] after request failure: [{}]", path, e.getMessage());
+                count("stale");
+                return cached;
+            }
+            throw e;
+        }
+    }
+
+    private Entry handle(final String key, final String path, final Entry cached, final Entry response) {
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+            val headers = new HttpHeaders();
+            headers.putAll(cached.getHeaders());
+            headers.putAll(response.getHeaders());
+            val refreshed = new Entry(cached.getStatus(), cached.getReason(), headers, cached.getBody());
+            store(key, path, refreshed);
+            count("revalidated");
+            return refreshed;
+        }
+        if (response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value() && isUsableOnError(cached)) {
+            LOGGER.warn("Serving stale response for [{}] after server error [{}]", path, response.getStatus());
+            count("stale");
+            return cached;
+        }
+        count("miss");
+        if (isCacheable(response.getStatus())) {
+            store(key, path, response);
+        } else {
+            this.cache.invalidate(key);
+        }
+        return response;
+    }
+
+    private void store(final String key, final String path, final Entry entry) {
+        val lifetime = getFreshnessLifetime(entry.getHeaders());
+        if (lifetime < 0) {
+            this.cache.invalidate(key);
+            return;
+        }
+        entry.setPath(path);
+        entry.setFreshUntil(System.currentTimeMillis() + lifetime);
+        this.cache.put(key, entry);
+        this.keysByPath.computeIfAbsent(path, p -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    private void unindex(final String key, final String path) {
+        if (path == null || this.cache.asMap().containsKey(key)) {
+            return;
+        }
+        this.keysByPath.computeIfPresent(path, (p, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Gets the freshness lifetime of a response in milliseconds,
+     * or a negative value if the response should not be cached at all.
+     */
+    private long getFreshnessLifetime(final HttpHeaders headers) {
+        val cacheControl = StringUtils.defaultString(headers.getCacheControl()).toLowerCase();
+        val hasValidators = StringUtils.isNotBlank(headers.getETag()) || getDate(headers, HttpHeaders.LAST_MODIFIED) > 0;
+        if (cacheControl.contains("no-store")) {
+            return -1;
+        }
+        if (cacheControl.contains("no-cache")) {
+            return hasValidators ? 0 : -1;
+        }
+        for (val directive : StringUtils.split(cacheControl, ',')) {
+            val value = directive.trim();
+            if (value.startsWith("max-age=")) {
+                try {
+                    return Long.parseLong(StringUtils.remove(value.substring("max-age=".length()), '"')) * MILLIS_PER_SECOND;
+                } catch (final NumberFormatException e) {
+                    LOGGER.trace("Invalid max-age directive [{}]", value);
+                }
+            }
+        }
+        val expires = getDate(headers, HttpHeaders.EXPIRES);
+        if (expires > 0) {
+            val date = getDate(headers, HttpHeaders.DATE);
+            return Math.max(0, expires - (date > 0 ? date : System.currentTimeMillis()));
+        }
+        if (!this.ttl.isZero()) {
+            return this.ttl.toMillis();
+        }
+        return hasValidators ? 0 : -1;
+    }
+
+    private boolean isUsableOnError(final Entry cached) {
+        return cached != null && System.currentTimeMillis() < cached.getFreshUntil() + this.staleIfError.toMillis();
+    }
+
+    private void count(final String outcome) {
+        this.meterRegistry.counter(METER_NAME, "cache", this.name, "outcome", outcome).increment();
+    }
+
+    private static boolean isCacheable(final int status) {
+        return status == HttpStatus.OK.value()
+            || status == HttpStatus.NON_AUTHORITATIVE_INFORMATION.value()
+            || status == HttpStatus.NO_CONTENT.value()
+            || status == HttpStatus.NOT_FOUND.value();
+    }
+
+    private static long getDate(final HttpHeaders headers, final String name) {
+        try {
+            return headers.getFirstDate(name);
+        } catch (final IllegalArgumentException e) {
+            LOGGER.trace("Invalid date header [{}]: [{}]", name, e.getMessage());
+            return -1;
+        }
+    }
+
+    private static Entry await(final CompletableFuture<Entry> inflight) throws IOException {
+        try {
+            return inflight.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static String getKey(final URI uri, final HttpHeaders headers) {
+        val sorted = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
+        sorted.putAll(headers);
+        return DigestUtils.sha256(uri.toString() + sorted);
+    }
+
+    private static String getRoot(final URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    private static String getPath(final URI uri) {
+        return getRoot(uri) + StringUtils.removeEnd(StringUtils.defaultString(uri.getRawPath()), "/");
+    }
+
+    /**
+     * Sends a request to the endpoint, along with the given conditional request headers.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+        /**
+         * Fetch the response.
+         *
+         * @param conditions the conditional request headers
+         * @return the response
+         * @throws IOException the exception
+         */
+        Entry fetch(HttpHeaders conditions) throws IOException;
+    }
+
+    /**
+     * A fully buffered response.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final int status;
+
+        private final String reason;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        @Setter
+        private String path;
+
+        @Setter
+        private long freshUntil;
+
+        /**
+         * Whether this response is still fresh.
+         *
+         * @return true/false
+         */
+        public boolean isFresh() {
+            return System.currentTimeMillis() < this.freshUntil;
+        }
+    }
+
+    private class EntryExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(final String key, final Entry value, final long currentTime) {
+            val remaining = value.getFreshUntil() + staleIfError.toMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Entry value, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Entry value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
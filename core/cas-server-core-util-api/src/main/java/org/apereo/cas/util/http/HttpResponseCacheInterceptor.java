@@ -0,0 +1,84 @@
+package org.apereo.cas.util.http;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This is {@link HttpResponseCacheInterceptor} that lets a {@link org.springframework.web.client.RestTemplate}
+ * serve {@code GET} requests from a {@link HttpResponseCache}. Any other request invalidates the cached
+ * responses for the same path, and for the paths above and below it, before it is sent.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class HttpResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private final HttpResponseCache responseCache;
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            this.responseCache.invalidate(request.getURI());
+            return execution.execute(request, body);
+        }
+        val headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        val entry = this.responseCache.get(request.getURI(), headers, conditions -> {
+            request.getHeaders().putAll(conditions);
+            try (val response = execution.execute(request, body)) {
+                val responseHeaders = new HttpHeaders();
+                responseHeaders.putAll(response.getHeaders());
+                return new HttpResponseCache.Entry(response.getRawStatusCode(), response.getStatusText(),
+                    responseHeaders, StreamUtils.copyToByteArray(response.getBody()));
+            }
+        });
+        return new CachedClientHttpResponse(entry);
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedClientHttpResponse implements ClientHttpResponse {
+        private final HttpResponseCache.Entry entry;
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(this.entry.getStatus());
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return this.entry.getStatus();
+        }
+
+        @Override
+        public String getStatusText() {
+            return this.entry.getReason();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.readOnlyHttpHeaders(this.entry.getHeaders());
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(this.entry.getBody());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
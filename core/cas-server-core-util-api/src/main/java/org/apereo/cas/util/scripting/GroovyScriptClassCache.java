@@ -0,0 +1,218 @@
+package org.apereo.cas.util.scripting;
+
+import org.apereo.cas.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovyShell;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link GroovyScriptClassCache} that holds on to classes compiled from Groovy script resources,
+ * so scripts are only compiled again once their content changes. Scripts backed by files are considered
+ * changed when their size or modification time changes; other resources are compared by their content digest.
+ * Resources that have no location of their own, such as byte arrays or streams, are keyed by that digest.
+ * Every script is compiled by its own class loader, so classes that are evicted from the cache,
+ * which is bounded, or replaced by a newer version can be unloaded along with their class loader.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class GroovyScriptClassCache implements MeterBinder {
+    private static final String METER_NAME = "cas.groovy.scripts";
+
+    private static final String METASPACE_POOL_NAME = "Metaspace";
+
+    private final CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
+
+    private final LongAdder compilations = new LongAdder();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final Cache<String, CompiledScript> cache;
+
+    public GroovyScriptClassCache(final long maxEntries) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .recordStats()
+            .build();
+    }
+
+    private static long getMetaspaceUsed() {
+        return ManagementFactory.getMemoryPoolMXBeans()
+            .stream()
+            .filter(pool -> METASPACE_POOL_NAME.equals(pool.getName()))
+            .mapToLong(pool -> pool.getUsage().getUsed())
+            .findFirst()
+            .orElse(-1);
+    }
+
+    private static String getResourceLocation(final Resource resource) {
+        try {
+            return resource.getURI().toString();
+        } catch (final IOException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static String getResourceKey(final Resource resource) {
+        val location = getResourceLocation(resource);
+        if (location != null) {
+            return location;
+        }
+        try {
+            return DigestUtils.sha256(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return resource.getDescription();
+        }
+    }
+
+    private static File getResourceFile(final Resource resource) {
+        try {
+            return resource.isFile() ? resource.getFile() : null;
+        } catch (final IOException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the class compiled from the given script resource,
+     * compiling the script if it was never compiled or has changed since.
+     *
+     * @param <T>      the type parameter
+     * @param resource the resource
+     * @return the compiled class
+     */
+    @SneakyThrows
+    public <T> Class<T> getScriptClass(final Resource resource) {
+        val location = getResourceLocation(resource);
+        val file = getResourceFile(resource);
+        if (location != null && file != null) {
+            val cached = this.cache.getIfPresent(location);
+            if (cached != null && cached.isUnmodified(file)) {
+                this.hits.increment();
+                return (Class<T>) cached.getScriptClass();
+            }
+        }
+
+        val script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
+        val digest = DigestUtils.sha256(script);
+        val key = StringUtils.defaultString(location, digest);
+        val lastModified = file != null ? file.lastModified() : 0;
+        val length = file != null ? file.length() : script.length();
+        val cached = this.cache.getIfPresent(key);
+        if (cached != null && cached.getDigest().equals(digest)) {
+            this.hits.increment();
+            this.cache.put(key, new CompiledScript(cached.getScriptClass(), digest, lastModified, length));
+            return (Class<T>) cached.getScriptClass();
+        }
+
+        val scriptClass = compile(resource, script);
+        this.cache.put(key, new CompiledScript(scriptClass, digest, lastModified, length));
+        return (Class<T>) scriptClass;
+    }
+
+    /**
+     * Forget the compiled class of the given script resource.
+     *
+     * @param resource the resource
+     */
+    public void invalidate(final Resource resource) {
+        this.cache.invalidate(getResourceKey(resource));
+    }
+
+    /**
+     * Forget all compiled classes.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METER_NAME + ".compilations", this.compilations, LongAdder::doubleValue)
+            .description("Number of times Groovy scripts were compiled")
+            .register(registry);
+        FunctionCounter.builder(METER_NAME + ".cache.hits", this.hits, LongAdder::doubleValue)
+            .description("Number of times compiled Groovy scripts were found in the cache")
+            .register(registry);
+        Gauge.builder(METER_NAME + ".cache.size", this.cache, Cache::estimatedSize)
+            .description("Number of compiled Groovy scripts held in the cache")
+            .register(registry);
+    }
+
+    /**
+     * Gets statistics about script compilations, the cache and the metaspace of the JVM.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        val stats = new LinkedHashMap<String, Object>();
+        stats.put("compilations", this.compilations.sum());
+        stats.put("cacheHits", this.hits.sum());
+        stats.put("cacheSize", this.cache.estimatedSize());
+        stats.put("cacheEvictions", this.cache.stats().evictionCount());
+        val metaspace = getMetaspaceUsed();
+        stats.put("metaspaceUsed", metaspace >= 0 ? FileUtils.byteCountToDisplaySize(metaspace) : "N/A");
+        return stats;
+    }
+
+    @SneakyThrows
+    private Class<?> compile(final Resource resource, final String script) {
+        val start = System.nanoTime();
+        val name = StringUtils.defaultIfBlank(resource.getFilename(), "script" + System.currentTimeMillis() + ".groovy");
+        val codeSource = new GroovyCodeSource(script, name, GroovyShell.DEFAULT_CODE_BASE);
+        codeSource.setCachable(false);
+        try (val loader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(), this.compilerConfiguration, true)) {
+            val scriptClass = loader.parseClass(codeSource);
+            this.compilations.increment();
+            LOGGER.debug("Compiled Groovy script [{}] in [{}]ms. Scripts were compiled [{}] time(s) so far and metaspace usage is [{}] byte(s)",
+                resource, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), this.compilations.sum(), getMetaspaceUsed());
+            return scriptClass;
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class CompiledScript {
+        private final Class<?> scriptClass;
+
+        private final String digest;
+
+        private final long lastModified;
+
+        private final long length;
+
+        boolean isUnmodified(final File file) {
+            return file.lastModified() == this.lastModified && file.length() == this.length;
+        }
+    }
+}
@@ -4,17 +4,15 @@ import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 
 import groovy.lang.Binding;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import groovy.lang.GroovyShell;
+import io.micrometer.core.instrument.Metrics;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.Resource;
 
@@ -51,6 +49,20 @@ public class ScriptingUtils {
      */
     private static final Pattern FILE_GROOVY_PATTERN = RegexUtils.createPattern("(file|classpath):(.+\\.groovy)");
 
+    /**
+     * Maximum number of compiled groovy scripts to keep around.
+     */
+    private static final long GROOVY_SCRIPT_CACHE_MAX_ENTRIES = 1_000;
+
+    /**
+     * Classes compiled from groovy script resources.
+     */
+    private static final GroovyScriptClassCache GROOVY_SCRIPT_CLASS_CACHE = new GroovyScriptClassCache(GROOVY_SCRIPT_CACHE_MAX_ENTRIES);
+
+    static {
+        GROOVY_SCRIPT_CLASS_CACHE.bindTo(Metrics.globalRegistry);
+    }
+
     /**
      * Is inline groovy script ?.
      *
@@ -276,11 +288,10 @@ public class ScriptingUtils {
     public static GroovyObject parseGroovyScript(final Resource groovyScript,
                                                  final boolean failOnError) {
         return AccessController.doPrivileged((PrivilegedAction<GroovyObject>) () -> {
-            val parent = ScriptingUtils.class.getClassLoader();
-            try (val loader = new GroovyClassLoader(parent)) {
+            try {
                 val groovyFile = groovyScript.getFile();
                 if (groovyFile.exists()) {
-                    val groovyClass = loader.parseClass(groovyFile);
+                    val groovyClass = GROOVY_SCRIPT_CLASS_CACHE.getScriptClass(groovyScript);
                     LOGGER.trace("Creating groovy object instance from class [{}]", groovyFile.getCanonicalPath());
                     return (GroovyObject) groovyClass.getDeclaredConstructor().newInstance();
                 }
@@ -430,13 +441,7 @@ public class ScriptingUtils {
                 return null;
             }
 
-            val script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
-
-            val clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> {
-                val classLoader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(),
-                    new CompilerConfiguration(), true);
-                return classLoader.parseClass(script);
-            });
+            val clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> GROOVY_SCRIPT_CLASS_CACHE.getScriptClass(resource));
 
             LOGGER.debug("Preparing constructor arguments [{}] for resource [{}]", args, resource);
             val ctor = clazz.getDeclaredConstructor(constructorArgs);
@@ -454,6 +459,15 @@ public class ScriptingUtils {
         return null;
     }
 
+    /**
+     * Gets the cache of classes compiled from groovy script resources.
+     *
+     * @return the groovy script class cache
+     */
+    public static GroovyScriptClassCache getGroovyScriptClassCache() {
+        return GROOVY_SCRIPT_CLASS_CACHE;
+    }
+
     private static String getScriptEngineName(final String scriptFile) {
         if (scriptFile.endsWith(".py")) {
             return "python";
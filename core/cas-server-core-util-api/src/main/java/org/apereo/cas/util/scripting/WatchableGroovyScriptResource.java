@@ -30,6 +30,7 @@ public class WatchableGroovyScriptResource implements AutoCloseable {
             this.watcherService = new FileWatcherService(script.getFile(), file -> {
                 try {
                     LOGGER.debug("Reloading script at [{}]", file);
+                    ScriptingUtils.getGroovyScriptClassCache().invalidate(script);
                     compileScriptResource(script);
                 } catch (final Exception e) {
                     LOGGER.error(e.getMessage(), e);
@@ -20,11 +20,14 @@ import org.apereo.cas.util.gen.ChainingPrincipalNameTransformerTests;
 import org.apereo.cas.util.gen.DefaultLongNumericGeneratorTests;
 import org.apereo.cas.util.gen.DefaultRandomStringGeneratorTests;
 import org.apereo.cas.util.gen.HexRandomStringGeneratorTests;
+import org.apereo.cas.util.http.HttpClientPoolTests;
 import org.apereo.cas.util.http.HttpMessageTests;
+import org.apereo.cas.util.http.HttpResponseCacheTests;
 import org.apereo.cas.util.http.SimpleHttpClientTests;
 import org.apereo.cas.util.io.CommunicationsManagerTests;
 import org.apereo.cas.util.io.GroovySmsSenderTests;
 import org.apereo.cas.util.io.RestfulSmsSenderTests;
+import org.apereo.cas.util.scripting.GroovyScriptClassCacheTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -44,6 +47,8 @@ import org.junit.runners.Suite;
     RsaKeyPairCipherExecutorTests.class,
     HttpMessageTests.class,
     SimpleHttpClientTests.class,
+    HttpClientPoolTests.class,
+    HttpResponseCacheTests.class,
     CommunicationsManagerTests.class,
     Base64RandomStringGeneratorTests.class,
     ChainingPrincipalNameTransformerTests.class,
@@ -59,6 +64,7 @@ import org.junit.runners.Suite;
     BinaryCipherExecutorTests.class,
     ResourceUtilsTests.class,
     ScriptingUtilsTests.class,
+    GroovyScriptClassCacheTests.class,
     GroovySmsSenderTests.class,
     RestfulSmsSenderTests.class,
     RandomUtilsTests.class
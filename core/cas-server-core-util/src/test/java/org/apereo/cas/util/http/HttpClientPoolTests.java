@@ -0,0 +1,162 @@
+package org.apereo.cas.util.http;
+
+import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
+import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.MockWebServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HttpClientPoolTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class HttpClientPoolTests {
+
+    @Test
+    public void verifyPoolsAreIsolatedByName() {
+        val properties = new HttpClientProperties();
+        val pool = new HttpClientProperties.Pool();
+        pool.setMaxConcurrentRequests(5);
+        properties.getPools().put("configured", pool);
+
+        val registry = new HttpClientPoolRegistry(properties, new SimpleMeterRegistry());
+        assertSame(registry.getPool("configured"), registry.getPool("configured"));
+        assertNotSame(registry.getPool("configured"), registry.getDefaultPool());
+        assertNotNull(registry.getPool("configured").getBulkhead());
+        assertNull(registry.getPool("other").getBulkhead());
+        registry.destroy();
+    }
+
+    @Test
+    public void verifySocketTimeoutIsBoundedByDefault() {
+        val properties = new HttpClientProperties();
+        val pool = new HttpClientProperties.Pool();
+        pool.setSocketTimeout("PT10S");
+        properties.getPools().put(HttpClientPool.SAML_METADATA_POOL_NAME, pool);
+        val unbounded = new HttpClientProperties.Pool();
+        unbounded.setSocketTimeout(StringUtils.EMPTY);
+        properties.getPools().put("unbounded", unbounded);
+
+        val registry = new HttpClientPoolRegistry(properties, new SimpleMeterRegistry());
+        assertEquals(30_000, registry.getDefaultPool().getRequestConfig().getSocketTimeout());
+        assertEquals(10_000, registry.getPool(HttpClientPool.SAML_METADATA_POOL_NAME).getRequestConfig().getSocketTimeout());
+        assertEquals(RequestConfig.DEFAULT.getSocketTimeout(), registry.getPool("unbounded").getRequestConfig().getSocketTimeout());
+        registry.destroy();
+    }
+
+    @Test
+    public void verifyGaugesAreReplacedWithPool() throws Exception {
+        val meterRegistry = new SimpleMeterRegistry();
+        val properties = new HttpClientProperties.Pool();
+        val first = new HttpClientPool("recreated", properties, meterRegistry);
+        val gauge = meterRegistry.get("cas.http.client.connections").tag("pool", "recreated").tag("state", "leased").gauge();
+        first.close();
+        assertNull(meterRegistry.find("cas.http.client.connections").tag("pool", "recreated").gauge());
+
+        val stale = new HttpClientPool("recreated", properties, meterRegistry);
+        try (val second = new HttpClientPool("recreated", properties, meterRegistry)) {
+            stale.close();
+            assertEquals(3, meterRegistry.find("cas.http.client.connections").tag("pool", "recreated").gauges().size());
+            assertNotSame(gauge, meterRegistry.get("cas.http.client.connections").tag("pool", "recreated").tag("state", "leased").gauge());
+            assertTrue(second.getGauges().containsAll(meterRegistry.find("cas.http.client.connections").tag("pool", "recreated").meters()));
+        }
+    }
+
+    @Test
+    public void verifyBulkheadPermitIsHeldUntilResponseIsFinished() throws Exception {
+        try (val webServer = new MockWebServer(9318,
+            new ByteArrayResource("casuser".getBytes(StandardCharsets.UTF_8), "Output"), HttpStatus.OK)) {
+            webServer.start();
+
+            val properties = new HttpClientProperties.Pool();
+            properties.setMaxConcurrentRequests(1);
+            properties.setConnectionRequestTimeout("PT0.1S");
+            try (val pool = new HttpClientPool("bulkhead", properties, new SimpleMeterRegistry())) {
+                val response = pool.execute(new HttpGet("http://localhost:9318"));
+                assertEquals(0, pool.getBulkhead().availablePermits());
+                try {
+                    pool.execute(new HttpGet("http://localhost:9318"));
+                    fail("Request should have been rejected");
+                } catch (final IOException e) {
+                    assertTrue(e.getMessage().contains("too many requests"));
+                }
+                HttpUtils.close(response);
+                assertEquals(1, pool.getBulkhead().availablePermits());
+
+                val consumed = pool.execute(new HttpGet("http://localhost:9318"));
+                assertEquals(0, pool.getBulkhead().availablePermits());
+                assertEquals("casuser", EntityUtils.toString(consumed.getEntity()));
+                assertEquals(1, pool.getBulkhead().availablePermits());
+                HttpUtils.close(consumed);
+                assertEquals(1, pool.getBulkhead().availablePermits());
+            }
+        }
+    }
+
+    @Test
+    public void verifyCircuitOpensOnFailures() throws Exception {
+        try (val webServer = new MockWebServer(9316,
+            new ByteArrayResource(StringUtils.EMPTY.getBytes(StandardCharsets.UTF_8), "Output"), HttpStatus.INTERNAL_SERVER_ERROR)) {
+            webServer.start();
+
+            val properties = new HttpClientProperties.Pool();
+            properties.setCircuitBreakerFailureThreshold(2);
+            val meterRegistry = new SimpleMeterRegistry();
+            try (val pool = new HttpClientPool("test", properties, meterRegistry)) {
+                for (var i = 0; i < 2; i++) {
+                    val response = pool.execute(new HttpGet("http://localhost:9316"));
+                    assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusLine().getStatusCode());
+                    HttpUtils.close(response);
+                }
+                assertTrue(pool.isCircuitOpen());
+                try {
+                    pool.execute(new HttpGet("http://localhost:9316"));
+                    fail("Request should have been rejected");
+                } catch (final IOException e) {
+                    assertTrue(e.getMessage().contains("Circuit"));
+                }
+                assertEquals(2, meterRegistry.get("cas.http.client.requests").tag("pool", "test").tag("outcome", "server_error").timer().count());
+                assertEquals(1, meterRegistry.get("cas.http.client.requests").tag("outcome", "short_circuited").timer().count());
+                assertNotNull(meterRegistry.get("cas.http.client.connections").tag("state", "leased").gauge());
+            }
+        }
+    }
+
+    @Test
+    public void verifyResponsesAreCached() throws Exception {
+        try (val webServer = new MockWebServer(9317,
+            new ByteArrayResource("casuser".getBytes(StandardCharsets.UTF_8), "Output"), HttpStatus.OK)) {
+            webServer.start();
+
+            val properties = new HttpClientProperties.Pool();
+            properties.getResponseCache().setEnabled(true);
+            properties.getResponseCache().setTtl("PT1M");
+            val meterRegistry = new SimpleMeterRegistry();
+            try (val pool = new HttpClientPool("cached", properties, meterRegistry)) {
+                for (var i = 0; i < 2; i++) {
+                    val response = pool.execute(new HttpGet("http://localhost:9317/accounts"));
+                    assertEquals(HttpStatus.OK.value(), response.getStatusLine().getStatusCode());
+                    assertEquals("casuser", EntityUtils.toString(response.getEntity()));
+                    HttpUtils.close(response);
+                }
+                assertEquals(1, meterRegistry.get("cas.http.client.requests").tag("pool", "cached").timer().count());
+                assertEquals(1, meterRegistry.get("cas.http.client.cache").tag("outcome", "hit").counter().count(), 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.apereo.cas.util.http;
+
+import org.apereo.cas.configuration.model.core.authentication.HttpClientProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HttpResponseCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class HttpResponseCacheTests {
+    private static final URI URI_ACCOUNTS = URI.create("https://rest.example.org/accounts?username=casuser");
+
+    private static HttpResponseCache getCache(final String ttl) {
+        val properties = new HttpClientProperties.ResponseCache();
+        properties.setEnabled(true);
+        properties.setTtl(ttl);
+        return new HttpResponseCache("test", properties, new SimpleMeterRegistry());
+    }
+
+    private static HttpResponseCache.Entry getResponse(final int status, final String cacheControl, final String etag) {
+        val headers = new HttpHeaders();
+        if (cacheControl != null) {
+            headers.setCacheControl(cacheControl);
+        }
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        return new HttpResponseCache.Entry(status, "reason", headers, "casuser".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void verifyFreshResponseIsReused() throws Exception {
+        val cache = getCache("PT0S");
+        val fetches = new AtomicInteger();
+        for (var i = 0; i < 3; i++) {
+            val entry = cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+                fetches.incrementAndGet();
+                return getResponse(HttpStatus.OK.value(), "max-age=60", null);
+            });
+            assertEquals("casuser", new String(entry.getBody(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, fetches.get());
+
+        val headers = new HttpHeaders();
+        headers.setBasicAuth("other", "password");
+        cache.get(URI_ACCOUNTS, headers, conditions -> {
+            fetches.incrementAndGet();
+            return getResponse(HttpStatus.OK.value(), "max-age=60", null);
+        });
+        assertEquals(2, fetches.get());
+
+        cache.invalidate(URI.create("https://rest.example.org/accounts"));
+        cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+            fetches.incrementAndGet();
+            return getResponse(HttpStatus.OK.value(), "max-age=60", null);
+        });
+        assertEquals(3, fetches.get());
+    }
+
+    @Test
+    public void verifyWritesInvalidateRelatedPaths() throws Exception {
+        val cache = getCache("PT0S");
+        val fetches = new AtomicInteger();
+        val collection = URI.create("https://rest.example.org/trusted");
+        val member = URI.create("https://rest.example.org/trusted/casuser");
+        val unrelated = URI.create("https://rest.example.org/trustedDevices");
+        for (var i = 0; i < 2; i++) {
+            for (val uri : new URI[]{collection, member, unrelated}) {
+                cache.get(uri, new HttpHeaders(), conditions -> {
+                    fetches.incrementAndGet();
+                    return getResponse(HttpStatus.OK.value(), "max-age=60", null);
+                });
+            }
+        }
+        assertEquals(3, fetches.get());
+
+        cache.invalidate(URI.create("https://rest.example.org/trusted/"));
+        for (val uri : new URI[]{collection, member, unrelated}) {
+            cache.get(uri, new HttpHeaders(), conditions -> {
+                fetches.incrementAndGet();
+                return getResponse(HttpStatus.OK.value(), "max-age=60", null);
+            });
+        }
+        assertEquals(5, fetches.get());
+
+        cache.invalidate(URI.create("https://rest.example.org/trusted/casuser/devices/1"));
+        for (val uri : new URI[]{collection, member, unrelated}) {
+            cache.get(uri, new HttpHeaders(), conditions -> {
+                fetches.incrementAndGet();
+                return getResponse(HttpStatus.OK.value(), "max-age=60", null);
+            });
+        }
+        assertEquals(7, fetches.get());
+    }
+
+    @Test
+    public void verifyUncacheableResponses() throws Exception {
+        val cache = getCache("PT0S");
+        val fetches = new AtomicInteger();
+        for (var i = 0; i < 2; i++) {
+            cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+                fetches.incrementAndGet();
+                return getResponse(HttpStatus.OK.value(), "no-store", null);
+            });
+            cache.get(URI.create("https://rest.example.org/other"), new HttpHeaders(), conditions -> {
+                fetches.incrementAndGet();
+                return getResponse(HttpStatus.OK.value(), null, null);
+            });
+        }
+        assertEquals(4, fetches.get());
+    }
+
+    @Test
+    public void verifyConfiguredTtl() throws Exception {
+        val cache = getCache("PT1M");
+        val fetches = new AtomicInteger();
+        for (var i = 0; i < 2; i++) {
+            cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+                fetches.incrementAndGet();
+                return getResponse(HttpStatus.OK.value(), null, null);
+            });
+        }
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    public void verifyRevalidationAndStaleOnError() throws Exception {
+        val cache = getCache("PT0S");
+        cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> getResponse(HttpStatus.OK.value(), "no-cache", "\"v1\""));
+
+        val revalidated = cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+            assertEquals("\"v1\"", conditions.getIfNoneMatch().get(0));
+            return getResponse(HttpStatus.NOT_MODIFIED.value(), "no-cache", "\"v1\"");
+        });
+        assertEquals(HttpStatus.OK.value(), revalidated.getStatus());
+        assertEquals("casuser", new String(revalidated.getBody(), StandardCharsets.UTF_8));
+
+        val stale = cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+            throw new IOException("Connection refused");
+        });
+        assertEquals(HttpStatus.OK.value(), stale.getStatus());
+
+        val serverError = cache.get(URI_ACCOUNTS, new HttpHeaders(),
+            conditions -> getResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), null, null));
+        assertEquals(HttpStatus.OK.value(), serverError.getStatus());
+    }
+
+    @Test
+    public void verifyConcurrentRequestsAreCoalesced() throws Exception {
+        val cache = getCache("PT0S");
+        val fetches = new AtomicInteger();
+        val started = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+                    fetches.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await(1, TimeUnit.MINUTES);
+                    } catch (final InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return getResponse(HttpStatus.OK.value(), "no-store", null);
+                });
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.MINUTES));
+        val second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.get(URI_ACCOUNTS, new HttpHeaders(), conditions -> {
+                    fetches.incrementAndGet();
+                    return getResponse(HttpStatus.OK.value(), "no-store", null);
+                });
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        release.countDown();
+        assertSame(first.get(), second.get());
+        assertEquals(1, fetches.get());
+    }
+}
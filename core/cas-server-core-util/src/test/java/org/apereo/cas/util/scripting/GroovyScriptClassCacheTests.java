@@ -0,0 +1,121 @@
+package org.apereo.cas.util.scripting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link GroovyScriptClassCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class GroovyScriptClassCacheTests {
+    private static final long LAST_MODIFIED_STEP = 2_000;
+
+    private GroovyScriptClassCache cache;
+
+    private File file;
+
+    @Before
+    public void initialize() throws Exception {
+        this.cache = new GroovyScriptClassCache(10);
+        this.file = File.createTempFile("GroovyScriptClassCache", ".groovy");
+        this.file.deleteOnExit();
+        FileUtils.write(this.file, "def run(String name) { return name }", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void verifyScriptCompiledOnce() {
+        val resource = new FileSystemResource(this.file);
+        val clazz = cache.getScriptClass(resource);
+        assertSame(clazz, cache.getScriptClass(resource));
+        assertSame(clazz, cache.getScriptClass(new FileSystemResource(this.file)));
+        assertEquals(1L, cache.getStatistics().get("compilations"));
+        assertEquals(2L, cache.getStatistics().get("cacheHits"));
+        assertNotNull(cache.getStatistics().get("metaspaceUsed"));
+    }
+
+    @Test
+    public void verifyScriptRecompiledWhenModified() throws Exception {
+        val resource = new FileSystemResource(this.file);
+        val clazz = cache.getScriptClass(resource);
+
+        assertTrue(this.file.setLastModified(this.file.lastModified() + LAST_MODIFIED_STEP));
+        assertSame(clazz, cache.getScriptClass(resource));
+
+        FileUtils.write(this.file, "def run(String name) { return name.toUpperCase() }", StandardCharsets.UTF_8);
+        assertTrue(this.file.setLastModified(this.file.lastModified() + LAST_MODIFIED_STEP * 2));
+        val result = cache.getScriptClass(resource);
+        assertNotSame(clazz, result);
+        assertEquals(2L, cache.getStatistics().get("compilations"));
+    }
+
+    @Test
+    public void verifyScriptRecompiledWhenInvalidated() {
+        val resource = new FileSystemResource(this.file);
+        val clazz = cache.getScriptClass(resource);
+        cache.invalidate(resource);
+        val result = cache.getScriptClass(resource);
+        assertNotSame(clazz, result);
+        cache.invalidateAll();
+        assertNotSame(result, cache.getScriptClass(resource));
+        assertEquals(3L, cache.getStatistics().get("compilations"));
+    }
+
+    @Test
+    public void verifyResourceComparedByDigest() {
+        val script = "class Greeting implements java.util.function.Supplier { def get() { 'hello' } }";
+        val clazz = cache.getScriptClass(new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)));
+        assertSame(clazz, cache.getScriptClass(new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8))));
+
+        val changed = script.replace("hello", "goodbye");
+        assertNotSame(clazz, cache.getScriptClass(new ByteArrayResource(changed.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(2L, cache.getStatistics().get("compilations"));
+    }
+
+    @Test
+    public void verifyResourcesWithoutLocationKeyedByDigest() {
+        val hello = "class Greeting implements java.util.function.Supplier { def get() { 'hello' } }".getBytes(StandardCharsets.UTF_8);
+        val goodbye = "class Greeting implements java.util.function.Supplier { def get() { 'goodbye' } }".getBytes(StandardCharsets.UTF_8);
+        val first = cache.getScriptClass(new ByteArrayResource(hello));
+        val second = cache.getScriptClass(new InputStreamResource(new ByteArrayInputStream(goodbye)));
+        assertNotSame(first, second);
+        assertSame(first, cache.getScriptClass(new InputStreamResource(new ByteArrayInputStream(hello))));
+        assertSame(second, cache.getScriptClass(new ByteArrayResource(goodbye)));
+        assertEquals(2L, cache.getStatistics().get("compilations"));
+        assertEquals(2L, cache.getStatistics().get("cacheSize"));
+    }
+
+    @Test
+    public void verifyMetersAreBound() {
+        val registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.getScriptClass(new FileSystemResource(this.file));
+        assertEquals(1, registry.get("cas.groovy.scripts.compilations").functionCounter().count(), 0);
+        assertEquals(1, registry.get("cas.groovy.scripts.cache.size").gauge().value(), 0);
+    }
+
+    @Test
+    public void verifyObjectInstanceFromGroovyResource() throws Exception {
+        FileUtils.write(this.file, "class Greeting implements java.util.function.Supplier { def get() { 'hello' } }", StandardCharsets.UTF_8);
+        val resource = new FileSystemResource(this.file);
+        val first = ScriptingUtils.getObjectInstanceFromGroovyResource(resource, Supplier.class);
+        val second = ScriptingUtils.getObjectInstanceFromGroovyResource(resource, Supplier.class);
+        assertEquals("hello", first.get());
+        assertNotSame(first, second);
+        assertSame(first.getClass(), second.getClass());
+    }
+}
@@ -3,7 +3,9 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.DefaultCasSslContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.HttpUtils;
 import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpClientPoolRegistry;
 import org.apereo.cas.util.http.SimpleHttpClient;
 import org.apereo.cas.util.http.SimpleHttpClientFactoryBean;
 
@@ -78,6 +80,14 @@ public class CasCoreHttpConfiguration {
         return getHttpClient(true);
     }
 
+    @ConditionalOnMissingBean(name = "httpClientPoolRegistry")
+    @Bean
+    public HttpClientPoolRegistry httpClientPoolRegistry() {
+        val registry = new HttpClientPoolRegistry(casProperties.getHttpClient());
+        HttpUtils.setHttpClientPoolRegistry(registry);
+        return registry;
+    }
+
     @ConditionalOnMissingBean(name = "hostnameVerifier")
     @Bean
     public HostnameVerifier hostnameVerifier() {
@@ -5,6 +5,7 @@ import org.apereo.cas.configuration.model.support.aup.AcceptableUsagePolicyPrope
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -41,9 +42,9 @@ public class RestAcceptableUsagePolicyRepository extends AbstractPrincipalAttrib
     public boolean submit(final RequestContext requestContext, final Credential credential) {
         HttpResponse response = null;
         try {
-            response = HttpUtils.execute(properties.getUrl(), properties.getMethod(),
+            response = HttpUtils.execute(HttpClientPool.ACCEPTABLE_USAGE_POLICY_POOL_NAME, properties.getUrl(), properties.getMethod(),
                 properties.getBasicAuthUsername(), properties.getBasicAuthPassword(),
-                CollectionUtils.wrap("username", credential.getId()), new HashMap<>());
+                CollectionUtils.wrap("username", credential.getId()), new HashMap<>(), null);
             val statusCode = response.getStatusLine().getStatusCode();
             return HttpStatus.valueOf(statusCode).is2xxSuccessful();
         } catch (final Exception e) {
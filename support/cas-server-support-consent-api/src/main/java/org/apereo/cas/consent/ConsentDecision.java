@@ -10,6 +10,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
@@ -22,7 +23,7 @@ import java.time.temporal.ChronoUnit;
  * @since 5.1.0
  */
 @Entity
-@Table(name = "ConsentDecision")
+@Table(name = "ConsentDecision", indexes = @Index(name = "idx_consent_principal_service", columnList = "principal,service"))
 @ToString
 @Getter
 @Setter
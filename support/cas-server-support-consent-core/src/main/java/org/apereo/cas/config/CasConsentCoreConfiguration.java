@@ -4,8 +4,10 @@ import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.consent.AttributeConsentReportEndpoint;
 import org.apereo.cas.consent.AttributeReleaseConsentCipherExecutor;
+import org.apereo.cas.consent.CachingConsentRepository;
 import org.apereo.cas.consent.ConsentDecisionBuilder;
 import org.apereo.cas.consent.ConsentEngine;
 import org.apereo.cas.consent.ConsentRepository;
@@ -55,6 +57,12 @@ public class CasConsentCoreConfiguration implements AuditTrailRecordResolutionPl
     @Bean
     @RefreshScope
     public ConsentEngine consentEngine() {
+        val cache = casProperties.getConsent().getCache();
+        if (cache.isEnabled()) {
+            val repository = new CachingConsentRepository(consentRepository(),
+                Beans.newDuration(cache.getExpireAfterWrite()), cache.getMaximumSize());
+            return new DefaultConsentEngine(repository, consentDecisionBuilder());
+        }
         return new DefaultConsentEngine(consentRepository(), consentDecisionBuilder());
     }
 
@@ -111,6 +119,6 @@ public class CasConsentCoreConfiguration implements AuditTrailRecordResolutionPl
     @Bean
     @ConditionalOnEnabledEndpoint
     public AttributeConsentReportEndpoint attributeConsentReportEndpoint() {
-        return new AttributeConsentReportEndpoint(casProperties, consentRepository(), consentEngine());
+        return new AttributeConsentReportEndpoint(casProperties, consentEngine());
     }
 }
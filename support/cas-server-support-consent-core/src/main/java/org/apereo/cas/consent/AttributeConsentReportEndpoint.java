@@ -24,14 +24,11 @@ import java.util.Map;
 @Slf4j
 @Endpoint(id = "attributeConsent", enableByDefault = false)
 public class AttributeConsentReportEndpoint extends BaseCasActuatorEndpoint {
-    private final ConsentRepository consentRepository;
     private final ConsentEngine consentEngine;
 
     public AttributeConsentReportEndpoint(final CasConfigurationProperties casProperties,
-                                          final ConsentRepository consentRepository,
                                           final ConsentEngine consentEngine) {
         super(casProperties);
-        this.consentRepository = consentRepository;
         this.consentEngine = consentEngine;
     }
 
@@ -45,7 +42,7 @@ public class AttributeConsentReportEndpoint extends BaseCasActuatorEndpoint {
     public Collection<Map<String, Object>> consentDecisions(@Selector final String principal) {
         val result = new HashSet<Map<String, Object>>();
         LOGGER.debug("Fetching consent decisions for principal [{}]", principal);
-        val consentDecisions = this.consentRepository.findConsentDecisions(principal);
+        val consentDecisions = this.consentEngine.getConsentRepository().findConsentDecisions(principal);
         LOGGER.debug("Resolved consent decisions for principal [{}]: {}", principal, consentDecisions);
 
         consentDecisions.forEach(d -> {
@@ -68,7 +65,7 @@ public class AttributeConsentReportEndpoint extends BaseCasActuatorEndpoint {
     @DeleteOperation
     public boolean revokeConsents(@Selector final String principal, @Selector final long decisionId) {
         LOGGER.debug("Deleting consent decisions for principal [{}].", principal);
-        return this.consentRepository.deleteConsentDecision(decisionId, principal);
+        return this.consentEngine.getConsentRepository().deleteConsentDecision(decisionId, principal);
     }
 
 }
@@ -0,0 +1,94 @@
+package org.apereo.cas.consent;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link CachingConsentRepository} that keeps the consent decisions of each principal in memory,
+ * keyed by service. The underlying repository is asked for a decision at most once per principal and service
+ * while the principal's entry is cached, and the absence of a decision is remembered as well.
+ * Decisions stored or deleted through this repository evict the cached entries of their principal.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@ToString(of = "delegate")
+@Getter
+public class CachingConsentRepository implements ConsentRepository {
+    private static final long serialVersionUID = -2947196286214385128L;
+
+    private final ConsentRepository delegate;
+
+    private final transient LoadingCache<String, Map<String, Optional<ConsentDecision>>> decisions;
+
+    public CachingConsentRepository(final ConsentRepository delegate, final Duration expireAfterWrite, final long maximumSize) {
+        this.delegate = delegate;
+        this.decisions = Caffeine.newBuilder()
+            .expireAfterWrite(expireAfterWrite)
+            .maximumSize(maximumSize)
+            .build(principal -> new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public ConsentDecision findConsentDecision(final Service service, final RegisteredService registeredService,
+                                               final Authentication authentication) {
+        val principal = authentication.getPrincipal().getId();
+        val cached = this.decisions.get(principal);
+        return cached.computeIfAbsent(service.getId(), key -> {
+            LOGGER.trace("Loading consent decision for [{}] and service [{}]", principal, key);
+            return Optional.ofNullable(this.delegate.findConsentDecision(service, registeredService, authentication));
+        }).orElse(null);
+    }
+
+    @Override
+    public Collection<? extends ConsentDecision> findConsentDecisions(final String principal) {
+        return this.delegate.findConsentDecisions(principal);
+    }
+
+    @Override
+    public Collection<? extends ConsentDecision> findConsentDecisions() {
+        return this.delegate.findConsentDecisions();
+    }
+
+    @Override
+    public boolean storeConsentDecision(final ConsentDecision decision) {
+        try {
+            return this.delegate.storeConsentDecision(decision);
+        } finally {
+            evict(decision.getPrincipal());
+        }
+    }
+
+    @Override
+    public boolean deleteConsentDecision(final long id, final String principal) {
+        try {
+            return this.delegate.deleteConsentDecision(id, principal);
+        } finally {
+            evict(principal);
+        }
+    }
+
+    /**
+     * Evict the cached decisions of the given principal.
+     *
+     * @param principal the principal
+     */
+    public void evict(final String principal) {
+        this.decisions.invalidate(principal);
+    }
+}
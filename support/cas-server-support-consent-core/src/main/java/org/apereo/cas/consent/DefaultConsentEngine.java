@@ -5,6 +5,9 @@ import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +19,12 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * This is {@link DefaultConsentEngine}.
+ * Once a decision is found to cover the consentable attributes of a principal, a cheap fingerprint of
+ * the decision and those attributes is remembered so that the full comparison only runs again when either changes.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -29,9 +35,24 @@ import java.util.Map;
 public class DefaultConsentEngine implements ConsentEngine {
     private static final long serialVersionUID = -617809298856160625L;
 
+    private static final long MAX_VERIFIED_DECISIONS = 10_000;
+
     private final ConsentRepository consentRepository;
     private final ConsentDecisionBuilder consentDecisionBuilder;
 
+    @Getter(AccessLevel.NONE)
+    private final transient Cache<Pair<String, String>, Integer> verifiedDecisions = Caffeine.newBuilder()
+        .maximumSize(MAX_VERIFIED_DECISIONS)
+        .build();
+
+    private static Pair<String, String> getVerifiedDecisionKey(final ConsentDecision decision) {
+        return Pair.of(decision.getPrincipal(), decision.getService());
+    }
+
+    private static int getConsentableAttributesFingerprint(final ConsentDecision decision, final Map<String, Object> attributes) {
+        return Objects.hash(decision.getOptions(), decision.getAttributes(), attributes);
+    }
+
     @Override
     public Pair<Boolean, ConsentDecision> isConsentRequiredFor(final Service service,
                                                                final RegisteredService registeredService,
@@ -51,10 +72,15 @@ public class DefaultConsentEngine implements ConsentEngine {
         }
 
         LOGGER.debug("Located consentable attributes for release [{}]", attributes.keySet());
-        if (consentDecisionBuilder.doesAttributeReleaseRequireConsent(decision, attributes)) {
+        val fingerprint = getConsentableAttributesFingerprint(decision, attributes);
+        if (Objects.equals(verifiedDecisions.getIfPresent(getVerifiedDecisionKey(decision)), fingerprint)) {
+            LOGGER.debug("Consentable attributes are unchanged since decision [{}] was last verified", decision.getId());
+        } else if (consentDecisionBuilder.doesAttributeReleaseRequireConsent(decision, attributes)) {
             LOGGER.debug("Consent is required based on past decision [{}] and attribute release policy for [{}]",
                 decision, registeredService.getName());
             return Pair.of(Boolean.TRUE, decision);
+        } else {
+            verifiedDecisions.put(getVerifiedDecisionKey(decision), fingerprint);
         }
 
         LOGGER.debug("Consent is not required yet for [{}]; checking for reminder options", service);
@@ -96,6 +122,7 @@ public class DefaultConsentEngine implements ConsentEngine {
         decision.setReminder(reminder);
         decision.setReminderTimeUnit(reminderTimeUnit);
 
+        verifiedDecisions.invalidate(getVerifiedDecisionKey(decision));
         if (consentRepository.storeConsentDecision(decision)) {
             return decision;
         }
@@ -1,6 +1,7 @@
 
 package org.apereo.cas;
 
+import org.apereo.cas.consent.CachingConsentRepositoryTests;
 import org.apereo.cas.consent.DefaultConsentDecisionBuilderTests;
 import org.apereo.cas.consent.DefaultConsentEngineTests;
 import org.apereo.cas.consent.GroovyConsentRepositoryTests;
@@ -22,7 +23,8 @@ import org.junit.runners.Suite;
     GroovyConsentRepositoryTests.class,
     DefaultConsentDecisionBuilderTests.class,
     InMemoryConsentRepositoryTests.class,
-    JsonConsentRepositoryTests.class
+    JsonConsentRepositoryTests.class,
+    CachingConsentRepositoryTests.class
 })
 public class AllTestsSuite {
 }
@@ -0,0 +1,72 @@
+package org.apereo.cas.consent;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+
+import lombok.Getter;
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CachingConsentRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+public class CachingConsentRepositoryTests extends BaseConsentRepositoryTests {
+
+    private final ConsentRepository repository = new CachingConsentRepository(new InMemoryConsentRepository(), Duration.ofMinutes(1), 100);
+
+    @Test
+    public void verifyDecisionsAreLoadedOncePerPrincipalAndService() {
+        val delegate = spy(new InMemoryConsentRepository());
+        val repo = new CachingConsentRepository(delegate, Duration.ofMinutes(1), 100);
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser3");
+
+        assertNull(repo.findConsentDecision(SVC, REG_SVC, authentication));
+        assertNull(repo.findConsentDecision(SVC, REG_SVC, authentication));
+        verify(delegate, times(1)).findConsentDecision(any(), any(), any());
+
+        val decision = BUILDER.build(SVC, REG_SVC, "casuser3", ATTR);
+        assertTrue(repo.storeConsentDecision(decision));
+        val found = repo.findConsentDecision(SVC, REG_SVC, authentication);
+        assertNotNull(found);
+        assertNotNull(repo.findConsentDecision(SVC, REG_SVC, authentication));
+        verify(delegate, times(2)).findConsentDecision(any(), any(), any());
+
+        assertTrue(repo.deleteConsentDecision(found.getId(), "casuser3"));
+        assertNull(repo.findConsentDecision(SVC, REG_SVC, authentication));
+        verify(delegate, times(3)).findConsentDecision(any(), any(), any());
+    }
+
+    @Test
+    public void verifyDecisionsOfPrincipalAreEvictedRegardlessOfCachedId() {
+        val delegate = mock(ConsentRepository.class);
+        val repo = new CachingConsentRepository(delegate, Duration.ofMinutes(1), 100);
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser4");
+
+        val stale = BUILDER.build(SVC, REG_SVC, "casuser4", ATTR);
+        stale.setId(1);
+        when(delegate.findConsentDecision(any(), any(), any())).thenReturn(stale);
+        assertEquals(1, repo.findConsentDecision(SVC, REG_SVC, authentication).getId());
+
+        val stored = BUILDER.build(SVC, REG_SVC, "casuser4", ATTR);
+        stored.setId(2);
+        when(delegate.storeConsentDecision(stored)).thenReturn(Boolean.TRUE);
+        assertTrue(repo.storeConsentDecision(stored));
+        when(delegate.findConsentDecision(any(), any(), any())).thenReturn(stored);
+        assertEquals(2, repo.findConsentDecision(SVC, REG_SVC, authentication).getId());
+
+        when(delegate.deleteConsentDecision(2, "casuser4")).thenReturn(Boolean.TRUE);
+        assertTrue(repo.deleteConsentDecision(2, "casuser4"));
+        when(delegate.findConsentDecision(any(), any(), any())).thenReturn(null);
+        assertNull(repo.findConsentDecision(SVC, REG_SVC, authentication));
+        verify(delegate, times(3)).findConsentDecision(any(), any(), any());
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.consent;
 
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.audit.spi.config.CasCoreAuditConfiguration;
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasConsentCoreConfiguration;
@@ -24,6 +25,7 @@ import org.springframework.test.context.junit4.rules.SpringMethodRule;
 import java.time.temporal.ChronoUnit;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -98,4 +100,21 @@ public class DefaultConsentEngineTests {
         val decision2 = this.consentEngine.findConsentDecision(service, consentService, authentication);
         assertEquals(decision, decision2);
     }
+
+    @Test
+    public void verifyUnchangedAttributesSkipComparison() {
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser4");
+        val service = CoreAuthenticationTestUtils.getService();
+        val consentService = CoreAuthenticationTestUtils.getRegisteredService("consentService");
+        val policy = new ReturnAllAttributeReleasePolicy();
+        policy.setConsentPolicy(new DefaultRegisteredServiceConsentPolicy());
+        when(consentService.getAttributeReleasePolicy()).thenReturn(policy);
+
+        val builder = spy(new DefaultConsentDecisionBuilder(CipherExecutor.noOpOfSerializableToString()));
+        val engine = new DefaultConsentEngine(new InMemoryConsentRepository(), builder);
+        engine.storeConsentDecision(service, consentService, authentication, 14, ChronoUnit.DAYS, ConsentReminderOptions.ATTRIBUTE_NAME);
+        assertFalse(engine.isConsentRequiredFor(service, consentService, authentication).getKey());
+        assertFalse(engine.isConsentRequiredFor(service, consentService, authentication).getKey());
+        verify(builder, times(1)).doesAttributeReleaseRequireConsent(any(), any());
+    }
 }
@@ -31,7 +31,12 @@ public class JpaConsentRepository implements ConsentRepository {
     private static final long serialVersionUID = 6599902742493270206L;
 
     private static final String SELECT_QUERY = "SELECT r from ConsentDecision r ";
-    private static final String DELETE_QUERY = "DELETE r from ConsentDecision r ";
+
+    private static final String SELECT_BY_PRINCIPAL_QUERY = SELECT_QUERY + "where r.principal = :principal";
+
+    private static final String SELECT_BY_PRINCIPAL_AND_SERVICE_QUERY = SELECT_BY_PRINCIPAL_QUERY + " and r.service = :service";
+
+    private static final String SELECT_BY_ID_QUERY = SELECT_QUERY + "where r.id = :id";
 
     @PersistenceContext(unitName = "consentEntityManagerFactory")
     private transient EntityManager entityManager;
@@ -39,8 +44,7 @@ public class JpaConsentRepository implements ConsentRepository {
     @Override
     public Collection<? extends ConsentDecision> findConsentDecisions(final String principal) {
         try {
-            return this.entityManager.createQuery(SELECT_QUERY.concat("where r.principal = :principal"),
-                ConsentDecision.class).setParameter("principal", principal).getResultList();
+            return this.entityManager.createQuery(SELECT_BY_PRINCIPAL_QUERY, ConsentDecision.class).setParameter("principal", principal).getResultList();
         } catch (final NoResultException e) {
             LOGGER.debug(e.getMessage());
         } catch (final Exception e) {
@@ -65,8 +69,7 @@ public class JpaConsentRepository implements ConsentRepository {
     public ConsentDecision findConsentDecision(final Service service, final RegisteredService registeredService,
                                                final Authentication authentication) {
         try {
-            val query = SELECT_QUERY.concat("where r.principal = :principal and r.service = :service");
-            return this.entityManager.createQuery(query, ConsentDecision.class)
+            return this.entityManager.createQuery(SELECT_BY_PRINCIPAL_AND_SERVICE_QUERY, ConsentDecision.class)
                 .setParameter("principal", authentication.getPrincipal().getId())
                 .setParameter("service", service.getId()).getSingleResult();
         } catch (final NoResultException e) {
@@ -95,7 +98,7 @@ public class JpaConsentRepository implements ConsentRepository {
     @Override
     public boolean deleteConsentDecision(final long decisionId, final String principal) {
         try {
-            val decision = this.entityManager.createQuery(SELECT_QUERY.concat("where r.id = :id"), ConsentDecision.class)
+            val decision = this.entityManager.createQuery(SELECT_BY_ID_QUERY, ConsentDecision.class)
                 .setParameter("id", decisionId).getSingleResult();
             this.entityManager.remove(decision);
             return true;
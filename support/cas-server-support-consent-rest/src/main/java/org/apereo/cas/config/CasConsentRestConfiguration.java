@@ -3,8 +3,14 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.consent.ConsentRepository;
 import org.apereo.cas.consent.RestConsentRepository;
+import org.apereo.cas.util.http.HttpClientPool;
+import org.apereo.cas.util.http.HttpClientPoolRegistry;
+import org.apereo.cas.util.http.HttpResponseCacheInterceptor;
 
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,8 +29,17 @@ public class CasConsentRestConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("httpClientPoolRegistry")
+    private ObjectProvider<HttpClientPoolRegistry> httpClientPoolRegistry;
+
     @Bean
     public ConsentRepository consentRepository() {
-        return new RestConsentRepository(new RestTemplate(), casProperties.getConsent().getRest().getEndpoint());
+        val restTemplate = new RestTemplate();
+        val registry = httpClientPoolRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.getResponseCache(HttpClientPool.CONSENT_POOL_NAME).ifPresent(cache -> restTemplate.getInterceptors().add(new HttpResponseCacheInterceptor(cache)));
+        }
+        return new RestConsentRepository(restTemplate, casProperties.getConsent().getRest().getEndpoint());
     }
 }
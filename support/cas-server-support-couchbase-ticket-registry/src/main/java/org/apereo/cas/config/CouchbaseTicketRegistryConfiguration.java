@@ -49,7 +49,8 @@ public class CouchbaseTicketRegistryConfiguration {
     @Bean
     public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val couchbase = casProperties.getTicket().getRegistry().getCouchbase();
-        val c = new CouchbaseTicketRegistry(ticketCatalog, ticketRegistryCouchbaseClientFactory());
+        val c = new CouchbaseTicketRegistry(ticketCatalog, ticketRegistryCouchbaseClientFactory(),
+            couchbase.getPageSize(), couchbase.getMaxConcurrentMutations());
         c.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(couchbase.getCrypto(), "couchbase"));
         return c;
     }
@@ -7,11 +7,11 @@ import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
 
+import com.couchbase.client.java.document.Document;
 import com.couchbase.client.java.document.SerializableDocument;
 import com.couchbase.client.java.view.DefaultView;
 import com.couchbase.client.java.view.View;
 import com.couchbase.client.java.view.ViewQuery;
-import com.couchbase.client.java.view.ViewResult;
 import com.couchbase.client.java.view.ViewRow;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -19,13 +19,21 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
+import rx.Observable;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A Ticket Registry storage backend which uses the memcached protocol.
@@ -68,11 +76,13 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
 
     private final TicketCatalog ticketCatalog;
     private final CouchbaseClientFactory couchbase;
+    private final int pageSize;
+    private final int maxConcurrentMutations;
 
-    private static int getViewRowCountFromViewResultIterator(final Iterator<ViewRow> iterator) {
+    private static long getViewRowCountFromViewResultIterator(final Iterator<ViewRow> iterator) {
         if (iterator.hasNext()) {
             val res = iterator.next();
-            val count = (Integer) res.value();
+            val count = ((Number) res.value()).longValue();
             LOGGER.debug("Found [{}] rows", count);
             return count;
         }
@@ -81,20 +91,44 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
     }
 
     /**
-     * Get the expiration policy value of the ticket in seconds.
+     * Get the expiry of the ticket document, derived from the expiration policy of the ticket, so that
+     * Couchbase evicts the document on its own once the ticket can no longer be used.
+     * The expiry is the smaller of the time-to-live that remains since the ticket was created and the
+     * time-to-idle of the policy, which is applied again every time the ticket is updated. Values that
+     * are unbounded, such as the time-to-live reported by idle timeouts, are ignored.
+     * Expiry values of more than 30 days are interpreted by Couchbase as an absolute Unix time stamp
+     * and anything smaller as relative in seconds, so long-lived tickets are given an absolute expiry.
+     * Policies without any bounded value give documents that do not expire.
      *
      * @param ticket the ticket
-     * @return the exp value
+     * @return the exp value, or {@code 0} if the document should not expire
      * @see <a href="http://docs.couchbase.com/developer/java-2.0/documents-basics.html">Couchbase Docs</a>
      */
-    private static int getTimeToLive(final Ticket ticket) {
-        val expTime = ticket.getExpirationPolicy().getTimeToLive().intValue();
-        if (TimeUnit.SECONDS.toDays(expTime) >= MAX_EXP_TIME_IN_DAYS) {
-            LOGGER.warn("Any expiration time larger than [{}] days in seconds is considered absolute (as in a Unix time stamp) "
-                + "anything smaller is considered relative in seconds.", MAX_EXP_TIME_IN_DAYS);
-
+    static int getTimeToLive(final Ticket ticket) {
+        val now = Instant.now().getEpochSecond();
+        val policy = ticket.getExpirationPolicy();
+        var expiry = Long.MAX_VALUE;
+        if (isBounded(policy.getTimeToLive(), now)) {
+            val created = ticket.getCreationTime() != null ? ticket.getCreationTime().toEpochSecond() : now;
+            expiry = Math.max(1, created + policy.getTimeToLive() - now);
+        }
+        if (isBounded(policy.getTimeToIdle(), now)) {
+            expiry = Math.min(expiry, policy.getTimeToIdle());
+        }
+        if (expiry == Long.MAX_VALUE) {
+            LOGGER.trace("Ticket [{}] has no bounded expiration and its document does not expire", ticket.getId());
+            return 0;
         }
-        return expTime;
+        if (TimeUnit.SECONDS.toDays(expiry) < MAX_EXP_TIME_IN_DAYS) {
+            return (int) expiry;
+        }
+        val expiresAt = now + expiry;
+        LOGGER.trace("Ticket [{}] expires in more than [{}] days; setting absolute expiry to [{}]", ticket.getId(), MAX_EXP_TIME_IN_DAYS, expiresAt);
+        return (int) expiresAt;
+    }
+
+    private static boolean isBounded(final Long seconds, final long now) {
+        return seconds != null && seconds > 0 && seconds < Integer.MAX_VALUE - now;
     }
 
     @Override
@@ -158,18 +192,31 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.ticketCatalog.findAll().stream().flatMap(t -> getViewResultIteratorForPrefixedTickets(t.getPrefix() + '-').allRows().stream())
-            .filter(row -> StringUtils.isNotBlank(row.id())).map(row -> {
-                val ticket = (Ticket) row.document().content();
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .flatMap(definition -> streamViewRows(definition.getPrefix() + '-', true))
+            .filter(row -> StringUtils.isNotBlank(row.id()))
+            .map(row -> row.document(SerializableDocument.class))
+            .filter(Objects::nonNull)
+            .map(document -> {
+                val ticket = (Ticket) document.content();
                 LOGGER.debug("Got ticket [{}] from the registry.", ticket);
                 return decodeTicket(ticket);
-            }).map(decoded -> {
+            })
+            .filter(decoded -> {
                 if (decoded == null || decoded.isExpired()) {
                     LOGGER.warn("Ticket has expired or cannot be decoded");
-                    return null;
+                    return false;
                 }
-                return decoded;
-            }).collect(Collectors.toList());
+                return true;
+            });
     }
 
     @Override
@@ -196,31 +243,122 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
 
     @Override
     public long deleteAll() {
-        val remove = (Consumer<? super ViewRow>) t -> this.couchbase.getBucket().remove(t.document());
-        return this.ticketCatalog.findAll()
+        val ticketIds = this.ticketCatalog.findAll()
             .stream()
-            .mapToLong(t -> {
-                val it = getViewResultIteratorForPrefixedTickets(t.getPrefix() + '-').iterator();
-                val count = getViewRowCountFromViewResultIterator(it);
-                it.forEachRemaining(remove);
-                return count;
-            })
-            .sum();
+            .flatMap(definition -> streamViewRows(definition.getPrefix() + '-', false))
+            .map(ViewRow::id)
+            .filter(StringUtils::isNotBlank);
+        return removeDocuments(ticketIds);
+    }
+
+    /**
+     * Service tickets of the ticket-granting ticket are removed together, in bulk.
+     *
+     * @param ticket the ticket
+     * @return the count of tickets that were removed
+     */
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val count = removeDocuments(services.keySet().stream().map(this::encodeTicketId));
+        LOGGER.debug("Removed [{}] service ticket(s) of [{}]", count, ticket.getId());
+        return count;
     }
 
-    private int runQuery(final String prefix) {
-        val iterator = getViewResultIteratorForPrefixedTickets(prefix).iterator();
-        return getViewRowCountFromViewResultIterator(iterator);
+    /**
+     * Remove the documents with the given ids, allowing a number of removals to run concurrently.
+     * Documents that no longer exist are skipped.
+     *
+     * @param documentIds the document ids
+     * @return the number of removed documents
+     */
+    private int removeDocuments(final Stream<String> documentIds) {
+        val bucket = this.couchbase.getBucket().async();
+        val iterator = documentIds.iterator();
+        return Observable.<String>from(() -> iterator)
+            .flatMap(id -> bucket.remove(id)
+                .map(Document::id)
+                .onErrorResumeNext(error -> {
+                    LOGGER.debug("Failed removing [{}]: [{}]", id, error.getMessage());
+                    return Observable.empty();
+                }), this.maxConcurrentMutations)
+            .count()
+            .toBlocking()
+            .single();
     }
 
-    private ViewResult getViewResultIteratorForPrefixedTickets(final String prefix) {
+    private long runQuery(final String prefix) {
         LOGGER.debug("Running query on document [{}] and view [{}] with prefix [{}]",
             UTIL_DOCUMENT, VIEW_NAME_ALL_TICKETS, prefix);
-        return this.couchbase.getBucket().query(
+        val result = this.couchbase.getBucket().query(
             ViewQuery.from(UTIL_DOCUMENT, VIEW_NAME_ALL_TICKETS)
                 .startKey(prefix)
                 .endKey(prefix + END_TOKEN)
                 .reduce());
+        return getViewRowCountFromViewResultIterator(result.iterator());
     }
-}
 
+    /**
+     * Stream the rows of the view whose keys start with the given prefix, page by page.
+     * Each page starts at the key of the last row of the previous page, rather than skipping past it,
+     * so paging is not thrown off when documents are removed while the rows are being processed;
+     * the last row is left out of the next page if it is still there. Pages after the first one ask
+     * for one more row than the page size to make up for that row.
+     *
+     * @param prefix      the prefix
+     * @param includeDocs whether documents should be fetched along with rows
+     * @return the rows
+     */
+    private Stream<ViewRow> streamViewRows(final String prefix, final boolean includeDocs) {
+        val iterator = new ViewRowPageIterator(prefix, includeDocs);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @RequiredArgsConstructor
+    private class ViewRowPageIterator implements Iterator<ViewRow> {
+        private final String prefix;
+        private final boolean includeDocs;
+
+        private Iterator<ViewRow> page;
+        private String lastKey;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            while ((page == null || !page.hasNext()) && !exhausted) {
+                val limit = lastKey == null ? pageSize : pageSize + 1;
+                val query = ViewQuery.from(UTIL_DOCUMENT, VIEW_NAME_ALL_TICKETS)
+                    .reduce(false)
+                    .limit(limit)
+                    .endKey(prefix + END_TOKEN);
+                query.startKey(lastKey == null ? prefix : lastKey);
+                if (includeDocs) {
+                    query.includeDocs(true, SerializableDocument.class);
+                }
+                LOGGER.trace("Fetching page of [{}] rows from view [{}] with prefix [{}] after [{}]", limit, VIEW_NAME_ALL_TICKETS, prefix, lastKey);
+                val rows = new ArrayList<ViewRow>(couchbase.getBucket().query(query).allRows());
+                val previousKey = lastKey;
+                exhausted = rows.size() < limit;
+                if (!rows.isEmpty()) {
+                    lastKey = rows.get(rows.size() - 1).key().toString();
+                }
+                if (previousKey != null) {
+                    rows.removeIf(row -> previousKey.equals(String.valueOf(row.key())));
+                }
+                page = rows.iterator();
+            }
+            return page != null && page.hasNext();
+        }
+
+        @Override
+        public ViewRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+    }
+}
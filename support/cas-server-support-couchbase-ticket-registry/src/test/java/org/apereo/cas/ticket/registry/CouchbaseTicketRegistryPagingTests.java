@@ -0,0 +1,157 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.couchbase.core.CouchbaseClientFactory;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.document.JsonDocument;
+import com.couchbase.client.java.error.DocumentDoesNotExistException;
+import com.couchbase.client.java.view.ViewQuery;
+import com.couchbase.client.java.view.ViewResult;
+import com.couchbase.client.java.view.ViewRow;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import rx.Observable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CouchbaseTicketRegistryPagingTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CouchbaseTicketRegistryPagingTests {
+    private static final int PAGE_SIZE = 2;
+
+    private Bucket bucket;
+
+    private AsyncBucket asyncBucket;
+
+    private CouchbaseTicketRegistry registry;
+
+    private CouchbaseClientFactory couchbase;
+
+    private TicketCatalog catalog;
+
+    private static ViewResult getViewResult(final List<String> ids) {
+        val rows = new ArrayList<ViewRow>(ids.size());
+        ids.forEach(id -> {
+            val row = mock(ViewRow.class);
+            when(row.id()).thenReturn(id);
+            when(row.key()).thenReturn(id);
+            rows.add(row);
+        });
+        val result = mock(ViewResult.class);
+        when(result.allRows()).thenReturn(rows);
+        return result;
+    }
+
+    private static ViewResult getReducedViewResult(final Object count) {
+        val row = mock(ViewRow.class);
+        when(row.value()).thenReturn(count);
+        val result = mock(ViewResult.class);
+        when(result.iterator()).thenReturn(List.of(row).iterator());
+        return result;
+    }
+
+    @Before
+    public void initialize() {
+        this.bucket = mock(Bucket.class);
+        this.asyncBucket = mock(AsyncBucket.class);
+        when(bucket.async()).thenReturn(asyncBucket);
+
+        this.couchbase = mock(CouchbaseClientFactory.class);
+        when(couchbase.getBucket()).thenReturn(bucket);
+
+        val definition = mock(TicketDefinition.class);
+        when(definition.getPrefix()).thenReturn(ServiceTicket.PREFIX);
+        this.catalog = mock(TicketCatalog.class);
+        when(catalog.findAll()).thenReturn(List.of(definition));
+
+        this.registry = new CouchbaseTicketRegistry(catalog, couchbase, PAGE_SIZE, 4);
+    }
+
+    @Test
+    public void verifyDeleteAllPagesThroughKeys() {
+        val first = getViewResult(Arrays.asList("ST-1", "ST-2"));
+        val second = getViewResult(Arrays.asList("ST-3", "ST-4", "ST-5"));
+        val last = getViewResult(Arrays.asList("ST-4", "ST-6"));
+        when(bucket.query(any(ViewQuery.class))).thenReturn(first, second, last);
+        when(asyncBucket.remove(anyString())).thenAnswer(args -> Observable.just(JsonDocument.create(args.getArgument(0))));
+        when(asyncBucket.remove("ST-4")).thenReturn(Observable.error(new DocumentDoesNotExistException()));
+
+        assertEquals(5, registry.deleteAll());
+
+        val captor = ArgumentCaptor.forClass(ViewQuery.class);
+        verify(bucket, times(3)).query(captor.capture());
+        val queries = captor.getAllValues().stream().map(ViewQuery::toString).collect(Collectors.toList());
+        assertTrue(queries.get(0).contains("reduce=false"));
+        assertTrue(queries.get(0).contains("limit=2"));
+        assertTrue(queries.get(1).contains("startkey=%22ST-2%22"));
+        assertTrue(queries.get(1).contains("limit=3"));
+        assertFalse(queries.get(1).contains("skip"));
+        assertTrue(queries.get(2).contains("startkey=%22ST-5%22"));
+    }
+
+    @Test
+    public void verifyPagesOfSingleRowMoveOn() {
+        val singleRowRegistry = new CouchbaseTicketRegistry(catalog, couchbase, 1, 4);
+        val first = getViewResult(List.of("ST-1"));
+        val second = getViewResult(Arrays.asList("ST-1", "ST-2"));
+        val third = getViewResult(Arrays.asList("ST-2", "ST-3"));
+        val last = getViewResult(List.of("ST-3"));
+        when(bucket.query(any(ViewQuery.class))).thenReturn(first, second, third, last);
+        val removed = new CopyOnWriteArraySet<String>();
+        when(asyncBucket.remove(anyString())).thenAnswer(args -> {
+            removed.add(args.getArgument(0));
+            return Observable.error(new DocumentDoesNotExistException());
+        });
+
+        assertEquals(0, singleRowRegistry.deleteAll());
+        assertEquals(Set.of("ST-1", "ST-2", "ST-3"), removed);
+        verify(bucket, times(4)).query(any(ViewQuery.class));
+    }
+
+    @Test
+    public void verifyDeleteChildrenInBulk() {
+        val ids = IntStream.range(0, 10).mapToObj(i -> "ST-" + i).collect(Collectors.toList());
+        val removed = new ArrayList<String>();
+        when(asyncBucket.remove(anyString())).thenAnswer(args -> {
+            removed.add(args.getArgument(0));
+            return Observable.just(JsonDocument.create(args.getArgument(0)));
+        });
+        val tgt = mock(TicketGrantingTicket.class);
+        when(tgt.getServices()).thenReturn(ids.stream().collect(Collectors.toMap(id -> id, id -> mock(Service.class))));
+        assertEquals(ids.size(), registry.deleteChildren(tgt));
+        assertEquals(ids.size(), removed.size());
+        verify(bucket, never()).remove(anyString());
+    }
+
+    @Test
+    public void verifyCountsUseReducedView() {
+        val sessions = getReducedViewResult(3);
+        val serviceTickets = getReducedViewResult(5L);
+        when(bucket.query(any(ViewQuery.class))).thenReturn(sessions, serviceTickets);
+        assertEquals(3, registry.sessionCount());
+        assertEquals(5, registry.serviceTicketCount());
+        verify(bucket, never()).async();
+    }
+}
@@ -0,0 +1,111 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CouchbaseTicketRegistryTimeToLiveTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CouchbaseTicketRegistryTimeToLiveTests {
+    private static final long EIGHT_HOURS = TimeUnit.HOURS.toSeconds(8);
+
+    private static final long TWO_HOURS = TimeUnit.HOURS.toSeconds(2);
+
+    private static final long NINETY_DAYS = TimeUnit.DAYS.toSeconds(90);
+
+    private static int getTimeToLive(final ExpirationPolicy policy) {
+        return getTimeToLive(policy, null);
+    }
+
+    private static int getTimeToLive(final ExpirationPolicy policy, final ZonedDateTime creationTime) {
+        val ticket = mock(Ticket.class);
+        when(ticket.getId()).thenReturn("TGT-1");
+        when(ticket.getExpirationPolicy()).thenReturn(policy);
+        when(ticket.getCreationTime()).thenReturn(creationTime != null ? creationTime : ZonedDateTime.now(ZoneOffset.UTC));
+        return CouchbaseTicketRegistry.getTimeToLive(ticket);
+    }
+
+    @Test
+    public void verifyHardTimeoutIsRelative() {
+        assertEquals(EIGHT_HOURS, getTimeToLive(new HardTimeoutExpirationPolicy(EIGHT_HOURS)));
+    }
+
+    @Test
+    public void verifyMultiTimeUseIsRelative() {
+        assertEquals(10, getTimeToLive(new MultiTimeUseOrTimeoutExpirationPolicy(1, 10)));
+    }
+
+    @Test
+    public void verifyTicketGrantingTicketPolicyUsesIdleTimeout() {
+        assertEquals(TWO_HOURS, getTimeToLive(new TicketGrantingTicketExpirationPolicy(EIGHT_HOURS, TWO_HOURS)));
+    }
+
+    @Test
+    public void verifyTicketGrantingTicketPolicyUsesRemainingTimeToLive() {
+        val creationTime = ZonedDateTime.now(ZoneOffset.UTC).minusHours(7);
+        val expiry = getTimeToLive(new TicketGrantingTicketExpirationPolicy(EIGHT_HOURS, TWO_HOURS), creationTime);
+        assertTrue(expiry <= TimeUnit.HOURS.toSeconds(1));
+        assertTrue(expiry > TimeUnit.HOURS.toSeconds(1) - 60);
+    }
+
+    @Test
+    public void verifyElapsedTimeToLiveExpiresRightAway() {
+        val creationTime = ZonedDateTime.now(ZoneOffset.UTC).minusHours(9);
+        assertEquals(1, getTimeToLive(new HardTimeoutExpirationPolicy(EIGHT_HOURS), creationTime));
+    }
+
+    @Test
+    public void verifyLongHardTimeoutIsAbsolute() {
+        val now = Instant.now().getEpochSecond();
+        val expiry = getTimeToLive(new HardTimeoutExpirationPolicy(NINETY_DAYS));
+        assertTrue(expiry >= now + NINETY_DAYS);
+        assertTrue(expiry <= Instant.now().getEpochSecond() + NINETY_DAYS);
+    }
+
+    @Test
+    public void verifyTimeoutUsesIdleTimeout() {
+        assertEquals(TWO_HOURS, getTimeToLive(new TimeoutExpirationPolicy(TWO_HOURS)));
+    }
+
+    @Test
+    public void verifyNeverExpiresDoesNotExpire() {
+        assertEquals(0, getTimeToLive(new NeverExpiresExpirationPolicy()));
+    }
+
+    @Test
+    public void verifyAlwaysExpiresDoesNotSetExpiry() {
+        assertEquals(0, getTimeToLive(new AlwaysExpiresExpirationPolicy()));
+    }
+
+    @Test
+    public void verifyDelegatingPolicyWithoutDefaultDoesNotExpire() {
+        assertEquals(0, getTimeToLive(new RememberMeDelegatingExpirationPolicy(null)));
+    }
+
+    @Test
+    public void verifyDelegatingPolicyUsesDefault() {
+        val policy = new RememberMeDelegatingExpirationPolicy(new HardTimeoutExpirationPolicy(EIGHT_HOURS));
+        assertEquals(EIGHT_HOURS, getTimeToLive(policy));
+    }
+}
@@ -3,13 +3,18 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.couchdb.core.CouchDbConnectorFactory;
 import org.apereo.cas.couchdb.tickets.TicketRepository;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.CouchDbTicketRegistry;
+import org.apereo.cas.ticket.registry.CouchDbTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.apereo.cas.util.CoreTicketUtils;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.ektorp.impl.ObjectMapperFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -29,6 +34,7 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration("couchDbTicketRegistryConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
+@Slf4j
 public class CouchDbTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
@@ -59,17 +65,29 @@ public class CouchDbTicketRegistryConfiguration {
     @Bean
     @Autowired
     @ConditionalOnMissingBean(name = "couchDbTicketRegistry")
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public CouchDbTicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val couchDb = casProperties.getTicket().getRegistry().getCouchDb();
-        val c = new CouchDbTicketRegistry(ticketCatalog, ticketRegistryCouchDbRepository(), couchDb.getRetries());
+        val c = new CouchDbTicketRegistry(ticketCatalog, ticketRegistryCouchDbRepository(), couchDb.getRetries(), couchDb.getPageSize());
         c.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(couchDb.getCrypto(), "couchdb"));
+        c.indexTickets();
         return c;
     }
 
     @Bean
     @RefreshScope
+    @Autowired
     @ConditionalOnMissingBean(name = "couchDbTicketRegistryCleaner")
-    public TicketRegistryCleaner ticketRegistryCleaner() {
-        return NoOpTicketRegistryCleaner.getInstance();
+    public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
+                                                       @Qualifier("logoutManager") final LogoutManager logoutManager,
+                                                       @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
+        if (!casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled()) {
+            LOGGER.debug("Ticket registry cleaner is not enabled. Expired tickets are not removed from CouchDB.");
+            return NoOpTicketRegistryCleaner.getInstance();
+        }
+        if (ticketRegistry instanceof CouchDbTicketRegistry) {
+            LOGGER.debug("Expired tickets are found via the CouchDB view of tickets keyed by expiration time");
+            return new CouchDbTicketRegistryCleaner(lockingStrategy, logoutManager, (CouchDbTicketRegistry) ticketRegistry);
+        }
+        return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
     }
 }
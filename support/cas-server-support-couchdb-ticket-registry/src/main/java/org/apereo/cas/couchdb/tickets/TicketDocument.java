@@ -9,7 +9,8 @@ import lombok.Setter;
 import org.ektorp.support.CouchDbDocument;
 
 /**
- * This is {@link TicketDocument}. Wraps a {@link Ticket} for use with CouchDB.
+ * This is {@link TicketDocument}. Wraps a {@link Ticket} for use with CouchDB,
+ * along with the fields by which ticket documents are indexed in views.
  *
  * @author Timur Duehr
  * @since 5.3.0
@@ -22,11 +23,34 @@ public class TicketDocument extends CouchDbDocument {
     private static final long serialVersionUID = -5460618381339711000L;
     private Ticket ticket;
 
+    /**
+     * Prefix of the ticket, indicating its type.
+     */
+    private String prefix;
+
+    /**
+     * Principal of the ticket-granting ticket, if any.
+     */
+    private String principal;
+
+    /**
+     * Epoch millis before which the ticket cannot expire per the time-to-live or time-to-idle of its expiration policy,
+     * if that can be told ahead of time.
+     */
+    private Long expirationTime;
+
     public TicketDocument(final Ticket ticket) {
         this.setId(ticket.getId());
         this.ticket = ticket;
     }
 
+    public TicketDocument(final Ticket ticket, final String prefix, final String principal, final Long expirationTime) {
+        this(ticket);
+        this.prefix = prefix;
+        this.principal = principal;
+        this.expirationTime = expirationTime;
+    }
+
     public TicketDocument(final String id, final String rev) {
         this.setId(id);
         this.setRevision(rev);
@@ -1,12 +1,30 @@
 package org.apereo.cas.couchdb.tickets;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.ektorp.BulkDeleteDocument;
 import org.ektorp.CouchDbConnector;
+import org.ektorp.DocumentOperationResult;
+import org.ektorp.ViewQuery;
+import org.ektorp.ViewResult;
 import org.ektorp.support.CouchDbRepositorySupport;
+import org.ektorp.support.DesignDocument;
 import org.ektorp.support.View;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is {@link TicketDocument}. Typed interface to CouchDB.
@@ -15,7 +33,10 @@ import java.util.stream.Collectors;
  * @since 5.3.0
  */
 @View(name = "all", map = "function(doc) { emit(null, doc._id) }")
+@Slf4j
 public class TicketRepository extends CouchDbRepositorySupport<TicketDocument> {
+    private static final String CONFLICT_ERROR = "conflict";
+
     public TicketRepository(final CouchDbConnector db) {
         this(db, true);
     }
@@ -25,14 +46,57 @@ public class TicketRepository extends CouchDbRepositorySupport<TicketDocument> {
     }
 
     /**
-     * Delete tickets.
+     * Delete tickets, retrying those whose revision has changed in the meantime.
      *
      * @param ticketDocuments tickets to be deleted.
+     * @param retries         number of attempts made to delete tickets whose revision has changed
+     * @return number of tickets deleted
+     */
+    public long delete(final List<TicketDocument> ticketDocuments, final int retries) {
+        var documents = ticketDocuments.stream()
+            .map(document -> new BulkDeleteDocument(document.getId(), document.getRevision()))
+            .collect(Collectors.toList());
+        var deleted = 0L;
+        for (var attempt = 0; attempt < retries && !documents.isEmpty(); attempt++) {
+            val failures = db.executeBulk(documents);
+            deleted += documents.size() - failures.size();
+            val conflicts = failures.stream()
+                .filter(failure -> CONFLICT_ERROR.equals(failure.getError()))
+                .map(DocumentOperationResult::getId)
+                .collect(Collectors.toList());
+            LOGGER.trace("Deleted [{}] ticket document(s); [{}] failed of which [{}] due to conflicts",
+                documents.size() - failures.size(), failures.size(), conflicts.size());
+            documents = conflicts.isEmpty()
+                ? List.of()
+                : findRevisions(conflicts).stream()
+                .map(document -> new BulkDeleteDocument(document.getId(), document.getRevision()))
+                .collect(Collectors.toList());
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete all tickets, in batches.
+     *
+     * @param batchSize maximum number of tickets to remove in a single bulk operation
+     * @param retries   number of attempts made to delete tickets whose revision has changed
      * @return number of tickets deleted
      */
-    public long delete(final List<TicketDocument> ticketDocuments) {
-        return (long) db.executeBulk(ticketDocuments.stream().map(BulkDeleteDocument::of)
-            .collect(Collectors.toList())).size();
+    public long deleteAll(final int batchSize, final int retries) {
+        try (val pages = findPages(last -> {
+            val query = new ViewQuery().allDocs().limit(batchSize);
+            if (last != null) {
+                query.startKey(last.getId());
+            }
+            return toRevisions(db.queryView(query));
+        }, batchSize)) {
+            return pages
+                .map(page -> page.stream()
+                    .filter(document -> !document.getId().startsWith(DesignDocument.ID_PREFIX))
+                    .collect(Collectors.toList()))
+                .mapToLong(page -> delete(page, retries))
+                .sum();
+        }
     }
 
     /**
@@ -44,4 +108,190 @@ public class TicketRepository extends CouchDbRepositorySupport<TicketDocument> {
     public String getCurrentRevision(final String id) {
         return db.getCurrentRevision(id);
     }
+
+    /**
+     * Gets the current revisions of the given documents in a single request.
+     * Documents that do not exist are left out.
+     *
+     * @param ids document ids
+     * @return ticket documents carrying only their id and revision
+     */
+    public List<TicketDocument> findRevisions(final Collection<String> ids) {
+        return toRevisions(db.queryView(new ViewQuery().allDocs().keys(ids)));
+    }
+
+    /**
+     * Count tickets by prefix.
+     *
+     * @param prefix ticket prefix
+     * @return number of tickets with the prefix
+     */
+    @View(name = "by_prefix", map = "function(doc) { if (doc.ticket && doc.prefix) { emit(doc.prefix, doc._rev) } }", reduce = "_count")
+    public long countByPrefix(final String prefix) {
+        val rows = db.queryView(createQuery("by_prefix").key(prefix).reduce(true)).getRows();
+        return rows.isEmpty() ? 0 : rows.get(0).getValueAsInt();
+    }
+
+    /**
+     * Find tickets by prefix, fetched page by page.
+     *
+     * @param prefix   ticket prefix
+     * @param pageSize number of tickets fetched per request
+     * @return tickets with the prefix
+     */
+    public Stream<TicketDocument> findByPrefix(final String prefix, final int pageSize) {
+        return queryViewInPages(() -> createQuery("by_prefix").reduce(false).includeDocs(true).startKey(prefix).endKey(prefix),
+            TicketDocument::getPrefix, pageSize);
+    }
+
+    /**
+     * Find tickets by principal.
+     *
+     * @param principal principal id
+     * @return tickets of the principal
+     */
+    @View(name = "by_principal", map = "function(doc) { if (doc.ticket && doc.principal) { emit(doc.principal, doc._rev) } }")
+    public List<TicketDocument> findByPrincipal(final String principal) {
+        return db.queryView(createQuery("by_principal").key(principal).includeDocs(true), TicketDocument.class);
+    }
+
+    /**
+     * Find tickets whose expiration time is on or before the given time, fetched page by page.
+     *
+     * @param expirationTime epoch millis
+     * @param pageSize       number of tickets fetched per request
+     * @return tickets that may have expired
+     */
+    @View(name = "by_expiration_time", map = "function(doc) { if (doc.ticket && doc.expirationTime) { emit(doc.expirationTime, doc._rev) } }")
+    public Stream<TicketDocument> findByExpirationTimeBefore(final long expirationTime, final int pageSize) {
+        return queryViewInPages(() -> createQuery("by_expiration_time").includeDocs(true).endKey(expirationTime),
+            TicketDocument::getExpirationTime, pageSize);
+    }
+
+    /**
+     * Find tickets that carry no expiration time, fetched page by page. Such tickets either cannot
+     * tell when they expire ahead of time, or were written before tickets were indexed by expiration time.
+     *
+     * @param pageSize number of tickets fetched per request
+     * @return tickets that are not indexed by expiration time
+     */
+    @View(name = "without_expiration_time", map = "function(doc) { if (doc.ticket && !doc.expirationTime) { emit(doc._id, doc._rev) } }")
+    public Stream<TicketDocument> findWithoutExpirationTime(final int pageSize) {
+        return queryViewInPages(() -> createQuery("without_expiration_time").includeDocs(true), TicketDocument::getId, pageSize);
+    }
+
+    /**
+     * Find tickets that carry no prefix, one page at a time. Such tickets were written
+     * before tickets were indexed, and are left out of the views keyed by prefix, principal and expiration time.
+     *
+     * @param pageSize number of tickets fetched per request
+     * @return pages of tickets that are not indexed
+     */
+    @View(name = "without_prefix", map = "function(doc) { if (doc.ticket && !doc.prefix) { emit(doc._id, doc._rev) } }")
+    public Stream<List<TicketDocument>> findPagesWithoutPrefix(final int pageSize) {
+        return findPages(last -> {
+            val view = createQuery("without_prefix").includeDocs(true).limit(pageSize);
+            if (last != null) {
+                view.startKey(last.getId()).startDocId(last.getId());
+            }
+            return db.queryView(view, TicketDocument.class);
+        }, pageSize);
+    }
+
+    /**
+     * Update tickets in a single bulk operation. Tickets whose revision has changed in the meantime are left as they are.
+     *
+     * @param ticketDocuments tickets to be updated, carrying their current revision
+     * @return number of tickets updated
+     */
+    public long update(final List<TicketDocument> ticketDocuments) {
+        if (ticketDocuments.isEmpty()) {
+            return 0;
+        }
+        val failures = db.executeBulk(ticketDocuments);
+        LOGGER.trace("Updated [{}] ticket document(s); [{}] failed", ticketDocuments.size() - failures.size(), failures.size());
+        return ticketDocuments.size() - failures.size();
+    }
+
+    /**
+     * Query a view one page at a time.
+     *
+     * @param query    the view query
+     * @param keyOf    the view key of a document
+     * @param pageSize number of documents fetched per request
+     * @return the documents
+     */
+    private Stream<TicketDocument> queryViewInPages(final Supplier<ViewQuery> query,
+                                                    final Function<TicketDocument, Object> keyOf,
+                                                    final int pageSize) {
+        return findPages(last -> {
+            val view = query.get().limit(pageSize);
+            if (last != null) {
+                view.startKey(keyOf.apply(last)).startDocId(last.getId());
+            }
+            return db.queryView(view, TicketDocument.class);
+        }, pageSize).flatMap(List::stream);
+    }
+
+    /**
+     * Fetch documents one page at a time. Each page starts at the key and id of the last document
+     * of the previous page, rather than skipping past it, so paging is not thrown off when documents
+     * are removed while they are processed; the last document is left out of the next page if it is still there.
+     *
+     * @param pageAfter fetches the page that starts at the given document, or the first page if none is given
+     * @param pageSize  number of documents fetched per request
+     * @return the pages
+     */
+    private static Stream<List<TicketDocument>> findPages(final Function<TicketDocument, List<TicketDocument>> pageAfter,
+                                                         final int pageSize) {
+        val iterator = new PageIterator(pageAfter, pageSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static List<TicketDocument> toRevisions(final ViewResult result) {
+        return result.getRows()
+            .stream()
+            .filter(row -> StringUtils.isNotBlank(row.getId()) && row.getValueAsNode() != null)
+            .filter(row -> !row.getValueAsNode().path("deleted").asBoolean(false))
+            .map(row -> new TicketDocument(row.getId(), row.getValueAsNode().path("rev").asText()))
+            .collect(Collectors.toList());
+    }
+
+    @RequiredArgsConstructor
+    private static class PageIterator implements Iterator<List<TicketDocument>> {
+        private final Function<TicketDocument, List<TicketDocument>> pageAfter;
+        private final int pageSize;
+
+        private List<TicketDocument> page;
+        private TicketDocument last;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            while ((page == null || page.isEmpty()) && !exhausted) {
+                val documents = pageAfter.apply(last).stream().filter(Objects::nonNull).collect(Collectors.toList());
+                val previous = last;
+                exhausted = documents.size() < pageSize;
+                if (!documents.isEmpty()) {
+                    last = documents.get(documents.size() - 1);
+                }
+                if (previous != null) {
+                    documents.removeIf(document -> document.getId().equals(previous.getId()));
+                    exhausted = exhausted || last.getId().equals(previous.getId());
+                }
+                page = documents;
+            }
+            return page != null && !page.isEmpty();
+        }
+
+        @Override
+        public List<TicketDocument> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            val result = page;
+            page = null;
+            return result;
+        }
+    }
 }
@@ -2,20 +2,28 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.couchdb.tickets.TicketDocument;
 import org.apereo.cas.couchdb.tickets.TicketRepository;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.ektorp.DbAccessException;
 import org.ektorp.DocumentNotFoundException;
 import org.ektorp.UpdateConflictException;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link CouchDbTicketRegistry }.
@@ -30,6 +38,36 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
     private final TicketCatalog ticketCatalog;
     private final TicketRepository couchDb;
     private final int conflictRetries;
+    private final int pageSize;
+
+    /**
+     * Gets the time before which the ticket cannot expire, which is the earliest of the time its time-to-live
+     * passes since it was created and the time its time-to-idle passes since it was last used.
+     * Tickets whose expiration policy specifies neither are not indexed by expiration time.
+     *
+     * @param ticket the ticket
+     * @return the expiration time in epoch millis, or null
+     */
+    static Long getExpirationTime(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        val lastTimeUsed = ticket instanceof TicketState ? ((TicketState) ticket).getLastTimeUsed() : null;
+        return Stream.of(getExpirationTime(ticket.getCreationTime(), policy.getTimeToLive()),
+            getExpirationTime(ObjectUtils.defaultIfNull(lastTimeUsed, ticket.getCreationTime()), policy.getTimeToIdle()))
+            .filter(Objects::nonNull)
+            .min(Long::compare)
+            .orElse(null);
+    }
+
+    private static Long getExpirationTime(final ZonedDateTime since, final Long timeout) {
+        if (since == null || timeout == null || timeout <= 0) {
+            return null;
+        }
+        val sinceMillis = since.toInstant().toEpochMilli();
+        if (timeout >= TimeUnit.MILLISECONDS.toSeconds(Long.MAX_VALUE - sinceMillis)) {
+            return null;
+        }
+        return sinceMillis + TimeUnit.SECONDS.toMillis(timeout);
+    }
 
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
@@ -73,7 +111,7 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticketToAdd) {
         val encodedTicket = encodeTicket(ticketToAdd);
         LOGGER.debug("Adding ticket [{}]", encodedTicket.getId());
-        couchDb.add(new TicketDocument(encodedTicket));
+        couchDb.add(toTicketDocument(ticketToAdd, encodedTicket));
     }
 
     @Override
@@ -103,12 +141,124 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long deleteAll() {
-        return couchDb.delete(couchDb.getAll());
+        return couchDb.deleteAll(pageSize, conflictRetries);
+    }
+
+    /**
+     * Service tickets of the ticket-granting ticket are removed together, in bulk.
+     *
+     * @param ticket the ticket
+     * @return the count of tickets that were removed
+     */
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val ticketIds = services.keySet().stream().map(this::encodeTicketId).collect(Collectors.toList());
+        val count = (int) couchDb.delete(couchDb.findRevisions(ticketIds), conflictRetries);
+        LOGGER.debug("Removed [{}] service ticket(s) of [{}]", count, ticket.getId());
+        return count;
     }
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return decodeTickets(couchDb.getAll().stream().map(TicketDocument::getTicket).collect(Collectors.toList()));
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return ticketCatalog.findAll()
+            .stream()
+            .flatMap(definition -> couchDb.findByPrefix(definition.getPrefix(), pageSize))
+            .map(this::toTicket)
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    public long sessionCount() {
+        return couchDb.countByPrefix(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return couchDb.countByPrefix(ServiceTicket.PREFIX);
+    }
+
+    /**
+     * Gets the ticket-granting tickets of the principal, as indexed by principal.
+     * Tickets are not indexed by principal when they are encrypted, in which case all tickets are looked at.
+     *
+     * @param principalId the principal id
+     * @return the tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        if (isCipherExecutorEnabled()) {
+            return super.getSessionsFor(principalId);
+        }
+        return couchDb.findByPrincipal(principalId)
+            .stream()
+            .map(this::toTicket)
+            .filter(ticket -> ticket != null && !ticket.isExpired());
+    }
+
+    /**
+     * Index the tickets that were written before tickets were indexed, by setting their prefix, principal and expiration time.
+     * Tickets that are changed in the meantime are indexed as they are written, and are left alone.
+     *
+     * @return the number of tickets that were indexed
+     */
+    public long indexTickets() {
+        try (val pages = couchDb.findPagesWithoutPrefix(pageSize)) {
+            val count = pages
+                .map(page -> page.stream()
+                    .filter(document -> document.getTicket() != null)
+                    .map(this::toIndexedTicketDocument)
+                    .collect(Collectors.toList()))
+                .mapToLong(couchDb::update)
+                .sum();
+            if (count > 0) {
+                LOGGER.info("Indexed [{}] ticket(s) written before tickets were indexed by prefix, principal and expiration time", count);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Gets the expired tickets, looking only at tickets whose indexed expiration time has passed,
+     * and at tickets that carry no expiration time.
+     *
+     * @return the expired tickets
+     */
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        return Stream.concat(couchDb.findByExpirationTimeBefore(System.currentTimeMillis(), pageSize),
+            couchDb.findWithoutExpirationTime(pageSize))
+            .map(this::toTicket)
+            .filter(ticket -> ticket != null && ticket.isExpired());
+    }
+
+    private Ticket toTicket(final TicketDocument document) {
+        if (document.getTicket() == null) {
+            return null;
+        }
+        return decodeTicket(document.getTicket());
+    }
+
+    private TicketDocument toTicketDocument(final Ticket ticket, final Ticket encodedTicket) {
+        val principal = ticket instanceof TicketGrantingTicket && !isCipherExecutorEnabled()
+            ? ((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId()
+            : null;
+        return new TicketDocument(encodedTicket, ticket.getPrefix(), principal, getExpirationTime(ticket));
+    }
+
+    private TicketDocument toIndexedTicketDocument(final TicketDocument document) {
+        val indexed = toTicketDocument(decodeTicket(document.getTicket()), document.getTicket());
+        indexed.setRevision(document.getRevision());
+        return indexed;
     }
 
     @Override
@@ -117,7 +267,7 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
         LOGGER.debug("Updating [{}]", encodedTicket.getId());
         var exception = (DbAccessException) null;
         var success = false;
-        val doc = new TicketDocument(encodedTicket);
+        val doc = toTicketDocument(ticket, encodedTicket);
         doc.setRevision(couchDb.getCurrentRevision(encodedTicket.getId()));
         for (var retries = 0; retries < conflictRetries; retries++) {
             try {
@@ -0,0 +1,38 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * This is {@link CouchDbTicketRegistryCleaner} that finds expired tickets via the view
+ * of ticket documents keyed by expiration time, rather than by going through all tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class CouchDbTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private static final long serialVersionUID = -2311596426157237417L;
+
+    private final transient CouchDbTicketRegistry couchDbTicketRegistry;
+
+    public CouchDbTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                        final CouchDbTicketRegistry ticketRegistry) {
+        super(lockingStrategy, logoutManager, ticketRegistry);
+        this.couchDbTicketRegistry = ticketRegistry;
+    }
+
+    @Override
+    protected int cleanInternal() {
+        try (val expiredTickets = this.couchDbTicketRegistry.getExpiredTicketsStream()) {
+            val ticketsDeleted = expiredTickets
+                .mapToInt(this::cleanTicket)
+                .sum();
+            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+            return ticketsDeleted;
+        }
+    }
+}
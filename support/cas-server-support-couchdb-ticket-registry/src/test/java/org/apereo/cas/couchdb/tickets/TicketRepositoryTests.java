@@ -0,0 +1,133 @@
+package org.apereo.cas.couchdb.tickets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.ektorp.BulkDeleteDocument;
+import org.ektorp.CouchDbConnector;
+import org.ektorp.DocumentOperationResult;
+import org.ektorp.ViewQuery;
+import org.ektorp.ViewResult;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link TicketRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketRepositoryTests {
+    private static final int PAGE_SIZE = 2;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private CouchDbConnector db;
+
+    private TicketRepository repository;
+
+    @SneakyThrows
+    private static ViewResult getAllDocsResult(final String... ids) {
+        val rows = Arrays.stream(ids)
+            .map(id -> String.format("{\"id\":\"%s\",\"key\":\"%s\",\"value\":{\"rev\":\"1-%s\"}}", id, id, id))
+            .collect(Collectors.joining(","));
+        return new ViewResult(MAPPER.readTree("{\"total_rows\":10,\"offset\":0,\"rows\":[" + rows + "]}"), false);
+    }
+
+    private static TicketDocument getTicketDocument(final String id, final long expirationTime) {
+        val document = new TicketDocument(id, "1-" + id);
+        document.setExpirationTime(expirationTime);
+        return document;
+    }
+
+    @Before
+    public void initialize() {
+        this.db = mock(CouchDbConnector.class);
+        this.repository = new TicketRepository(db, false);
+    }
+
+    @Test
+    public void verifyPagesStartAtLastDocument() {
+        val first = List.of(getTicketDocument("ST-1", 1), getTicketDocument("ST-2", 2));
+        val second = List.of(getTicketDocument("ST-2", 2), getTicketDocument("ST-3", 3));
+        val last = List.of(getTicketDocument("ST-3", 3));
+        when(db.queryView(any(ViewQuery.class), eq(TicketDocument.class))).thenReturn(first, second, last);
+
+        val ids = repository.findByExpirationTimeBefore(10, PAGE_SIZE).map(TicketDocument::getId).collect(Collectors.toList());
+        assertEquals(List.of("ST-1", "ST-2", "ST-3"), ids);
+
+        val captor = ArgumentCaptor.forClass(ViewQuery.class);
+        verify(db, times(3)).queryView(captor.capture(), eq(TicketDocument.class));
+        val queries = captor.getAllValues().stream().map(query -> query.dbPath("/tickets").buildQuery()).collect(Collectors.toList());
+        assertFalse(queries.get(0).contains("startkey"));
+        assertTrue(queries.get(1).contains("startkey=2"));
+        assertTrue(queries.get(1).contains("startkey_docid=ST-2"));
+        assertFalse(queries.get(1).contains("skip"));
+        assertTrue(queries.get(2).contains("startkey_docid=ST-3"));
+    }
+
+    @Test
+    public void verifyDeleteAllInBatches() {
+        val first = getAllDocsResult("ST-1", "ST-2");
+        val second = getAllDocsResult("ST-3", "_design/TicketDocument");
+        val last = getAllDocsResult();
+        when(db.queryView(any(ViewQuery.class))).thenReturn(first, second, last);
+        val deleted = new ArrayList<String>();
+        when(db.executeBulk(anyCollection())).thenAnswer(args -> {
+            val documents = (List<BulkDeleteDocument>) args.getArgument(0);
+            documents.forEach(document -> deleted.add(document.getId()));
+            return List.of();
+        });
+        assertEquals(3, repository.deleteAll(PAGE_SIZE, 1));
+        assertEquals(List.of("ST-1", "ST-2", "ST-3"), deleted);
+    }
+
+    @Test
+    public void verifyDeleteRetriesConflicts() {
+        when(db.executeBulk(anyCollection()))
+            .thenReturn(List.of(DocumentOperationResult.newInstance("ST-2", "conflict", "Document update conflict.")))
+            .thenReturn(List.of());
+        val revisions = getAllDocsResult("ST-2");
+        when(db.queryView(any(ViewQuery.class))).thenReturn(revisions);
+
+        val documents = List.of(new TicketDocument("ST-1", "1-ST-1"), new TicketDocument("ST-2", "0-ST-2"));
+        assertEquals(2, repository.delete(documents, 3));
+        verify(db, times(2)).executeBulk(anyCollection());
+    }
+
+    @Test
+    public void verifyDeleteGivesUpOnOtherFailures() {
+        when(db.executeBulk(anyCollection()))
+            .thenReturn(List.of(DocumentOperationResult.newInstance("ST-2", "not_found", "deleted")));
+        val documents = List.of(new TicketDocument("ST-1", "1-ST-1"), new TicketDocument("ST-2", "1-ST-2"));
+        assertEquals(1, repository.delete(documents, 3));
+        verify(db, times(1)).executeBulk(anyCollection());
+    }
+
+    @Test
+    public void verifyTicketsWithoutExpirationTimeArePagedById() {
+        val first = List.of(new TicketDocument("TGT-1", "1-TGT-1"), new TicketDocument("TGT-2", "1-TGT-2"));
+        val last = List.of(new TicketDocument("TGT-2", "1-TGT-2"));
+        when(db.queryView(any(ViewQuery.class), eq(TicketDocument.class))).thenReturn(first, last);
+
+        val ids = repository.findWithoutExpirationTime(PAGE_SIZE).map(TicketDocument::getId).collect(Collectors.toList());
+        assertEquals(List.of("TGT-1", "TGT-2"), ids);
+
+        val captor = ArgumentCaptor.forClass(ViewQuery.class);
+        verify(db, times(2)).queryView(captor.capture(), eq(TicketDocument.class));
+        val query = captor.getAllValues().get(1).dbPath("/tickets").buildQuery();
+        assertTrue(query.contains("without_expiration_time"));
+        assertTrue(query.contains("startkey=%22TGT-2%22"));
+        assertTrue(query.contains("startkey_docid=TGT-2"));
+    }
+}
@@ -0,0 +1,128 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.couchdb.tickets.TicketDocument;
+import org.apereo.cas.couchdb.tickets.TicketRepository;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+
+import lombok.val;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CouchDbTicketRegistryExpirationTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CouchDbTicketRegistryExpirationTests {
+    private static final long TIMEOUT = 60;
+
+    private static final int PAGE_SIZE = 10;
+
+    private static TicketGrantingTicketImpl getTicket(final String id, final ExpirationPolicy policy,
+                                                      final ZonedDateTime creationTime) {
+        val ticket = new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), policy);
+        ticket.setCreationTime(creationTime);
+        ticket.setLastTimeUsed(creationTime);
+        return ticket;
+    }
+
+    @Test
+    public void verifyExpirationTimeIsCountedFromCreationTime() {
+        val creationTime = ZonedDateTime.now(ZoneOffset.UTC).minusHours(1);
+        val ticket = getTicket("TGT-1", new HardTimeoutExpirationPolicy(TIMEOUT), creationTime);
+        assertEquals(creationTime.plusSeconds(TIMEOUT).toInstant().toEpochMilli(),
+            CouchDbTicketRegistry.getExpirationTime(ticket).longValue());
+    }
+
+    @Test
+    public void verifyUnboundedTimeToLiveIsIndexedByTimeToIdle() {
+        val creationTime = ZonedDateTime.now(ZoneOffset.UTC).minusHours(1);
+        val ticket = getTicket("TGT-1", new TimeoutExpirationPolicy(TIMEOUT), creationTime);
+        val lastTimeUsed = creationTime.plusMinutes(30);
+        ticket.setLastTimeUsed(lastTimeUsed);
+        assertEquals(lastTimeUsed.plusSeconds(TIMEOUT).toInstant().toEpochMilli(),
+            CouchDbTicketRegistry.getExpirationTime(ticket).longValue());
+    }
+
+    @Test
+    public void verifyPolicyWithoutTimeoutsIsNotIndexed() {
+        val ticket = getTicket("TGT-1", new AlwaysExpiresExpirationPolicy(), ZonedDateTime.now(ZoneOffset.UTC));
+        assertNull(CouchDbTicketRegistry.getExpirationTime(ticket));
+    }
+
+    @Test
+    public void verifyExpiredTicketsIncludeTicketsWithoutExpirationTime() {
+        val creationTime = ZonedDateTime.now(ZoneOffset.UTC).minusHours(1);
+        val indexed = getTicket("TGT-1", new HardTimeoutExpirationPolicy(TIMEOUT), creationTime);
+        val unindexed = getTicket("TGT-2", new AlwaysExpiresExpirationPolicy(), creationTime);
+        val active = getTicket("TGT-3", new HardTimeoutExpirationPolicy(TIMEOUT), ZonedDateTime.now(ZoneOffset.UTC));
+
+        val repository = mock(TicketRepository.class);
+        when(repository.findByExpirationTimeBefore(anyLong(), eq(PAGE_SIZE))).thenReturn(Stream.of(new TicketDocument(indexed)));
+        when(repository.findWithoutExpirationTime(PAGE_SIZE)).thenReturn(Stream.of(new TicketDocument(unindexed), new TicketDocument(active)));
+        val registry = new CouchDbTicketRegistry(mock(TicketCatalog.class), repository, 1, PAGE_SIZE);
+
+        try (val expired = registry.getExpiredTicketsStream()) {
+            assertEquals(List.of("TGT-1", "TGT-2"), expired.map(Ticket::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void verifySessionsAreFoundByPrincipal() {
+        val creationTime = ZonedDateTime.now(ZoneOffset.UTC);
+        val active = getTicket("TGT-1", new HardTimeoutExpirationPolicy(TIMEOUT), creationTime);
+        val expired = getTicket("TGT-2", new AlwaysExpiresExpirationPolicy(), creationTime);
+        val principal = active.getAuthentication().getPrincipal().getId();
+
+        val repository = mock(TicketRepository.class);
+        when(repository.findByPrincipal(principal)).thenReturn(List.of(new TicketDocument(active), new TicketDocument(expired)));
+        val registry = new CouchDbTicketRegistry(mock(TicketCatalog.class), repository, 1, PAGE_SIZE);
+
+        try (val sessions = registry.getSessionsFor(principal)) {
+            assertEquals(List.of("TGT-1"), sessions.map(Ticket::getId).collect(Collectors.toList()));
+        }
+        verify(repository, never()).findByPrefix(anyString(), anyInt());
+    }
+
+    @Test
+    public void verifyTicketsWrittenBeforeIndexingAreIndexed() {
+        val creationTime = ZonedDateTime.now(ZoneOffset.UTC);
+        val ticket = getTicket("TGT-1", new HardTimeoutExpirationPolicy(TIMEOUT), creationTime);
+        val document = new TicketDocument(ticket);
+        document.setRevision("1-TGT-1");
+
+        val repository = mock(TicketRepository.class);
+        when(repository.findPagesWithoutPrefix(PAGE_SIZE)).thenReturn(Stream.of(List.of(document)));
+        when(repository.update(anyList())).thenAnswer(invocation -> (long) invocation.<List<?>>getArgument(0).size());
+        val registry = new CouchDbTicketRegistry(mock(TicketCatalog.class), repository, 1, PAGE_SIZE);
+        assertEquals(1, registry.indexTickets());
+
+        val captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).update(captor.capture());
+        val indexed = (TicketDocument) captor.getValue().get(0);
+        assertEquals("TGT-1", indexed.getId());
+        assertEquals("1-TGT-1", indexed.getRevision());
+        assertEquals(TicketGrantingTicket.PREFIX, indexed.getPrefix());
+        assertEquals(ticket.getAuthentication().getPrincipal().getId(), indexed.getPrincipal());
+        assertEquals(CouchDbTicketRegistry.getExpirationTime(ticket), indexed.getExpirationTime());
+    }
+}
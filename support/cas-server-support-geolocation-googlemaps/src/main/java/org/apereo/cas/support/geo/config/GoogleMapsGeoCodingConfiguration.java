@@ -49,6 +49,7 @@ public class GoogleMapsGeoCodingConfiguration {
 
         val svc = new GoogleMapsGeoLocationService(builder.build());
         svc.setIpStackAccessKey(properties.getIpStackApiAccessKey());
+        svc.configureCache(properties);
         return svc;
     }
 }
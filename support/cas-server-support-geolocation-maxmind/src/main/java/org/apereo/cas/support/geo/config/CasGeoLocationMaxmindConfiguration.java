@@ -43,6 +43,7 @@ public class CasGeoLocationMaxmindConfiguration {
 
         val svc = new MaxmindDatabaseGeoLocationService(cityDatabase, countryDatabase);
         svc.setIpStackAccessKey(properties.getIpStackApiAccessKey());
+        svc.configureCache(properties);
         return svc;
     }
 
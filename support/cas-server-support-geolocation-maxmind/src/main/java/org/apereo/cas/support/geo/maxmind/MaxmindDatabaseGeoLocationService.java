@@ -2,6 +2,7 @@ package org.apereo.cas.support.geo.maxmind;
 
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
 import org.apereo.cas.support.geo.AbstractGeoLocationService;
+import org.apereo.cas.util.InetAddressUtils;
 
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.AddressNotFoundException;
@@ -58,12 +59,12 @@ public class MaxmindDatabaseGeoLocationService extends AbstractGeoLocationServic
 
     @Override
     public GeoLocationResponse locate(final String address) {
-        try {
-            return locate(InetAddress.getByName(address));
-        } catch (final Exception e) {
-            LOGGER.error(e.getMessage(), e);
+        val inetAddress = InetAddressUtils.parseAddress(address);
+        if (inetAddress == null) {
+            LOGGER.warn("[{}] is not an ip address and cannot be located without resolving it", address);
+            return null;
         }
-        return null;
+        return locate(inetAddress);
     }
 
     @Override
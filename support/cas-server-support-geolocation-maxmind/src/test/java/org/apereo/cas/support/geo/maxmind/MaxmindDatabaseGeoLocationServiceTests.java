@@ -1,5 +1,8 @@
 package org.apereo.cas.support.geo.maxmind;
 
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.configuration.model.support.geo.maxmind.MaxmindProperties;
+
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.model.CountryResponse;
@@ -48,4 +51,22 @@ public class MaxmindDatabaseGeoLocationServiceTests {
         val response2 = service.locate(100D, 100D);
         assertNull(response2);
     }
+
+    @Test
+    public void verifyCachedOperation() throws Exception {
+        val country = mock(DatabaseReader.class);
+        val countryResponse = new CountryResponse(new Continent(), new Country(),
+            new MaxMind(), new Country(),
+            new RepresentedCountry(), new Traits());
+        when(country.country(any(InetAddress.class))).thenReturn(countryResponse);
+
+        val service = new MaxmindDatabaseGeoLocationService(null, country);
+        service.configureCache(new MaxmindProperties());
+        assertNotNull(service.locate("185.86.151.11", new GeoLocationRequest()));
+        assertNotNull(service.locate("185.86.151.11", new GeoLocationRequest()));
+        verify(country, times(1)).country(any(InetAddress.class));
+
+        assertNull(service.locate("cas.example.org"));
+        verify(country, times(1)).country(any(InetAddress.class));
+    }
 }
@@ -3,9 +3,14 @@ package org.apereo.cas.support.geo;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
+import org.apereo.cas.configuration.model.support.geo.BaseGeoLocationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.InetAddressUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.userinfo.client.UserInfo;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,6 +24,7 @@ import org.apache.http.HttpStatus;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * This is {@link AbstractGeoLocationService}.
@@ -34,10 +40,30 @@ public abstract class AbstractGeoLocationService implements GeoLocationService {
 
     private String ipStackAccessKey;
 
+    private Cache<String, Optional<GeoLocationResponse>> locations;
+
+    /**
+     * Remember the geo locations of ip addresses, per ip address or per {@code /64} network for IPv6 addresses,
+     * according to the given settings. Concurrent lookups of the same address are collapsed into one.
+     *
+     * @param properties the properties
+     */
+    public void configureCache(final BaseGeoLocationProperties properties) {
+        val expiration = Beans.newDuration(properties.getCacheExpiration());
+        if (expiration.isZero() || expiration.isNegative()) {
+            this.locations = null;
+        } else {
+            this.locations = Caffeine.newBuilder()
+                .expireAfterWrite(expiration)
+                .maximumSize(properties.getCacheMaximumSize())
+                .build();
+        }
+    }
+
     @Override
     public GeoLocationResponse locate(final String clientIp, final GeoLocationRequest location) {
         LOGGER.debug("Attempting to find geolocation for [{}]", clientIp);
-        val loc = locate(clientIp);
+        val loc = locateOrGetCached(clientIp);
 
         if (loc == null && location != null) {
             LOGGER.debug("Attempting to find geolocation for [{}]", location);
@@ -83,4 +109,15 @@ public abstract class AbstractGeoLocationService implements GeoLocationService {
         }
         return null;
     }
+
+    private GeoLocationResponse locateOrGetCached(final String clientIp) {
+        val network = this.locations != null ? InetAddressUtils.getNetworkAddress(clientIp) : null;
+        if (network == null) {
+            return locate(clientIp);
+        }
+        return this.locations.get(network, key -> {
+            LOGGER.trace("Locating ip address [{}] for network [{}]", clientIp, key);
+            return Optional.ofNullable(locate(clientIp));
+        }).orElse(null);
+    }
 }
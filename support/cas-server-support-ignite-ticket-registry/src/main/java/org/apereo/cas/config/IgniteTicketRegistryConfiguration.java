@@ -3,9 +3,16 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.ignite.IgniteProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.IgniteTicketDocument;
 import org.apereo.cas.ticket.registry.IgniteTicketRegistry;
+import org.apereo.cas.ticket.registry.IgniteTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -63,6 +70,9 @@ public class IgniteTicketRegistryConfiguration {
                 ticketsCache.setWriteSynchronizationMode(writeSync);
                 val duration = new Duration(TimeUnit.SECONDS, t.getProperties().getStorageTimeout());
                 ticketsCache.setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(duration));
+                if (ignite.isIndexingEnabled()) {
+                    ticketsCache.setIndexedTypes(String.class, IgniteTicketDocument.class);
+                }
                 return ticketsCache;
             })
             .collect(Collectors.toSet());
@@ -131,7 +141,7 @@ public class IgniteTicketRegistryConfiguration {
     @Autowired
     @Bean
     @RefreshScope
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public IgniteTicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val igniteProperties = casProperties.getTicket().getRegistry().getIgnite();
         val igniteConfiguration = igniteConfiguration(ticketCatalog);
         val r = new IgniteTicketRegistry(ticketCatalog, igniteConfiguration, igniteProperties);
@@ -140,6 +150,25 @@ public class IgniteTicketRegistryConfiguration {
         return r;
     }
 
+    @Autowired
+    @Bean
+    public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
+                                                       @Qualifier("logoutManager") final LogoutManager logoutManager,
+                                                       @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
+        val registry = casProperties.getTicket().getRegistry();
+        if (!registry.getCleaner().getSchedule().isEnabled()) {
+            LOGGER.debug("Ticket registry cleaner is not enabled. "
+                + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
+                + "clean up tickets based on expiration and eviction policies.");
+            return NoOpTicketRegistryCleaner.getInstance();
+        }
+        if (registry.getIgnite().isIndexingEnabled() && ticketRegistry instanceof IgniteTicketRegistry) {
+            LOGGER.debug("Expired tickets are cleaned by the Ignite nodes that own them via indexed queries");
+            return new IgniteTicketRegistryCleaner(lockingStrategy, logoutManager, (IgniteTicketRegistry) ticketRegistry);
+        }
+        return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
+    }
+
     private SslContextFactory buildSecureTransportForIgniteConfiguration() {
         val properties = casProperties.getTicket().getRegistry().getIgnite();
         val nullKey = "NULL";
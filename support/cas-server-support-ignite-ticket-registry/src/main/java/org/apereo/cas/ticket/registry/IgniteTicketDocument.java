@@ -0,0 +1,37 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.ignite.cache.query.annotations.QuerySqlField;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link IgniteTicketDocument} that wraps a ticket stored in an indexed Ignite cache,
+ * along with the SQL-indexed fields used to query tickets without decoding them.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class IgniteTicketDocument implements Serializable {
+    /**
+     * Name of the SQL table that holds ticket documents in each cache.
+     */
+    public static final String TABLE_NAME = IgniteTicketDocument.class.getSimpleName();
+
+    private static final long serialVersionUID = -3506385837325012431L;
+
+    /**
+     * Epoch millis after which the ticket is no longer usable per the time-to-live of its expiration policy.
+     */
+    @QuerySqlField(index = true)
+    private final long expirationTime;
+
+    private final Ticket ticket;
+}
@@ -2,9 +2,11 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.configuration.model.support.ignite.IgniteProperties;
 import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -14,19 +16,24 @@ import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.IgniteState;
 import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CachePeekMode;
 import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.springframework.beans.factory.DisposableBean;
 
-import javax.cache.Cache;
 import javax.cache.expiry.Duration;
 import javax.cache.expiry.ExpiryPolicy;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -39,6 +46,12 @@ import java.util.stream.Collectors;
  * <li>Tuning: use cache level time to live with different values for TGT an ST.</li>
  * <li>Monitoring: follow separately the number of TGT and ST.</li>
  * </ul>
+ * <p>
+ * Cache handles are resolved once per ticket definition, and the cache for a ticket id is found from its prefix.
+ * Tickets are streamed page by page rather than collected on a single node, and counts are computed by the nodes
+ * that own the data. When indexing is enabled, tickets are stored as {@link IgniteTicketDocument} entries whose
+ * expiration time is indexed, so expired tickets can be deleted by the owning nodes.
+ * </p>
  *
  * @author Timur Duehr timur.duehr@nccgroup.trust
  * @since 5.0.0
@@ -53,6 +66,8 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
 
     private final TicketCatalog ticketCatalog;
 
+    private final Map<String, IgniteCache<String, Object>> caches = new ConcurrentHashMap<>();
+
     private Ignite ignite;
 
     public IgniteTicketRegistry(final TicketCatalog ticketCatalog, final IgniteConfiguration igniteConfiguration, final IgniteProperties properties) {
@@ -69,7 +84,12 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         val policy = new IgniteInternalTicketExpiryPolicy(ticket.getExpirationPolicy());
         LOGGER.debug("Adding ticket [{}] to the cache [{}] with policy [{}]", ticket.getId(), cache.getName(), policy);
         val entries = cache.withExpiryPolicy(policy);
-        entries.put(encodedTicket.getId(), encodedTicket);
+        if (properties.isIndexingEnabled()) {
+            val expirationTime = getExpirationTime(ticket);
+            entries.put(encodedTicket.getId(), new IgniteTicketDocument(expirationTime, encodedTicket));
+        } else {
+            entries.put(encodedTicket.getId(), encodedTicket);
+        }
     }
 
     @Override
@@ -83,15 +103,14 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
-        val ticket = getTicket(ticketId);
-        if (ticket != null) {
-            val metadata = this.ticketCatalog.find(ticket);
-            if (metadata == null) {
-                LOGGER.warn("Ticket [{}] is not registered in the catalog and is unrecognized", ticketId);
-                return false;
-            }
-            val cache = getIgniteCacheFromMetadata(metadata);
-            return cache.remove(encodeTicketId(ticket.getId()));
+        val metadata = this.ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.warn("Ticket [{}] is not registered in the catalog and is unrecognized", ticketId);
+            return false;
+        }
+        val cache = getIgniteCacheFromMetadata(metadata);
+        if (!cache.remove(encodeTicketId(ticketId))) {
+            LOGGER.debug("Ticket [{}] is not found in the cache [{}]", ticketId, cache.getName());
         }
         return true;
     }
@@ -116,7 +135,7 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
             LOGGER.debug("No ticket by id [{}] is found in the ignite ticket registry", ticketId);
             return null;
         }
-        val result = decodeTicket(ticket);
+        val result = decodeTicket(toTicket(ticket));
         if (predicate.test(result)) {
             return result;
         }
@@ -126,9 +145,74 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.ticketCatalog.findAll().stream().map(this::getIgniteCacheFromMetadata)
-            .map(cache -> cache.query(new ScanQuery<>()).getAll().stream()).flatMap(Function.identity())
-            .map(Cache.Entry::getValue).map(object -> decodeTicket((Ticket) object)).collect(Collectors.toSet());
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return getTicketsStream(definition -> true);
+    }
+
+    /**
+     * Stream the tickets stored in the caches of the matching ticket definitions.
+     * Entries are fetched from the owning nodes page by page, and the underlying
+     * query cursors are closed when the stream is closed.
+     *
+     * @param definitionFilter the ticket definitions to include
+     * @return the tickets
+     */
+    public Stream<Ticket> getTicketsStream(final Predicate<TicketDefinition> definitionFilter) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definitionFilter)
+            .map(this::getIgniteCacheFromMetadata)
+            .flatMap(cache -> {
+                val query = new ScanQuery<String, Object>();
+                query.setPageSize(properties.getQueryPageSize());
+                val cursor = cache.query(query);
+                return StreamSupport.stream(cursor.spliterator(), false).onClose(cursor::close);
+            })
+            .map(entry -> decodeTicket(toTicket(entry.getValue())));
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.class);
+    }
+
+    /**
+     * Delete expired tickets, other than ticket-granting tickets, on the nodes that own them.
+     * Ticket-granting tickets are left to the cleaner, since their expiration triggers logout.
+     * Only applicable when indexing is enabled, and to caches that were created with the indexed configuration.
+     *
+     * @return the number of deleted tickets
+     */
+    public long deleteExpiredTickets() {
+        if (!properties.isIndexingEnabled()) {
+            return 0;
+        }
+        val query = new SqlFieldsQuery("DELETE FROM " + IgniteTicketDocument.TABLE_NAME + " WHERE expirationTime <= ?");
+        query.setArgs(System.currentTimeMillis());
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> !TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass()))
+            .map(this::getIgniteCacheFromMetadata)
+            .filter(IgniteTicketRegistry::isIndexed)
+            .mapToLong(cache -> {
+                try (val cursor = cache.query(query)) {
+                    val count = ((Number) cursor.getAll().get(0).get(0)).longValue();
+                    LOGGER.debug("Deleted [{}] expired tickets from cache [{}]", count, cache.getName());
+                    return count;
+                }
+            })
+            .sum();
     }
 
     @Override
@@ -141,6 +225,7 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
      * Make sure we shutdown Ignite when the context is destroyed.
      */
     public void shutdown() {
+        this.caches.clear();
         this.ignite.close();
         Ignition.stopAll(true);
     }
@@ -163,15 +248,47 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         }
     }
 
-    private IgniteCache<String, Ticket> getIgniteCacheFromMetadata(final TicketDefinition metadata) {
+    private long countTickets(final Class<? extends Ticket> type) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> type.isAssignableFrom(definition.getImplementationClass()))
+            .map(this::getIgniteCacheFromMetadata)
+            .mapToLong(cache -> cache.sizeLong(CachePeekMode.PRIMARY))
+            .sum();
+    }
+
+    private static long getExpirationTime(final Ticket ticket) {
+        val timeToLive = ticket.getExpirationPolicy().getTimeToLive();
+        val created = ticket.getCreationTime().toInstant().toEpochMilli();
+        if (timeToLive == null || timeToLive <= 0 || timeToLive >= TimeUnit.MILLISECONDS.toSeconds(Long.MAX_VALUE - created)) {
+            return Long.MAX_VALUE;
+        }
+        return created + TimeUnit.SECONDS.toMillis(timeToLive);
+    }
+
+    private static boolean isIndexed(final IgniteCache<String, Object> cache) {
+        val configuration = cache.getConfiguration(CacheConfiguration.class);
+        return configuration.getQueryEntities() != null && !configuration.getQueryEntities().isEmpty();
+    }
+
+    private static Ticket toTicket(final Object value) {
+        if (value instanceof IgniteTicketDocument) {
+            return ((IgniteTicketDocument) value).getTicket();
+        }
+        return (Ticket) value;
+    }
+
+    private IgniteCache<String, Object> getIgniteCacheFromMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.trace("Locating cache name [{}] for ticket definition [{}]", mapName, metadata);
         return getIgniteCacheInstanceByName(mapName);
     }
 
-    private IgniteCache<String, Ticket> getIgniteCacheInstanceByName(final String name) {
-        LOGGER.trace("Attempting to get/create cache [{}]", name);
-        return this.ignite.getOrCreateCache(name);
+    private IgniteCache<String, Object> getIgniteCacheInstanceByName(final String name) {
+        return this.caches.computeIfAbsent(name, key -> {
+            LOGGER.trace("Attempting to get/create cache [{}]", key);
+            return this.ignite.getOrCreateCache(key);
+        });
     }
 
     @ToString
@@ -0,0 +1,45 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * This is {@link IgniteTicketRegistryCleaner} that lets the nodes owning the data delete expired tickets
+ * via the indexed expiration time, and only streams ticket-granting tickets back to this node
+ * so that their expiration may trigger the logout process.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class IgniteTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private static final long serialVersionUID = 3924781436296372085L;
+
+    private final transient IgniteTicketRegistry igniteTicketRegistry;
+
+    public IgniteTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                       final IgniteTicketRegistry ticketRegistry) {
+        super(lockingStrategy, logoutManager, ticketRegistry);
+        this.igniteTicketRegistry = ticketRegistry;
+    }
+
+    @Override
+    protected int cleanInternal() {
+        val expiredTickets = this.igniteTicketRegistry.deleteExpiredTickets();
+        LOGGER.debug("[{}] expired tickets removed by the owning nodes.", expiredTickets);
+        try (val ticketGrantingTickets = this.igniteTicketRegistry.getTicketsStream(
+            definition -> TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass()))) {
+            val ticketsDeleted = ticketGrantingTickets
+                .filter(Ticket::isExpired)
+                .mapToInt(this::cleanTicket)
+                .sum();
+            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted + expiredTickets);
+            return (int) (ticketsDeleted + expiredTickets);
+        }
+    }
+}
@@ -2,6 +2,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.ticket.registry.IgniteTicketRegistryWithEncryptionTests;
+import org.apereo.cas.ticket.registry.IgniteTicketRegistryWithIndexingTests;
 import org.apereo.cas.ticket.registry.IgniteTicketRegistryWithoutEncryptionTests;
 
 import org.junit.runner.RunWith;
@@ -16,6 +17,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     IgniteTicketRegistryWithEncryptionTests.class,
+    IgniteTicketRegistryWithIndexingTests.class,
     IgniteTicketRegistryWithoutEncryptionTests.class
 })
 public class AllTestsSuite {
@@ -0,0 +1,68 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicketImpl;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link IgniteTicketRegistry} with indexing enabled.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@TestPropertySource(properties = "cas.ticket.registry.ignite.indexingEnabled=true")
+public class IgniteTicketRegistryWithIndexingTests extends AbstractIgniteTicketRegistryTests {
+
+    @Autowired
+    @Qualifier("ticketRegistryCleaner")
+    private TicketRegistryCleaner ticketRegistryCleaner;
+
+    public IgniteTicketRegistryWithIndexingTests() {
+        super(false);
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreDeletedByOwningNodes() {
+        val registry = (IgniteTicketRegistry) AopTestUtils.getTargetObject(getNewTicketRegistry());
+        val tgt = new TicketGrantingTicketImpl("TGT-indexed", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        registry.addTicket(new ServiceTicketImpl("ST-indexed", tgt, RegisteredServiceTestUtils.getService(),
+            false, new NeverExpiresExpirationPolicy()));
+        val expired = new ServiceTicketImpl("ST-expired", tgt, RegisteredServiceTestUtils.getService(),
+            false, new HardTimeoutExpirationPolicy(30));
+        expired.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        registry.addTicket(expired);
+
+        assertEquals(1, registry.deleteExpiredTickets());
+        assertEquals(0, registry.deleteExpiredTickets());
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+        assertNotNull(registry.getTicket("ST-indexed"));
+        assertNull(registry.getTicket("ST-expired"));
+
+        try (val tickets = registry.getTicketsStream(
+            definition -> TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass()))) {
+            assertEquals("TGT-indexed", tickets.map(Ticket::getId).collect(Collectors.joining()));
+        }
+        assertTrue(ticketRegistryCleaner instanceof IgniteTicketRegistryCleaner);
+    }
+}
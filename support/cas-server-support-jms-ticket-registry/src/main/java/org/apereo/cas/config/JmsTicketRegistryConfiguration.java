@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.StringBean;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.JmsTicketRegistryPublisher;
 import org.apereo.cas.ticket.registry.JmsTicketRegistryReceiver;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
@@ -43,7 +44,14 @@ public class JmsTicketRegistryConfiguration {
 
     @Bean
     public JmsTicketRegistryReceiver messageQueueTicketRegistryReceiver() {
-        return new JmsTicketRegistryReceiver(ticketRegistry(), messageQueueTicketRegistryIdentifier());
+        val jms = casProperties.getTicket().getRegistry().getJms();
+        return new JmsTicketRegistryReceiver(ticketRegistry(), messageQueueTicketRegistryIdentifier(), jms.isSnapshotOnStartup());
+    }
+
+    @Bean
+    public JmsTicketRegistryPublisher messageQueueTicketRegistryPublisher() {
+        val jms = casProperties.getTicket().getRegistry().getJms();
+        return new JmsTicketRegistryPublisher(this.jmsTemplate.getIfAvailable(), messageQueueTicketRegistryIdentifier(), jms);
     }
 
     @Lazy
@@ -51,7 +59,7 @@ public class JmsTicketRegistryConfiguration {
     public TicketRegistry ticketRegistry() {
         val jms = casProperties.getTicket().getRegistry().getJms();
         val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(jms.getCrypto(), "jms");
-        return new JmsTicketRegistry(this.jmsTemplate.getIfAvailable(), messageQueueTicketRegistryIdentifier(), cipher);
+        return new JmsTicketRegistry(messageQueueTicketRegistryPublisher(), messageQueueTicketRegistryIdentifier(), cipher);
     }
 
     @Autowired
@@ -5,16 +5,24 @@ import org.apereo.cas.StringBean;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.registry.queue.AddTicketMessageQueueCommand;
 import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.BatchMessageQueueCommand;
 import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
 import org.apereo.cas.ticket.registry.queue.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotAcceptMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotOfferMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotRequestMessageQueueCommand;
 import org.apereo.cas.ticket.registry.queue.UpdateTicketMessageQueueCommand;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.springframework.jms.core.JmsTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link JmsTicketRegistry}.
+ * Changes to the registry are handed over to the {@link JmsTicketRegistryPublisher},
+ * while changes received from other nodes are applied locally without being published again.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -26,19 +34,111 @@ public class JmsTicketRegistry extends DefaultTicketRegistry {
      */
     public static final String QUEUE_DESTINATION = "CasJmsTicketRegistry";
 
-    private final JmsTemplate jmsTemplate;
+    private static final ThreadLocal<Boolean> RECEIVING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final JmsTicketRegistryPublisher publisher;
     private final StringBean id;
 
-    public JmsTicketRegistry(final JmsTemplate jmsTemplate, final StringBean id) {
-        this(jmsTemplate, id, CipherExecutor.noOp());
+    private final AtomicBoolean awaitingSnapshot = new AtomicBoolean();
+
+    public JmsTicketRegistry(final JmsTicketRegistryPublisher publisher, final StringBean id) {
+        this(publisher, id, CipherExecutor.noOp());
     }
 
-    public JmsTicketRegistry(final JmsTemplate jmsTemplate, final StringBean id, final CipherExecutor cipherExecutor) {
+    public JmsTicketRegistry(final JmsTicketRegistryPublisher publisher, final StringBean id, final CipherExecutor cipherExecutor) {
         super(cipherExecutor);
-        this.jmsTemplate = jmsTemplate;
+        this.publisher = publisher;
         this.id = id;
     }
 
+    /**
+     * Execute a command received from another node against this registry.
+     * Changes made by the command are not published back to the queue.
+     *
+     * @param command the command
+     */
+    public void receive(final BaseMessageQueueCommand command) {
+        RECEIVING.set(Boolean.TRUE);
+        try {
+            command.execute(this);
+        } finally {
+            RECEIVING.remove();
+        }
+    }
+
+    /**
+     * Ask other nodes to offer a snapshot of their tickets, so this registry does not start empty.
+     * The first offer received is accepted, so that only one node publishes its tickets.
+     */
+    public void requestSnapshot() {
+        LOGGER.debug("Requesting a snapshot of the ticket registry from other nodes for registry id [{}]", id.getId());
+        awaitingSnapshot.set(true);
+        publisher.send(new SnapshotRequestMessageQueueCommand(id));
+    }
+
+    /**
+     * Offer to publish a snapshot of this registry to the node that requested it.
+     *
+     * @param requester the registry id of the node that requested the snapshot
+     */
+    public void offerSnapshot(final StringBean requester) {
+        LOGGER.debug("Offering a snapshot of ticket registry id [{}] to [{}]", id.getId(), requester.getId());
+        publisher.send(new SnapshotOfferMessageQueueCommand(id, requester));
+    }
+
+    /**
+     * Accept a snapshot offer, if the offer is made to this registry and no other offer was accepted yet.
+     *
+     * @param requester the registry id of the node the offer is made to
+     * @param responder the registry id of the node that made the offer
+     */
+    public void acceptSnapshotOffer(final StringBean requester, final StringBean responder) {
+        if (id.equals(requester) && awaitingSnapshot.compareAndSet(true, false)) {
+            LOGGER.debug("Accepting snapshot offer from ticket registry id [{}]", responder.getId());
+            publisher.send(new SnapshotAcceptMessageQueueCommand(id, responder));
+        }
+    }
+
+    /**
+     * Publish all tickets in this registry in batches addressed to the requesting node,
+     * if this registry is the one whose offer was accepted.
+     *
+     * @param requester the registry id of the node that requested the snapshot
+     * @param responder the registry id of the node whose offer was accepted
+     */
+    public void publishSnapshot(final StringBean requester, final StringBean responder) {
+        if (!id.equals(responder)) {
+            return;
+        }
+        val commands = getTickets()
+            .stream()
+            .map(ticket -> (BaseMessageQueueCommand) new AddTicketMessageQueueCommand(id, ticket))
+            .collect(Collectors.toList());
+        LOGGER.debug("Publishing a snapshot of [{}] tickets from ticket registry id [{}] to [{}]", commands.size(), id.getId(), requester.getId());
+        publisher.publishSnapshot(requester, commands);
+    }
+
+    /**
+     * Add the tickets of a snapshot addressed to this registry, unless a ticket is already present.
+     * Tickets present locally may have been changed since the snapshot was taken and are kept as they are.
+     *
+     * @param recipient the registry id of the node the snapshot is addressed to
+     * @param snapshot  the snapshot
+     */
+    public void receiveSnapshot(final StringBean recipient, final BatchMessageQueueCommand snapshot) {
+        if (!id.equals(recipient)) {
+            LOGGER.trace("Ignoring snapshot addressed to ticket registry id [{}]", recipient.getId());
+            return;
+        }
+        val added = snapshot.getCommands()
+            .stream()
+            .filter(AddTicketMessageQueueCommand.class::isInstance)
+            .map(command -> ((AddTicketMessageQueueCommand) command).getTicket())
+            .filter(ticket -> getMapInstance().putIfAbsent(encodeTicketId(ticket.getId()), encodeTicket(ticket)) == null)
+            .count();
+        LOGGER.debug("Added [{}] of [{}] tickets from the snapshot", added, snapshot.getCount());
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         super.addTicket(ticket);
@@ -67,10 +167,10 @@ public class JmsTicketRegistry extends DefaultTicketRegistry {
     }
 
     private void publishMessageToQueue(final BaseMessageQueueCommand cmd) {
-        jmsTemplate.convertAndSend(QUEUE_DESTINATION, cmd,
-            message -> {
-                LOGGER.trace("Sending message [{}] from ticket registry id [{}]", message, cmd.getId());
-                return message;
-            });
+        if (RECEIVING.get()) {
+            LOGGER.trace("Skipping publishing of command [{}] received from another node", cmd.getClass().getSimpleName());
+            return;
+        }
+        publisher.publish(cmd);
     }
 }
@@ -0,0 +1,243 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.queue.AddTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.BatchMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.UpdateTicketMessageQueueCommand;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link JmsTicketRegistryPublisher} that publishes ticket registry changes to the queue.
+ * Changes are collected over a short window and published in the background as compressed batches.
+ * Repeated changes to the same ticket within the window are coalesced, so that only the latest
+ * state of the ticket is published. Once the number of pending changes reaches its limit, the calling
+ * thread publishes them itself, which slows down producers until the queue catches up.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class JmsTicketRegistryPublisher implements DisposableBean {
+    private static final String DELETE_ALL_KEY = "*";
+
+    private final Map<String, BaseMessageQueueCommand> pendingChanges = new LinkedHashMap<>();
+
+    private final Object publishLock = new Object();
+
+    private final JmsTemplate jmsTemplate;
+
+    private final StringBean id;
+
+    private final int batchSize;
+
+    private final int maxPendingChanges;
+
+    private final ScheduledExecutorService scheduler;
+
+    public JmsTicketRegistryPublisher(final JmsTemplate jmsTemplate, final StringBean id, final JmsTicketRegistryProperties properties) {
+        this.jmsTemplate = jmsTemplate;
+        this.id = id;
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.maxPendingChanges = Math.max(1, properties.getMaxPendingChanges());
+
+        val batchWindow = Beans.newDuration(properties.getBatchWindow()).toMillis();
+        if (batchWindow > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cas-jms-ticket-registry-"));
+            this.scheduler.scheduleWithFixedDelay(this::publishPendingChanges, batchWindow, batchWindow, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    private static String getCoalescingKey(final BaseMessageQueueCommand command) {
+        if (command instanceof AddTicketMessageQueueCommand) {
+            return ((AddTicketMessageQueueCommand) command).getTicket().getId();
+        }
+        if (command instanceof UpdateTicketMessageQueueCommand) {
+            return ((UpdateTicketMessageQueueCommand) command).getTicket().getId();
+        }
+        if (command instanceof DeleteTicketMessageQueueCommand) {
+            return ((DeleteTicketMessageQueueCommand) command).getTicketId();
+        }
+        if (command instanceof DeleteTicketsMessageQueueCommand) {
+            return DELETE_ALL_KEY;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Publish a change to the ticket registry.
+     * If batching is turned off, the change is published immediately.
+     *
+     * @param command the command
+     */
+    public void publish(final BaseMessageQueueCommand command) {
+        if (this.scheduler == null) {
+            send(command);
+            return;
+        }
+        if (addPendingChange(command) >= this.maxPendingChanges) {
+            LOGGER.debug("Pending ticket registry changes reached [{}]; publishing on the calling thread", this.maxPendingChanges);
+            flush();
+        }
+    }
+
+    /**
+     * Publish all pending changes now.
+     * Changes that could not be published are put back, ahead of any changes made since,
+     * so that they are published again in order by the next attempt, and the failure is rethrown.
+     *
+     * @return the number of published changes
+     */
+    public int flush() {
+        synchronized (this.publishLock) {
+            val commands = drainPendingChanges();
+            if (commands.isEmpty()) {
+                return 0;
+            }
+            var sent = 0;
+            try {
+                for (val batch : ListUtils.partition(commands, this.batchSize)) {
+                    sendBatch(batch);
+                    sent += batch.size();
+                }
+            } catch (final JmsException e) {
+                LOGGER.warn("Unable to publish [{}] ticket registry change(s); they will be published again", commands.size() - sent);
+                restorePendingChanges(commands.subList(sent, commands.size()));
+                throw e;
+            }
+            return commands.size();
+        }
+    }
+
+    /**
+     * Publish the given commands in batches, in order.
+     *
+     * @param commands the commands
+     */
+    public void publishAll(final List<BaseMessageQueueCommand> commands) {
+        ListUtils.partition(commands, this.batchSize).forEach(this::sendBatch);
+    }
+
+    /**
+     * Publish the given commands as snapshot batches, addressed to the given node only.
+     *
+     * @param recipient the registry id of the node the snapshot is addressed to
+     * @param commands  the commands
+     */
+    public void publishSnapshot(final StringBean recipient, final List<BaseMessageQueueCommand> commands) {
+        ListUtils.partition(commands, this.batchSize).forEach(batch -> send(new SnapshotMessageQueueCommand(this.id, recipient, batch)));
+    }
+
+    /**
+     * Send the command to the queue immediately.
+     *
+     * @param command the command
+     */
+    public void send(final BaseMessageQueueCommand command) {
+        this.jmsTemplate.convertAndSend(JmsTicketRegistry.QUEUE_DESTINATION, command,
+            message -> {
+                LOGGER.trace("Sending message [{}] from ticket registry id [{}]", message, command.getId());
+                return message;
+            });
+    }
+
+    /**
+     * Number of changes waiting to be published.
+     *
+     * @return the count
+     */
+    public int getPendingChangesCount() {
+        synchronized (this.pendingChanges) {
+            return this.pendingChanges.size();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdown();
+        }
+        flush();
+    }
+
+    private int addPendingChange(final BaseMessageQueueCommand command) {
+        synchronized (this.pendingChanges) {
+            if (command instanceof DeleteTicketsMessageQueueCommand) {
+                this.pendingChanges.clear();
+            }
+            val key = getCoalescingKey(command);
+            this.pendingChanges.remove(key);
+            this.pendingChanges.put(key, command);
+            return this.pendingChanges.size();
+        }
+    }
+
+    private List<BaseMessageQueueCommand> drainPendingChanges() {
+        synchronized (this.pendingChanges) {
+            val commands = new ArrayList<BaseMessageQueueCommand>(this.pendingChanges.values());
+            this.pendingChanges.clear();
+            return commands;
+        }
+    }
+
+    private void sendBatch(final List<BaseMessageQueueCommand> batch) {
+        if (batch.size() == 1) {
+            send(batch.get(0));
+        } else {
+            send(new BatchMessageQueueCommand(this.id, batch));
+        }
+    }
+
+    private void restorePendingChanges(final List<BaseMessageQueueCommand> commands) {
+        synchronized (this.pendingChanges) {
+            if (this.pendingChanges.containsKey(DELETE_ALL_KEY)) {
+                return;
+            }
+            val restored = new LinkedHashMap<String, BaseMessageQueueCommand>();
+            commands.forEach(command -> {
+                val key = getCoalescingKey(command);
+                if (!this.pendingChanges.containsKey(key)) {
+                    restored.put(key, command);
+                }
+            });
+            restored.putAll(this.pendingChanges);
+            this.pendingChanges.clear();
+            this.pendingChanges.putAll(restored);
+        }
+    }
+
+    private void publishPendingChanges() {
+        try {
+            val count = flush();
+            if (count > 0) {
+                LOGGER.trace("Published [{}] ticket registry changes", count);
+            }
+        } catch (final JmsException e) {
+            LOGGER.error("Unable to publish ticket registry changes: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.jms.annotation.JmsListener;
 
 /**
@@ -18,6 +20,7 @@ import org.springframework.jms.annotation.JmsListener;
 public class JmsTicketRegistryReceiver {
     private final TicketRegistry ticketRegistry;
     private final StringBean ticketRegistryId;
+    private final boolean snapshotOnStartup;
 
     /**
      * Receive.
@@ -29,9 +32,25 @@ public class JmsTicketRegistryReceiver {
         if (!command.getId().equals(this.ticketRegistryId)) {
             LOGGER.debug("Received message from ticket registry id [{}]. Executing command [{}]",
                 command.getId(), command.getClass().getSimpleName());
-            command.execute(this.ticketRegistry);
+            if (this.ticketRegistry instanceof JmsTicketRegistry) {
+                ((JmsTicketRegistry) this.ticketRegistry).receive(command);
+            } else {
+                command.execute(this.ticketRegistry);
+            }
         } else {
             LOGGER.trace("Ignoring inbound command on ticket registry with id [{}]", this.ticketRegistryId);
         }
     }
+
+    /**
+     * Request a snapshot of the ticket registry from other nodes once the application is ready.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleApplicationReadyEvent(final ApplicationReadyEvent event) {
+        if (this.snapshotOnStartup && this.ticketRegistry instanceof JmsTicketRegistry) {
+            ((JmsTicketRegistry) this.ticketRegistry).requestSnapshot();
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This is {@link BatchMessageQueueCommand} that carries a number of queue commands
+ * as a single compressed binary payload. Commands are executed in the order in which they were collected.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class BatchMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = 2975463316946170712L;
+
+    @JsonProperty
+    private byte[] payload;
+
+    @JsonProperty
+    private int count;
+
+    @JsonCreator
+    public BatchMessageQueueCommand(@JsonProperty("id") final StringBean id,
+                                    @JsonProperty("payload") final byte[] payload,
+                                    @JsonProperty("count") final int count) {
+        super(id);
+        this.payload = payload;
+        this.count = count;
+    }
+
+    public BatchMessageQueueCommand(final StringBean id, final List<BaseMessageQueueCommand> commands) {
+        this(id, compress(commands), commands.size());
+    }
+
+    @SneakyThrows
+    private static byte[] compress(final List<BaseMessageQueueCommand> commands) {
+        val output = new ByteArrayOutputStream();
+        try (val gzip = new GZIPOutputStream(output)) {
+            SerializationUtils.serialize(new ArrayList<>(commands), gzip);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Gets the commands carried by this batch.
+     *
+     * @return the commands
+     */
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public List<BaseMessageQueueCommand> getCommands() {
+        try (val gzip = new GZIPInputStream(new ByteArrayInputStream(this.payload))) {
+            return SerializationUtils.deserialize(gzip, ArrayList.class);
+        }
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        LOGGER.debug("Executing batch of [{}] queue commands from ticket registry id [{}] in [{}] bytes", count, getId().getId(), payload.length);
+        getCommands().forEach(command -> command.execute(registry));
+    }
+}
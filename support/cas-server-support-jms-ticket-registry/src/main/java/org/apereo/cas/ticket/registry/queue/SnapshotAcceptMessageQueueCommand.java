@@ -0,0 +1,42 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This is {@link SnapshotAcceptMessageQueueCommand} that is published by the node that requested a snapshot,
+ * accepting the first offer it received so that only that node publishes its tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class SnapshotAcceptMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = -5470612283946210815L;
+
+    @JsonProperty
+    private StringBean recipient;
+
+    @JsonCreator
+    public SnapshotAcceptMessageQueueCommand(@JsonProperty("id") final StringBean id, @JsonProperty("recipient") final StringBean recipient) {
+        super(id);
+        this.recipient = recipient;
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        LOGGER.debug("Executing queue command to publish a snapshot from registry id [{}] to [{}]", recipient.getId(), getId().getId());
+        if (registry instanceof JmsTicketRegistry) {
+            ((JmsTicketRegistry) registry).publishSnapshot(getId(), recipient);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * This is {@link SnapshotMessageQueueCommand} that carries a batch of tickets from a snapshot,
+ * addressed to the node that requested the snapshot. Other nodes ignore it.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class SnapshotMessageQueueCommand extends BatchMessageQueueCommand {
+    private static final long serialVersionUID = 8096113958291634212L;
+
+    @JsonProperty
+    private StringBean recipient;
+
+    @JsonCreator
+    public SnapshotMessageQueueCommand(@JsonProperty("id") final StringBean id,
+                                       @JsonProperty("recipient") final StringBean recipient,
+                                       @JsonProperty("payload") final byte[] payload,
+                                       @JsonProperty("count") final int count) {
+        super(id, payload, count);
+        this.recipient = recipient;
+    }
+
+    public SnapshotMessageQueueCommand(final StringBean id, final StringBean recipient, final List<BaseMessageQueueCommand> commands) {
+        super(id, commands);
+        this.recipient = recipient;
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        LOGGER.debug("Executing snapshot of [{}] tickets from ticket registry id [{}] to [{}]", getCount(), getId().getId(), recipient.getId());
+        if (registry instanceof JmsTicketRegistry) {
+            ((JmsTicketRegistry) registry).receiveSnapshot(recipient, this);
+        }
+    }
+}
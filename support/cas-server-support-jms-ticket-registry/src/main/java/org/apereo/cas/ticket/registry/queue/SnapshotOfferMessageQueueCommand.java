@@ -0,0 +1,42 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This is {@link SnapshotOfferMessageQueueCommand} that is published by a node in response to a snapshot request,
+ * offering to publish its tickets to the node that requested the snapshot.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class SnapshotOfferMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = 4310858264719245907L;
+
+    @JsonProperty
+    private StringBean recipient;
+
+    @JsonCreator
+    public SnapshotOfferMessageQueueCommand(@JsonProperty("id") final StringBean id, @JsonProperty("recipient") final StringBean recipient) {
+        super(id);
+        this.recipient = recipient;
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        LOGGER.debug("Executing queue command to accept a snapshot offer from registry id [{}] made to [{}]", getId().getId(), recipient.getId());
+        if (registry instanceof JmsTicketRegistry) {
+            ((JmsTicketRegistry) registry).acceptSnapshotOffer(recipient, getId());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This is {@link SnapshotRequestMessageQueueCommand} that is published by a node joining the cluster,
+ * asking the nodes that receive it to offer a snapshot of their tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+public class SnapshotRequestMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = -1290533212395536434L;
+
+    @JsonCreator
+    public SnapshotRequestMessageQueueCommand(@JsonProperty("id") final StringBean id) {
+        super(id);
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        LOGGER.debug("Executing queue command to offer a snapshot of the ticket registry to registry id [{}]", getId().getId());
+        if (registry instanceof JmsTicketRegistry) {
+            ((JmsTicketRegistry) registry).offerSnapshot(getId());
+        }
+    }
+}
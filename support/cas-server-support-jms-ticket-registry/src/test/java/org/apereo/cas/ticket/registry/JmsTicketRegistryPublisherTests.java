@@ -0,0 +1,223 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryProperties;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.queue.AddTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.BatchMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotAcceptMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.UpdateTicketMessageQueueCommand;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link JmsTicketRegistryPublisherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class JmsTicketRegistryPublisherTests {
+
+    private static JmsTicketRegistryProperties getProperties(final int maxPendingChanges) {
+        val properties = new JmsTicketRegistryProperties();
+        properties.setBatchWindow("PT1H");
+        properties.setMaxPendingChanges(maxPendingChanges);
+        return properties;
+    }
+
+    private static TicketGrantingTicketImpl getTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+
+    @Test
+    public void verifyChangesAreCoalescedIntoBatches() {
+        val template = mock(JmsTemplate.class);
+        val id = new StringBean();
+        val publisher = new JmsTicketRegistryPublisher(template, id, getProperties(100));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-1")));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-2")));
+        for (var i = 0; i < 10; i++) {
+            publisher.publish(new UpdateTicketMessageQueueCommand(id, getTicket("TGT-1")));
+        }
+        publisher.publish(new DeleteTicketMessageQueueCommand(id, "TGT-2"));
+        assertEquals(2, publisher.getPendingChangesCount());
+        verifyZeroInteractions(template);
+
+        assertEquals(2, publisher.flush());
+        val captor = ArgumentCaptor.forClass(Object.class);
+        verify(template).convertAndSend(eq(JmsTicketRegistry.QUEUE_DESTINATION), captor.capture(), any(MessagePostProcessor.class));
+        val batch = (BatchMessageQueueCommand) captor.getValue();
+        assertEquals(2, batch.getCount());
+        val commands = batch.getCommands();
+        assertTrue(commands.get(0) instanceof UpdateTicketMessageQueueCommand);
+        assertTrue(commands.get(1) instanceof DeleteTicketMessageQueueCommand);
+
+        val registry = new DefaultTicketRegistry();
+        registry.addTicket(getTicket("TGT-2"));
+        batch.execute(registry);
+        assertNotNull(registry.getTicket("TGT-1"));
+        assertNull(registry.getTicket("TGT-2"));
+        publisher.destroy();
+    }
+
+    @Test
+    public void verifyDeleteAllDiscardsPendingChanges() {
+        val template = mock(JmsTemplate.class);
+        val id = new StringBean();
+        val publisher = new JmsTicketRegistryPublisher(template, id, getProperties(100));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-1")));
+        publisher.publish(new DeleteTicketsMessageQueueCommand(id));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-2")));
+        assertEquals(2, publisher.getPendingChangesCount());
+        publisher.destroy();
+        val captor = ArgumentCaptor.forClass(Object.class);
+        verify(template).convertAndSend(anyString(), captor.capture(), any(MessagePostProcessor.class));
+        val commands = ((BatchMessageQueueCommand) captor.getValue()).getCommands();
+        assertTrue(commands.get(0) instanceof DeleteTicketsMessageQueueCommand);
+        assertEquals("TGT-2", ((AddTicketMessageQueueCommand) commands.get(1)).getTicket().getId());
+    }
+
+    @Test
+    public void verifyUnsentChangesAreRestoredInOrder() {
+        val template = mock(JmsTemplate.class);
+        val id = new StringBean();
+        val properties = getProperties(100);
+        properties.setBatchSize(2);
+        val publisher = new JmsTicketRegistryPublisher(template, id, properties);
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-1")));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-2")));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-3")));
+        publisher.publish(new DeleteTicketMessageQueueCommand(id, "TGT-4"));
+
+        doNothing()
+            .doThrow(new UncategorizedJmsException("Broker is unavailable"))
+            .when(template).convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class));
+        try {
+            publisher.flush();
+            fail("Expected the failure to reach the caller");
+        } catch (final JmsException e) {
+            assertEquals(2, publisher.getPendingChangesCount());
+        }
+
+        publisher.publish(new UpdateTicketMessageQueueCommand(id, getTicket("TGT-3")));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-5")));
+        assertEquals(3, publisher.getPendingChangesCount());
+
+        doNothing().when(template).convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class));
+        clearInvocations(template);
+        assertEquals(3, publisher.flush());
+        val captor = ArgumentCaptor.forClass(Object.class);
+        verify(template, times(2)).convertAndSend(anyString(), captor.capture(), any(MessagePostProcessor.class));
+        val first = ((BatchMessageQueueCommand) captor.getAllValues().get(0)).getCommands();
+        assertEquals("TGT-4", ((DeleteTicketMessageQueueCommand) first.get(0)).getTicketId());
+        assertEquals("TGT-3", ((UpdateTicketMessageQueueCommand) first.get(1)).getTicket().getId());
+        assertEquals("TGT-5", ((AddTicketMessageQueueCommand) captor.getAllValues().get(1)).getTicket().getId());
+        publisher.destroy();
+    }
+
+    @Test
+    public void verifyCallerPublishesWhenPendingChangesAreFull() {
+        val template = mock(JmsTemplate.class);
+        val id = new StringBean();
+        val publisher = new JmsTicketRegistryPublisher(template, id, getProperties(2));
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-1")));
+        verifyZeroInteractions(template);
+        publisher.publish(new AddTicketMessageQueueCommand(id, getTicket("TGT-2")));
+        verify(template).convertAndSend(anyString(), any(BatchMessageQueueCommand.class), any(MessagePostProcessor.class));
+        assertEquals(0, publisher.getPendingChangesCount());
+        publisher.destroy();
+    }
+
+    @Test
+    public void verifySnapshotAndReceivedChangesAreNotPublishedBack() {
+        val template = mock(JmsTemplate.class);
+        val id = new StringBean();
+        val properties = getProperties(100);
+        properties.setBatchWindow("PT0S");
+        properties.setBatchSize(1);
+        val publisher = new JmsTicketRegistryPublisher(template, id, properties);
+        val registry = new JmsTicketRegistry(publisher, id);
+
+        registry.receive(new AddTicketMessageQueueCommand(new StringBean(), getTicket("TGT-1")));
+        assertNotNull(registry.getTicket("TGT-1"));
+        verifyZeroInteractions(template);
+
+        registry.addTicket(getTicket("TGT-2"));
+        verify(template).convertAndSend(anyString(), any(AddTicketMessageQueueCommand.class), any(MessagePostProcessor.class));
+
+        val requester = new StringBean();
+        registry.publishSnapshot(requester, new StringBean());
+        verify(template).convertAndSend(anyString(), any(BaseMessageQueueCommand.class), any(MessagePostProcessor.class));
+        registry.publishSnapshot(requester, id);
+        verify(template, times(2)).convertAndSend(anyString(), any(SnapshotMessageQueueCommand.class), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    public void verifySnapshotIsPublishedByFirstResponderToRequesterOnly() {
+        val requesterTemplate = mock(JmsTemplate.class);
+        val requester = newRegistry(requesterTemplate);
+        val responderTemplate = mock(JmsTemplate.class);
+        val responder = newRegistry(responderTemplate);
+        responder.addTicket(getTicket("TGT-1"));
+        responder.addTicket(getTicket("TGT-2"));
+        val otherTemplate = mock(JmsTemplate.class);
+        val other = newRegistry(otherTemplate);
+        other.addTicket(getTicket("TGT-3"));
+
+        requester.requestSnapshot();
+        val request = getLastCommand(requesterTemplate, 1);
+        responder.receive(request);
+        other.receive(request);
+        val offer = getLastCommand(responderTemplate, 3);
+        val otherOffer = getLastCommand(otherTemplate, 2);
+
+        requester.receive(offer);
+        requester.receive(otherOffer);
+        val accept = getLastCommand(requesterTemplate, 2);
+        assertTrue(accept instanceof SnapshotAcceptMessageQueueCommand);
+        other.receive(accept);
+        verify(otherTemplate, times(2)).convertAndSend(anyString(), any(BaseMessageQueueCommand.class), any(MessagePostProcessor.class));
+        responder.receive(accept);
+        val snapshot = (SnapshotMessageQueueCommand) getLastCommand(responderTemplate, 4);
+        assertEquals(2, snapshot.getCount());
+
+        val local = getTicket("TGT-1");
+        local.markTicketExpired();
+        requester.receive(new AddTicketMessageQueueCommand(new StringBean(), local));
+        requester.receive(snapshot);
+        other.receive(snapshot);
+        assertTrue(requester.getTickets().stream().filter(ticket -> "TGT-1".equals(ticket.getId())).findFirst().get().isExpired());
+        assertNotNull(requester.getTicket("TGT-2"));
+        assertNull(other.getTicket("TGT-1"));
+        verify(requesterTemplate, times(2)).convertAndSend(anyString(), any(BaseMessageQueueCommand.class), any(MessagePostProcessor.class));
+    }
+
+    private static JmsTicketRegistry newRegistry(final JmsTemplate template) {
+        val id = new StringBean();
+        val properties = getProperties(100);
+        properties.setBatchWindow("PT0S");
+        return new JmsTicketRegistry(new JmsTicketRegistryPublisher(template, id, properties), id);
+    }
+
+    private static BaseMessageQueueCommand getLastCommand(final JmsTemplate template, final int count) {
+        val captor = ArgumentCaptor.forClass(BaseMessageQueueCommand.class);
+        verify(template, times(count)).convertAndSend(anyString(), captor.capture(), any(MessagePostProcessor.class));
+        return captor.getValue();
+    }
+}
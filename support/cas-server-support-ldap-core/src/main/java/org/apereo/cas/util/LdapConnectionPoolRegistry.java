@@ -0,0 +1,172 @@
+package org.apereo.cas.util;
+
+import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.ldaptive.Connection;
+import org.ldaptive.LdapException;
+import org.ldaptive.pool.ConnectionPool;
+import org.ldaptive.pool.PooledConnectionFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link LdapConnectionPoolRegistry} that hands out one {@link PooledConnectionFactory} per distinct set of
+ * LDAP connection settings. Authentication handlers, attribute repositories and other LDAP-backed components that are
+ * configured against the same directory with the same bind DN, credentials and pool settings share a single
+ * connection pool instead of each opening and validating their own.
+ * Pool utilization and the time spent waiting to check out a connection are reported to the meter registry,
+ * tagged with the pool id and the LDAP url.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LdapConnectionPoolRegistry implements AutoCloseable {
+    private static final String METER_PREFIX = "cas.ldap.pool";
+
+    private static final int POOL_ID_LENGTH = 12;
+
+    private final Map<String, MeteredPooledConnectionFactory> connectionFactories = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Build the key that identifies the connection pool for the given settings.
+     * Every setting that affects how connections are established, initialized, validated
+     * or passivated is part of the key. The key is digested so that credentials are never exposed.
+     *
+     * @param l the ldap properties
+     * @return the key
+     */
+    public static String getPoolKey(final AbstractLdapProperties l) {
+        val validator = l.getValidator();
+        val settings = Stream.of(l.getLdapUrl(), l.getBindDn(), l.getBindCredential(),
+            l.isUseSsl(), l.isUseStartTls(), l.getConnectTimeout(), l.getResponseTimeout(),
+            l.getConnectionStrategy(), l.getProviderClass(), l.getHostnameVerifier(),
+            l.getTrustCertificates(), l.getKeystore(), l.getKeystorePassword(), l.getKeystoreType(),
+            l.getSaslMechanism(), l.getSaslRealm(), l.getSaslAuthorizationId(), l.getSaslMutualAuth(),
+            l.getSaslQualityOfProtection(), l.getSaslSecurityStrength(),
+            l.getMinPoolSize(), l.getMaxPoolSize(), l.isValidateOnCheckout(), l.isValidatePeriodically(),
+            l.getValidatePeriod(), l.getValidateTimeout(), l.isFailFast(), l.getIdleTime(), l.getPrunePeriod(),
+            l.getBlockWaitTime(), l.getPoolPassivator(), l.isFollowReferrals(),
+            validator.getType(), validator.getBaseDn(), validator.getSearchFilter(), validator.getScope(),
+            validator.getAttributeName(), validator.getAttributeValues(), validator.getDn())
+            .map(Objects::toString)
+            .collect(Collectors.joining("|"));
+        return DigestUtils.sha256(settings);
+    }
+
+    /**
+     * Gets the connection factory whose pool matches the given settings,
+     * creating and initializing the pool if no component has asked for it yet.
+     *
+     * @param l           the ldap properties
+     * @param poolFactory creates the connection pool when needed
+     * @return the pooled connection factory
+     */
+    public PooledConnectionFactory getConnectionFactory(final AbstractLdapProperties l, final Supplier<ConnectionPool> poolFactory) {
+        val key = getPoolKey(l);
+        val existing = this.connectionFactories.get(key);
+        if (existing != null) {
+            LOGGER.debug("Reusing LDAP connection pool [{}] for [{}] and bindDn [{}]", existing.getId(), l.getLdapUrl(), l.getBindDn());
+            return existing;
+        }
+        return this.connectionFactories.computeIfAbsent(key, k -> {
+            val id = StringUtils.left(k, POOL_ID_LENGTH);
+            LOGGER.debug("Creating shared LDAP connection pool [{}] for [{}] and bindDn [{}]", id, l.getLdapUrl(), l.getBindDn());
+            return new MeteredPooledConnectionFactory(id, l.getLdapUrl(), l.getMaxPoolSize(), poolFactory.get(), this.meterRegistry);
+        });
+    }
+
+    /**
+     * Number of distinct pools held by this registry.
+     *
+     * @return the count
+     */
+    public int size() {
+        return this.connectionFactories.size();
+    }
+
+    @Override
+    public void close() {
+        this.connectionFactories.values().forEach(factory -> {
+            try {
+                factory.getConnectionPool().close();
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        });
+        this.connectionFactories.clear();
+    }
+
+    /**
+     * Pooled connection factory that records how long callers wait to check out a connection.
+     */
+    @Getter
+    private static class MeteredPooledConnectionFactory extends PooledConnectionFactory {
+        private final String id;
+
+        private final Timer successfulWaits;
+
+        private final Timer failedWaits;
+
+        MeteredPooledConnectionFactory(final String id, final String ldapUrl, final int maxPoolSize,
+                                       final ConnectionPool pool, final MeterRegistry meterRegistry) {
+            super(pool);
+            this.id = id;
+            this.successfulWaits = waitTimer(id, ldapUrl, "success", meterRegistry);
+            this.failedWaits = waitTimer(id, ldapUrl, "failure", meterRegistry);
+            registerGauge(METER_PREFIX + ".connections", pool, ConnectionPool::activeCount, meterRegistry, id, ldapUrl, "state", "active");
+            registerGauge(METER_PREFIX + ".connections", pool, ConnectionPool::availableCount, meterRegistry, id, ldapUrl, "state", "available");
+            registerGauge(METER_PREFIX + ".utilization", pool, p -> maxPoolSize > 0 ? (double) p.activeCount() / maxPoolSize : 0,
+                meterRegistry, id, ldapUrl);
+        }
+
+        private static Timer waitTimer(final String id, final String ldapUrl, final String outcome, final MeterRegistry meterRegistry) {
+            return Timer.builder(METER_PREFIX + ".wait")
+                .tag("pool", id)
+                .tag("ldapUrl", ldapUrl)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+
+        private static void registerGauge(final String name, final ConnectionPool pool, final ToDoubleFunction<ConnectionPool> function,
+                                          final MeterRegistry meterRegistry, final String id, final String ldapUrl,
+                                          final String... tags) {
+            Gauge.builder(name, pool, function)
+                .tag("pool", id)
+                .tag("ldapUrl", ldapUrl)
+                .tags(tags)
+                .register(meterRegistry);
+        }
+
+        @Override
+        public Connection getConnection() throws LdapException {
+            val start = System.nanoTime();
+            try {
+                val connection = super.getConnection();
+                this.successfulWaits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return connection;
+            } catch (final LdapException e) {
+                this.failedWaits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.apereo.cas.configuration.model.support.ldap.AbstractLdapAuthenticatio
 import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
 import org.apereo.cas.configuration.support.Beans;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -126,6 +127,8 @@ public class LdapUtils {
 
     private static final String LDAP_PREFIX = "ldap";
 
+    private static final LdapConnectionPoolRegistry CONNECTION_POOL_REGISTRY = new LdapConnectionPoolRegistry(Metrics.globalRegistry);
+
     /**
      * Reads a Boolean value from the LdapEntry.
      *
@@ -670,7 +673,7 @@ public class LdapUtils {
         }
 
         val auth = StringUtils.isBlank(l.getPrincipalAttributePassword())
-            ? new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)))
+            ? new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptiveBindPooledConnectionFactory(l)))
             : new Authenticator(resolver, getPooledCompareAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
@@ -695,7 +698,7 @@ public class LdapUtils {
 
     private static Authenticator getAuthenticatorViaDnFormat(final AbstractLdapAuthenticationProperties l) {
         val resolver = new FormatDnResolver(l.getDnFormat());
-        val authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
+        val authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptiveBindPooledConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
             authenticator.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
@@ -724,10 +727,28 @@ public class LdapUtils {
      * @return the pooled connection factory
      */
     public static PooledConnectionFactory newLdaptivePooledConnectionFactory(final AbstractLdapProperties l) {
+        if (l.isShareConnectionPool()) {
+            return CONNECTION_POOL_REGISTRY.getConnectionFactory(l, () -> newLdaptiveBlockingConnectionPool(l));
+        }
         val cp = newLdaptiveBlockingConnectionPool(l);
         return new PooledConnectionFactory(cp);
     }
 
+    /**
+     * New pooled connection factory for bind operations on behalf of users.
+     * Connections that carry a user bind are only safe to share if the pool
+     * passivates them back to the configured bind credentials; otherwise a dedicated pool is used.
+     *
+     * @param l the ldap properties
+     * @return the pooled connection factory
+     */
+    private static PooledConnectionFactory newLdaptiveBindPooledConnectionFactory(final AbstractLdapProperties l) {
+        if (StringUtils.equalsIgnoreCase(l.getPoolPassivator(), AbstractLdapProperties.LdapConnectionPoolPassivator.NONE.name())) {
+            return new PooledConnectionFactory(newLdaptiveBlockingConnectionPool(l));
+        }
+        return newLdaptivePooledConnectionFactory(l);
+    }
+
     /**
      * New connection config connection config.
      *
@@ -4,6 +4,7 @@ package org.apereo.cas;
 import org.apereo.cas.authentication.support.GroovyPasswordPolicyHandlingStrategyTests;
 import org.apereo.cas.authentication.support.OptionalWarningLdapAccountStateHandlerTests;
 import org.apereo.cas.authentication.support.RejectResultCodeLdapPasswordPolicyHandlingStrategyTests;
+import org.apereo.cas.util.LdapConnectionPoolRegistryTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -18,7 +19,8 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
     GroovyPasswordPolicyHandlingStrategyTests.class,
     OptionalWarningLdapAccountStateHandlerTests.class,
-    RejectResultCodeLdapPasswordPolicyHandlingStrategyTests.class
+    RejectResultCodeLdapPasswordPolicyHandlingStrategyTests.class,
+    LdapConnectionPoolRegistryTests.class
 })
 public class AllTestsSuite {
 }
@@ -0,0 +1,92 @@
+package org.apereo.cas.util;
+
+import org.apereo.cas.configuration.model.support.ldap.LdapAuthenticationProperties;
+import org.apereo.cas.configuration.model.support.ldap.serviceregistry.LdapServiceRegistryProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+import org.ldaptive.Connection;
+import org.ldaptive.pool.ConnectionPool;
+import org.ldaptive.pool.PoolExhaustedException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link LdapConnectionPoolRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class LdapConnectionPoolRegistryTests {
+    private static final String LDAP_URL = "ldap://localhost:10389";
+
+    private static final String BIND_DN = "cn=Directory Manager";
+
+    @Test
+    public void verifyEqualSettingsShareOnePool() {
+        val created = new AtomicInteger();
+        try (val registry = new LdapConnectionPoolRegistry(new SimpleMeterRegistry())) {
+            val authn = new LdapAuthenticationProperties();
+            authn.setLdapUrl(LDAP_URL);
+            authn.setBindDn(BIND_DN);
+            authn.setBindCredential("password");
+
+            val services = new LdapServiceRegistryProperties();
+            services.setLdapUrl(LDAP_URL);
+            services.setBindDn(BIND_DN);
+            services.setBindCredential("password");
+
+            val first = registry.getConnectionFactory(authn, () -> {
+                created.incrementAndGet();
+                return mock(ConnectionPool.class);
+            });
+            val second = registry.getConnectionFactory(services, () -> {
+                created.incrementAndGet();
+                return mock(ConnectionPool.class);
+            });
+            assertSame(first, second);
+            assertEquals(1, created.get());
+
+            services.setBindCredential("other");
+            assertNotSame(first, registry.getConnectionFactory(services, () -> mock(ConnectionPool.class)));
+            services.setBindCredential("password");
+            services.setMaxPoolSize(authn.getMaxPoolSize() + 1);
+            assertNotSame(first, registry.getConnectionFactory(services, () -> mock(ConnectionPool.class)));
+            assertEquals(3, registry.size());
+        }
+    }
+
+    @Test
+    public void verifyPoolMetrics() throws Exception {
+        val meterRegistry = new SimpleMeterRegistry();
+        try (val registry = new LdapConnectionPoolRegistry(meterRegistry)) {
+            val properties = new LdapAuthenticationProperties();
+            properties.setLdapUrl(LDAP_URL);
+            properties.setMaxPoolSize(4);
+
+            val pool = mock(ConnectionPool.class);
+            when(pool.activeCount()).thenReturn(1);
+            when(pool.availableCount()).thenReturn(3);
+            when(pool.getConnection()).thenReturn(mock(Connection.class)).thenThrow(new PoolExhaustedException("exhausted"));
+
+            val factory = registry.getConnectionFactory(properties, () -> pool);
+            assertNotNull(factory.getConnection());
+            try {
+                factory.getConnection();
+                fail("Pool should have been exhausted");
+            } catch (final PoolExhaustedException e) {
+                assertNotNull(e.getMessage());
+            }
+
+            assertEquals(1, meterRegistry.get("cas.ldap.pool.wait").tag("outcome", "success").timer().count());
+            assertEquals(1, meterRegistry.get("cas.ldap.pool.wait").tag("outcome", "failure").timer().count());
+            assertEquals(1, meterRegistry.get("cas.ldap.pool.connections").tag("state", "active").gauge().value(), 0);
+            assertEquals(3, meterRegistry.get("cas.ldap.pool.connections").tag("state", "available").gauge().value(), 0);
+            assertEquals(0.25, meterRegistry.get("cas.ldap.pool.utilization").tag("ldapUrl", LDAP_URL).gauge().value(), 0);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.apereo.cas.ticket.accesstoken;
+
+/**
+ * This is {@link AccessTokenUsageTracker} that records the usage of access tokens
+ * without necessarily writing the access token back to the ticket registry every time it is used.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface AccessTokenUsageTracker {
+
+    /**
+     * Apply usage that was recorded, but not yet written to the ticket registry,
+     * to an access token that is retrieved from the ticket registry.
+     *
+     * @param accessToken the access token
+     */
+    void restore(AccessToken accessToken);
+
+    /**
+     * Record a use of the access token. The access token is removed
+     * from the ticket registry if it expires as a result.
+     *
+     * @param accessToken the access token
+     */
+    void update(AccessToken accessToken);
+
+    /**
+     * Write recorded usage of all access tokens to the ticket registry.
+     *
+     * @return the number of access tokens that were written
+     */
+    int flush();
+}
@@ -0,0 +1,141 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link DefaultAccessTokenUsageTracker} that accumulates the usage of access tokens in memory
+ * and writes access tokens back to the ticket registry only when their expiration policy needs the stored state:
+ * when the access token expires, when its expiration policy depends on more than the idle timeout,
+ * or once half of the idle timeout has passed since the last time its usage was written.
+ * Accumulated usage is written in batches when the tracker is flushed,
+ * which must happen more often than half of the idle timeout of access tokens.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DefaultAccessTokenUsageTracker implements AccessTokenUsageTracker {
+    private final Map<String, RecordedUsage> recordedUsage = new ConcurrentHashMap<>();
+
+    private final TicketRegistry ticketRegistry;
+
+    /**
+     * Whether every use should be written to the ticket registry right away,
+     * typically because the tracker is never flushed.
+     */
+    private final boolean storeEveryUse;
+
+    private static void apply(final AccessToken accessToken, final RecordedUsage usage) {
+        val ticket = (AbstractTicket) accessToken;
+        if (usage.getLastTimeUsed().isAfter(ticket.getLastTimeUsed())) {
+            ticket.setPreviousTimeUsed(usage.getPreviousTimeUsed());
+            ticket.setLastTimeUsed(usage.getLastTimeUsed());
+            ticket.setCountOfUses(Math.max(ticket.getCountOfUses(), usage.getCountOfUses()));
+        }
+    }
+
+    @Override
+    public void restore(final AccessToken accessToken) {
+        val usage = this.recordedUsage.get(accessToken.getId());
+        if (usage != null && accessToken instanceof AbstractTicket) {
+            apply(accessToken, usage);
+        }
+    }
+
+    @Override
+    public void update(final AccessToken accessToken) {
+        val id = accessToken.getId();
+        val state = (TicketState) accessToken;
+        val recorded = this.recordedUsage.get(id);
+        val lastStoredTimeUsed = recorded != null ? recorded.getLastStoredTimeUsed() : state.getLastTimeUsed();
+
+        state.update();
+        if (accessToken.isExpired()) {
+            LOGGER.debug("Access token [{}] has expired after its last use and will be removed from the ticket registry", id);
+            this.recordedUsage.remove(id);
+            this.ticketRegistry.deleteTicket(id);
+            return;
+        }
+        if (isStoreRequired(accessToken, lastStoredTimeUsed)) {
+            this.recordedUsage.remove(id);
+            this.ticketRegistry.updateTicket(accessToken);
+            return;
+        }
+        LOGGER.trace("Recorded use [{}] of access token [{}] without updating the ticket registry", state.getCountOfUses(), id);
+        this.recordedUsage.put(id, new RecordedUsage(state.getPreviousTimeUsed(), state.getLastTimeUsed(),
+            state.getCountOfUses(), lastStoredTimeUsed));
+    }
+
+    @Override
+    public int flush() {
+        var count = 0;
+        for (val id : new ArrayList<>(this.recordedUsage.keySet())) {
+            val usage = this.recordedUsage.remove(id);
+            if (usage == null) {
+                continue;
+            }
+            try {
+                val accessToken = this.ticketRegistry.getTicket(id, AccessToken.class);
+                if (accessToken instanceof AbstractTicket) {
+                    apply(accessToken, usage);
+                    this.ticketRegistry.updateTicket(accessToken);
+                    count++;
+                }
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to write usage of access token [{}] to the ticket registry: [{}]", id, e.getMessage());
+            }
+        }
+        if (count > 0) {
+            LOGGER.debug("Wrote usage of [{}] access token(s) to the ticket registry", count);
+        }
+        return count;
+    }
+
+    /**
+     * Whether the access token must be written to the ticket registry after it is used.
+     *
+     * @param accessToken        the access token
+     * @param lastStoredTimeUsed the last time the access token was used, as known to the ticket registry
+     * @return true if the access token must be written
+     */
+    protected boolean isStoreRequired(final AccessToken accessToken, final ZonedDateTime lastStoredTimeUsed) {
+        if (this.storeEveryUse || !(accessToken instanceof AbstractTicket)
+            || !(accessToken.getExpirationPolicy() instanceof OAuthAccessTokenExpirationPolicy)) {
+            return true;
+        }
+        val timeToIdle = accessToken.getExpirationPolicy().getTimeToIdle();
+        if (timeToIdle == null || timeToIdle <= 0 || lastStoredTimeUsed == null) {
+            return true;
+        }
+        val lastTimeUsed = ((TicketState) accessToken).getLastTimeUsed();
+        return !lastTimeUsed.isBefore(lastStoredTimeUsed.plusSeconds(timeToIdle / 2));
+    }
+
+    /**
+     * Usage of an access token that is not yet written to the ticket registry.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class RecordedUsage {
+        private final ZonedDateTime previousTimeUsed;
+
+        private final ZonedDateTime lastTimeUsed;
+
+        private final int countOfUses;
+
+        private final ZonedDateTime lastStoredTimeUsed;
+    }
+}
@@ -4,14 +4,18 @@ import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.ParentTicketLinkage;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.apache.commons.lang3.ObjectUtils;
 
 import javax.persistence.Column;
@@ -21,6 +25,9 @@ import javax.persistence.Entity;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.Collection;
 import java.util.HashSet;
 
@@ -36,7 +43,8 @@ import java.util.HashSet;
 @DiscriminatorValue(OAuthCode.PREFIX)
 @NoArgsConstructor
 @Getter
-public class OAuthCodeImpl extends AbstractTicket implements OAuthCode {
+@Slf4j
+public class OAuthCodeImpl extends AbstractTicket implements OAuthCode, ParentTicketLinkage {
 
     private static final long serialVersionUID = -8072724186202305800L;
 
@@ -51,6 +59,13 @@ public class OAuthCodeImpl extends AbstractTicket implements OAuthCode {
     @JsonProperty("ticketGrantingTicket")
     private TicketGrantingTicket ticketGrantingTicket;
 
+    /**
+     * The id of the {@link TicketGrantingTicket} this is associated with,
+     * used to resolve the parent ticket if it was not serialized with this ticket.
+     */
+    @Transient
+    private String ticketGrantingTicketId;
+
     /**
      * The service this ticket is valid for.
      */
@@ -113,4 +128,32 @@ public class OAuthCodeImpl extends AbstractTicket implements OAuthCode {
     public Collection<String> getScopes() {
         return ObjectUtils.defaultIfNull(this.scopes, new HashSet<>());
     }
+
+    @Override
+    public String getTicketGrantingTicketId() {
+        return this.ticketGrantingTicket != null ? this.ticketGrantingTicket.getId() : this.ticketGrantingTicketId;
+    }
+
+    @Override
+    public void resolveTicketGrantingTicket(final TicketRegistry ticketRegistry) {
+        if (this.ticketGrantingTicket == null && this.ticketGrantingTicketId != null) {
+            this.ticketGrantingTicket = ticketRegistry.getTicket(this.ticketGrantingTicketId, TicketGrantingTicket.class);
+            if (this.ticketGrantingTicket == null) {
+                LOGGER.debug("Parent ticket [{}] of [{}] can no longer be found", this.ticketGrantingTicketId, getId());
+                markTicketExpired();
+            }
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        val fields = out.putFields();
+        fields.put("scopes", this.scopes);
+        fields.put("ticketGrantingTicket", ParentTicketLinkage.isLinkedById(this.ticketGrantingTicket) ? null : this.ticketGrantingTicket);
+        fields.put("ticketGrantingTicketId", getTicketGrantingTicketId());
+        fields.put("service", this.service);
+        fields.put("authentication", this.authentication);
+        fields.put("codeChallenge", this.codeChallenge);
+        fields.put("codeChallengeMethod", this.codeChallengeMethod);
+        out.writeFields();
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.audit.AuditTrailConstants;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
@@ -64,6 +65,10 @@ import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenGran
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenPasswordGrantRequestExtractor;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenProofKeyCodeExchangeAuthorizationCodeGrantRequestExtractor;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenRefreshTokenGrantRequestExtractor;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.DefaultOAuth20JwtAccessTokenRevocationList;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenCipherExecutor;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenRevocationList;
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20AccessTokenResponseGenerator;
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20DefaultAccessTokenResponseGenerator;
 import org.apereo.cas.support.oauth.web.response.callback.OAuth20AuthorizationCodeAuthorizationResponseBuilder;
@@ -79,7 +84,9 @@ import org.apereo.cas.support.oauth.web.views.OAuth20UserProfileViewRenderer;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.AccessTokenUsageTracker;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenUsageTracker;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
 import org.apereo.cas.ticket.code.DefaultOAuthCodeFactory;
 import org.apereo.cas.ticket.code.OAuthCodeExpirationPolicy;
@@ -96,6 +103,7 @@ import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 import org.apereo.cas.util.RandomUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 import org.apereo.inspektr.audit.spi.support.DefaultAuditActionResolver;
 import org.pac4j.cas.client.CasClient;
@@ -107,11 +115,13 @@ import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.http.url.UrlResolver;
 import org.pac4j.http.client.direct.DirectBasicAuthClient;
 import org.pac4j.http.client.direct.DirectFormClient;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ApplicationEventPublisher;
@@ -119,6 +129,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -360,7 +371,59 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             defaultDeviceTokenFactory(),
             defaultRefreshTokenFactory(),
             ticketRegistry.getIfAvailable(),
-            casProperties);
+            casProperties,
+            oauthJwtAccessTokenEncoder());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenRevocationList")
+    @Bean
+    public OAuth20JwtAccessTokenRevocationList oauthJwtAccessTokenRevocationList() {
+        return new DefaultOAuth20JwtAccessTokenRevocationList(ticketRegistry.getIfAvailable());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenRevocationListRefreshScheduler")
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.oauth.accessToken.revocationSchedule", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public OAuth20JwtAccessTokenRevocationListRefreshScheduler oauthJwtAccessTokenRevocationListRefreshScheduler() {
+        return new OAuth20JwtAccessTokenRevocationListRefreshScheduler(oauthJwtAccessTokenRevocationList());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenCipherExecutor")
+    @Bean
+    @RefreshScope
+    public CipherExecutor oauthJwtAccessTokenCipherExecutor() {
+        val crypto = casProperties.getAuthn().getOauth().getAccessToken().getCrypto();
+        return new OAuth20JwtAccessTokenCipherExecutor(crypto.getEncryption().getKey(),
+            crypto.getSigning().getKey(),
+            crypto.getAlg(),
+            crypto.isEnabled(),
+            crypto.getSigning().getKeySize(),
+            crypto.getEncryption().getKeySize());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenEncoder")
+    @Bean
+    @RefreshScope
+    public OAuth20JwtAccessTokenEncoder oauthJwtAccessTokenEncoder() {
+        return new OAuth20JwtAccessTokenEncoder(oauthJwtAccessTokenCipherExecutor(),
+            oauthJwtAccessTokenRevocationList(),
+            oauthPrincipalFactory(),
+            webApplicationServiceFactory.getIfAvailable(),
+            casProperties.getServer().getPrefix());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthAccessTokenUsageTracker")
+    @Bean
+    public AccessTokenUsageTracker oauthAccessTokenUsageTracker() {
+        val schedule = casProperties.getAuthn().getOauth().getAccessToken().getUsageSchedule();
+        return new DefaultAccessTokenUsageTracker(ticketRegistry.getIfAvailable(), !schedule.isEnabled());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthAccessTokenUsageFlushScheduler")
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.oauth.accessToken.usageSchedule", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public OAuth20AccessTokenUsageFlushScheduler oauthAccessTokenUsageFlushScheduler() {
+        return new OAuth20AccessTokenUsageFlushScheduler(oauthAccessTokenUsageTracker());
     }
 
     @Bean
@@ -421,7 +484,8 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             centralAuthenticationService.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            oauthJwtAccessTokenEncoder());
     }
 
     @ConditionalOnMissingBean(name = "accessTokenController")
@@ -493,7 +557,9 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             oauthUserProfileViewRenderer(),
-            oAuth2UserProfileDataCreator());
+            oAuth2UserProfileDataCreator(),
+            oauthJwtAccessTokenEncoder(),
+            oauthAccessTokenUsageTracker());
     }
 
     @ConditionalOnMissingBean(name = "oauthAuthorizationResponseBuilders")
@@ -759,6 +825,40 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
     @Bean
     @ConditionalOnEnabledEndpoint
     public OAuth20TokenManagementEndpoint oAuth20TokenManagementEndpoint() {
-        return new OAuth20TokenManagementEndpoint(casProperties, ticketRegistry.getIfAvailable());
+        return new OAuth20TokenManagementEndpoint(casProperties, ticketRegistry.getIfAvailable(), oauthJwtAccessTokenEncoder());
+    }
+
+    /**
+     * Collects access tokens revoked by other nodes from the ticket registry.
+     */
+    @RequiredArgsConstructor
+    public static class OAuth20JwtAccessTokenRevocationListRefreshScheduler {
+        private final OAuth20JwtAccessTokenRevocationList revocationList;
+
+        @Scheduled(initialDelayString = "${cas.authn.oauth.accessToken.revocationSchedule.startDelay:PT5S}",
+            fixedDelayString = "${cas.authn.oauth.accessToken.revocationSchedule.repeatInterval:PT30S}")
+        public void run() {
+            this.revocationList.refresh();
+        }
+    }
+
+    /**
+     * Writes access token usage recorded by the tracker to the ticket registry,
+     * periodically and once more when CAS shuts down.
+     */
+    @RequiredArgsConstructor
+    public static class OAuth20AccessTokenUsageFlushScheduler implements DisposableBean {
+        private final AccessTokenUsageTracker accessTokenUsageTracker;
+
+        @Scheduled(initialDelayString = "${cas.authn.oauth.accessToken.usageSchedule.startDelay:PT30S}",
+            fixedDelayString = "${cas.authn.oauth.accessToken.usageSchedule.repeatInterval:PT1M}")
+        public void run() {
+            this.accessTokenUsageTracker.flush();
+        }
+
+        @Override
+        public void destroy() {
+            this.accessTokenUsageTracker.flush();
+        }
     }
 }
@@ -13,6 +13,7 @@ import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.support.oauth.web.response.introspection.OAuth20IntrospectionAccessTokenResponse;
 import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
@@ -52,6 +53,7 @@ public class OAuth20IntrospectionEndpointController extends BaseOAuth20Controlle
 
     private final CentralAuthenticationService centralAuthenticationService;
     private final AuditableExecution registeredServiceAccessStrategyEnforcer;
+    private final OAuth20JwtAccessTokenEncoder accessTokenEncoder;
 
     public OAuth20IntrospectionEndpointController(final ServicesManager servicesManager,
                                                   final TicketRegistry ticketRegistry,
@@ -62,11 +64,13 @@ public class OAuth20IntrospectionEndpointController extends BaseOAuth20Controlle
                                                   final CasConfigurationProperties casProperties,
                                                   final CookieRetrievingCookieGenerator cookieGenerator,
                                                   final CentralAuthenticationService centralAuthenticationService,
-                                                  final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+                                                  final AuditableExecution registeredServiceAccessStrategyEnforcer,
+                                                  final OAuth20JwtAccessTokenEncoder accessTokenEncoder) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.centralAuthenticationService = centralAuthenticationService;
         this.registeredServiceAccessStrategyEnforcer = registeredServiceAccessStrategyEnforcer;
+        this.accessTokenEncoder = accessTokenEncoder;
     }
 
     /**
@@ -113,10 +117,14 @@ public class OAuth20IntrospectionEndpointController extends BaseOAuth20Controlle
 
                     LOGGER.debug("Located access token [{}] in the request", accessToken);
                     var ticket = (AccessToken) null;
-                    try {
-                        ticket = this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
-                    } catch (final InvalidTicketException e) {
-                        LOGGER.info("Unable to fetch access token [{}]: [{}]", accessToken, e.getMessage());
+                    if (this.accessTokenEncoder.supports(accessToken)) {
+                        ticket = this.accessTokenEncoder.decode(accessToken).orElse(null);
+                    } else {
+                        try {
+                            ticket = this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
+                        } catch (final InvalidTicketException e) {
+                            LOGGER.info("Unable to fetch access token [{}]: [{}]", accessToken, e.getMessage());
+                        }
                     }
                     val introspect = createIntrospectionValidResponse(service, ticket);
                     result = new ResponseEntity<>(introspect, HttpStatus.OK);
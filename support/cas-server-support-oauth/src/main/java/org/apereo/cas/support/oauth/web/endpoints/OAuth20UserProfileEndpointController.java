@@ -9,10 +9,11 @@ import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.profile.OAuth20UserProfileDataCreator;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.support.oauth.web.views.OAuth20UserProfileViewRenderer;
-import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.AccessTokenUsageTracker;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.Pac4jUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
@@ -21,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.J2EContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -49,6 +51,17 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
      * User profile data creator.
      */
     private final OAuth20UserProfileDataCreator userProfileDataCreator;
+
+    /**
+     * Verifies access tokens issued as JWTs.
+     */
+    private final OAuth20JwtAccessTokenEncoder accessTokenEncoder;
+
+    /**
+     * Records the usage of access tokens kept in the ticket registry.
+     */
+    private final AccessTokenUsageTracker accessTokenUsageTracker;
+
     private final ResponseEntity expiredAccessTokenResponseEntity;
 
     public OAuth20UserProfileEndpointController(final ServicesManager servicesManager,
@@ -60,11 +73,15 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
                                                 final CasConfigurationProperties casProperties,
                                                 final CookieRetrievingCookieGenerator cookieGenerator,
                                                 final OAuth20UserProfileViewRenderer userProfileViewRenderer,
-                                                final OAuth20UserProfileDataCreator userProfileDataCreator) {
+                                                final OAuth20UserProfileDataCreator userProfileDataCreator,
+                                                final OAuth20JwtAccessTokenEncoder accessTokenEncoder,
+                                                final AccessTokenUsageTracker accessTokenUsageTracker) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.userProfileViewRenderer = userProfileViewRenderer;
         this.userProfileDataCreator = userProfileDataCreator;
+        this.accessTokenEncoder = accessTokenEncoder;
+        this.accessTokenUsageTracker = accessTokenUsageTracker;
         this.expiredAccessTokenResponseEntity = buildUnauthorizedResponseEntity(OAuth20Constants.EXPIRED_ACCESS_TOKEN);
     }
 
@@ -101,12 +118,22 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
             return buildUnauthorizedResponseEntity(OAuth20Constants.MISSING_ACCESS_TOKEN);
         }
 
+        if (this.accessTokenEncoder.supports(accessToken)) {
+            val jwtAccessToken = this.accessTokenEncoder.decode(accessToken);
+            if (jwtAccessToken.isEmpty()) {
+                LOGGER.error("Access token [{}] cannot be verified, or has expired or been revoked", accessToken);
+                return expiredAccessTokenResponseEntity;
+            }
+            return buildUserProfileResponseEntity(jwtAccessToken.get(), context);
+        }
+
         val accessTokenTicket = this.ticketRegistry.getTicket(accessToken, AccessToken.class);
 
         if (accessTokenTicket == null) {
             LOGGER.error("Access token [{}] cannot be found in the ticket registry.", accessToken);
             return expiredAccessTokenResponseEntity;
         }
+        this.accessTokenUsageTracker.restore(accessTokenTicket);
         if (accessTokenTicket.isExpired()) {
             LOGGER.error("Access token [{}] has expired and will be removed from the ticket registry", accessToken);
             this.ticketRegistry.deleteTicket(accessToken);
@@ -121,23 +148,16 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
                 return expiredAccessTokenResponseEntity;
             }
         }
-        updateAccessTokenUsage(accessTokenTicket);
+        this.accessTokenUsageTracker.update(accessTokenTicket);
+        return buildUserProfileResponseEntity(accessTokenTicket, context);
+    }
 
+    private ResponseEntity<String> buildUserProfileResponseEntity(final AccessToken accessTokenTicket, final J2EContext context) {
         val map = this.userProfileDataCreator.createFrom(accessTokenTicket, context);
         val value = this.userProfileViewRenderer.render(map, accessTokenTicket);
         return new ResponseEntity<>(value, HttpStatus.OK);
     }
 
-    private void updateAccessTokenUsage(final AccessToken accessTokenTicket) {
-        val accessTokenState = TicketState.class.cast(accessTokenTicket);
-        accessTokenState.update();
-        if (accessTokenTicket.isExpired()) {
-            this.ticketRegistry.deleteTicket(accessTokenTicket.getId());
-        } else {
-            this.ticketRegistry.updateTicket(accessTokenTicket);
-        }
-    }
-
     /**
      * Gets access token from request.
      *
@@ -1,6 +1,7 @@
 package org.apereo.cas.support.oauth.web.mgmt;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
@@ -32,10 +33,17 @@ public class OAuth20TokenManagementEndpoint extends BaseCasActuatorEndpoint {
      */
     private final TicketRegistry ticketRegistry;
 
+    /**
+     * Verifies and revokes access tokens issued as JWTs.
+     */
+    private final OAuth20JwtAccessTokenEncoder accessTokenEncoder;
+
     public OAuth20TokenManagementEndpoint(final CasConfigurationProperties casProperties,
-                                          final TicketRegistry ticketRegistry) {
+                                          final TicketRegistry ticketRegistry,
+                                          final OAuth20JwtAccessTokenEncoder accessTokenEncoder) {
         super(casProperties);
         this.ticketRegistry = ticketRegistry;
+        this.accessTokenEncoder = accessTokenEncoder;
     }
 
     /**
@@ -59,6 +67,9 @@ public class OAuth20TokenManagementEndpoint extends BaseCasActuatorEndpoint {
      */
     @ReadOperation
     public Ticket getToken(@Selector final String ticketId) {
+        if (accessTokenEncoder.supports(ticketId)) {
+            return accessTokenEncoder.decode(ticketId).orElse(null);
+        }
         var ticket = (Ticket) ticketRegistry.getTicket(ticketId, AccessToken.class);
         if (ticket == null) {
             ticket = ticketRegistry.getTicket(ticketId, RefreshToken.class);
@@ -81,6 +92,10 @@ public class OAuth20TokenManagementEndpoint extends BaseCasActuatorEndpoint {
      */
     @DeleteOperation
     public void deleteToken(@Selector final String ticketId) {
+        if (accessTokenEncoder.supports(ticketId)) {
+            accessTokenEncoder.revoke(ticketId);
+            return;
+        }
         val ticket = getToken(ticketId);
         if (ticket != null) {
             ticketRegistry.deleteTicket(ticketId);
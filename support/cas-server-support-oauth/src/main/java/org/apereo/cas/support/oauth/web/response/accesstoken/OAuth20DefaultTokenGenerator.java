@@ -9,6 +9,7 @@ import org.apereo.cas.support.oauth.validator.token.device.InvalidOAuth20DeviceT
 import org.apereo.cas.support.oauth.validator.token.device.ThrottledOAuth20DeviceUserCodeApprovalException;
 import org.apereo.cas.support.oauth.validator.token.device.UnapprovedOAuth20DeviceUserCodeException;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenRequestDataHolder;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
@@ -67,6 +68,11 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      */
     protected final CasConfigurationProperties casProperties;
 
+    /**
+     * Encodes access tokens as JWTs for services that ask for them.
+     */
+    protected final OAuth20JwtAccessTokenEncoder accessTokenEncoder;
+
     @Override
     public OAuth20TokenGeneratedResult generate(final AccessTokenRequestDataHolder holder) {
         if (OAuth20ResponseTypes.DEVICE_CODE.equals(holder.getResponseType())) {
@@ -193,12 +199,20 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
 
         LOGGER.debug("Creating access token for [{}]", holder);
         val ticketGrantingTicket = holder.getTicketGrantingTicket();
-        val accessToken = this.accessTokenFactory.create(holder.getService(),
+        var accessToken = this.accessTokenFactory.create(holder.getService(),
             authn, ticketGrantingTicket, holder.getScopes());
 
         LOGGER.debug("Created access token [{}]", accessToken);
-        addTicketToRegistry(accessToken, ticketGrantingTicket);
-        LOGGER.debug("Added access token [{}] to registry", accessToken);
+        if (holder.getRegisteredService().isJwtAccessToken()) {
+            if (ticketGrantingTicket != null) {
+                ticketGrantingTicket.getDescendantTickets().remove(accessToken.getId());
+            }
+            accessToken = this.accessTokenEncoder.encode(accessToken, holder.getRegisteredService());
+            LOGGER.debug("Issued access token for [{}] as a JWT that is not added to the registry", holder.getService());
+        } else {
+            addTicketToRegistry(accessToken, ticketGrantingTicket);
+            LOGGER.debug("Added access token [{}] to registry", accessToken);
+        }
 
         updateOAuthCode(holder);
 
@@ -0,0 +1,89 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken.jwt;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link DefaultOAuth20JwtAccessTokenRevocationList} that keeps the ids of revoked tokens in memory,
+ * along with their expiration time, so that checking a token never reaches out to the ticket registry.
+ * Revocations are also recorded as transient session tickets in the ticket registry, which expire along with
+ * the token they refer to; every node periodically collects such tickets into its own list, so that
+ * revocations are shared by all CAS nodes that share the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DefaultOAuth20JwtAccessTokenRevocationList implements OAuth20JwtAccessTokenRevocationList {
+    /**
+     * Prefix of the ids of tickets that record revoked tokens in the ticket registry.
+     */
+    public static final String REVOCATION_TICKET_ID_PREFIX = TransientSessionTicket.PREFIX + "-JWT-";
+
+    private static final String PROPERTY_EXPIRATION_TIME = "expirationTime";
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private final TicketRegistry ticketRegistry;
+
+    private static long now() {
+        return Instant.now().getEpochSecond();
+    }
+
+    @Override
+    public void revoke(final String jwtId, final Service service, final long expirationTime) {
+        val timeToLive = expirationTime - now();
+        if (timeToLive >= 0) {
+            LOGGER.debug("Revoking access token [{}] until [{}]", jwtId, expirationTime);
+            this.revokedTokens.put(jwtId, expirationTime);
+            val properties = Map.<String, Serializable>of(PROPERTY_EXPIRATION_TIME, expirationTime);
+            val ticket = new TransientSessionTicketImpl(REVOCATION_TICKET_ID_PREFIX + jwtId,
+                new HardTimeoutExpirationPolicy(timeToLive), service, properties);
+            this.ticketRegistry.addTicket(ticket);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(final String jwtId) {
+        val expirationTime = this.revokedTokens.get(jwtId);
+        if (expirationTime == null) {
+            return false;
+        }
+        if (expirationTime < now()) {
+            this.revokedTokens.remove(jwtId, expirationTime);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void refresh() {
+        val now = now();
+        this.revokedTokens.values().removeIf(expirationTime -> expirationTime < now);
+        try (val tickets = this.ticketRegistry.getTickets(ticket -> ticket instanceof TransientSessionTicket
+            && ticket.getId().startsWith(REVOCATION_TICKET_ID_PREFIX) && !ticket.isExpired())) {
+            tickets.map(TransientSessionTicket.class::cast).forEach(ticket -> {
+                val expirationTime = ticket.getProperties().get(PROPERTY_EXPIRATION_TIME);
+                if (expirationTime instanceof Number && ((Number) expirationTime).longValue() >= now) {
+                    this.revokedTokens.putIfAbsent(StringUtils.removeStart(ticket.getId(), REVOCATION_TICKET_ID_PREFIX),
+                        ((Number) expirationTime).longValue());
+                }
+            });
+        }
+        LOGGER.debug("Tracking [{}] revoked access token(s)", this.revokedTokens.size());
+    }
+}
@@ -0,0 +1,37 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken.jwt;
+
+import org.apereo.cas.util.cipher.BaseStringCipherExecutor;
+
+/**
+ * This is {@link OAuth20JwtAccessTokenCipherExecutor} that signs, and optionally encrypts,
+ * access tokens issued as JWTs. Signing cannot be turned off, since such tokens are trusted
+ * without being looked up in the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OAuth20JwtAccessTokenCipherExecutor extends BaseStringCipherExecutor {
+    public OAuth20JwtAccessTokenCipherExecutor(final String secretKeyEncryption,
+                                               final String secretKeySigning,
+                                               final String alg,
+                                               final boolean encryptionEnabled,
+                                               final int signingKeySize,
+                                               final int encryptionKeySize) {
+        super(secretKeyEncryption, secretKeySigning, alg, encryptionEnabled, true, signingKeySize, encryptionKeySize);
+    }
+
+    @Override
+    protected String getEncryptionKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.encryption.key";
+    }
+
+    @Override
+    protected String getSigningKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.signing.key";
+    }
+
+    @Override
+    public String getName() {
+        return "OAuth JWT Access Tokens";
+    }
+}
@@ -0,0 +1,206 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken.jwt;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
+import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
+import org.apereo.cas.util.DateTimeUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OAuth20JwtAccessTokenEncoder} that turns access tokens into signed,
+ * and optionally encrypted, JWTs that carry their own claims and expiration time.
+ * Such tokens are verified with the keys of the cipher and are never looked up in the ticket registry;
+ * tokens that are revoked before they expire are tracked by the revocation list.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OAuth20JwtAccessTokenEncoder {
+    private static final String CLAIM_SCOPE = "scope";
+    private static final String CLAIM_SERVICE = "service";
+    private static final String CLAIM_AUTHENTICATION_DATE = "authenticationDate";
+    private static final String CLAIM_PRINCIPAL_ATTRIBUTES = "principalAttributes";
+    private static final String CLAIM_AUTHENTICATION_ATTRIBUTES = "authenticationAttributes";
+
+    private final CipherExecutor<Serializable, String> cipherExecutor;
+    private final OAuth20JwtAccessTokenRevocationList revocationList;
+    private final PrincipalFactory principalFactory;
+    private final ServiceFactory<WebApplicationService> serviceFactory;
+    private final String issuer;
+
+    private static Map<String, Object> toClaimValues(final Map<String, Object> attributes) {
+        val values = new LinkedHashMap<String, Object>();
+        attributes.forEach((name, value) -> {
+            if (value instanceof Collection) {
+                values.put(name, ((Collection<Object>) value).stream()
+                    .map(OAuth20JwtAccessTokenEncoder::toClaimValue)
+                    .collect(Collectors.toList()));
+            } else if (value != null) {
+                values.put(name, toClaimValue(value));
+            }
+        });
+        return values;
+    }
+
+    private static Object toClaimValue(final Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean ? value : String.valueOf(value);
+    }
+
+    private static Map<String, Object> fromClaimValues(final JwtClaims claims, final String name) {
+        val value = claims.getClaimValue(name);
+        if (value instanceof Map) {
+            return new LinkedHashMap<>((Map<String, Object>) value);
+        }
+        return new LinkedHashMap<>();
+    }
+
+    /**
+     * Is the token an access token issued as a JWT?
+     * Access tokens kept in the ticket registry carry the access token prefix,
+     * which a JWT in compact serialization never does.
+     *
+     * @param token the token
+     * @return true if the token is a JWT
+     */
+    public boolean supports(final String token) {
+        return StringUtils.isNotBlank(token)
+            && !token.startsWith(AccessToken.PREFIX)
+            && StringUtils.countMatches(token, '.') == 2;
+    }
+
+    /**
+     * Encode the access token as a JWT.
+     *
+     * @param accessToken       the access token
+     * @param registeredService the registered service the token is issued to
+     * @return an access token whose id is the JWT; it must not be added to the ticket registry
+     */
+    public AccessToken encode(final AccessToken accessToken, final OAuthRegisteredService registeredService) {
+        val authentication = accessToken.getAuthentication();
+        val principal = authentication.getPrincipal();
+        val issuedAt = accessToken.getCreationTime().toEpochSecond();
+
+        val claims = new JwtClaims();
+        claims.setJwtId(accessToken.getId());
+        claims.setIssuer(issuer);
+        claims.setAudience(registeredService.getClientId());
+        claims.setSubject(principal.getId());
+        claims.setIssuedAt(NumericDate.fromSeconds(issuedAt));
+        claims.setExpirationTime(NumericDate.fromSeconds(issuedAt + accessToken.getExpirationPolicy().getTimeToLive()));
+        claims.setStringClaim(CLAIM_SERVICE, accessToken.getService().getId());
+        claims.setStringListClaim(CLAIM_SCOPE, new ArrayList<>(accessToken.getScopes()));
+        claims.setClaim(CLAIM_AUTHENTICATION_DATE, authentication.getAuthenticationDate().toInstant().toEpochMilli());
+        claims.setClaim(CLAIM_PRINCIPAL_ATTRIBUTES, toClaimValues(principal.getAttributes()));
+        claims.setClaim(CLAIM_AUTHENTICATION_ATTRIBUTES, toClaimValues(authentication.getAttributes()));
+
+        val jwt = this.cipherExecutor.encode(claims.toJson());
+        LOGGER.debug("Encoded access token [{}] issued to [{}] as a JWT", accessToken.getId(), registeredService.getClientId());
+        val encoded = new AccessTokenImpl(jwt, accessToken.getService(), authentication, accessToken.getExpirationPolicy(),
+            accessToken.getTicketGrantingTicket(), accessToken.getScopes());
+        encoded.setCreationTime(accessToken.getCreationTime());
+        return encoded;
+    }
+
+    /**
+     * Decode an access token issued as a JWT.
+     *
+     * @param token the token
+     * @return the access token, or empty if the token cannot be verified, has expired or has been revoked
+     */
+    public Optional<AccessToken> decode(final String token) {
+        val result = verify(token);
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            val claims = result.get();
+            if (this.revocationList.isRevoked(claims.getJwtId())) {
+                LOGGER.debug("Access token [{}] has been revoked", claims.getJwtId());
+                return Optional.empty();
+            }
+            val issuedAt = claims.getIssuedAt().getValue();
+            val timeToLive = claims.getExpirationTime().getValue() - issuedAt;
+            val principal = this.principalFactory.createPrincipal(claims.getSubject(), fromClaimValues(claims, CLAIM_PRINCIPAL_ATTRIBUTES));
+            val authentication = DefaultAuthenticationBuilder.newInstance()
+                .setPrincipal(principal)
+                .setAuthenticationDate(DateTimeUtils.zonedDateTimeOf(claims.getClaimValue(CLAIM_AUTHENTICATION_DATE, Long.class)))
+                .setAttributes(fromClaimValues(claims, CLAIM_AUTHENTICATION_ATTRIBUTES))
+                .build();
+            val service = this.serviceFactory.createService(claims.getStringClaimValue(CLAIM_SERVICE));
+            val scopes = claims.hasClaim(CLAIM_SCOPE) ? claims.getStringListClaimValue(CLAIM_SCOPE) : List.<String>of();
+            val expirationPolicy = new OAuthAccessTokenExpirationPolicy.OAuthAccessTokenSovereignExpirationPolicy(timeToLive, timeToLive);
+            val accessToken = new AccessTokenImpl(token, service, authentication, expirationPolicy, null, scopes);
+            accessToken.setCreationTime(DateTimeUtils.zonedDateTimeOf(claims.getIssuedAt().getValueInMillis()));
+            if (accessToken.isExpired()) {
+                LOGGER.debug("Access token [{}] has expired", claims.getJwtId());
+                return Optional.empty();
+            }
+            return Optional.of(accessToken);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read claims of access token [{}]: [{}]", token, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Revoke an access token issued as a JWT until it expires.
+     *
+     * @param token the token
+     * @return true if the token could be verified and is revoked
+     */
+    public boolean revoke(final String token) {
+        val result = verify(token);
+        if (result.isEmpty()) {
+            return false;
+        }
+        try {
+            val claims = result.get();
+            val service = this.serviceFactory.createService(claims.getStringClaimValue(CLAIM_SERVICE));
+            this.revocationList.revoke(claims.getJwtId(), service, claims.getExpirationTime().getValue());
+            return true;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to revoke access token [{}]: [{}]", token, e.getMessage());
+            return false;
+        }
+    }
+
+    private Optional<JwtClaims> verify(final String token) {
+        if (!supports(token)) {
+            return Optional.empty();
+        }
+        try {
+            val json = this.cipherExecutor.decode(token);
+            if (StringUtils.isBlank(json)) {
+                LOGGER.warn("Unable to verify the signature of access token [{}]", token);
+                return Optional.empty();
+            }
+            return Optional.of(JwtClaims.parse(json));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to verify access token [{}]: [{}]", token, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
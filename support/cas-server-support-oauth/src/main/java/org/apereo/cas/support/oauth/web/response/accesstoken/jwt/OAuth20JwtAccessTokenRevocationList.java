@@ -0,0 +1,37 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken.jwt;
+
+import org.apereo.cas.authentication.principal.Service;
+
+/**
+ * This is {@link OAuth20JwtAccessTokenRevocationList} that keeps track of access tokens
+ * issued as JWTs which are revoked before they expire. Entries need only be kept until
+ * the expiration time of the token they refer to, and must be visible to all CAS nodes
+ * that accept the token. Checking a token is expected to be answered locally.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface OAuth20JwtAccessTokenRevocationList {
+
+    /**
+     * Revoke the token.
+     *
+     * @param jwtId          the id of the token
+     * @param service        the service the token is issued for
+     * @param expirationTime the expiration time of the token, in seconds since epoch
+     */
+    void revoke(String jwtId, Service service, long expirationTime);
+
+    /**
+     * Is the token revoked?
+     *
+     * @param jwtId the id of the token
+     * @return true if the token is revoked
+     */
+    boolean isRevoked(String jwtId);
+
+    /**
+     * Collect tokens revoked by other nodes, and forget tokens that have expired since.
+     */
+    void refresh();
+}
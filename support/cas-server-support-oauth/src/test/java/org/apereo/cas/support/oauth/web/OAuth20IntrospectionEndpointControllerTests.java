@@ -0,0 +1,96 @@
+package org.apereo.cas.support.oauth.web;
+
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.web.endpoints.OAuth20IntrospectionEndpointController;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
+import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.util.EncodingUtils;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the {@link OAuth20IntrospectionEndpointController} class.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OAuth20IntrospectionEndpointControllerTests extends AbstractOAuth20Tests {
+    @Autowired
+    @Qualifier("defaultAccessTokenFactory")
+    private AccessTokenFactory accessTokenFactory;
+
+    @Autowired
+    @Qualifier("introspectionEndpointController")
+    private OAuth20IntrospectionEndpointController introspectionEndpointController;
+
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private OAuth20JwtAccessTokenEncoder oauthJwtAccessTokenEncoder;
+
+    private OAuthRegisteredService registeredService;
+
+    private String getJwtAccessToken() {
+        val accessToken = accessTokenFactory.create(RegisteredServiceTestUtils.getService(), getAuthentication(createPrincipal()),
+            new MockTicketGrantingTicket("casuser"), new ArrayList<>());
+        return oauthJwtAccessTokenEncoder.encode(accessToken, registeredService).getId();
+    }
+
+    private static MockHttpServletRequest getIntrospectionRequest(final String accessToken) {
+        val mockRequest = new MockHttpServletRequest(HttpMethod.POST.name(), CONTEXT + OAuth20Constants.INTROSPECTION_URL);
+        val credentials = EncodingUtils.encodeBase64(CLIENT_ID + ':' + CLIENT_SECRET);
+        mockRequest.addHeader("Authorization", "Basic " + credentials);
+        mockRequest.setParameter(OAuth20Constants.TOKEN, accessToken);
+        return mockRequest;
+    }
+
+    @Before
+    public void initialize() {
+        clearAllServices();
+        this.registeredService = addRegisteredService(new HashSet<>());
+    }
+
+    @Test
+    public void verifyJwtAccessTokenIsActive() {
+        val jwt = getJwtAccessToken();
+        val entity = introspectionEndpointController.handlePostRequest(getIntrospectionRequest(jwt), new MockHttpServletResponse());
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        val introspect = entity.getBody();
+        assertTrue(introspect.isActive());
+        assertEquals(ID, introspect.getSub());
+        assertEquals(CLIENT_ID, introspect.getClientId());
+    }
+
+    @Test
+    public void verifyRevokedJwtAccessTokenIsInactive() {
+        val jwt = getJwtAccessToken();
+        assertTrue(oauthJwtAccessTokenEncoder.revoke(jwt));
+        val entity = introspectionEndpointController.handlePostRequest(getIntrospectionRequest(jwt), new MockHttpServletResponse());
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertFalse(entity.getBody().isActive());
+    }
+
+    @Test
+    public void verifyTamperedJwtAccessTokenIsInactive() {
+        val parts = getJwtAccessToken().split("\\.");
+        val tampered = parts[0] + '.' + parts[1] + "x." + parts[2];
+        val entity = introspectionEndpointController.handlePostRequest(getIntrospectionRequest(tampered), new MockHttpServletResponse());
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertFalse(entity.getBody().isActive());
+    }
+}
@@ -11,6 +11,7 @@ import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.web.endpoints.OAuth20UserProfileEndpointController;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
@@ -29,6 +30,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 
 import static org.junit.Assert.*;
 
@@ -48,6 +50,10 @@ public class OAuth20ProfileControllerTests extends AbstractOAuth20Tests {
     @Qualifier("profileController")
     private OAuth20UserProfileEndpointController oAuth20ProfileController;
 
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private OAuth20JwtAccessTokenEncoder oauthJwtAccessTokenEncoder;
+
     protected static Authentication getAuthentication(final Principal principal) {
         val metadata = new BasicCredentialMetaData(new BasicIdentifiableCredential(principal.getId()));
         val handlerResult = new DefaultAuthenticationHandlerExecutionResult(principal.getClass().getCanonicalName(),
@@ -213,4 +219,42 @@ public class OAuth20ProfileControllerTests extends AbstractOAuth20Tests {
         assertEquals(expectedAttributes.findValue(NAME).asText(), receivedAttributes.findValue(NAME).asText());
         assertEquals(expectedAttributes.findValues(NAME2), receivedAttributes.findValues(NAME2));
     }
+
+    @Test
+    public void verifyOKWithJwtAccessToken() throws Exception {
+        val registeredService = getRegisteredService(REDIRECT_URI, CLIENT_SECRET, new HashSet<>());
+        val principal = createPrincipal();
+        val accessToken = accessTokenFactory.create(RegisteredServiceTestUtils.getService(), getAuthentication(principal),
+            new MockTicketGrantingTicket("casuser"), new ArrayList<>());
+        val jwt = oauthJwtAccessTokenEncoder.encode(accessToken, registeredService).getId();
+
+        val mockRequest = new MockHttpServletRequest(HttpMethod.GET.name(), CONTEXT + OAuth20Constants.PROFILE_URL);
+        mockRequest.addHeader("Authorization", OAuth20Constants.TOKEN_TYPE_BEARER + ' ' + jwt);
+        val mockResponse = new MockHttpServletResponse();
+        val entity = oAuth20ProfileController.handleRequest(mockRequest, mockResponse);
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertNull(this.ticketRegistry.getTicket(jwt));
+
+        val receivedObj = MAPPER.readTree(entity.getBody());
+        assertEquals(ID, receivedObj.get("id").asText());
+        val receivedAttributes = receivedObj.get(ATTRIBUTES_PARAM);
+        assertEquals(VALUE, receivedAttributes.findValue(NAME).asText());
+        assertEquals(2, receivedAttributes.findValue(NAME2).size());
+    }
+
+    @Test
+    public void verifyRevokedJwtAccessToken() throws Exception {
+        val registeredService = getRegisteredService(REDIRECT_URI, CLIENT_SECRET, new HashSet<>());
+        val accessToken = accessTokenFactory.create(RegisteredServiceTestUtils.getService(), getAuthentication(createPrincipal()),
+            new MockTicketGrantingTicket("casuser"), new ArrayList<>());
+        val jwt = oauthJwtAccessTokenEncoder.encode(accessToken, registeredService).getId();
+        assertTrue(oauthJwtAccessTokenEncoder.revoke(jwt));
+
+        val mockRequest = new MockHttpServletRequest(HttpMethod.GET.name(), CONTEXT + OAuth20Constants.PROFILE_URL);
+        mockRequest.setParameter(OAuth20Constants.ACCESS_TOKEN, jwt);
+        val mockResponse = new MockHttpServletResponse();
+        val entity = oAuth20ProfileController.handleRequest(mockRequest, mockResponse);
+        assertEquals(HttpStatus.UNAUTHORIZED, entity.getStatusCode());
+        assertTrue(entity.getBody().contains(OAuth20Constants.EXPIRED_ACCESS_TOKEN));
+    }
 }
@@ -0,0 +1,78 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken;
+
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.support.oauth.OAuth20GrantTypes;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.web.AbstractOAuth20Tests;
+import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenRequestDataHolder;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OAuth20DefaultTokenGeneratorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OAuth20DefaultTokenGeneratorTests extends AbstractOAuth20Tests {
+    @Autowired
+    @Qualifier("oauthTokenGenerator")
+    private OAuth20TokenGenerator oauthTokenGenerator;
+
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private OAuth20JwtAccessTokenEncoder oauthJwtAccessTokenEncoder;
+
+    private static AccessTokenRequestDataHolder getRequestDataHolder(final OAuthRegisteredService registeredService) {
+        val service = new WebApplicationServiceFactory().createService(registeredService.getServiceId());
+        return AccessTokenRequestDataHolder.builder()
+            .service(service)
+            .authentication(getAuthentication(createPrincipal()))
+            .registeredService(registeredService)
+            .ticketGrantingTicket(new MockTicketGrantingTicket(ID))
+            .grantType(OAuth20GrantTypes.CLIENT_CREDENTIALS)
+            .build();
+    }
+
+    @Before
+    public void initialize() {
+        clearAllServices();
+    }
+
+    @Test
+    public void verifyAccessTokenIsAddedToTicketRegistry() {
+        val registeredService = addRegisteredService(new HashSet<>());
+        val result = oauthTokenGenerator.generate(getRequestDataHolder(registeredService));
+
+        val accessToken = result.getAccessToken().orElseThrow();
+        assertFalse(oauthJwtAccessTokenEncoder.supports(accessToken.getId()));
+        assertNotNull(ticketRegistry.getTicket(accessToken.getId(), AccessToken.class));
+    }
+
+    @Test
+    public void verifyJwtAccessTokenIsNotAddedToTicketRegistry() {
+        val registeredService = getRegisteredService(REDIRECT_URI, CLIENT_SECRET, new HashSet<>());
+        registeredService.setJwtAccessToken(true);
+        servicesManager.save(registeredService);
+        val result = oauthTokenGenerator.generate(getRequestDataHolder(registeredService));
+
+        val accessToken = result.getAccessToken().orElseThrow();
+        assertTrue(oauthJwtAccessTokenEncoder.supports(accessToken.getId()));
+        assertNull(ticketRegistry.getTicket(accessToken.getId()));
+
+        val decoded = oauthJwtAccessTokenEncoder.decode(accessToken.getId()).orElseThrow();
+        assertEquals(ID, decoded.getAuthentication().getPrincipal().getId());
+        assertEquals(registeredService.getServiceId(), decoded.getService().getId());
+    }
+}
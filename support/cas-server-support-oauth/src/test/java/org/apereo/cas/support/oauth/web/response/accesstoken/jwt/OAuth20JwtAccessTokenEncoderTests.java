@@ -0,0 +1,159 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken.jwt;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
+import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OAuth20JwtAccessTokenEncoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OAuth20JwtAccessTokenEncoderTests {
+    private static final long TIME_TO_LIVE = 60;
+
+    private OAuth20JwtAccessTokenEncoder encoder;
+
+    private OAuthRegisteredService registeredService;
+
+    private TicketRegistry ticketRegistry;
+
+    private static AccessTokenImpl getAccessToken() {
+        return getAccessToken("AT-1-123456");
+    }
+
+    private static AccessTokenImpl getAccessToken(final String id) {
+        val service = CoreAuthenticationTestUtils.getService();
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser");
+        return new AccessTokenImpl(id, service, authentication,
+            new OAuthAccessTokenExpirationPolicy(TIME_TO_LIVE, TIME_TO_LIVE), null, List.of("profile", "email"));
+    }
+
+    private static OAuth20JwtAccessTokenEncoder getEncoder(final OAuth20JwtAccessTokenCipherExecutor cipher,
+                                                          final OAuth20JwtAccessTokenRevocationList revocationList) {
+        return new OAuth20JwtAccessTokenEncoder(cipher, revocationList,
+            PrincipalFactoryUtils.newPrincipalFactory(), new WebApplicationServiceFactory(), "https://sso.example.org/cas");
+    }
+
+    private static OAuth20JwtAccessTokenCipherExecutor getCipher() {
+        val signingKey = "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w";
+        val encryptionKey = "1PbwSbnHeinpkZOSZjuSJ8yYpUrInm5aaV18J2Ar4rM";
+        return new OAuth20JwtAccessTokenCipherExecutor(encryptionKey, signingKey,
+            CipherExecutor.DEFAULT_CONTENT_ENCRYPTION_ALGORITHM, true, 0, 0);
+    }
+
+    @Before
+    public void initialize() {
+        val cipher = new OAuth20JwtAccessTokenCipherExecutor(null, null, null, false, 0, 0);
+        this.ticketRegistry = spy(new DefaultTicketRegistry());
+        this.encoder = getEncoder(cipher, new DefaultOAuth20JwtAccessTokenRevocationList(ticketRegistry));
+        this.registeredService = new OAuthRegisteredService();
+        this.registeredService.setClientId("clientid");
+        this.registeredService.setServiceId("https://oauth.example.org");
+        this.registeredService.setJwtAccessToken(true);
+    }
+
+    @Test
+    public void verifyEncodedTokenIsDecoded() {
+        val accessToken = getAccessToken();
+        val encoded = encoder.encode(accessToken, registeredService);
+        assertTrue(encoder.supports(encoded.getId()));
+        assertFalse(encoder.supports(accessToken.getId()));
+
+        val decoded = encoder.decode(encoded.getId()).orElseThrow();
+        assertEquals(encoded.getId(), decoded.getId());
+        assertEquals("casuser", decoded.getAuthentication().getPrincipal().getId());
+        assertEquals(accessToken.getAuthentication().getPrincipal().getAttributes().keySet(),
+            decoded.getAuthentication().getPrincipal().getAttributes().keySet());
+        assertEquals(accessToken.getService().getId(), decoded.getService().getId());
+        assertTrue(decoded.getScopes().containsAll(accessToken.getScopes()));
+        assertEquals(TIME_TO_LIVE, decoded.getExpirationPolicy().getTimeToLive().longValue());
+        assertFalse(decoded.isExpired());
+    }
+
+    @Test
+    public void verifyTamperedTokenIsRejected() {
+        val encoded = encoder.encode(getAccessToken(), registeredService).getId();
+        val parts = encoded.split("\\.");
+        val tampered = parts[0] + '.' + parts[1] + "x." + parts[2];
+        assertTrue(encoder.decode(tampered).isEmpty());
+        assertFalse(encoder.revoke(tampered));
+    }
+
+    @Test
+    public void verifyExpiredTokenIsRejected() {
+        val accessToken = getAccessToken();
+        accessToken.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(TIME_TO_LIVE * 2));
+        val encoded = encoder.encode(accessToken, registeredService).getId();
+        assertTrue(encoder.decode(encoded).isEmpty());
+    }
+
+    @Test
+    public void verifyRevokedTokenIsRejected() {
+        val encoded = encoder.encode(getAccessToken(), registeredService).getId();
+        assertTrue(encoder.decode(encoded).isPresent());
+        assertTrue(encoder.revoke(encoded));
+        assertTrue(encoder.decode(encoded).isEmpty());
+    }
+
+    @Test
+    public void verifyRevokedTokenIsRejectedByNodesSharingTheTicketRegistry() {
+        val sharedTicketRegistry = new DefaultTicketRegistry();
+        val revocationList1 = new DefaultOAuth20JwtAccessTokenRevocationList(sharedTicketRegistry);
+        val revocationList2 = new DefaultOAuth20JwtAccessTokenRevocationList(sharedTicketRegistry);
+        val node1 = getEncoder(getCipher(), revocationList1);
+        val node2 = getEncoder(getCipher(), revocationList2);
+
+        val encoded = node1.encode(getAccessToken(), registeredService).getId();
+        assertTrue(node2.decode(encoded).isPresent());
+        assertTrue(node1.revoke(encoded));
+        assertTrue(node1.decode(encoded).isEmpty());
+        assertEquals(1, sharedTicketRegistry.getTickets().size());
+
+        revocationList2.refresh();
+        assertTrue(node2.decode(encoded).isEmpty());
+    }
+
+    @Test
+    public void verifyDecodeDoesNotReadTicketRegistry() {
+        val encoded = encoder.encode(getAccessToken(), registeredService).getId();
+        val revoked = encoder.encode(getAccessToken("AT-2-123456"), registeredService).getId();
+        assertTrue(encoder.revoke(revoked));
+        clearInvocations(ticketRegistry);
+
+        assertTrue(encoder.decode(encoded).isPresent());
+        assertTrue(encoder.decode(revoked).isEmpty());
+        verify(ticketRegistry, never()).getTicket(anyString());
+        verify(ticketRegistry, never()).getTicket(anyString(), any(Class.class));
+        verify(ticketRegistry, never()).getTickets();
+        verify(ticketRegistry, never()).getTicketsStream();
+    }
+
+    @Test
+    public void verifyRevocationExpiresWithTheToken() {
+        val accessToken = getAccessToken();
+        accessToken.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(TIME_TO_LIVE * 2));
+        val encoded = encoder.encode(accessToken, registeredService).getId();
+        assertTrue(encoder.revoke(encoded));
+        assertTrue(ticketRegistry.getTickets().isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasOAuthConfiguration;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultAccessTokenUsageTrackerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class DefaultAccessTokenUsageTrackerTests {
+    private static final long TIME_TO_LIVE = 28_800;
+
+    private static final long TIME_TO_IDLE = 7_200;
+
+    private TicketRegistry ticketRegistry;
+
+    private static AccessTokenImpl newAccessToken(final long timeToLive, final long timeToIdle) {
+        val policy = new OAuthAccessTokenExpirationPolicy.OAuthAccessTokenSovereignExpirationPolicy(timeToLive, timeToIdle);
+        return new AccessTokenImpl("AT-1", CoreAuthenticationTestUtils.getService(),
+            CoreAuthenticationTestUtils.getAuthentication(), policy, null, List.of("profile"));
+    }
+
+    @Before
+    public void initialize() {
+        this.ticketRegistry = mock(TicketRegistry.class);
+    }
+
+    @Test
+    public void verifyUsageIsRecordedAndFlushed() {
+        val tracker = new DefaultAccessTokenUsageTracker(ticketRegistry, false);
+        val stored = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        stored.setLastTimeUsed(stored.getLastTimeUsed().minusSeconds(1));
+        val accessToken = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        tracker.update(accessToken);
+        tracker.update(accessToken);
+        assertEquals(2, accessToken.getCountOfUses());
+        verify(ticketRegistry, never()).updateTicket(any());
+
+        when(ticketRegistry.getTicket(accessToken.getId(), AccessToken.class)).thenReturn(stored);
+        assertEquals(1, tracker.flush());
+        verify(ticketRegistry).updateTicket(stored);
+        assertEquals(2, stored.getCountOfUses());
+        assertEquals(accessToken.getLastTimeUsed(), stored.getLastTimeUsed());
+        assertEquals(0, tracker.flush());
+    }
+
+    @Test
+    public void verifyUsageIsFlushedOnShutdown() {
+        val tracker = new DefaultAccessTokenUsageTracker(ticketRegistry, false);
+        val stored = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        val accessToken = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        tracker.update(accessToken);
+        when(ticketRegistry.getTicket(accessToken.getId(), AccessToken.class)).thenReturn(stored);
+
+        new CasOAuthConfiguration.OAuth20AccessTokenUsageFlushScheduler(tracker).destroy();
+        verify(ticketRegistry).updateTicket(stored);
+        assertEquals(1, stored.getCountOfUses());
+    }
+
+    @Test
+    public void verifyRecordedUsageIsRestored() {
+        val tracker = new DefaultAccessTokenUsageTracker(ticketRegistry, false);
+        val stored = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        stored.setLastTimeUsed(stored.getLastTimeUsed().minusSeconds(1));
+        val accessToken = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        tracker.update(accessToken);
+
+        tracker.restore(stored);
+        assertEquals(1, stored.getCountOfUses());
+        assertEquals(accessToken.getLastTimeUsed(), stored.getLastTimeUsed());
+    }
+
+    @Test
+    public void verifyUsageIsStoredAfterHalfOfIdleTimeout() {
+        val tracker = new DefaultAccessTokenUsageTracker(ticketRegistry, false);
+        val accessToken = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        accessToken.setLastTimeUsed(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(TIME_TO_IDLE / 2));
+        tracker.update(accessToken);
+        verify(ticketRegistry).updateTicket(accessToken);
+        assertEquals(0, tracker.flush());
+    }
+
+    @Test
+    public void verifyExpiredTokenIsDeleted() {
+        val tracker = new DefaultAccessTokenUsageTracker(ticketRegistry, false);
+        val accessToken = newAccessToken(1, 1);
+        accessToken.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(TIME_TO_IDLE));
+        tracker.update(accessToken);
+        verify(ticketRegistry).deleteTicket(accessToken.getId());
+        verify(ticketRegistry, never()).updateTicket(any());
+    }
+
+    @Test
+    public void verifyEveryUseIsStored() {
+        val tracker = new DefaultAccessTokenUsageTracker(ticketRegistry, true);
+        val accessToken = newAccessToken(TIME_TO_LIVE, TIME_TO_IDLE);
+        tracker.update(accessToken);
+        tracker.update(accessToken);
+        verify(ticketRegistry, times(2)).updateTicket(accessToken);
+    }
+}
@@ -24,6 +24,7 @@ import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettingsFactory;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequest;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequestSerializer;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoader;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeySetDocumentProvider;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorService;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilter;
@@ -62,6 +63,7 @@ import org.apereo.cas.support.oauth.validator.token.OAuth20TokenRequestValidator
 import org.apereo.cas.support.oauth.web.response.OAuth20CasClientRedirectActionBuilder;
 import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20TokenGenerator;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenGrantRequestExtractor;
+import org.apereo.cas.support.oauth.web.response.accesstoken.jwt.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20AccessTokenResponseGenerator;
 import org.apereo.cas.support.oauth.web.response.callback.OAuth20AuthorizationResponseBuilder;
 import org.apereo.cas.support.oauth.web.views.ConsentApprovalViewResolver;
@@ -71,6 +73,7 @@ import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.IdTokenGeneratorService;
 import org.apereo.cas.ticket.IdTokenSigningAndEncryptionService;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.AccessTokenUsageTracker;
 import org.apereo.cas.ticket.code.OAuthCodeFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
@@ -115,6 +118,7 @@ import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.engine.builder.support.FlowBuilderServices;
 import org.springframework.webflow.execution.Action;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
@@ -155,6 +159,14 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
     @Qualifier("oauthTokenGenerator")
     private ObjectProvider<OAuth20TokenGenerator> oauthTokenGenerator;
 
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private ObjectProvider<OAuth20JwtAccessTokenEncoder> oauthJwtAccessTokenEncoder;
+
+    @Autowired
+    @Qualifier("oauthAccessTokenUsageTracker")
+    private ObjectProvider<AccessTokenUsageTracker> oauthAccessTokenUsageTracker;
+
     @Autowired
     @Qualifier("oauthAuthorizationResponseBuilders")
     private ObjectProvider<Set<OAuth20AuthorizationResponseBuilder>> oauthAuthorizationResponseBuilders;
@@ -366,7 +378,8 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             centralAuthenticationService.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            oauthJwtAccessTokenEncoder.getIfAvailable());
     }
 
     @RefreshScope
@@ -398,7 +411,8 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             profileScopeToAttributesFilter(),
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            oauthJwtAccessTokenEncoder.getIfAvailable());
     }
 
     @RefreshScope
@@ -454,7 +468,18 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             webApplicationServiceFactory.getIfAvailable(),
             profileScopeToAttributesFilter(),
             casProperties,
-            ticketGrantingTicketCookieGenerator.getIfAvailable());
+            ticketGrantingTicketCookieGenerator.getIfAvailable(),
+            oidcJsonWebKeySetDocumentProvider());
+    }
+
+    @RefreshScope
+    @Bean
+    public OidcJsonWebKeySetDocumentProvider oidcJsonWebKeySetDocumentProvider() {
+        val oidc = casProperties.getAuthn().getOidc();
+        return new OidcJsonWebKeySetDocumentProvider(oidc.getJwksFile(),
+            servicesManager.getIfAvailable(),
+            resourceLoader,
+            Duration.ofMinutes(oidc.getJwksCacheInMinutes()));
     }
 
     @Autowired
@@ -484,7 +509,9 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             oauthUserProfileViewRenderer.getIfAvailable(),
-            oidcUserProfileDataCreator());
+            oidcUserProfileDataCreator(),
+            oauthJwtAccessTokenEncoder.getIfAvailable(),
+            oauthAccessTokenUsageTracker.getIfAvailable());
     }
 
     @Bean
@@ -0,0 +1,161 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceExpiredEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.DigestUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OidcJsonWebKeySetDocumentProvider} that keeps the public JWKS document of the server
+ * precomputed, along with its entity tag. The document combines the keys of the server keystore with the keys
+ * of every registered service that defines its own JWKS. The JWKS locations of registered services are only
+ * collected again when the service registry reports a change, so requests merely compare the modification time
+ * of the server keystore with the cached fingerprint. The document is rebuilt when that fingerprint changes,
+ * or once it has outlived the configured lifetime so that keystores that cannot report their modification time,
+ * such as remote ones, are eventually refreshed too.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OidcJsonWebKeySetDocumentProvider {
+    private final Resource jwksFile;
+
+    private final ServicesManager servicesManager;
+
+    private final ResourceLoader resourceLoader;
+
+    private final Duration lifetime;
+
+    private volatile Document document;
+
+    private volatile String servicesFingerprint;
+
+    /**
+     * Forget the collected JWKS locations of registered services once the service registry has changed.
+     * They are collected again on the next request, and the document is only rebuilt if they did change.
+     */
+    @EventListener({
+        CasRegisteredServicesLoadedEvent.class,
+        CasRegisteredServiceSavedEvent.class,
+        CasRegisteredServiceDeletedEvent.class,
+        CasRegisteredServicesDeletedEvent.class,
+        CasRegisteredServiceExpiredEvent.class
+    })
+    public void handleRegisteredServicesChangedEvent() {
+        LOGGER.trace("Service registry has changed; JWKS locations of registered services will be collected again");
+        this.servicesFingerprint = null;
+    }
+
+    /**
+     * Gets the current document, rebuilding it if its inputs have changed.
+     *
+     * @return the document
+     * @throws Exception the exception, if the document cannot be built and no previous version is available
+     */
+    public Document getDocument() throws Exception {
+        val fingerprint = getFingerprint();
+        val current = this.document;
+        if (isCurrent(current, fingerprint)) {
+            return current;
+        }
+        synchronized (this) {
+            if (isCurrent(this.document, fingerprint)) {
+                return this.document;
+            }
+            try {
+                this.servicesFingerprint = getServicesFingerprint();
+                this.document = buildDocument(getFingerprint());
+                LOGGER.debug("Rebuilt JWKS document with entity tag [{}]", this.document.getEtag());
+            } catch (final Exception e) {
+                if (this.document == null) {
+                    throw e;
+                }
+                LOGGER.error("Unable to rebuild JWKS document; serving the previous version: [{}]", e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+            return this.document;
+        }
+    }
+
+    private boolean isCurrent(final Document current, final String fingerprint) {
+        return current != null
+            && current.getFingerprint().equals(fingerprint)
+            && System.currentTimeMillis() - current.getCreated() < this.lifetime.toMillis();
+    }
+
+    private String getFingerprint() {
+        if (this.servicesFingerprint == null) {
+            this.servicesFingerprint = getServicesFingerprint();
+        }
+        return getLastModified(this.jwksFile) + ";" + this.servicesFingerprint;
+    }
+
+    private String getServicesFingerprint() {
+        return this.servicesManager.getAllServices()
+            .stream()
+            .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
+            .map(OidcRegisteredService.class::cast)
+            .map(s -> s.getId() + "=" + s.getJwks() + '@' + getLastModified(this.resourceLoader.getResource(s.getJwks())))
+            .sorted()
+            .collect(Collectors.joining(","));
+    }
+
+    private static long getLastModified(final Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private Document buildDocument(final String fingerprint) throws Exception {
+        val jsonWebKeySet = new JsonWebKeySet(IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8));
+        for (val s : this.servicesManager.getAllServices()) {
+            if (s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks())) {
+                val resource = this.resourceLoader.getResource(((OidcRegisteredService) s).getJwks());
+                val set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
+                set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
+            }
+        }
+        val body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        return new Document(fingerprint, body, '"' + DigestUtils.sha256(body) + '"', System.currentTimeMillis());
+    }
+
+    /**
+     * The precomputed public JWKS document.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Document {
+        private final String fingerprint;
+
+        private final String body;
+
+        private final String etag;
+
+        private final long created;
+    }
+}
@@ -4,6 +4,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.oidc.OidcConstants;
 import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettings;
 import org.apereo.cas.services.ServicesManager;
@@ -11,23 +12,41 @@ import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilte
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link OidcWellKnownEndpointController}.
+ * The discovery document does not change for the lifetime of the controller, so its entity tag is
+ * computed once and the document is served with caching headers and conditional request support.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 public class OidcWellKnownEndpointController extends BaseOAuth20Controller {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
     private final OidcServerDiscoverySettings discovery;
 
+    private final String etag;
+
+    private final CacheControl cacheControl;
+
     public OidcWellKnownEndpointController(final ServicesManager servicesManager,
                                            final TicketRegistry ticketRegistry,
                                            final AccessTokenFactory accessTokenFactory,
@@ -41,25 +60,48 @@ public class OidcWellKnownEndpointController extends BaseOAuth20Controller {
             principalFactory, webApplicationServiceServiceFactory,
             scopeToAttributesFilter, casProperties, ticketGrantingTicketCookieGenerator);
         this.discovery = discovery;
+        this.etag = computeEntityTag(discovery);
+        val maxAge = Beans.newDuration(casProperties.getAuthn().getOidc().getDocumentCacheControlMaxAge());
+        this.cacheControl = CacheControl.maxAge(maxAge.getSeconds(), TimeUnit.SECONDS).cachePublic();
+    }
+
+    @SneakyThrows
+    private static String computeEntityTag(final OidcServerDiscoverySettings discovery) {
+        return '"' + DigestUtils.sha256(MAPPER.writeValueAsString(discovery)) + '"';
     }
 
     /**
      * Gets well known discovery configuration.
      *
+     * @param request  the request
+     * @param response the response
      * @return the well known discovery configuration
      */
     @GetMapping(value = '/' + OidcConstants.BASE_OIDC_URL + "/.well-known", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<OidcServerDiscoverySettings> getWellKnownDiscoveryConfiguration() {
-        return new ResponseEntity(this.discovery, HttpStatus.OK);
+    public ResponseEntity<OidcServerDiscoverySettings> getWellKnownDiscoveryConfiguration(final HttpServletRequest request,
+                                                                                          final HttpServletResponse response) {
+        if (new ServletWebRequest(request, response).checkNotModified(this.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(this.etag)
+                .cacheControl(this.cacheControl)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(this.etag)
+            .cacheControl(this.cacheControl)
+            .body(this.discovery);
     }
 
     /**
      * Gets well known openid discovery configuration.
      *
+     * @param request  the request
+     * @param response the response
      * @return the well known discovery configuration
      */
     @GetMapping(value = '/' + OidcConstants.BASE_OIDC_URL + "/.well-known/openid-configuration", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<OidcServerDiscoverySettings> getWellKnownOpenIdDiscoveryConfiguration() {
-        return getWellKnownDiscoveryConfiguration();
+    public ResponseEntity<OidcServerDiscoverySettings> getWellKnownOpenIdDiscoveryConfiguration(final HttpServletRequest request,
+                                                                                                final HttpServletResponse response) {
+        return getWellKnownDiscoveryConfiguration(request, response);
     }
 }
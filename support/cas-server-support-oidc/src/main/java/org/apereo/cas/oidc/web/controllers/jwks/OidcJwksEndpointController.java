@@ -4,8 +4,9 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.oidc.OidcConstants;
-import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeySetDocumentProvider;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
@@ -13,39 +14,33 @@ import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 
-import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.jooq.lambda.Unchecked;
-import org.jose4j.jwk.JsonWebKey;
-import org.jose4j.jwk.JsonWebKeySet;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link OidcJwksEndpointController}.
+ * The public JWKS document is precomputed by the {@link OidcJsonWebKeySetDocumentProvider} and served
+ * with an entity tag and caching headers, so relying parties may revalidate it conditionally.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
 public class OidcJwksEndpointController extends BaseOAuth20Controller {
-    private final @NonNull Resource jwksFile;
+    private final OidcJsonWebKeySetDocumentProvider documentProvider;
 
-    @Autowired
-    private ResourceLoader resourceLoader;
+    private final CacheControl cacheControl;
 
     public OidcJwksEndpointController(final ServicesManager servicesManager,
                                       final TicketRegistry ticketRegistry,
@@ -54,11 +49,14 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
                                       final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory,
                                       final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                       final CasConfigurationProperties casProperties,
-                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator) {
+                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
+                                      final OidcJsonWebKeySetDocumentProvider documentProvider) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter,
             casProperties, ticketGrantingTicketCookieGenerator);
-        this.jwksFile = casProperties.getAuthn().getOidc().getJwksFile();
+        this.documentProvider = documentProvider;
+        val maxAge = Beans.newDuration(casProperties.getAuthn().getOidc().getDocumentCacheControlMaxAge());
+        this.cacheControl = CacheControl.maxAge(maxAge.getSeconds(), TimeUnit.SECONDS).cachePublic();
     }
 
     /**
@@ -74,22 +72,18 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
                                                         final HttpServletResponse response,
                                                         final Model model) {
         try {
-            val jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8);
-            val jsonWebKeySet = new JsonWebKeySet(jsonJwks);
-
-            this.servicesManager.getAllServices()
-                .stream()
-                .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
-                .forEach(
-                    Unchecked.consumer(s -> {
-                        val service = (OidcRegisteredService) s;
-                        val resource = this.resourceLoader.getResource(service.getJwks());
-                        val set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
-                        set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
-                    }));
-            val body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            return new ResponseEntity<>(body, HttpStatus.OK);
+            val document = this.documentProvider.getDocument();
+            if (new ServletWebRequest(request, response).checkNotModified(document.getEtag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(document.getEtag())
+                    .cacheControl(this.cacheControl)
+                    .build();
+            }
+            return ResponseEntity.ok()
+                .eTag(document.getEtag())
+                .cacheControl(this.cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(document.getBody());
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -0,0 +1,44 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apereo.cas.services.ServicesManager;
+
+import lombok.val;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OidcJsonWebKeySetDocumentProviderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OidcJsonWebKeySetDocumentProviderTests {
+    @Test
+    public void verifyServicesAreOnlyScannedOnChange() throws Exception {
+        val servicesManager = mock(ServicesManager.class);
+        when(servicesManager.getAllServices()).thenReturn(new ArrayList<>());
+        val provider = new OidcJsonWebKeySetDocumentProvider(new ClassPathResource("keystore.jwks"),
+            servicesManager, new DefaultResourceLoader(), Duration.ofMinutes(1));
+
+        val document = provider.getDocument();
+        assertNotNull(document.getEtag());
+        clearInvocations(servicesManager);
+
+        assertSame(document, provider.getDocument());
+        assertSame(document, provider.getDocument());
+        verify(servicesManager, never()).getAllServices();
+
+        provider.handleRegisteredServicesChangedEvent();
+        assertSame(document, provider.getDocument());
+        verify(servicesManager).getAllServices();
+        assertSame(document, provider.getDocument());
+        verify(servicesManager).getAllServices();
+    }
+}
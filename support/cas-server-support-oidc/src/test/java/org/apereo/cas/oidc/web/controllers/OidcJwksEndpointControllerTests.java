@@ -0,0 +1,49 @@
+package org.apereo.cas.oidc.web.controllers;
+
+import org.apereo.cas.oidc.AbstractOidcTests;
+import org.apereo.cas.oidc.web.controllers.jwks.OidcJwksEndpointController;
+
+import lombok.val;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ExtendedModelMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcJwksEndpointControllerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OidcJwksEndpointControllerTests extends AbstractOidcTests {
+    @Autowired
+    @Qualifier("oidcJwksController")
+    protected OidcJwksEndpointController oidcJwksController;
+
+    @Test
+    public void verifyOperation() throws Exception {
+        val request = new MockHttpServletRequest("GET", "/cas/oidc/jwks");
+        val res1 = oidcJwksController.handleRequestInternal(request, new MockHttpServletResponse(), new ExtendedModelMap());
+        assertEquals(HttpStatus.OK, res1.getStatusCode());
+        assertFalse(new JsonWebKeySet(res1.getBody()).getJsonWebKeys().isEmpty());
+        assertFalse(res1.getBody().contains("\"d\""));
+        val etag = res1.getHeaders().getETag();
+        assertNotNull(etag);
+        assertNotNull(res1.getHeaders().getCacheControl());
+
+        val res2 = oidcJwksController.handleRequestInternal(request, new MockHttpServletResponse(), new ExtendedModelMap());
+        assertEquals(etag, res2.getHeaders().getETag());
+
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        val res3 = oidcJwksController.handleRequestInternal(request, new MockHttpServletResponse(), new ExtendedModelMap());
+        assertEquals(HttpStatus.NOT_MODIFIED, res3.getStatusCode());
+        assertNull(res3.getBody());
+    }
+}
@@ -8,6 +8,10 @@ import lombok.val;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import static org.junit.Assert.*;
 
@@ -26,9 +30,26 @@ public class OidcWellKnownEndpointControllerTests extends AbstractOidcTests {
 
     @Test
     public void verifyOperation() throws Exception {
-        val res1 = MAPPER.writer().writeValueAsString(oidcWellKnownController.getWellKnownDiscoveryConfiguration());
+        val res1 = MAPPER.writer().writeValueAsString(oidcWellKnownController.getWellKnownDiscoveryConfiguration(
+            new MockHttpServletRequest(), new MockHttpServletResponse()));
         assertNotNull(res1);
-        val res2 = MAPPER.writer().writeValueAsString(oidcWellKnownController.getWellKnownOpenIdDiscoveryConfiguration());
+        val res2 = MAPPER.writer().writeValueAsString(oidcWellKnownController.getWellKnownOpenIdDiscoveryConfiguration(
+            new MockHttpServletRequest(), new MockHttpServletResponse()));
         assertNotNull(res2);
     }
+
+    @Test
+    public void verifyNotModified() {
+        val request = new MockHttpServletRequest("GET", "/cas/oidc/.well-known");
+        val res1 = oidcWellKnownController.getWellKnownDiscoveryConfiguration(request, new MockHttpServletResponse());
+        assertEquals(HttpStatus.OK, res1.getStatusCode());
+        val etag = res1.getHeaders().getETag();
+        assertNotNull(etag);
+        assertNotNull(res1.getHeaders().getCacheControl());
+
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        val res2 = oidcWellKnownController.getWellKnownOpenIdDiscoveryConfiguration(request, new MockHttpServletResponse());
+        assertEquals(HttpStatus.NOT_MODIFIED, res2.getStatusCode());
+        assertNull(res2.getBody());
+    }
 }
@@ -11,6 +11,7 @@ import org.apereo.cas.authentication.principal.ClientCredential;
 import org.apereo.cas.authentication.principal.ClientCustomPropertyConstants;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.pac4j.logout.RequestSloException;
@@ -54,8 +55,10 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -117,6 +120,8 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
 
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final DelegatedClientProviderIndex providerIndex = new DelegatedClientProviderIndex();
+
     public DelegatedClientAuthenticationAction(final CasDelegatingWebflowEventResolver initialAuthenticationAttemptWebflowEventResolver,
                                                final CasWebflowEventResolver serviceTicketRequestWebflowEventResolver,
                                                final AdaptiveAuthenticationPolicy adaptiveAuthenticationPolicy,
@@ -301,6 +306,8 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
 
     /**
      * Prepare the data for the login page.
+     * Delegated clients allowed by the service, along with the parts of their configuration that do not depend
+     * on the request, are looked up from the index; only request parameters are added to their redirect urls.
      *
      * @param context The current webflow context
      */
@@ -313,24 +320,21 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
         val webContext = Pac4jUtils.getPac4jJ2EContext(request, response);
 
         val urls = new LinkedHashSet<ProviderLoginPageConfiguration>();
-        this.clients
-            .findAllClients()
-            .stream()
-            .filter(client -> client instanceof IndirectClient && isDelegatedClientAuthorizedForService(client, service))
-            .map(IndirectClient.class::cast)
-            .forEach(client -> {
-                try {
-                    val provider = buildProviderConfiguration(client, webContext, currentService);
-                    provider.ifPresent(p -> {
-                        urls.add(p);
-                        if (p.isAutoRedirect()) {
-                            WebUtils.putDelegatedAuthenticationProviderDominant(context, p);
-                        }
-                    });
-                } catch (final Exception e) {
-                    LOGGER.error("Cannot process client [{}]", client, e);
+        val providers = findAuthorizedProviderConfigurations(service);
+        if (!providers.isEmpty()) {
+            val queryParameters = buildProviderRedirectUrlQueryParameters(webContext, currentService);
+            providers.forEach(provider -> {
+                val redirectUrl = StringUtils.isBlank(queryParameters)
+                    ? provider.getRedirectUrl()
+                    : provider.getRedirectUrl() + '&' + queryParameters;
+                val p = new ProviderLoginPageConfiguration(provider.getName(), redirectUrl,
+                    provider.getType(), provider.getCssClass(), provider.isAutoRedirect());
+                urls.add(p);
+                if (p.isAutoRedirect()) {
+                    WebUtils.putDelegatedAuthenticationProviderDominant(context, p);
                 }
             });
+        }
 
         if (!urls.isEmpty()) {
             context.getFlowScope().put(FLOW_ATTRIBUTE_PROVIDER_URLS, urls);
@@ -341,22 +345,67 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
     }
 
     /**
-     * Build provider configuration optional.
+     * Find the configuration of delegated clients authorized for the service,
+     * with redirect urls that do not yet carry request parameters.
      *
-     * @param client     the client
-     * @param webContext the web context
-     * @param service    the service
+     * @param service the service
+     * @return the provider configurations
+     */
+    protected List<ProviderLoginPageConfiguration> findAuthorizedProviderConfigurations(final Service service) {
+        RegisteredService registeredService = null;
+        if (service != null && StringUtils.isNotBlank(service.getId())) {
+            registeredService = this.servicesManager.findServiceBy(service);
+            if (registeredService == null || !registeredService.getAccessStrategy().isServiceAccessAllowed()) {
+                LOGGER.warn("Service access for [{}] is denied", registeredService);
+                return List.of();
+            }
+        }
+        val authorizedService = registeredService;
+        return this.providerIndex.getProviders(authorizedService, this.clients.findAllClients(), clients -> clients
+            .stream()
+            .filter(client -> client instanceof IndirectClient
+                && (authorizedService == null || isDelegatedClientAuthorizedForService(client, authorizedService)))
+            .map(IndirectClient.class::cast)
+            .map(client -> {
+                try {
+                    return buildProviderConfiguration(client);
+                } catch (final Exception e) {
+                    LOGGER.error("Cannot process client [{}]", client, e);
+                    return Optional.<ProviderLoginPageConfiguration>empty();
+                }
+            })
+            .flatMap(Optional::stream)
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Build provider configuration, with a redirect url that only carries the client name.
+     *
+     * @param client the client
      * @return the optional
      */
-    protected Optional<ProviderLoginPageConfiguration> buildProviderConfiguration(final IndirectClient client, final WebContext webContext,
-                                                                                  final WebApplicationService service) {
+    protected Optional<ProviderLoginPageConfiguration> buildProviderConfiguration(final IndirectClient client) {
         val name = client.getName();
         val matcher = PAC4J_CLIENT_SUFFIX_PATTERN.matcher(client.getClass().getSimpleName());
         val type = matcher.replaceAll(StringUtils.EMPTY).toLowerCase();
-        val uriBuilder = UriComponentsBuilder
+        val redirectUrl = UriComponentsBuilder
             .fromUriString(DelegatedClientNavigationController.ENDPOINT_REDIRECT)
-            .queryParam(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, name);
+            .queryParam(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, name)
+            .toUriString();
+        val autoRedirect = (Boolean) client.getCustomProperties().getOrDefault(ClientCustomPropertyConstants.CLIENT_CUSTOM_PROPERTY_AUTO_REDIRECT, Boolean.FALSE);
+        val p = new ProviderLoginPageConfiguration(name, redirectUrl, type, getCssClass(name), autoRedirect);
+        return Optional.of(p);
+    }
 
+    /**
+     * Build the encoded query parameters of the request that are added to the redirect url of every provider.
+     *
+     * @param webContext the web context
+     * @param service    the service
+     * @return the query parameters, or blank if there are none
+     */
+    protected String buildProviderRedirectUrlQueryParameters(final WebContext webContext, final WebApplicationService service) {
+        val uriBuilder = UriComponentsBuilder.newInstance();
         if (service != null) {
             val sourceParam = service.getSource();
             val serviceParam = service.getOriginalUrl();
@@ -377,10 +426,7 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
         if (StringUtils.isNotBlank(themeParam)) {
             uriBuilder.queryParam(this.themeParamName, themeParam);
         }
-        val redirectUrl = uriBuilder.toUriString();
-        val autoRedirect = (Boolean) client.getCustomProperties().getOrDefault(ClientCustomPropertyConstants.CLIENT_CUSTOM_PROPERTY_AUTO_REDIRECT, Boolean.FALSE);
-        val p = new ProviderLoginPageConfiguration(name, redirectUrl, type, getCssClass(name), autoRedirect);
-        return Optional.of(p);
+        return StringUtils.defaultString(uriBuilder.build().encode().getQuery());
     }
 
     /**
@@ -426,6 +472,17 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
             return false;
         }
         LOGGER.trace("Located registered service definition [{}] matching [{}]", registeredService, service);
+        return isDelegatedClientAuthorizedForService(client, registeredService);
+    }
+
+    /**
+     * Is delegated client authorized by the delegated authentication policy of the registered service.
+     *
+     * @param client            the client
+     * @param registeredService the registered service
+     * @return the boolean
+     */
+    protected boolean isDelegatedClientAuthorizedForService(final Client client, final RegisteredService registeredService) {
         val context = AuditableContext.builder()
             .registeredService(registeredService)
             .properties(CollectionUtils.wrap(Client.class.getSimpleName(), client.getName()))
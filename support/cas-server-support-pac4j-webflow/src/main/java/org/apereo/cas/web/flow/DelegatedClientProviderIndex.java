@@ -0,0 +1,72 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.web.flow.DelegatedClientAuthenticationAction.ProviderLoginPageConfiguration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.pac4j.core.client.Client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * This is {@link DelegatedClientProviderIndex} that remembers, for each registered service,
+ * the delegated clients the service allows along with the parts of their login page configuration
+ * that do not depend on the request. An entry is computed again once the registered service definition
+ * or the collection of delegated clients it was computed from changes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class DelegatedClientProviderIndex {
+    private static final String KEY_NO_REGISTERED_SERVICE = "*";
+
+    private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the login page configuration of delegated clients allowed by the registered service.
+     *
+     * @param registeredService the registered service, or null if the request carries no service
+     * @param clients           all delegated clients
+     * @param indexer           builds the configuration of the delegated clients allowed by the registered service
+     * @return the login page configuration of allowed delegated clients
+     */
+    public List<ProviderLoginPageConfiguration> getProviders(final RegisteredService registeredService,
+                                                             final List<Client> clients,
+                                                             final Function<List<Client>, List<ProviderLoginPageConfiguration>> indexer) {
+        val key = registeredService == null ? KEY_NO_REGISTERED_SERVICE : String.valueOf(registeredService.getId());
+        val entry = this.entries.get(key);
+        if (entry != null && Objects.equals(entry.getRegisteredService(), registeredService) && entry.getClients().equals(clients)) {
+            return entry.getProviders();
+        }
+        LOGGER.debug("Indexing delegated clients allowed by registered service [{}]", registeredService);
+        val providers = List.copyOf(indexer.apply(clients));
+        this.entries.put(key, new IndexEntry(registeredService, new ArrayList<>(clients), providers));
+        return providers;
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class IndexEntry {
+        private final RegisteredService registeredService;
+
+        private final List<Client> clients;
+
+        private final List<ProviderLoginPageConfiguration> providers;
+    }
+}
@@ -0,0 +1,84 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.web.flow.DelegatedClientAuthenticationAction.ProviderLoginPageConfiguration;
+
+import lombok.val;
+import org.junit.Test;
+import org.pac4j.core.client.Client;
+import org.pac4j.oauth.client.FacebookClient;
+import org.pac4j.oauth.client.TwitterClient;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DelegatedClientProviderIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class DelegatedClientProviderIndexTests {
+    private static final String MY_SERVICE = "https://myservice";
+
+    private final AtomicInteger indexed = new AtomicInteger();
+
+    private final Function<List<Client>, List<ProviderLoginPageConfiguration>> indexer = clients -> {
+        indexed.incrementAndGet();
+        return clients.stream()
+            .map(client -> new ProviderLoginPageConfiguration(client.getName(), "/clientredirect?client_name=" + client.getName(),
+                "type", "fa fa-lock", false))
+            .collect(Collectors.toList());
+    };
+
+    @Test
+    public void verifyProvidersAreIndexedOnce() {
+        val index = new DelegatedClientProviderIndex();
+        val clients = List.<Client>of(new FacebookClient("key", "secret"), new TwitterClient("key", "secret"));
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService(MY_SERVICE);
+
+        val providers = index.getProviders(registeredService, clients, indexer);
+        assertEquals(2, providers.size());
+        assertSame(providers, index.getProviders(registeredService, clients, indexer));
+        assertEquals(1, indexed.get());
+
+        index.getProviders(null, clients, indexer);
+        index.getProviders(null, clients, indexer);
+        assertEquals(2, indexed.get());
+    }
+
+    @Test
+    public void verifyProvidersAreIndexedAgainWhenServiceChanges() {
+        val index = new DelegatedClientProviderIndex();
+        val clients = List.<Client>of(new FacebookClient("key", "secret"));
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService(MY_SERVICE);
+        index.getProviders(registeredService, clients, indexer);
+
+        val changedService = RegisteredServiceTestUtils.getRegisteredService(MY_SERVICE);
+        changedService.setId(registeredService.getId());
+        changedService.setDescription("Changed");
+        index.getProviders(changedService, clients, indexer);
+        assertEquals(2, indexed.get());
+        index.getProviders(changedService, clients, indexer);
+        assertEquals(2, indexed.get());
+    }
+
+    @Test
+    public void verifyProvidersAreIndexedAgainWhenClientsChange() {
+        val index = new DelegatedClientProviderIndex();
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService(MY_SERVICE);
+        index.getProviders(registeredService, List.of(new FacebookClient("key", "secret")), indexer);
+
+        val providers = index.getProviders(registeredService, List.of(new TwitterClient("key", "secret")), indexer);
+        assertEquals(2, indexed.get());
+        assertEquals("TwitterClient", providers.get(0).getName());
+
+        index.clear();
+        index.getProviders(registeredService, List.of(new TwitterClient("key", "secret")), indexer);
+        assertEquals(3, indexed.get());
+    }
+}
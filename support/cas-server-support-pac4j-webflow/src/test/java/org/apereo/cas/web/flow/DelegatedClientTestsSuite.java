@@ -10,6 +10,9 @@ import org.junit.runners.Suite;
  * @since 6.0.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses(DelegatedClientAuthenticationActionTests.class)
+@Suite.SuiteClasses({
+    DelegatedClientAuthenticationActionTests.class,
+    DelegatedClientProviderIndexTests.class
+})
 public class DelegatedClientTestsSuite {
 }
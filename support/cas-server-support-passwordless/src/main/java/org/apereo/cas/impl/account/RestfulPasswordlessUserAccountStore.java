@@ -4,6 +4,7 @@ import org.apereo.cas.api.PasswordlessUserAccount;
 import org.apereo.cas.api.PasswordlessUserAccountStore;
 import org.apereo.cas.configuration.model.support.passwordless.PasswordlessAuthenticationProperties;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,9 +39,9 @@ public class RestfulPasswordlessUserAccountStore implements PasswordlessUserAcco
             val parameters = new HashMap<String, Object>();
             parameters.put("username", username);
 
-            response = HttpUtils.execute(restProperties.getUrl(), restProperties.getMethod(),
+            response = HttpUtils.execute(HttpClientPool.PASSWORDLESS_POOL_NAME, restProperties.getUrl(), restProperties.getMethod(),
                 restProperties.getBasicAuthUsername(), restProperties.getBasicAuthPassword(),
-                parameters, new HashMap<>());
+                parameters, new HashMap<>(), null);
             if (response != null && response.getEntity() != null) {
                 val account = MAPPER.readValue(response.getEntity().getContent(), PasswordlessUserAccount.class);
                 return Optional.ofNullable(account);
@@ -3,6 +3,7 @@ package org.apereo.cas.impl.token;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.model.support.passwordless.PasswordlessAuthenticationProperties;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -40,9 +41,9 @@ public class RestfulPasswordlessTokenRepository extends BasePasswordlessTokenRep
         try {
             val parameters = new HashMap<String, Object>();
             parameters.put("username", username);
-            response = HttpUtils.execute(restProperties.getUrl(), HttpMethod.GET.name(),
+            response = HttpUtils.execute(HttpClientPool.PASSWORDLESS_POOL_NAME, restProperties.getUrl(), HttpMethod.GET.name(),
                 restProperties.getBasicAuthUsername(), restProperties.getBasicAuthPassword(),
-                parameters, new HashMap<>());
+                parameters, new HashMap<>(), null);
             if (response != null && response.getEntity() != null) {
                 val token = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
                 val result = cipherExecutor.decode(token).toString();
@@ -62,9 +63,9 @@ public class RestfulPasswordlessTokenRepository extends BasePasswordlessTokenRep
         try {
             val parameters = new HashMap<String, Object>();
             parameters.put("username", username);
-            response = HttpUtils.execute(restProperties.getUrl(), HttpMethod.DELETE.name(),
+            response = HttpUtils.execute(HttpClientPool.PASSWORDLESS_POOL_NAME, restProperties.getUrl(), HttpMethod.DELETE.name(),
                 restProperties.getBasicAuthUsername(), restProperties.getBasicAuthPassword(),
-                parameters, new HashMap<>());
+                parameters, new HashMap<>(), null);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         } finally {
@@ -79,9 +80,9 @@ public class RestfulPasswordlessTokenRepository extends BasePasswordlessTokenRep
             val parameters = new HashMap<String, Object>();
             parameters.put("username", username);
             parameters.put("token", cipherExecutor.encode(token).toString());
-            response = HttpUtils.execute(restProperties.getUrl(), HttpMethod.DELETE.name(),
+            response = HttpUtils.execute(HttpClientPool.PASSWORDLESS_POOL_NAME, restProperties.getUrl(), HttpMethod.DELETE.name(),
                 restProperties.getBasicAuthUsername(), restProperties.getBasicAuthPassword(),
-                parameters, new HashMap<>());
+                parameters, new HashMap<>(), null);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         } finally {
@@ -96,9 +97,9 @@ public class RestfulPasswordlessTokenRepository extends BasePasswordlessTokenRep
             val parameters = new HashMap<String, Object>();
             parameters.put("username", username);
             parameters.put("token", cipherExecutor.encode(token).toString());
-            response = HttpUtils.execute(restProperties.getUrl(), HttpMethod.POST.name(),
+            response = HttpUtils.execute(HttpClientPool.PASSWORDLESS_POOL_NAME, restProperties.getUrl(), HttpMethod.POST.name(),
                 restProperties.getBasicAuthUsername(), restProperties.getBasicAuthPassword(),
-                parameters, new HashMap<>());
+                parameters, new HashMap<>(), null);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         } finally {
@@ -7,11 +7,13 @@ import org.apereo.cas.configuration.model.core.authentication.JdbcPrincipalAttri
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LdapUtils;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.IOUtils;
@@ -48,6 +50,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link CasPersonDirectoryConfiguration}.
@@ -331,7 +334,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        val mergingDao = new MergingPersonAttributeDaoImpl();
+        val mergingDao = newMergingAttributeRepository();
         val merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace").trim();
         LOGGER.trace("Configured merging strategy for attribute sources is [{}]", merger);
         mergingDao.setMerger(CoreAuthenticationUtils.getAttributeMerger(merger));
@@ -347,5 +350,25 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
 
         return mergingDao;
     }
-}
 
+    private MergingPersonAttributeDaoImpl newMergingAttributeRepository() {
+        val aggregation = casProperties.getAuthn().getAttributeRepository().getAggregation();
+        if (!aggregation.isParallel()) {
+            val mergingDao = new MergingPersonAttributeDaoImpl();
+            if (aggregation.getPartialResults() != null) {
+                mergingDao.setRecoverExceptions(aggregation.getPartialResults());
+            }
+            return mergingDao;
+        }
+        val mergingDao = new ParallelMergingPersonAttributeDao(aggregation.getMaxConcurrency(), Metrics.globalRegistry);
+        mergingDao.setTimeout(Beans.newDuration(aggregation.getTimeout()));
+        mergingDao.setTimeouts(aggregation.getTimeouts()
+            .entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> Beans.newDuration(entry.getValue()))));
+        if (aggregation.getPartialResults() != null) {
+            mergingDao.setRecoverExceptions(aggregation.getPartialResults());
+        }
+        return mergingDao;
+    }
+}
@@ -0,0 +1,180 @@
+package org.apereo.cas.persondir;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.Validate;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.GroovyPersonAttributeDao;
+import org.apereo.services.persondir.support.GrouperPersonAttributeDao;
+import org.apereo.services.persondir.support.JsonBackedComplexStubPersonAttributeDao;
+import org.apereo.services.persondir.support.MergingPersonAttributeDaoImpl;
+import org.apereo.services.persondir.support.NamedStubPersonAttributeDao;
+import org.apereo.services.persondir.support.RestfulPersonAttributeDao;
+import org.apereo.services.persondir.support.ScriptEnginePersonAttributeDao;
+import org.apereo.services.persondir.support.jdbc.AbstractJdbcPersonAttributeDao;
+import org.apereo.services.persondir.support.ldap.LdaptivePersonAttributeDao;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao} that queries all attribute repository sources concurrently
+ * on a bounded executor, instead of one after another. Results are merged in the order in which sources are defined
+ * using the configured {@link org.apereo.services.persondir.support.merger.IAttributeMerger}, so the outcome is the same
+ * as that of {@link MergingPersonAttributeDaoImpl} regardless of which source responds first.
+ * Each source may be given its own timeout. A source that fails or times out is either skipped,
+ * if exceptions are recoverable, or fails the entire query.
+ * The time spent by each source is reported to the meter registry, tagged with the source type and outcome.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class ParallelMergingPersonAttributeDao extends MergingPersonAttributeDaoImpl implements DisposableBean {
+    private static final String METER_NAME = "cas.person.directory.source";
+
+    private static final Map<Class<? extends IPersonAttributeDao>, String> SOURCE_TYPES = new LinkedHashMap<>();
+
+    static {
+        SOURCE_TYPES.put(LdaptivePersonAttributeDao.class, "ldap");
+        SOURCE_TYPES.put(AbstractJdbcPersonAttributeDao.class, "jdbc");
+        SOURCE_TYPES.put(RestfulPersonAttributeDao.class, "rest");
+        SOURCE_TYPES.put(GroovyPersonAttributeDao.class, "groovy");
+        SOURCE_TYPES.put(JsonBackedComplexStubPersonAttributeDao.class, "json");
+        SOURCE_TYPES.put(ScriptEnginePersonAttributeDao.class, "script");
+        SOURCE_TYPES.put(GrouperPersonAttributeDao.class, "grouper");
+        SOURCE_TYPES.put(NamedStubPersonAttributeDao.class, "stub");
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    private final MeterRegistry meterRegistry;
+
+    @Setter
+    private Duration timeout = Duration.ZERO;
+
+    @Setter
+    private Map<String, Duration> timeouts = new LinkedHashMap<>();
+
+    public ParallelMergingPersonAttributeDao(final int maxConcurrency, final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 1, TimeUnit.MINUTES,
+            new SynchronousQueue<>(), new CustomizableThreadFactory("cas-attribute-repository-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the type of the given source, used to look up its timeout and to tag its metrics.
+     *
+     * @param dao the source
+     * @return the source type
+     */
+    public static String getSourceType(final IPersonAttributeDao dao) {
+        return SOURCE_TYPES.entrySet()
+            .stream()
+            .filter(entry -> entry.getKey().isInstance(dao))
+            .map(Map.Entry::getValue)
+            .findFirst()
+            .orElseGet(() -> dao.getClass().getSimpleName());
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        val daos = getPersonAttributeDaos();
+        if (daos == null || daos.size() <= 1 || isStopOnSuccess()) {
+            return super.getPeopleWithMultivaluedAttributes(query);
+        }
+        Validate.notNull(query, "query may not be null");
+
+        val start = System.nanoTime();
+        val futures = daos.stream()
+            .map(dao -> this.executor.submit(() -> querySource(dao, query)))
+            .collect(Collectors.toList());
+        try {
+            Set<IPersonAttributes> resultPeople = null;
+            for (var i = 0; i < daos.size(); i++) {
+                val results = awaitSource(daos.get(i), futures.get(i), start);
+                if (results != null) {
+                    resultPeople = resultPeople == null ? new LinkedHashSet<>(results) : getMerger().mergeResults(resultPeople, results);
+                }
+            }
+            LOGGER.debug("Aggregated search results [{}] for query [{}]", resultPeople, query);
+            return resultPeople;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    private Set<IPersonAttributes> querySource(final IPersonAttributeDao dao, final Map<String, List<Object>> query) {
+        val start = System.nanoTime();
+        var outcome = "failure";
+        try {
+            val results = getAttributesFromDao(query, true, dao, null);
+            outcome = "success";
+            return results;
+        } finally {
+            record(dao, outcome, start);
+        }
+    }
+
+    private Set<IPersonAttributes> awaitSource(final IPersonAttributeDao dao, final Future<Set<IPersonAttributes>> future, final long start) {
+        val sourceTimeout = this.timeouts.getOrDefault(getSourceType(dao), this.timeout);
+        try {
+            if (sourceTimeout.isZero() || sourceTimeout.isNegative()) {
+                return future.get();
+            }
+            val remaining = Math.max(0, start + sourceTimeout.toNanos() - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            record(dao, "timeout", start);
+            return handleFailure(dao, new IllegalStateException("Attribute repository source " + dao + " did not respond within " + sourceTimeout));
+        } catch (final ExecutionException e) {
+            val cause = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+            return handleFailure(dao, cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return handleFailure(dao, new IllegalStateException(e));
+        }
+    }
+
+    private Set<IPersonAttributes> handleFailure(final IPersonAttributeDao dao, final RuntimeException e) {
+        if (isRecoverExceptions()) {
+            LOGGER.warn("Recovering from failure of attribute repository source [{}]: [{}]", dao, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+        throw e;
+    }
+
+    private void record(final IPersonAttributeDao dao, final String outcome, final long start) {
+        Timer.builder(METER_NAME)
+            .tag("source", getSourceType(dao))
+            .tag("outcome", outcome)
+            .register(this.meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
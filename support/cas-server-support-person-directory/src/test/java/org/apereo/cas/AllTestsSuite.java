@@ -16,6 +16,7 @@ import org.junit.runners.Suite;
     JdbcSingleRowAttributeRepositoryTests.class,
     RestfulPersonAttributeDaoTests.class,
     CachingAttributeRepositoryTests.class,
+    ParallelMergingPersonAttributeDaoTests.class,
     JdbcSingleRowAttributeRepositoryPostgresTests.class
 })
 public class AllTestsSuite {
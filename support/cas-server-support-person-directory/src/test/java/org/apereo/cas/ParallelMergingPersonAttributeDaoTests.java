@@ -0,0 +1,98 @@
+package org.apereo.cas;
+
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.ReplacingAttributeAdder;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class ParallelMergingPersonAttributeDaoTests {
+    private static final Map<String, List<Object>> QUERY = Map.of("username", List.of("casuser"));
+
+    private static StubPersonAttributeDao getSource(final String color, final long delay) {
+        return new DelayedStubPersonAttributeDao(Map.of("color", List.of(color)), delay);
+    }
+
+    private static ParallelMergingPersonAttributeDao getRepository(final SimpleMeterRegistry meterRegistry) {
+        val dao = new ParallelMergingPersonAttributeDao(4, meterRegistry);
+        dao.setMerger(new ReplacingAttributeAdder());
+        return dao;
+    }
+
+    @Test
+    public void verifySourcesAreQueriedConcurrentlyAndMergedInOrder() {
+        val meterRegistry = new SimpleMeterRegistry();
+        val dao = getRepository(meterRegistry);
+        dao.setPersonAttributeDaos(List.of(getSource("blue", 500), getSource("red", 500), getSource("green", 100)));
+
+        val start = System.currentTimeMillis();
+        val people = dao.getPeopleWithMultivaluedAttributes(QUERY);
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(1, people.size());
+        assertEquals(List.of("green"), people.iterator().next().getAttributeValues("color"));
+        assertEquals(3, meterRegistry.get("cas.person.directory.source").tag("outcome", "success").timer().count());
+        dao.destroy();
+    }
+
+    @Test
+    public void verifySlowSourceIsSkipped() {
+        val meterRegistry = new SimpleMeterRegistry();
+        val dao = getRepository(meterRegistry);
+        dao.setTimeouts(Map.of(DelayedStubPersonAttributeDao.class.getSimpleName(), Duration.ofMillis(200)));
+        dao.setPersonAttributeDaos(List.of(getSource("blue", 50), getSource("red", 5000)));
+
+        val people = dao.getPeopleWithMultivaluedAttributes(QUERY);
+        assertEquals(List.of("blue"), people.iterator().next().getAttributeValues("color"));
+        assertEquals(1, meterRegistry.get("cas.person.directory.source").tag("outcome", "timeout").timer().count());
+        dao.destroy();
+    }
+
+    @Test
+    public void verifySlowSourceFailsQuery() {
+        val dao = getRepository(new SimpleMeterRegistry());
+        dao.setRecoverExceptions(false);
+        dao.setTimeout(Duration.ofMillis(200));
+        dao.setPersonAttributeDaos(List.of(getSource("blue", 50), getSource("red", 5000)));
+        try {
+            dao.getPeopleWithMultivaluedAttributes(QUERY);
+            fail("Query should have failed");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("did not respond"));
+        } finally {
+            dao.destroy();
+        }
+    }
+
+    private static class DelayedStubPersonAttributeDao extends StubPersonAttributeDao {
+        private final long delay;
+
+        DelayedStubPersonAttributeDao(final Map<String, List<Object>> backingMap, final long delay) {
+            super(backingMap);
+            this.delay = delay;
+        }
+
+        @Override
+        @SneakyThrows
+        public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+            Thread.sleep(this.delay);
+            return super.getPeopleWithMultivaluedAttributes(query);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.apereo.cas.web.report;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.util.scripting.ScriptingUtils;
 import org.apereo.cas.web.BaseCasActuatorEndpoint;
 
 import lombok.val;
@@ -49,6 +50,7 @@ public class StatisticsEndpoint extends BaseCasActuatorEndpoint {
         model.put("totalMemory", FileUtils.byteCountToDisplaySize(runtime.totalMemory()));
         model.put("maxMemory", FileUtils.byteCountToDisplaySize(runtime.maxMemory()));
         model.put("freeMemory", FileUtils.byteCountToDisplaySize(runtime.freeMemory()));
+        model.put("groovyScripts", ScriptingUtils.getGroovyScriptClassCache().getStatistics());
 
         val unexpiredTgts = new AtomicInteger();
         val unexpiredSts = new AtomicInteger();
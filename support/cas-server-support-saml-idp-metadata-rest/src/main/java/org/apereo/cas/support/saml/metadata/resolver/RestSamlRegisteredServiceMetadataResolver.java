@@ -8,6 +8,7 @@ import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.BaseSaml
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -39,10 +40,10 @@ public class RestSamlRegisteredServiceMetadataResolver extends BaseSamlRegistere
         HttpResponse response = null;
         try {
             val rest = samlIdPProperties.getMetadata().getRest();
-            response = HttpUtils.execute(rest.getUrl(), rest.getMethod(),
+            response = HttpUtils.execute(HttpClientPool.SAML_METADATA_POOL_NAME, rest.getUrl(), rest.getMethod(),
                 rest.getBasicAuthUsername(), rest.getBasicAuthPassword(),
                 CollectionUtils.wrap("entityId", service.getServiceId()),
-                CollectionUtils.wrap("Content-Type", MediaType.APPLICATION_XML_VALUE));
+                CollectionUtils.wrap("Content-Type", MediaType.APPLICATION_XML_VALUE), null);
             if (response != null && response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
                 val doc = MAPPER.readValue(response.getEntity().getContent(), SamlMetadataDocument.class);
                 val resolver = buildMetadataResolverFrom(service, doc);
@@ -7,12 +7,14 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import com.google.common.io.ByteStreams;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.http.HttpResponse;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 
 import java.io.ByteArrayInputStream;
@@ -45,8 +47,8 @@ public class MetadataQueryProtocolMetadataResolver extends UrlResourceMetadataRe
         val headers = new LinkedHashMap();
         headers.put("Content-Type", metadata.getSupportedContentTypes());
         headers.put("Accept", "*/*");
-        return HttpUtils.executeGet(metadataLocation, metadata.getBasicAuthnUsername(),
-            samlIdPProperties.getMetadata().getBasicAuthnPassword(), new LinkedHashMap<>(), headers);
+        return HttpUtils.execute(HttpClientPool.SAML_METADATA_POOL_NAME, metadataLocation, HttpMethod.GET.name(), metadata.getBasicAuthnUsername(),
+            samlIdPProperties.getMetadata().getBasicAuthnPassword(), new LinkedHashMap<>(), headers, null);
     }
 
     /**
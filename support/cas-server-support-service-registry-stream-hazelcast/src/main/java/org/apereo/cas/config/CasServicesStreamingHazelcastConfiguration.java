@@ -5,7 +5,9 @@ import org.apereo.cas.StringBean;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.services.CasServicesRegistryStreamingChangeHandler;
 import org.apereo.cas.services.RegisteredServiceHazelcastDistributedCacheManager;
+import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.publisher.CasRegisteredServiceHazelcastStreamPublisher;
 import org.apereo.cas.services.publisher.CasRegisteredServiceStreamPublisher;
 import org.apereo.cas.services.replication.DefaultRegisteredServiceReplicationStrategy;
@@ -48,9 +50,20 @@ public class CasServicesStreamingHazelcastConfiguration {
     @Qualifier("casHazelcastInstance")
     private ObjectProvider<HazelcastInstance> hazelcastInstance;
 
+    @Autowired
+    @Qualifier("servicesManager")
+    private ObjectProvider<ServicesManager> servicesManager;
+
     @Bean
     public DistributedCacheManager registeredServiceDistributedCacheManager() {
-        return new RegisteredServiceHazelcastDistributedCacheManager(casRegisteredServiceHazelcastInstance());
+        val manager = new RegisteredServiceHazelcastDistributedCacheManager(casRegisteredServiceHazelcastInstance());
+        manager.setRemoteChangeHandler(casServicesRegistryStreamingChangeHandler());
+        return manager;
+    }
+
+    @Bean
+    public CasServicesRegistryStreamingChangeHandler casServicesRegistryStreamingChangeHandler() {
+        return new CasServicesRegistryStreamingChangeHandler(servicesManager, casProperties.getServiceRegistry().getStream());
     }
 
     @Bean
@@ -0,0 +1,57 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.DistributedCacheObject;
+import org.apereo.cas.configuration.model.support.services.stream.StreamingServiceRegistryProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link CasServicesRegistryStreamingChangeHandler} that applies service definitions
+ * changed by other CAS nodes to the services manager of this node, one definition at a time,
+ * rather than waiting for the next reload of the service registry.
+ * Changes are only applied when the replication mode is {@code ACTIVE_ACTIVE}; otherwise,
+ * this node continues to pick up replicated definitions when services are looked up.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CasServicesRegistryStreamingChangeHandler implements Consumer<DistributedCacheObject<RegisteredService>> {
+    private final ObjectProvider<ServicesManager> servicesManager;
+    private final StreamingServiceRegistryProperties properties;
+
+    @Override
+    public void accept(final DistributedCacheObject<RegisteredService> item) {
+        if (properties.getReplicationMode() != StreamingServiceRegistryProperties.ReplicationModes.ACTIVE_ACTIVE) {
+            LOGGER.trace("Replication mode is [{}]; changed service definition [{}] is not applied locally",
+                properties.getReplicationMode(), item.getValue());
+            return;
+        }
+        val manager = this.servicesManager.getIfAvailable();
+        if (manager == null) {
+            LOGGER.debug("No services manager is available to apply changed service definition [{}]", item.getValue());
+            return;
+        }
+        val service = item.getValue();
+        val existing = manager.findServiceBy(service.getId());
+        if (RegisteredServiceHazelcastDistributedCacheManager.isMarkedAsDeleted(item)) {
+            if (existing != null) {
+                LOGGER.debug("Service definition [{}] was deleted by another CAS node and will be removed locally", existing);
+                manager.delete(existing);
+            }
+            return;
+        }
+        if (service.equals(existing)) {
+            LOGGER.trace("Service definition [{}] is the same as its counterpart on this CAS node", service);
+            return;
+        }
+        LOGGER.debug("Service definition [{}] was changed by another CAS node and will be saved locally", service);
+        manager.save(service, false);
+    }
+}
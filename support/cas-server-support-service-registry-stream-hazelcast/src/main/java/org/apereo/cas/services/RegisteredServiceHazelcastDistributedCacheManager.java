@@ -1,18 +1,37 @@
 package org.apereo.cas.services;
 
 import org.apereo.cas.DistributedCacheObject;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
 
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link RegisteredServiceHazelcastDistributedCacheManager}.
+ * Entries of the Hazelcast map are mirrored locally and kept up to date via map events, so lookups
+ * do not go to the cluster. Entries carry a digest of the service definition, and definitions
+ * whose digest matches the entry already in the map are not sent to the cluster again.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -21,9 +40,26 @@ import java.util.stream.Collectors;
 public class RegisteredServiceHazelcastDistributedCacheManager extends
     BaseDistributedCacheManager<RegisteredService, DistributedCacheObject<RegisteredService>> {
 
+    /**
+     * Name of the property that carries the digest of the cached service definition.
+     */
+    public static final String PROPERTY_DIGEST = "digest";
+
+    /**
+     * Name of the property that carries the event by which the service definition was cached.
+     */
+    public static final String PROPERTY_EVENT = "event";
 
     private final HazelcastInstance instance;
     private final IMap<String, DistributedCacheObject<RegisteredService>> mapInstance;
+    private final Map<String, DistributedCacheObject<RegisteredService>> localEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Handles entries that were changed by other members of the cluster.
+     */
+    @Setter
+    private Consumer<DistributedCacheObject<RegisteredService>> remoteChangeHandler = item -> {
+    };
 
     public RegisteredServiceHazelcastDistributedCacheManager(final HazelcastInstance instance) {
         this.instance = instance;
@@ -31,6 +67,9 @@ public class RegisteredServiceHazelcastDistributedCacheManager extends
         val mapName = instance.getConfig().getMapConfigs().keySet().iterator().next();
         LOGGER.debug("Retrieving Hazelcast map [{}] for service replication", mapName);
         this.mapInstance = instance.getMap(mapName);
+        this.mapInstance.addEntryListener(new LocalEntriesMapListener(), true);
+        this.localEntries.putAll(this.mapInstance);
+        LOGGER.debug("Mirrored [{}] service definition(s) from Hazelcast map [{}]", this.localEntries.size(), mapName);
     }
 
     /**
@@ -40,7 +79,32 @@ public class RegisteredServiceHazelcastDistributedCacheManager extends
      * @return the key
      */
     public static String buildKey(final RegisteredService service) {
-        return service.getId() + ";" + service.getName() + ';' + service.getServiceId();
+        return String.valueOf(service.getId());
+    }
+
+    /**
+     * Gets the digest of the cached service definition, computed from its serialized form
+     * and whether it is marked as deleted.
+     *
+     * @param item the item
+     * @return the digest
+     */
+    public static String getDigest(final DistributedCacheObject<RegisteredService> item) {
+        if (item.containsProperty(PROPERTY_DIGEST)) {
+            return item.getProperty(PROPERTY_DIGEST, String.class);
+        }
+        val digest = DigestUtils.digest(MessageDigestAlgorithms.SHA_256, SerializationUtils.serialize(item.getValue()));
+        return isMarkedAsDeleted(item) ? digest + ';' + CasRegisteredServiceDeletedEvent.class.getSimpleName() : digest;
+    }
+
+    /**
+     * Whether the cached service definition was deleted.
+     *
+     * @param item the item
+     * @return true/false
+     */
+    public static boolean isMarkedAsDeleted(final DistributedCacheObject<RegisteredService> item) {
+        return item.containsProperty(PROPERTY_EVENT) && item.getProperties().get(PROPERTY_EVENT) instanceof CasRegisteredServiceDeletedEvent;
     }
 
     @Override
@@ -50,45 +114,99 @@ public class RegisteredServiceHazelcastDistributedCacheManager extends
 
     @Override
     public Collection<DistributedCacheObject<RegisteredService>> getAll() {
-        return this.mapInstance.values();
+        return new ArrayList<>(this.localEntries.values());
     }
 
     @Override
     public DistributedCacheObject<RegisteredService> get(final RegisteredService service) {
-        if (contains(service)) {
-            val key = buildKey(service);
-            return this.mapInstance.get(key);
-        }
-        return null;
+        return this.localEntries.get(buildKey(service));
     }
 
     @Override
     public void set(final RegisteredService key, final DistributedCacheObject<RegisteredService> item) {
+        val digest = getDigest(item);
+        val cacheKey = buildKey(key);
+        val current = this.localEntries.get(cacheKey);
+        if (current != null && digest.equals(getDigest(current))) {
+            LOGGER.trace("Service definition [{}] is unchanged in the replication cache and will not be broadcast", key.getName());
+            return;
+        }
+        item.getProperties().put(PROPERTY_DIGEST, digest);
         LOGGER.debug("Broadcasting service definition [{}] via Hazelcast...", item);
-        this.mapInstance.set(buildKey(key), item);
+        this.mapInstance.set(cacheKey, item);
+        this.localEntries.put(cacheKey, item);
     }
 
     @Override
     public boolean contains(final RegisteredService service) {
-        val key = buildKey(service);
-        return this.mapInstance.containsKey(key);
+        return this.localEntries.containsKey(buildKey(service));
     }
 
     @Override
     public void remove(final RegisteredService service, final DistributedCacheObject<RegisteredService> item) {
         val key = buildKey(service);
-        this.mapInstance.remove(key);
+        this.localEntries.remove(key);
+        this.mapInstance.delete(key);
     }
 
     @Override
     public void update(final RegisteredService service, final DistributedCacheObject<RegisteredService> item) {
-        remove(service, item);
         set(service, item);
     }
 
     @Override
     public Collection<DistributedCacheObject<RegisteredService>> findAll(
         final Predicate<DistributedCacheObject<RegisteredService>> filter) {
-        return getAll().stream().filter(filter).collect(Collectors.toList());
+        return this.localEntries.values().stream().filter(filter).collect(Collectors.toList());
+    }
+
+    /**
+     * Keeps the local mirror of the map up to date, and hands entries that were added or updated
+     * by other members over to the remote change handler.
+     */
+    private class LocalEntriesMapListener implements
+        EntryAddedListener<String, DistributedCacheObject<RegisteredService>>,
+        EntryUpdatedListener<String, DistributedCacheObject<RegisteredService>>,
+        EntryRemovedListener<String, DistributedCacheObject<RegisteredService>>,
+        EntryEvictedListener<String, DistributedCacheObject<RegisteredService>>,
+        EntryExpiredListener<String, DistributedCacheObject<RegisteredService>> {
+
+        @Override
+        public void entryAdded(final EntryEvent<String, DistributedCacheObject<RegisteredService>> event) {
+            apply(event);
+        }
+
+        @Override
+        public void entryUpdated(final EntryEvent<String, DistributedCacheObject<RegisteredService>> event) {
+            apply(event);
+        }
+
+        @Override
+        public void entryRemoved(final EntryEvent<String, DistributedCacheObject<RegisteredService>> event) {
+            localEntries.remove(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<String, DistributedCacheObject<RegisteredService>> event) {
+            localEntries.remove(event.getKey());
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<String, DistributedCacheObject<RegisteredService>> event) {
+            localEntries.remove(event.getKey());
+        }
+
+        private void apply(final EntryEvent<String, DistributedCacheObject<RegisteredService>> event) {
+            val item = event.getValue();
+            if (item == null) {
+                return;
+            }
+            val previous = localEntries.put(event.getKey(), item);
+            val changed = previous == null || !Objects.equals(getDigest(previous), getDigest(item));
+            if (changed && event.getMember() != null && !event.getMember().localMember()) {
+                LOGGER.debug("Service definition [{}] was changed by cluster member [{}]", item.getValue().getName(), event.getMember());
+                remoteChangeHandler.accept(item);
+            }
+        }
     }
 }
@@ -4,6 +4,7 @@ import org.apereo.cas.DistributedCacheManager;
 import org.apereo.cas.DistributedCacheObject;
 import org.apereo.cas.StringBean;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceHazelcastDistributedCacheManager;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -46,7 +47,7 @@ public class CasRegisteredServiceHazelcastStreamPublisher extends BaseCasRegiste
     private static DistributedCacheObject<RegisteredService> getCacheObject(final RegisteredService service, final ApplicationEvent event) {
         val time = new Date().getTime();
         val item = new DistributedCacheObject<RegisteredService>(time, service);
-        item.getProperties().put("event", event);
+        item.getProperties().put(RegisteredServiceHazelcastDistributedCacheManager.PROPERTY_EVENT, event);
         return item;
     }
 }
@@ -0,0 +1,90 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.DistributedCacheObject;
+import org.apereo.cas.configuration.model.support.services.stream.StreamingServiceRegistryProperties;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CasServicesRegistryStreamingChangeHandlerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CasServicesRegistryStreamingChangeHandlerTests {
+    private ServicesManager servicesManager;
+
+    private StreamingServiceRegistryProperties properties;
+
+    private CasServicesRegistryStreamingChangeHandler handler;
+
+    private static DistributedCacheObject<RegisteredService> getCacheObject(final RegisteredService service, final Object event) {
+        val item = new DistributedCacheObject<RegisteredService>(service);
+        item.getProperties().put(RegisteredServiceHazelcastDistributedCacheManager.PROPERTY_EVENT, event);
+        return item;
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void initialize() {
+        this.servicesManager = mock(ServicesManager.class);
+        val provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(this.servicesManager);
+        this.properties = new StreamingServiceRegistryProperties();
+        this.properties.setReplicationMode(StreamingServiceRegistryProperties.ReplicationModes.ACTIVE_ACTIVE);
+        this.handler = new CasServicesRegistryStreamingChangeHandler(provider, this.properties);
+    }
+
+    @Test
+    public void verifyRemoteSaveIsAppliedLocally() {
+        val service = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        val existing = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        existing.setDescription("Outdated description");
+        when(servicesManager.findServiceBy(service.getId())).thenReturn(existing);
+
+        handler.accept(getCacheObject(service, new CasRegisteredServiceSavedEvent(this, service)));
+        verify(servicesManager).save(service, false);
+        verify(servicesManager, never()).delete(any(RegisteredService.class));
+    }
+
+    @Test
+    public void verifyRemoteDeleteIsAppliedLocally() {
+        val service = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        val existing = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        when(servicesManager.findServiceBy(service.getId())).thenReturn(existing);
+
+        handler.accept(getCacheObject(service, new CasRegisteredServiceDeletedEvent(this, service)));
+        verify(servicesManager).delete(existing);
+        verify(servicesManager, never()).save(any(RegisteredService.class), anyBoolean());
+    }
+
+    @Test
+    public void verifyUnchangedServiceIsNotSaved() {
+        val service = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        val existing = SerializationUtils.deserialize(SerializationUtils.serialize(service), RegisteredService.class);
+        when(servicesManager.findServiceBy(service.getId())).thenReturn(existing);
+
+        handler.accept(getCacheObject(service, new CasRegisteredServiceSavedEvent(this, service)));
+        verify(servicesManager, never()).save(any(RegisteredService.class), anyBoolean());
+        verify(servicesManager, never()).delete(any(RegisteredService.class));
+    }
+
+    @Test
+    public void verifyChangesAreNotAppliedWhenActivePassive() {
+        properties.setReplicationMode(StreamingServiceRegistryProperties.ReplicationModes.ACTIVE_PASSIVE);
+        val service = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+
+        handler.accept(getCacheObject(service, new CasRegisteredServiceSavedEvent(this, service)));
+        handler.accept(getCacheObject(service, new CasRegisteredServiceDeletedEvent(this, service)));
+        verifyZeroInteractions(servicesManager);
+    }
+}
@@ -62,6 +62,37 @@ public class RegisteredServiceHazelcastDistributedCacheManagerTests {
         assertTrue(mgr.getAll().isEmpty());
     }
 
+    @Test
+    public void verifyUnchangedServiceIsNotBroadcast() {
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService();
+        val cache = new DistributedCacheObject<RegisteredService>(registeredService);
+        cache.getProperties().put("marker", "first");
+        mgr.set(registeredService, cache);
+        mgr.set(registeredService, new DistributedCacheObject<>(registeredService));
+
+        val key = RegisteredServiceHazelcastDistributedCacheManager.buildKey(registeredService);
+        val entries = hz.<String, DistributedCacheObject<RegisteredService>>getMap("cache");
+        assertEquals("first", entries.get(key).getProperty("marker", String.class));
+
+        registeredService.setDescription("Changed description");
+        mgr.set(registeredService, new DistributedCacheObject<>(registeredService));
+        assertFalse(entries.get(key).containsProperty("marker"));
+        assertEquals(1, entries.size());
+    }
+
+    @Test
+    public void verifyDeletedServiceReplacesEntry() {
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService();
+        mgr.set(registeredService, new DistributedCacheObject<>(registeredService));
+
+        val item = new DistributedCacheObject<RegisteredService>(registeredService);
+        item.getProperties().put(RegisteredServiceHazelcastDistributedCacheManager.PROPERTY_EVENT, new CasRegisteredServiceDeletedEvent(this, registeredService));
+        mgr.update(registeredService, item);
+        assertEquals(1, mgr.getAll().size());
+        assertTrue(mgr.get(registeredService).getProperties().get(RegisteredServiceHazelcastDistributedCacheManager.PROPERTY_EVENT) instanceof CasRegisteredServiceDeletedEvent);
+        assertEquals(1, hz.getMap("cache").size());
+    }
+
     @Test
     public void verifyPublisher() {
         val registeredService = RegisteredServiceTestUtils.getRegisteredService();
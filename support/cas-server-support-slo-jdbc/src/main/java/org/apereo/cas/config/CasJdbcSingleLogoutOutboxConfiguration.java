@@ -0,0 +1,77 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.logout.slo.ConcurrentSingleLogoutMessageDispatcher;
+import org.apereo.cas.logout.slo.JdbcSingleLogoutMessageOutbox;
+import org.apereo.cas.logout.slo.SingleLogoutMessageOutbox;
+import org.apereo.cas.logout.slo.SingleLogoutMessageOutboxProcessor;
+import org.apereo.cas.util.InetAddressUtils;
+
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * This is {@link CasJdbcSingleLogoutOutboxConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Configuration("casJdbcSingleLogoutOutboxConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@EnableScheduling
+public class CasJdbcSingleLogoutOutboxConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Autowired
+    @Qualifier("singleLogoutMessageDispatcher")
+    private ObjectProvider<ConcurrentSingleLogoutMessageDispatcher> singleLogoutMessageDispatcher;
+
+    @ConditionalOnMissingBean(name = "singleLogoutOutboxDataSource")
+    @Bean
+    public DataSource singleLogoutOutboxDataSource() {
+        return JpaBeans.newDataSource(casProperties.getSlo().getOutbox().getJdbc());
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutMessageOutbox")
+    @Bean
+    public SingleLogoutMessageOutbox singleLogoutMessageOutbox() {
+        val owner = InetAddressUtils.getCasServerHostName() + '-' + UUID.randomUUID();
+        return new JdbcSingleLogoutMessageOutbox(singleLogoutOutboxDataSource(),
+            casProperties.getSlo().getOutbox().getJdbc().getTableName(), owner);
+    }
+
+    /**
+     * Delivers messages from the outbox through the logout message dispatcher, which must be enabled.
+     */
+    @Configuration("casJdbcSingleLogoutOutboxProcessorConfiguration")
+    @ConditionalOnProperty(prefix = "cas.slo.dispatcher", name = "enabled", havingValue = "true")
+    public class CasJdbcSingleLogoutOutboxProcessorConfiguration {
+        @ConditionalOnMissingBean(name = "singleLogoutMessageOutboxProcessor")
+        @ConditionalOnProperty(prefix = "cas.slo.outbox.schedule", name = "enabled", havingValue = "true", matchIfMissing = true)
+        @Bean
+        public Runnable singleLogoutMessageOutboxProcessor() {
+            val outbox = casProperties.getSlo().getOutbox();
+            return new SingleLogoutMessageOutboxProcessor(singleLogoutMessageOutbox(),
+                singleLogoutMessageDispatcher.getObject(),
+                outbox.getBatchSize(),
+                Beans.newDuration(outbox.getLeaseDuration()),
+                outbox.getMaxAttempts(),
+                Beans.newDuration(outbox.getRetryBackoff()));
+        }
+    }
+}
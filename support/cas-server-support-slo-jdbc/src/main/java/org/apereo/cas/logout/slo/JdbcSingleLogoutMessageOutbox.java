@@ -0,0 +1,115 @@
+package org.apereo.cas.logout.slo;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link JdbcSingleLogoutMessageOutbox} that keeps pending logout messages in a relational database table,
+ * so they may be claimed by any node in the cluster. Messages are claimed with a conditional update on each row that
+ * only succeeds if the row is unclaimed or its lease has expired, which keeps concurrent nodes from delivering
+ * the same message twice without requiring row locks or vendor-specific SQL. Each operation runs in its own
+ * short transaction, so claims and deliveries are visible to other nodes right away.
+ * <p>
+ * The table is expected to carry the following layout:
+ * <pre>
+ * CREATE TABLE CAS_SLO_OUTBOX (
+ *     ID VARCHAR(64) NOT NULL PRIMARY KEY,
+ *     URL VARCHAR(2048) NOT NULL,
+ *     BODY CLOB NOT NULL,
+ *     CONTENT_TYPE VARCHAR(255) NOT NULL,
+ *     ATTEMPTS INTEGER NOT NULL,
+ *     NEXT_ATTEMPT BIGINT NOT NULL,
+ *     CLAIMED_BY VARCHAR(255),
+ *     LEASE_EXPIRES BIGINT
+ * )
+ * </pre>
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class JdbcSingleLogoutMessageOutbox implements SingleLogoutMessageOutbox {
+    private static final RowMapper<SingleLogoutOutboxMessage> ROW_MAPPER = (rs, rowNum) -> SingleLogoutOutboxMessage.builder()
+        .id(rs.getString("ID"))
+        .url(rs.getString("URL"))
+        .body(rs.getString("BODY"))
+        .contentType(rs.getString("CONTENT_TYPE"))
+        .attempts(rs.getInt("ATTEMPTS"))
+        .nextAttempt(rs.getLong("NEXT_ATTEMPT"))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String owner;
+
+    private final String sqlInsert;
+
+    private final String sqlSelectDue;
+
+    private final String sqlClaim;
+
+    private final String sqlDelete;
+
+    private final String sqlRelease;
+
+    public JdbcSingleLogoutMessageOutbox(final DataSource dataSource, final String tableName, final String owner) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.owner = owner;
+        this.sqlInsert = "INSERT INTO " + tableName
+            + " (ID, URL, BODY, CONTENT_TYPE, ATTEMPTS, NEXT_ATTEMPT) VALUES (?, ?, ?, ?, ?, ?)";
+        this.sqlSelectDue = "SELECT ID, URL, BODY, CONTENT_TYPE, ATTEMPTS, NEXT_ATTEMPT FROM " + tableName
+            + " WHERE NEXT_ATTEMPT <= ? AND (CLAIMED_BY IS NULL OR LEASE_EXPIRES < ?) ORDER BY NEXT_ATTEMPT";
+        this.sqlClaim = "UPDATE " + tableName + " SET CLAIMED_BY = ?, LEASE_EXPIRES = ?"
+            + " WHERE ID = ? AND (CLAIMED_BY IS NULL OR LEASE_EXPIRES < ?)";
+        this.sqlDelete = "DELETE FROM " + tableName + " WHERE ID = ? AND CLAIMED_BY = ?";
+        this.sqlRelease = "UPDATE " + tableName + " SET ATTEMPTS = ?, NEXT_ATTEMPT = ?, CLAIMED_BY = NULL, LEASE_EXPIRES = NULL"
+            + " WHERE ID = ? AND CLAIMED_BY = ?";
+    }
+
+    @Override
+    public void store(final SingleLogoutOutboxMessage message) {
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.update(this.sqlInsert, message.getId(), message.getUrl(),
+            message.getBody(), message.getContentType(), message.getAttempts(), message.getNextAttempt()));
+    }
+
+    @Override
+    public Collection<SingleLogoutOutboxMessage> claim(final int count, final Duration lease) {
+        val now = System.currentTimeMillis();
+        val leaseExpires = now + lease.toMillis();
+        val template = new JdbcTemplate(this.jdbcTemplate.getDataSource());
+        template.setMaxRows(count);
+        return this.transactionTemplate.execute(status -> template.query(this.sqlSelectDue, ROW_MAPPER, now, now)
+            .stream()
+            .filter(message -> {
+                val claimed = this.jdbcTemplate.update(this.sqlClaim, this.owner, leaseExpires, message.getId(), now) > 0;
+                if (!claimed) {
+                    LOGGER.trace("Logout message [{}] was claimed by another node", message.getId());
+                }
+                return claimed;
+            })
+            .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void remove(final SingleLogoutOutboxMessage message) {
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.update(this.sqlDelete, message.getId(), this.owner));
+    }
+
+    @Override
+    public void release(final SingleLogoutOutboxMessage message) {
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.update(this.sqlRelease,
+            message.getAttempts(), message.getNextAttempt(), message.getId(), this.owner));
+    }
+}
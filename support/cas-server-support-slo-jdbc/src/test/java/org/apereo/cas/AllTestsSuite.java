@@ -0,0 +1,17 @@
+package org.apereo.cas;
+
+import org.apereo.cas.logout.slo.JdbcSingleLogoutMessageOutboxTests;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * This is {@link AllTestsSuite}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses(JdbcSingleLogoutMessageOutboxTests.class)
+public class AllTestsSuite {
+}
@@ -0,0 +1,102 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.configuration.support.JpaBeans;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JdbcSingleLogoutMessageOutboxTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class JdbcSingleLogoutMessageOutboxTests {
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private DataSource dataSource;
+
+    private JdbcSingleLogoutMessageOutbox outbox;
+
+    private static SingleLogoutOutboxMessage getMessage(final long nextAttempt) {
+        return SingleLogoutOutboxMessage.builder()
+            .id(UUID.randomUUID().toString())
+            .url("https://app.example.org/logout")
+            .body("logoutRequest=message")
+            .contentType("application/x-www-form-urlencoded")
+            .nextAttempt(nextAttempt)
+            .build();
+    }
+
+    @Before
+    public void initialize() {
+        val properties = new SloProperties.Jdbc();
+        properties.setUrl("jdbc:hsqldb:mem:cas-slo-outbox");
+        this.dataSource = JpaBeans.newDataSource(properties);
+        new JdbcTemplate(dataSource).execute("CREATE TABLE CAS_SLO_OUTBOX (ID VARCHAR(64) NOT NULL PRIMARY KEY, "
+            + "URL VARCHAR(2048) NOT NULL, BODY CLOB NOT NULL, CONTENT_TYPE VARCHAR(255) NOT NULL, ATTEMPTS INTEGER NOT NULL, "
+            + "NEXT_ATTEMPT BIGINT NOT NULL, CLAIMED_BY VARCHAR(255), LEASE_EXPIRES BIGINT)");
+        this.outbox = new JdbcSingleLogoutMessageOutbox(dataSource, "CAS_SLO_OUTBOX", "node1");
+    }
+
+    @After
+    public void cleanup() {
+        new JdbcTemplate(dataSource).execute("DROP TABLE CAS_SLO_OUTBOX");
+    }
+
+    @Test
+    public void verifyMessageIsClaimedOnce() {
+        val message = getMessage(System.currentTimeMillis());
+        outbox.store(message);
+        val other = new JdbcSingleLogoutMessageOutbox(dataSource, "CAS_SLO_OUTBOX", "node2");
+
+        val claimed = outbox.claim(10, LEASE);
+        assertEquals(1, claimed.size());
+        val result = claimed.iterator().next();
+        assertEquals(message.getId(), result.getId());
+        assertEquals(message.getBody(), result.getBody());
+        assertTrue(other.claim(10, LEASE).isEmpty());
+
+        other.remove(result);
+        assertTrue(outbox.claim(10, LEASE).isEmpty());
+        outbox.remove(result);
+        assertEquals(0, new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM CAS_SLO_OUTBOX", Integer.class).intValue());
+    }
+
+    @Test
+    public void verifyExpiredLeaseIsClaimedByOtherNode() {
+        outbox.store(getMessage(System.currentTimeMillis()));
+        assertEquals(1, outbox.claim(10, Duration.ofMillis(-1)).size());
+        val other = new JdbcSingleLogoutMessageOutbox(dataSource, "CAS_SLO_OUTBOX", "node2");
+        assertEquals(1, other.claim(10, LEASE).size());
+    }
+
+    @Test
+    public void verifyReleasedMessageIsDelayed() {
+        outbox.store(getMessage(System.currentTimeMillis()));
+        val message = outbox.claim(10, LEASE).iterator().next();
+        message.setAttempts(1);
+        message.setNextAttempt(System.currentTimeMillis() + LEASE.toMillis());
+        outbox.release(message);
+        assertTrue(outbox.claim(10, LEASE).isEmpty());
+    }
+
+    @Test
+    public void verifyClaimIsBounded() {
+        for (var i = 0; i < 5; i++) {
+            outbox.store(getMessage(System.currentTimeMillis()));
+        }
+        assertEquals(3, outbox.claim(3, LEASE).size());
+        assertEquals(2, outbox.claim(3, LEASE).size());
+    }
+}
@@ -6,6 +6,7 @@ import org.apereo.cas.configuration.model.support.surrogate.SurrogateAuthenticat
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.http.HttpClientPool;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,9 +45,9 @@ public class SurrogateRestAuthenticationService extends BaseSurrogateAuthenticat
     public boolean canAuthenticateAsInternal(final String surrogate, final Principal principal, final Service service) {
         HttpResponse response = null;
         try {
-            response = HttpUtils.execute(properties.getUrl(), properties.getMethod(),
+            response = HttpUtils.execute(HttpClientPool.SURROGATE_POOL_NAME, properties.getUrl(), properties.getMethod(),
                 properties.getBasicAuthUsername(), properties.getBasicAuthPassword(),
-                CollectionUtils.wrap("surrogate", surrogate, "principal", principal.getId()), new HashMap<>());
+                CollectionUtils.wrap("surrogate", surrogate, "principal", principal.getId()), new HashMap<>(), null);
             val statusCode = response.getStatusLine().getStatusCode();
             return HttpStatus.valueOf(statusCode).is2xxSuccessful();
         } catch (final Exception e) {
@@ -61,9 +62,9 @@ public class SurrogateRestAuthenticationService extends BaseSurrogateAuthenticat
     public List<String> getEligibleAccountsForSurrogateToProxy(final String username) {
         HttpResponse response = null;
         try {
-            response = HttpUtils.execute(properties.getUrl(), properties.getMethod(),
+            response = HttpUtils.execute(HttpClientPool.SURROGATE_POOL_NAME, properties.getUrl(), properties.getMethod(),
                 properties.getBasicAuthUsername(), properties.getBasicAuthPassword(),
-                CollectionUtils.wrap("principal", username), new HashMap<>());
+                CollectionUtils.wrap("principal", username), new HashMap<>(), null);
             return MAPPER.readValue(response.getEntity().getContent(), List.class);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
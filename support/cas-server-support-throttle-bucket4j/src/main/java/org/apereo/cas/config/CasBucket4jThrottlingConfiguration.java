@@ -2,6 +2,7 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
+import org.apereo.cas.web.Bucket4jKeyedThrottledRequestExecutor;
 import org.apereo.cas.web.Bucket4jThrottledRequestExecutor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,11 @@ public class CasBucket4jThrottlingConfiguration {
     @Bean
     public ThrottledRequestExecutor throttledRequestExecutor() {
         val throttle = casProperties.getAuthn().getThrottle();
-        return new Bucket4jThrottledRequestExecutor(throttle.getBucket4j());
+        val bucket4j = throttle.getBucket4j();
+        if (!bucket4j.getKeys().isEmpty()) {
+            LOGGER.debug("Activating keyed token buckets for [{}], tracking up to [{}] keys", bucket4j.getKeys(), bucket4j.getMaximumKeys());
+            return new Bucket4jKeyedThrottledRequestExecutor(bucket4j, throttle.getUsernameParameter());
+        }
+        return new Bucket4jThrottledRequestExecutor(bucket4j);
     }
 }
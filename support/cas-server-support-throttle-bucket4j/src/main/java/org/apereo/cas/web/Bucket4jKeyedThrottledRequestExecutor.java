@@ -0,0 +1,142 @@
+package org.apereo.cas.web;
+
+import org.apereo.cas.configuration.model.support.throttle.Bucket4jThrottleProperties;
+import org.apereo.cas.throttle.ThrottledRequestExecutor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * This is {@link Bucket4jKeyedThrottledRequestExecutor} that assigns a token bucket
+ * to each client IP address, username or both, rather than sharing a single bucket
+ * across the server. Buckets are kept in a size-bounded cache and are evicted
+ * once idle long enough to have fully refilled, so memory stays bounded
+ * regardless of the number of distinct keys seen by the server.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class Bucket4jKeyedThrottledRequestExecutor implements ThrottledRequestExecutor {
+    private static final String DEFAULT_USERNAME_PARAMETER = "username";
+
+    private static final String METRIC_NAME_THROTTLED = "cas.throttle.bucket4j.throttled";
+
+    private static final String METRIC_NAME_KEYS = "cas.throttle.bucket4j.keys";
+
+    private final Cache<String, Bucket> buckets;
+
+    private final Map<Bucket4jThrottleProperties.KeyTypes, Counter> throttledCounters;
+
+    private final String usernameParameter;
+
+    private final Function<String, Bucket> bucketFactory;
+
+    public Bucket4jKeyedThrottledRequestExecutor(final Bucket4jThrottleProperties properties,
+                                                 final String usernameParameter) {
+        this(properties, usernameParameter, Metrics.globalRegistry);
+    }
+
+    public Bucket4jKeyedThrottledRequestExecutor(final Bucket4jThrottleProperties properties,
+                                                 final String usernameParameter,
+                                                 final MeterRegistry meterRegistry) {
+        this.usernameParameter = StringUtils.defaultIfBlank(usernameParameter, DEFAULT_USERNAME_PARAMETER);
+
+        val duration = Duration.ofSeconds(properties.getRangeInSeconds());
+        val greedyRefill = Refill.greedy(properties.getCapacity(), duration);
+        val limit = properties.getOverdraft() > 0
+            ? Bandwidth.classic(properties.getOverdraft(), greedyRefill)
+            : Bandwidth.simple(properties.getCapacity(), duration);
+        this.bucketFactory = key -> Bucket4j.builder()
+            .addLimit(limit)
+            .withMillisecondPrecision()
+            .build();
+
+        val refillCapacity = Math.max(properties.getCapacity(), properties.getOverdraft());
+        val refillSeconds = Math.max(1, (long) Math.ceil((double) properties.getRangeInSeconds()
+            * refillCapacity / Math.max(1, properties.getCapacity())));
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumKeys())
+            .expireAfterAccess(refillSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.buckets, METRIC_NAME_KEYS);
+
+        this.throttledCounters = new EnumMap<>(Bucket4jThrottleProperties.KeyTypes.class);
+        properties.getKeys().forEach(type -> this.throttledCounters.put(type,
+            Counter.builder(METRIC_NAME_THROTTLED)
+                .description("Number of requests throttled by keyed token buckets")
+                .tag("key", type.name())
+                .register(meterRegistry)));
+    }
+
+    @Override
+    public boolean throttle(final HttpServletRequest request, final HttpServletResponse response) {
+        for (val entry : this.throttledCounters.entrySet()) {
+            val key = buildKey(entry.getKey(), request);
+            if (key == null) {
+                continue;
+            }
+            val bucket = this.buckets.get(key, this.bucketFactory);
+            if (!bucket.tryConsume(1)) {
+                entry.getValue().increment();
+                val probe = bucket.estimateAbilityToConsume(1);
+                val seconds = TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill());
+                response.addHeader("X-Rate-Limit-Retry-After-Seconds", Long.toString(seconds));
+                LOGGER.warn("The request is throttled as capacity for [{}] key [{}] is entirely consumed", entry.getKey(), key);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build the bucket key for the given key type.
+     *
+     * @param type    the type
+     * @param request the request
+     * @return the key, or null if the request does not carry the required attributes.
+     */
+    protected String buildKey(final Bucket4jThrottleProperties.KeyTypes type, final HttpServletRequest request) {
+        switch (type) {
+            case USERNAME:
+                val username = request.getParameter(this.usernameParameter);
+                return StringUtils.isBlank(username) ? null : "u:" + username.toLowerCase();
+            case IP_ADDRESS_AND_USERNAME:
+                val user = request.getParameter(this.usernameParameter);
+                return StringUtils.isBlank(user) ? null : "iu:" + getClientIpAddress(request) + ';' + user.toLowerCase();
+            case IP_ADDRESS:
+            default:
+                return "i:" + getClientIpAddress(request);
+        }
+    }
+
+    private static String getClientIpAddress(final HttpServletRequest request) {
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        return clientInfo != null && StringUtils.isNotBlank(clientInfo.getClientIpAddress())
+            ? clientInfo.getClientIpAddress()
+            : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,75 @@
+package org.apereo.cas.web;
+
+import org.apereo.cas.configuration.model.support.throttle.Bucket4jThrottleProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link Bucket4jKeyedThrottledRequestExecutorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class Bucket4jKeyedThrottledRequestExecutorTests {
+
+    private static Bucket4jThrottleProperties getProperties(final Bucket4jThrottleProperties.KeyTypes... keys) {
+        val properties = new Bucket4jThrottleProperties();
+        properties.setCapacity(2);
+        properties.setRangeInSeconds(60);
+        properties.setBlocking(false);
+        properties.setMaximumKeys(10);
+        properties.setKeys(List.of(keys));
+        return properties;
+    }
+
+    private static MockHttpServletRequest getRequest(final String ip, final String username) {
+        val request = new MockHttpServletRequest("POST", "/cas/login");
+        request.setRemoteAddr(ip);
+        request.addParameter("username", username);
+        return request;
+    }
+
+    @Test
+    public void verifyThrottledByIpAddress() {
+        val registry = new SimpleMeterRegistry();
+        val executor = new Bucket4jKeyedThrottledRequestExecutor(
+            getProperties(Bucket4jThrottleProperties.KeyTypes.IP_ADDRESS), null, registry);
+        val response = new MockHttpServletResponse();
+        assertFalse(executor.throttle(getRequest("1.2.3.4", "casuser"), response));
+        assertFalse(executor.throttle(getRequest("1.2.3.4", "other"), response));
+        assertTrue(executor.throttle(getRequest("1.2.3.4", "casuser"), response));
+        assertNotNull(response.getHeader("X-Rate-Limit-Retry-After-Seconds"));
+        assertFalse(executor.throttle(getRequest("5.6.7.8", "casuser"), new MockHttpServletResponse()));
+        assertEquals(1, registry.get("cas.throttle.bucket4j.throttled").counter().count(), 0);
+    }
+
+    @Test
+    public void verifyThrottledByIpAddressAndUsername() {
+        val executor = new Bucket4jKeyedThrottledRequestExecutor(
+            getProperties(Bucket4jThrottleProperties.KeyTypes.IP_ADDRESS_AND_USERNAME), null, new SimpleMeterRegistry());
+        val response = new MockHttpServletResponse();
+        assertFalse(executor.throttle(getRequest("1.2.3.4", "casuser"), response));
+        assertFalse(executor.throttle(getRequest("1.2.3.4", "CASUSER"), response));
+        assertTrue(executor.throttle(getRequest("1.2.3.4", "casuser"), response));
+        assertFalse(executor.throttle(getRequest("1.2.3.4", "other"), response));
+    }
+
+    @Test
+    public void verifyTrackedKeysAreBounded() {
+        val executor = new Bucket4jKeyedThrottledRequestExecutor(
+            getProperties(Bucket4jThrottleProperties.KeyTypes.USERNAME), null, new SimpleMeterRegistry());
+        IntStream.range(0, 1000).forEach(i ->
+            assertFalse(executor.throttle(getRequest("1.2.3.4", "user" + i), new MockHttpServletResponse())));
+        executor.getBuckets().cleanUp();
+        assertTrue(executor.getBuckets().estimatedSize() <= 10);
+    }
+}
@@ -5,6 +5,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.JdbcFailureCounterThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
@@ -57,6 +58,19 @@ public class CasJdbcThrottlingConfiguration {
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle() {
         val throttle = casProperties.getAuthn().getThrottle();
         val failure = throttle.getFailure();
+        if (throttle.getJdbc().isFailureCounterEnabled()) {
+            return new JdbcFailureCounterThrottledSubmissionHandlerInterceptorAdapter(
+                failure.getThreshold(),
+                failure.getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                auditTrailManager.getIfAvailable(),
+                inspektrThrottleDataSource(),
+                throttle.getAppCode(),
+                throttle.getJdbc().getFailureCounterTableName(),
+                failure.getCode(),
+                throttledRequestResponseHandler.getIfAvailable(),
+                throttledRequestExecutor.getIfAvailable());
+        }
         return new JdbcThrottledSubmissionHandlerInterceptorAdapter(
             failure.getThreshold(),
             failure.getRangeSeconds(),
@@ -0,0 +1,130 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.cas.throttle.ThrottledRequestExecutor;
+import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Date;
+
+/**
+ * Tracks failed login attempts in a dedicated, compact counter table keyed by IP address and username,
+ * rather than querying the audit log on every submission. Each key holds the timestamps of its two
+ * most recent failures, which is all that is needed to compute the submission rate, so checking the
+ * threshold is a single primary-key lookup and recording a failure is a single upsert.
+ * <p>
+ * The table is expected to carry the following layout:
+ * <pre>
+ * CREATE TABLE CAS_THROTTLE_FAILURE (
+ *     THROTTLE_KEY VARCHAR(255) NOT NULL PRIMARY KEY,
+ *     LAST_FAILURE BIGINT NOT NULL,
+ *     PREVIOUS_FAILURE BIGINT
+ * )
+ * </pre>
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class JdbcFailureCounterThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String sqlSelect;
+
+    private final String sqlUpdate;
+
+    private final String sqlInsert;
+
+    private final String sqlDeleteExpired;
+
+    public JdbcFailureCounterThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
+                                                                          final int failureRangeInSeconds,
+                                                                          final String usernameParameter,
+                                                                          final AuditTrailExecutionPlan auditTrailManager,
+                                                                          final DataSource dataSource,
+                                                                          final String applicationCode,
+                                                                          final String tableName,
+                                                                          final String authenticationFailureCode,
+                                                                          final ThrottledRequestResponseHandler throttledRequestResponseHandler,
+                                                                          final ThrottledRequestExecutor throttledRequestExecutor) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailManager, applicationCode,
+            throttledRequestResponseHandler, throttledRequestExecutor);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.sqlSelect = "SELECT LAST_FAILURE, PREVIOUS_FAILURE FROM " + tableName + " WHERE THROTTLE_KEY = ?";
+        this.sqlUpdate = "UPDATE " + tableName + " SET PREVIOUS_FAILURE = LAST_FAILURE, LAST_FAILURE = ? WHERE THROTTLE_KEY = ?";
+        this.sqlInsert = "INSERT INTO " + tableName + " (THROTTLE_KEY, LAST_FAILURE) VALUES (?, ?)";
+        this.sqlDeleteExpired = "DELETE FROM " + tableName + " WHERE LAST_FAILURE < ?";
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        val key = constructKey(request);
+        val cutoff = getFailureInRangeCutOffDate().getTime();
+        val failures = new ArrayList<Date>(2);
+        this.jdbcTemplate.query(this.sqlSelect, new Object[]{key}, resultSet -> {
+            val last = resultSet.getLong(1);
+            if (last >= cutoff) {
+                failures.add(new Date(last));
+                val previous = resultSet.getLong(2);
+                if (!resultSet.wasNull() && previous >= cutoff) {
+                    failures.add(new Date(previous));
+                }
+            }
+        });
+        return calculateFailureThresholdRateAndCompare(failures);
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        val key = constructKey(request);
+        val now = System.currentTimeMillis();
+        LOGGER.debug("Recording submission failure [{}]", key);
+        if (this.jdbcTemplate.update(this.sqlUpdate, now, key) > 0) {
+            return;
+        }
+        try {
+            this.jdbcTemplate.update(this.sqlInsert, key, now);
+        } catch (final DataIntegrityViolationException e) {
+            LOGGER.trace("Failure counter for [{}] was concurrently created; updating instead", key);
+            this.jdbcTemplate.update(this.sqlUpdate, now, key);
+        }
+    }
+
+    @Override
+    public void decrement() {
+        val cutoff = getFailureInRangeCutOffDate().getTime();
+        val count = this.jdbcTemplate.update(this.sqlDeleteExpired, cutoff);
+        LOGGER.debug("Removed [{}] expired failure counters", count);
+    }
+
+    /**
+     * Construct the key that tracks failures from the request.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        val remoteAddress = clientInfo != null ? clientInfo.getClientIpAddress() : request.getRemoteAddr();
+        val username = getUsernameParameterFromRequest(request);
+        if (StringUtils.isBlank(username)) {
+            return remoteAddress;
+        }
+        return remoteAddress + ';' + username.toLowerCase();
+    }
+
+    @Override
+    public String getName() {
+        return "JdbcFailureCounterIpAddressUsernameThrottle";
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.web.support.JdbcFailureCounterThrottledSubmissionHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapterTests;
 
 import org.junit.runner.RunWith;
@@ -12,8 +13,9 @@ import org.junit.runners.Suite;
  * @since 4.2.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses(
-    JdbcThrottledSubmissionHandlerInterceptorAdapterTests.class
-)
+@Suite.SuiteClasses({
+    JdbcThrottledSubmissionHandlerInterceptorAdapterTests.class,
+    JdbcFailureCounterThrottledSubmissionHandlerInterceptorAdapterTests.class
+})
 public class AllTestsSuite {
 }
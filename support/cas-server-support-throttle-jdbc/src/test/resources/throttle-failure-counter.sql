@@ -0,0 +1,2 @@
+DROP TABLE CAS_THROTTLE_FAILURE IF EXISTS;
+CREATE TABLE CAS_THROTTLE_FAILURE (THROTTLE_KEY VARCHAR(255) NOT NULL PRIMARY KEY, LAST_FAILURE BIGINT NOT NULL, PREVIOUS_FAILURE BIGINT);
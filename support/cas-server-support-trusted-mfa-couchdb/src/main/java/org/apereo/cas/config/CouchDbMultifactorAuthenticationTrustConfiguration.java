@@ -62,6 +62,7 @@ public class CouchDbMultifactorAuthenticationTrustConfiguration {
         @Qualifier("couchDbTrustRecordRepository") final MultifactorAuthenticationTrustRecordCouchDbRepository couchDbTrustRecordRepository) {
         val c = new CouchDbMultifactorAuthenticationTrustStorage(couchDbTrustRecordRepository);
         c.setCipherExecutor(mfaTrustCipherExecutor.getIfAvailable());
+        c.configure(casProperties.getAuthn().getMfa().getTrusted());
         return c;
     }
 }
@@ -3,6 +3,7 @@ package org.apereo.cas.couchdb.trusted;
 import org.apereo.cas.util.CollectionUtils;
 
 import lombok.val;
+import org.ektorp.BulkDeleteDocument;
 import org.ektorp.ComplexKey;
 import org.ektorp.CouchDbConnector;
 import org.ektorp.support.CouchDbRepositorySupport;
@@ -11,6 +12,7 @@ import org.ektorp.support.View;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link MultifactorAuthenticationTrustRecordCouchDbRepository}.
@@ -82,6 +84,45 @@ public class MultifactorAuthenticationTrustRecordCouchDbRepository extends Couch
         return db.queryView(view, CouchDbMultifactorAuthenticationTrustRecord.class);
     }
 
+    /**
+     * Find by principal and device fingerprint on or after date.
+     * @param principal Principal to search for
+     * @param deviceFingerprint device fingerprint to search for
+     * @param onOrAfterDate start date for search
+     * @return records for principal and device fingerprint after date.
+     */
+    @View(name = "by_principal_fingerprint_date",
+        map = "function(doc) { if (doc.recordKey && doc.principal && doc.deviceFingerprint && doc.recordDate) { "
+            + "emit([doc.principal, doc.deviceFingerprint, doc.recordDate], doc) } }")
+    public List<CouchDbMultifactorAuthenticationTrustRecord> findByPrincipalAndFingerprintAfterDate(final String principal,
+                                                                                                final String deviceFingerprint,
+                                                                                                final LocalDateTime onOrAfterDate) {
+        val view = createQuery("by_principal_fingerprint_date")
+            .startKey(ComplexKey.of(principal, deviceFingerprint, onOrAfterDate))
+            .endKey(ComplexKey.of(principal, deviceFingerprint, "999999"));
+        return db.queryView(view, CouchDbMultifactorAuthenticationTrustRecord.class);
+    }
+
+    /**
+     * Delete records on or before date, in batches.
+     * @param onOrBefore cutoff date
+     * @param batchSize maximum number of records to remove in a single bulk operation
+     * @return number of records deleted
+     */
+    public long deleteOnOrBeforeDate(final LocalDateTime onOrBefore, final int batchSize) {
+        var total = 0L;
+        var records = findBatchOnOrBeforeDate(onOrBefore, batchSize);
+        while (!records.isEmpty()) {
+            val failures = db.executeBulk(records.stream()
+                .map(record -> new BulkDeleteDocument(record.getCid(), record.getRev()))
+                .collect(Collectors.toList()));
+            val deleted = records.size() - failures.size();
+            total += deleted;
+            records = records.size() < batchSize || deleted == 0 ? List.of() : findBatchOnOrBeforeDate(onOrBefore, batchSize);
+        }
+        return total;
+    }
+
     /**
      * Delete a record without revision checks.
      * @param record record to be deleted
@@ -103,4 +144,8 @@ public class MultifactorAuthenticationTrustRecordCouchDbRepository extends Couch
             db.callUpdateHandler(stdDesignDocumentId, "update_record", record.getCid(), CollectionUtils.wrap("doc", record));
         }
     }
+
+    private List<CouchDbMultifactorAuthenticationTrustRecord> findBatchOnOrBeforeDate(final LocalDateTime recordDate, final int limit) {
+        return db.queryView(createQuery("by_recordDate").endKey(recordDate).limit(limit), CouchDbMultifactorAuthenticationTrustRecord.class);
+    }
 }
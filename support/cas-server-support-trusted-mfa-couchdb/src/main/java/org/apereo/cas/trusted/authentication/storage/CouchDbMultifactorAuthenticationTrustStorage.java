@@ -36,7 +36,7 @@ public class CouchDbMultifactorAuthenticationTrustStorage extends BaseMultifacto
 
     @Override
     public void expire(final LocalDateTime onOrBefore) {
-        couchDb.findOnOrBeforeDate(onOrBefore).forEach(couchDb::deleteRecord);
+        couchDb.deleteOnOrBeforeDate(onOrBefore, getExpirationBatchSize());
     }
 
     @Override
@@ -58,4 +58,10 @@ public class CouchDbMultifactorAuthenticationTrustStorage extends BaseMultifacto
     public Set<? extends MultifactorAuthenticationTrustRecord> get(final String principal, final LocalDateTime onOrAfterDate) {
         return CollectionUtils.wrapHashSet(couchDb.findByPrincipalAfterDate(principal, onOrAfterDate));
     }
+
+    @Override
+    protected Set<? extends MultifactorAuthenticationTrustRecord> getInternal(final String principal, final String deviceFingerprint,
+                                                                              final LocalDateTime onOrAfterDate) {
+        return CollectionUtils.wrapHashSet(couchDb.findByPrincipalAndFingerprintAfterDate(principal, deviceFingerprint, onOrAfterDate));
+    }
 }
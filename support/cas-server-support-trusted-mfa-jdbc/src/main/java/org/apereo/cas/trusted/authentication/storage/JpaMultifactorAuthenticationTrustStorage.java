@@ -2,10 +2,13 @@ package org.apereo.cas.trusted.authentication.storage;
 
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
@@ -23,12 +26,26 @@ import java.util.Set;
 @EnableTransactionManagement(proxyTargetClass = true)
 @Transactional(transactionManager = "transactionManagerMfaAuthnTrust")
 @Slf4j
+@RequiredArgsConstructor
 public class JpaMultifactorAuthenticationTrustStorage extends BaseMultifactorAuthenticationTrustStorage {
     private static final String TABLE_NAME = MultifactorAuthenticationTrustRecord.class.getSimpleName();
 
+    private static final String SELECT_BY_PRINCIPAL_AND_FINGERPRINT_QUERY = "SELECT r FROM " + TABLE_NAME
+        + " r where r.principal = :principal AND r.deviceFingerprint = :deviceFingerprint AND r.recordDate >= :date";
+
+    private static final String SELECT_EXPIRED_IDS_QUERY = "SELECT r.id FROM " + TABLE_NAME + " r where r.recordDate <= :date";
+
+    private static final String DELETE_BY_IDS_QUERY = "DELETE FROM " + TABLE_NAME + " r where r.id IN :ids";
+
     @PersistenceContext(unitName = "mfaTrustedAuthnEntityManagerFactory")
     private transient EntityManager entityManager;
 
+    /**
+     * Runs each batch of expired record removals in its own transaction,
+     * so row locks are released as soon as a batch is removed.
+     */
+    private final TransactionTemplate transactionTemplate;
+
     @Override
     public void expire(final String key) {
         try {
@@ -42,15 +59,15 @@ public class JpaMultifactorAuthenticationTrustStorage extends BaseMultifactorAut
     }
 
     @Override
+    @Transactional(transactionManager = "transactionManagerMfaAuthnTrust", propagation = Propagation.NOT_SUPPORTED)
     public void expire(final LocalDateTime onOrBefore) {
-        try {
-            val count = this.entityManager.createQuery("DELETE FROM " + TABLE_NAME + " r where r.recordDate <= :date")
-                .setParameter("date", onOrBefore)
-                .executeUpdate();
-            LOGGER.info("Found and removed [{}] records", count);
-        } catch (final NoResultException e) {
-            LOGGER.info("No trusted authentication records could be found");
-        }
+        var total = 0;
+        var count = 0;
+        do {
+            count = this.transactionTemplate.execute(status -> expireBatch(onOrBefore));
+            total += count;
+        } while (count >= getExpirationBatchSize());
+        LOGGER.info("Found and removed [{}] records", total);
     }
 
     @Override
@@ -81,8 +98,33 @@ public class JpaMultifactorAuthenticationTrustStorage extends BaseMultifactorAut
         return new HashSet<>(0);
     }
 
+    @Override
+    protected Set<? extends MultifactorAuthenticationTrustRecord> getInternal(final String principal, final String deviceFingerprint,
+                                                                              final LocalDateTime onOrAfterDate) {
+        val results = this.entityManager
+            .createQuery(SELECT_BY_PRINCIPAL_AND_FINGERPRINT_QUERY, MultifactorAuthenticationTrustRecord.class)
+            .setParameter("principal", principal)
+            .setParameter("deviceFingerprint", deviceFingerprint)
+            .setParameter("date", onOrAfterDate)
+            .getResultList();
+        return new HashSet<>(results);
+    }
+
     @Override
     public MultifactorAuthenticationTrustRecord setInternal(final MultifactorAuthenticationTrustRecord record) {
         return this.entityManager.merge(record);
     }
+
+    private int expireBatch(final LocalDateTime onOrBefore) {
+        val ids = this.entityManager.createQuery(SELECT_EXPIRED_IDS_QUERY, Long.class)
+            .setParameter("date", onOrBefore)
+            .setMaxResults(getExpirationBatchSize())
+            .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return this.entityManager.createQuery(DELETE_BY_IDS_QUERY)
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
 }
@@ -21,7 +21,9 @@ import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
@@ -82,10 +84,15 @@ public class JdbcMultifactorAuthnTrustConfiguration {
         return mgmr;
     }
 
+    @Autowired
     @Bean
-    public MultifactorAuthenticationTrustStorage mfaTrustEngine() {
-        val m = new JpaMultifactorAuthenticationTrustStorage();
+    public MultifactorAuthenticationTrustStorage mfaTrustEngine(
+        @Qualifier("transactionManagerMfaAuthnTrust") final PlatformTransactionManager mgr) {
+        val transactionTemplate = new TransactionTemplate(mgr);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        val m = new JpaMultifactorAuthenticationTrustStorage(transactionTemplate);
         m.setCipherExecutor(mfaTrustCipherExecutor.getIfAvailable());
+        m.configure(casProperties.getAuthn().getMfa().getTrusted());
         return m;
     }
 }
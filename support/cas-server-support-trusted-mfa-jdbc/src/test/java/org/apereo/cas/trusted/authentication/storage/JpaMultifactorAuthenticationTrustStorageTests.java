@@ -23,7 +23,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -49,7 +51,10 @@ import static org.junit.Assert.*;
 @EnableTransactionManagement(proxyTargetClass = true)
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 @EnableScheduling
-@TestPropertySource(properties = "cas.jdbc.physicalTableNames.MultifactorAuthenticationTrustRecord=mfaauthntrustedrec")
+@TestPropertySource(properties = {
+    "cas.jdbc.physicalTableNames.MultifactorAuthenticationTrustRecord=mfaauthntrustedrec",
+    "cas.authn.mfa.trusted.expirationBatchSize=2"
+})
 public class JpaMultifactorAuthenticationTrustStorageTests {
     @ClassRule
     public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
@@ -69,6 +74,10 @@ public class JpaMultifactorAuthenticationTrustStorageTests {
     @Qualifier("mfaTrustEngine")
     private MultifactorAuthenticationTrustStorage mfaTrustEngine;
 
+    @Autowired
+    @Qualifier("transactionManagerMfaAuthnTrust")
+    private PlatformTransactionManager transactionManager;
+
     @Test
     public void verifyExpireByKey() {
         // create 2 records
@@ -105,6 +114,48 @@ public class JpaMultifactorAuthenticationTrustStorageTests {
         emptyTrustEngine();
     }
 
+    @Test
+    public void verifyRetrieveByDeviceFingerprint() {
+        val record = MultifactorAuthenticationTrustRecord.newInstance(PRINCIPAL, GEOGRAPHY, DEVICE_FINGERPRINT);
+        mfaTrustEngine.set(record);
+        mfaTrustEngine.set(MultifactorAuthenticationTrustRecord.newInstance(PRINCIPAL, GEOGRAPHY, "otherDevice"));
+        mfaTrustEngine.set(MultifactorAuthenticationTrustRecord.newInstance(PRINCIPAL2, GEOGRAPHY, DEVICE_FINGERPRINT));
+
+        val results = mfaTrustEngine.get(PRINCIPAL, DEVICE_FINGERPRINT, LocalDateTime.now().minusDays(1));
+        assertEquals(1, results.size());
+        assertEquals(record.getRecordKey(), results.iterator().next().getRecordKey());
+        assertThat(mfaTrustEngine.get(PRINCIPAL, DEVICE_FINGERPRINT, LocalDateTime.now().plusDays(1)), empty());
+        assertThat(mfaTrustEngine.get(PRINCIPAL, "unknownDevice", LocalDateTime.now().minusDays(1)), empty());
+
+        emptyTrustEngine();
+    }
+
+    @Test
+    public void verifyExpireByDateInBatches() {
+        for (var offset = 1; offset <= 5; offset++) {
+            val record = MultifactorAuthenticationTrustRecord.newInstance(PRINCIPAL, GEOGRAPHY, DEVICE_FINGERPRINT);
+            record.setRecordDate(LocalDateTime.now().minusDays(offset));
+            mfaTrustEngine.set(record);
+        }
+        mfaTrustEngine.expire(LocalDateTime.now().minusHours(1));
+        assertThat(mfaTrustEngine.get(PRINCIPAL), empty());
+    }
+
+    @Test
+    public void verifyExpiredBatchesAreCommittedIndependently() {
+        for (var offset = 1; offset <= 3; offset++) {
+            val record = MultifactorAuthenticationTrustRecord.newInstance(PRINCIPAL, GEOGRAPHY, DEVICE_FINGERPRINT);
+            record.setRecordDate(LocalDateTime.now().minusDays(offset));
+            mfaTrustEngine.set(record);
+        }
+        new TransactionTemplate(transactionManager).execute(status -> {
+            mfaTrustEngine.expire(LocalDateTime.now().minusHours(1));
+            status.setRollbackOnly();
+            return null;
+        });
+        assertThat(mfaTrustEngine.get(PRINCIPAL), empty());
+    }
+
     @Test
     public void verifyStoreAndRetrieve() {
         // create record
@@ -74,6 +74,17 @@ public class MongoDbMultifactorAuthenticationTrustStorage extends BaseMultifacto
         return new HashSet<>(results);
     }
 
+    @Override
+    protected Set<? extends MultifactorAuthenticationTrustRecord> getInternal(final String principal, final String deviceFingerprint,
+                                                                              final LocalDateTime onOrAfterDate) {
+        val query = new Query();
+        query.addCriteria(Criteria.where("principal").is(principal)
+            .and("deviceFingerprint").is(deviceFingerprint)
+            .and("recordDate").gte(onOrAfterDate));
+        val results = this.mongoTemplate.find(query, MultifactorAuthenticationTrustRecord.class, this.collectionName);
+        return new HashSet<>(results);
+    }
+
     @Override
     protected MultifactorAuthenticationTrustRecord setInternal(final MultifactorAuthenticationTrustRecord record) {
         this.mongoTemplate.save(record, this.collectionName);
@@ -15,7 +15,9 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 
 /**
  * This is {@link MongoDbMultifactorAuthenticationTrustConfiguration}.
@@ -48,18 +50,22 @@ public class MongoDbMultifactorAuthenticationTrustConfiguration {
 
         val mongoTemplate = factory.buildMongoTemplate(mongo);
         factory.createCollection(mongoTemplate, mongo.getCollection(), mongo.isDropCollection());
+        val indexOps = mongoTemplate.indexOps(mongo.getCollection());
+        indexOps.ensureIndex(new Index().on("principal", Sort.Direction.ASC).on("deviceFingerprint", Sort.Direction.ASC));
+        indexOps.ensureIndex(new Index().on("recordDate", Sort.Direction.ASC));
         return mongoTemplate;
     }
 
     @RefreshScope
     @Bean
     public MultifactorAuthenticationTrustStorage mfaTrustEngine() {
-        val mongodb = casProperties.getAuthn().getMfa().getTrusted().getMongo();
+        val trusted = casProperties.getAuthn().getMfa().getTrusted();
         val m =
             new MongoDbMultifactorAuthenticationTrustStorage(
-                mongodb.getCollection(),
+                trusted.getMongo().getCollection(),
                 mongoMfaTrustedAuthnTemplate());
         m.setCipherExecutor(mfaTrustCipherExecutor.getIfAvailable());
+        m.configure(trusted);
         return m;
     }
 }
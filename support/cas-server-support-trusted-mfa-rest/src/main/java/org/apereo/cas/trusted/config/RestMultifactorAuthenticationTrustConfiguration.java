@@ -4,6 +4,9 @@ import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustStorage;
 import org.apereo.cas.trusted.authentication.storage.RestMultifactorAuthenticationTrustStorage;
+import org.apereo.cas.util.http.HttpClientPool;
+import org.apereo.cas.util.http.HttpClientPoolRegistry;
+import org.apereo.cas.util.http.HttpResponseCacheInterceptor;
 
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
@@ -32,11 +35,21 @@ public class RestMultifactorAuthenticationTrustConfiguration {
     @Qualifier("mfaTrustCipherExecutor")
     private ObjectProvider<CipherExecutor> mfaTrustCipherExecutor;
 
+    @Autowired
+    @Qualifier("httpClientPoolRegistry")
+    private ObjectProvider<HttpClientPoolRegistry> httpClientPoolRegistry;
+
     @RefreshScope
     @Bean
     public MultifactorAuthenticationTrustStorage mfaTrustEngine() {
-        val m = new RestMultifactorAuthenticationTrustStorage(new RestTemplate(), casProperties);
+        val restTemplate = new RestTemplate();
+        val registry = httpClientPoolRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.getResponseCache(HttpClientPool.TRUSTED_DEVICES_POOL_NAME).ifPresent(cache -> restTemplate.getInterceptors().add(new HttpResponseCacheInterceptor(cache)));
+        }
+        val m = new RestMultifactorAuthenticationTrustStorage(restTemplate, casProperties);
         m.setCipherExecutor(mfaTrustCipherExecutor.getIfAvailable());
+        m.configure(casProperties.getAuthn().getMfa().getTrusted());
         return m;
     }
 }
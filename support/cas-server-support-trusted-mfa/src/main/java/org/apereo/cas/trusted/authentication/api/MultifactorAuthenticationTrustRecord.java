@@ -17,6 +17,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.Table;
 import java.time.LocalDate;
@@ -30,7 +31,10 @@ import java.time.temporal.ChronoUnit;
  * @since 5.0.0
  */
 @Entity
-@Table(name = "MultifactorAuthenticationTrustRecord")
+@Table(name = "MultifactorAuthenticationTrustRecord", indexes = {
+    @Index(name = "idx_mfa_trust_principal_device", columnList = "principal,deviceFingerprint"),
+    @Index(name = "idx_mfa_trust_record_date", columnList = "recordDate")
+})
 @JsonIgnoreProperties(ignoreUnknown = true)
 @ToString
 @Getter
@@ -1,5 +1,7 @@
 package org.apereo.cas.trusted.authentication.api;
 
+import lombok.val;
+
 import java.time.LocalDateTime;
 import java.util.Set;
 
@@ -50,6 +52,21 @@ public interface MultifactorAuthenticationTrustStorage {
      */
     Set<? extends MultifactorAuthenticationTrustRecord> get(String principal, LocalDateTime onOrAfterDate);
 
+    /**
+     * Get records by principal and device fingerprint.
+     *
+     * @param principal         the principal id
+     * @param deviceFingerprint the device fingerprint
+     * @param onOrAfterDate     the on or after date
+     * @return the records
+     */
+    default Set<? extends MultifactorAuthenticationTrustRecord> get(final String principal, final String deviceFingerprint,
+                                                                    final LocalDateTime onOrAfterDate) {
+        val results = get(principal, onOrAfterDate);
+        results.removeIf(entry -> !deviceFingerprint.equals(entry.getDeviceFingerprint()));
+        return results;
+    }
+
     /**
      * Set trusted record.
      *
@@ -1,10 +1,15 @@
 package org.apereo.cas.trusted.authentication.storage;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.configuration.model.support.mfa.TrustedDevicesMultifactorProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustStorage;
 import org.apereo.cas.trusted.util.MultifactorAuthenticationTrustUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -30,9 +36,18 @@ import java.util.Set;
 @ToString
 @Setter
 public abstract class BaseMultifactorAuthenticationTrustStorage implements MultifactorAuthenticationTrustStorage {
+    private static final int DEFAULT_EXPIRATION_BATCH_SIZE = 500;
 
     private CipherExecutor<Serializable, String> cipherExecutor;
 
+    /**
+     * Maximum number of expired records removed in a single delete operation.
+     */
+    @Getter
+    private int expirationBatchSize = DEFAULT_EXPIRATION_BATCH_SIZE;
+
+    private Cache<String, Boolean> negativeResultCache;
+
     @Audit(action = "TRUSTED_AUTHENTICATION",
         actionResolverName = "TRUSTED_AUTHENTICATION_ACTION_RESOLVER",
         resourceResolverName = "TRUSTED_AUTHENTICATION_RESOURCE_RESOLVER")
@@ -40,26 +55,53 @@ public abstract class BaseMultifactorAuthenticationTrustStorage implements Multi
     public MultifactorAuthenticationTrustRecord set(final MultifactorAuthenticationTrustRecord record) {
         LOGGER.debug("Stored authentication trust record for [{}]", record);
         record.setRecordKey(generateKey(record));
+        if (this.negativeResultCache != null) {
+            this.negativeResultCache.invalidate(record.getPrincipal() + '|' + record.getDeviceFingerprint());
+        }
         return setInternal(record);
     }
 
     @Override
     public Set<? extends MultifactorAuthenticationTrustRecord> get(final String principal, final LocalDateTime onOrAfterDate) {
         val res = get(principal);
-        res.removeIf(entry -> {
-            if (entry.getRecordDate().isBefore(onOrAfterDate)) {
-                return true;
-            }
-            val decodedKey = this.cipherExecutor.decode(entry.getRecordKey());
-            val currentKey = MultifactorAuthenticationTrustUtils.generateKey(entry);
-            if (StringUtils.isBlank(decodedKey)) {
-                return true;
-            }
-            return !decodedKey.equals(currentKey);
-        });
+        res.removeIf(entry -> !isValid(entry, onOrAfterDate));
         return res;
     }
 
+    @Override
+    public Set<? extends MultifactorAuthenticationTrustRecord> get(final String principal, final String deviceFingerprint,
+                                                                   final LocalDateTime onOrAfterDate) {
+        val cacheKey = principal + '|' + deviceFingerprint;
+        if (this.negativeResultCache != null && this.negativeResultCache.getIfPresent(cacheKey) != null) {
+            LOGGER.trace("No trusted authentication records were recently found for [{}] and the given device", principal);
+            return new HashSet<>(0);
+        }
+        val res = getInternal(principal, deviceFingerprint, onOrAfterDate);
+        res.removeIf(entry -> !isValid(entry, onOrAfterDate));
+        if (res.isEmpty() && this.negativeResultCache != null) {
+            this.negativeResultCache.put(cacheKey, Boolean.TRUE);
+        }
+        return res;
+    }
+
+    /**
+     * Apply the lookup and expiration settings of trusted devices to this storage.
+     *
+     * @param properties the trusted devices settings
+     */
+    public void configure(final TrustedDevicesMultifactorProperties properties) {
+        this.expirationBatchSize = Math.max(1, properties.getExpirationBatchSize());
+        val expiration = Beans.newDuration(properties.getNegativeResultCacheExpiration());
+        if (expiration.isZero() || expiration.isNegative()) {
+            this.negativeResultCache = null;
+        } else {
+            this.negativeResultCache = Caffeine.newBuilder()
+                .expireAfterWrite(expiration)
+                .maximumSize(properties.getNegativeResultCacheMaximumSize())
+                .build();
+        }
+    }
+
     /**
      * Generate key .
      *
@@ -70,6 +112,34 @@ public abstract class BaseMultifactorAuthenticationTrustStorage implements Multi
         return cipherExecutor.encode(MultifactorAuthenticationTrustUtils.generateKey(r));
     }
 
+    /**
+     * Get records by principal and device fingerprint from the underlying storage.
+     * Storages that are able to look up records by principal and device fingerprint should override this
+     * to avoid loading all records of the principal. Returned records are verified by the caller.
+     *
+     * @param principal         the principal
+     * @param deviceFingerprint the device fingerprint
+     * @param onOrAfterDate     the on or after date
+     * @return the records
+     */
+    protected Set<? extends MultifactorAuthenticationTrustRecord> getInternal(final String principal, final String deviceFingerprint,
+                                                                              final LocalDateTime onOrAfterDate) {
+        val res = get(principal);
+        res.removeIf(entry -> !deviceFingerprint.equals(entry.getDeviceFingerprint()));
+        return res;
+    }
+
+    private boolean isValid(final MultifactorAuthenticationTrustRecord entry, final LocalDateTime onOrAfterDate) {
+        if (entry.getRecordDate().isBefore(onOrAfterDate)) {
+            return false;
+        }
+        val decodedKey = this.cipherExecutor.decode(entry.getRecordKey());
+        if (StringUtils.isBlank(decodedKey)) {
+            return false;
+        }
+        return decodedKey.equals(MultifactorAuthenticationTrustUtils.generateKey(entry));
+    }
+
     /**
      * Set records.
      *
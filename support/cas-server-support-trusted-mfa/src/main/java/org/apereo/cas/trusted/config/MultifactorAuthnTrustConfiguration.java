@@ -82,6 +82,7 @@ public class MultifactorAuthnTrustConfiguration implements AuditTrailRecordResol
                 return new InMemoryMultifactorAuthenticationTrustStorage(storage);
             }).get();
         m.setCipherExecutor(mfaTrustCipherExecutor());
+        m.configure(trusted);
         return m;
     }
 
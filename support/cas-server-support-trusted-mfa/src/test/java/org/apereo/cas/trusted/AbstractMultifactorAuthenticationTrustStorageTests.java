@@ -23,6 +23,7 @@ import org.springframework.test.context.junit4.rules.SpringMethodRule;
 import org.springframework.webflow.execution.Action;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import static org.apereo.cas.trusted.BeanNames.*;
 import static org.junit.Assert.*;
@@ -84,5 +85,15 @@ public abstract class AbstractMultifactorAuthenticationTrustStorageTests {
         assertFalse(getMfaTrustEngine().get(record.getPrincipal(), LocalDateTime.now()).isEmpty());
     }
 
+    @Test
+    public void verifyTrustEngineByDeviceFingerprint() {
+        val record = getMultifactorAuthenticationTrustRecord();
+        record.setDeviceFingerprint(UUID.randomUUID().toString());
+        assertTrue(getMfaTrustEngine().get(record.getPrincipal(), record.getDeviceFingerprint(), LocalDateTime.now()).isEmpty());
+        getMfaTrustEngine().set(record);
+        assertFalse(getMfaTrustEngine().get(record.getPrincipal(), record.getDeviceFingerprint(), LocalDateTime.now()).isEmpty());
+        assertTrue(getMfaTrustEngine().get(record.getPrincipal(), "OtherFingerprint", LocalDateTime.now()).isEmpty());
+    }
+
     public abstract MultifactorAuthenticationTrustStorage getMfaTrustEngine();
 }
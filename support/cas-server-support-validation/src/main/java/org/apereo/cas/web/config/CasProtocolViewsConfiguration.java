@@ -1,8 +1,15 @@
 package org.apereo.cas.web.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.web.view.Cas20ViewProperties;
+import org.apereo.cas.configuration.model.core.web.view.Cas30ViewProperties;
 import org.apereo.cas.web.view.CasProtocolView;
+import org.apereo.cas.web.view.xml.CasFailureXmlResponseView;
+import org.apereo.cas.web.view.xml.CasProxySuccessXmlResponseView;
+import org.apereo.cas.web.view.xml.CasServiceSuccessXmlResponseView;
 
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -13,8 +20,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
+import java.util.function.Function;
+
 /**
  * This is {@link CasProtocolViewsConfiguration} that attempts to create Spring-managed beans
  * backed by external configuration.
@@ -38,6 +48,25 @@ public class CasProtocolViewsConfiguration {
     @Autowired
     private ThymeleafProperties thymeleafProperties;
 
+    /**
+     * Create the view for a CAS validation response. Template-free views are only used
+     * if enabled and if the view location is not changed from the default.
+     *
+     * @param templateName        the template name
+     * @param defaultTemplateName the default template name
+     * @param contentType         the content type
+     * @param templateFreeView    the template-free view, built with the character encoding
+     * @return the view
+     */
+    private View createValidationResponseView(final String templateName, final String defaultTemplateName,
+                                              final String contentType, final Function<String, View> templateFreeView) {
+        val encoding = thymeleafProperties.getEncoding().displayName();
+        if (casProperties.getView().isTemplateFreeValidationResponses() && StringUtils.equals(templateName, defaultTemplateName)) {
+            return templateFreeView.apply(encoding);
+        }
+        return new CasProtocolView(templateName, applicationContext, springTemplateEngine, thymeleafProperties, contentType);
+    }
+
     /**
      * The CAS protocol views.
      */
@@ -45,52 +74,53 @@ public class CasProtocolViewsConfiguration {
     public class CasProtocolViews {
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2SuccessView() {
-            return new CasProtocolView(casProperties.getView().getCas2().getSuccess(),
-                applicationContext,
-                springTemplateEngine, thymeleafProperties,
-                MediaType.APPLICATION_XML_VALUE);
+        public View cas2SuccessView() {
+            return createValidationResponseView(casProperties.getView().getCas2().getSuccess(),
+                new Cas20ViewProperties().getSuccess(), MediaType.APPLICATION_XML_VALUE,
+                encoding -> new CasServiceSuccessXmlResponseView(false, MediaType.APPLICATION_XML_VALUE, encoding));
         }
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2ServiceFailureView() {
-            return new CasProtocolView(casProperties.getView().getCas2().getFailure(), applicationContext,
-                springTemplateEngine, thymeleafProperties);
+        public View cas2ServiceFailureView() {
+            return createValidationResponseView(casProperties.getView().getCas2().getFailure(),
+                new Cas20ViewProperties().getFailure(), null,
+                encoding -> new CasFailureXmlResponseView(CasFailureXmlResponseView.ELEMENT_AUTHENTICATION_FAILURE, null, encoding));
         }
 
         @ConditionalOnProperty(prefix = "cas.sso", name = "proxyAuthnEnabled", havingValue = "true", matchIfMissing = true)
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2ProxyFailureView() {
-            return new CasProtocolView(casProperties.getView().getCas2().getProxy().getFailure(), applicationContext,
-                springTemplateEngine, thymeleafProperties,
-                MediaType.APPLICATION_XML_VALUE);
+        public View cas2ProxyFailureView() {
+            return createValidationResponseView(casProperties.getView().getCas2().getProxy().getFailure(),
+                new Cas20ViewProperties.Proxy().getFailure(), MediaType.APPLICATION_XML_VALUE,
+                encoding -> new CasFailureXmlResponseView(CasFailureXmlResponseView.ELEMENT_PROXY_FAILURE, MediaType.APPLICATION_XML_VALUE, encoding));
         }
 
         @ConditionalOnProperty(prefix = "cas.sso", name = "proxyAuthnEnabled", havingValue = "true", matchIfMissing = true)
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2ProxySuccessView() {
-            return new CasProtocolView(casProperties.getView().getCas2().getProxy().getSuccess(),
-                applicationContext, springTemplateEngine, thymeleafProperties,
-                MediaType.APPLICATION_XML_VALUE);
+        public View cas2ProxySuccessView() {
+            return createValidationResponseView(casProperties.getView().getCas2().getProxy().getSuccess(),
+                new Cas20ViewProperties.Proxy().getSuccess(), MediaType.APPLICATION_XML_VALUE,
+                encoding -> new CasProxySuccessXmlResponseView(MediaType.APPLICATION_XML_VALUE, encoding));
         }
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas3SuccessView() {
-            return new CasProtocolView(casProperties.getView().getCas3().getSuccess(),
-                applicationContext, springTemplateEngine, thymeleafProperties);
+        public View cas3SuccessView() {
+            return createValidationResponseView(casProperties.getView().getCas3().getSuccess(),
+                new Cas30ViewProperties().getSuccess(), null,
+                encoding -> new CasServiceSuccessXmlResponseView(true, null, encoding));
         }
 
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas3ServiceFailureView() {
-            return new CasProtocolView(casProperties.getView().getCas3().getFailure(),
-                applicationContext, springTemplateEngine, thymeleafProperties,
-                MediaType.APPLICATION_XML_VALUE);
+        public View cas3ServiceFailureView() {
+            return createValidationResponseView(casProperties.getView().getCas3().getFailure(),
+                new Cas30ViewProperties().getFailure(), MediaType.APPLICATION_XML_VALUE,
+                encoding -> new CasFailureXmlResponseView(CasFailureXmlResponseView.ELEMENT_AUTHENTICATION_FAILURE, MediaType.APPLICATION_XML_VALUE, encoding));
         }
 
         @Bean
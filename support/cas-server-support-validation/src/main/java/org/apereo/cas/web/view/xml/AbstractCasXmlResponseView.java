@@ -0,0 +1,124 @@
+package org.apereo.cas.web.view.xml;
+
+import lombok.Getter;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.servlet.view.AbstractView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This is {@link AbstractCasXmlResponseView} that writes CAS protocol responses
+ * straight into the response without evaluating view templates. Output is expected
+ * to be identical to what the default protocol templates would render for the same model.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+public abstract class AbstractCasXmlResponseView extends AbstractView {
+    /**
+     * The opening tag of every CAS protocol response.
+     */
+    protected static final String SERVICE_RESPONSE_START = "<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n";
+
+    /**
+     * The closing tag of every CAS protocol response.
+     */
+    protected static final String SERVICE_RESPONSE_END = "</cas:serviceResponse>\n";
+
+    private static final String DEFAULT_CONTENT_TYPE = "text/html";
+
+    private final String characterEncoding;
+
+    protected AbstractCasXmlResponseView(final String contentType, final String characterEncoding) {
+        this.characterEncoding = characterEncoding;
+        setContentType(StringUtils.defaultIfBlank(contentType, DEFAULT_CONTENT_TYPE));
+    }
+
+    /**
+     * Escape markup-significant characters of the value, the same way view templates escape text.
+     *
+     * @param value the value
+     * @return the escaped value, or blank if the value is null
+     */
+    protected static String escape(final Object value) {
+        val text = Objects.toString(value, StringUtils.EMPTY);
+        val builder = new StringBuilder(text.length());
+        for (var i = 0; i < text.length(); i++) {
+            val ch = text.charAt(i);
+            switch (ch) {
+                case '&':
+                    builder.append("&amp;");
+                    break;
+                case '<':
+                    builder.append("&lt;");
+                    break;
+                case '>':
+                    builder.append("&gt;");
+                    break;
+                case '"':
+                    builder.append("&quot;");
+                    break;
+                case '\'':
+                    builder.append("&#39;");
+                    break;
+                default:
+                    builder.append(ch);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write an element that carries an optional code attribute and escaped text,
+     * such as an authentication or proxy failure.
+     *
+     * @param writer      the writer
+     * @param elementName the element name
+     * @param code        the code, omitted if blank
+     * @param text        the text
+     * @throws IOException the exception
+     */
+    protected static void writeCodedElement(final Writer writer, final String elementName,
+                                            final Object code, final Object text) throws IOException {
+        writer.write('<');
+        writer.write(elementName);
+        val codeValue = Objects.toString(code, StringUtils.EMPTY);
+        if (!codeValue.isEmpty()) {
+            writer.write(" code=\"");
+            writer.write(escape(codeValue));
+            writer.write('"');
+        }
+        writer.write('>');
+        writer.write(escape(text));
+        writer.write("</");
+        writer.write(elementName);
+        writer.write('>');
+    }
+
+    @Override
+    protected void renderMergedOutputModel(final Map<String, Object> model, final HttpServletRequest request,
+                                           final HttpServletResponse response) throws Exception {
+        response.setContentType(getContentType() + ";charset=" + this.characterEncoding);
+        response.setCharacterEncoding(this.characterEncoding);
+        val writer = response.getWriter();
+        writeResponse(model, writer);
+        writer.flush();
+    }
+
+    /**
+     * Write the response for the given model.
+     *
+     * @param model  the model
+     * @param writer the writer
+     * @throws IOException the exception
+     */
+    protected abstract void writeResponse(Map<String, Object> model, Writer writer) throws IOException;
+}
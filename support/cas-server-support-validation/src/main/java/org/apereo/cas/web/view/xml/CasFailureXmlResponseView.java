@@ -0,0 +1,44 @@
+package org.apereo.cas.web.view.xml;
+
+import org.apereo.cas.CasViewConstants;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * This is {@link CasFailureXmlResponseView} that writes authentication and proxy failures
+ * of the CAS protocol, with the error code and description found in the model.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CasFailureXmlResponseView extends AbstractCasXmlResponseView {
+    /**
+     * Element name of validation failures.
+     */
+    public static final String ELEMENT_AUTHENTICATION_FAILURE = "cas:authenticationFailure";
+
+    /**
+     * Element name of proxy failures.
+     */
+    public static final String ELEMENT_PROXY_FAILURE = "cas:proxyFailure";
+
+    private final String elementName;
+
+    public CasFailureXmlResponseView(final String elementName, final String contentType, final String characterEncoding) {
+        super(contentType, characterEncoding);
+        this.elementName = elementName;
+    }
+
+    @Override
+    protected void writeResponse(final Map<String, Object> model, final Writer writer) throws IOException {
+        writer.write(SERVICE_RESPONSE_START);
+        writer.write("    ");
+        writeCodedElement(writer, this.elementName,
+            model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE),
+            model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION));
+        writer.write('\n');
+        writer.write(SERVICE_RESPONSE_END);
+    }
+}
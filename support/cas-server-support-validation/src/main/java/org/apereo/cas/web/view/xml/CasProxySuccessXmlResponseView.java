@@ -0,0 +1,30 @@
+package org.apereo.cas.web.view.xml;
+
+import org.apereo.cas.CasProtocolConstants;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * This is {@link CasProxySuccessXmlResponseView} that writes the proxy ticket
+ * issued via the CAS protocol.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CasProxySuccessXmlResponseView extends AbstractCasXmlResponseView {
+
+    public CasProxySuccessXmlResponseView(final String contentType, final String characterEncoding) {
+        super(contentType, characterEncoding);
+    }
+
+    @Override
+    protected void writeResponse(final Map<String, Object> model, final Writer writer) throws IOException {
+        writer.write(SERVICE_RESPONSE_START);
+        writer.write("    <cas:proxySuccess>\n        <cas:proxyTicket>");
+        writer.write(escape(model.get(CasProtocolConstants.PARAMETER_TICKET)));
+        writer.write("</cas:proxyTicket>\n    </cas:proxySuccess>\n");
+        writer.write(SERVICE_RESPONSE_END);
+    }
+}
@@ -0,0 +1,84 @@
+package org.apereo.cas.web.view.xml;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This is {@link CasServiceSuccessXmlResponseView} that writes successful service ticket
+ * validation responses of the CAS protocol. The model is expected to be prepared
+ * by the CAS response views, which take care of encoding and formatting attributes.
+ * Attributes are only written for CAS3 responses.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CasServiceSuccessXmlResponseView extends AbstractCasXmlResponseView {
+    private final boolean releaseAttributes;
+
+    public CasServiceSuccessXmlResponseView(final boolean releaseAttributes, final String contentType, final String characterEncoding) {
+        super(contentType, characterEncoding);
+        this.releaseAttributes = releaseAttributes;
+    }
+
+    @Override
+    protected void writeResponse(final Map<String, Object> model, final Writer writer) throws IOException {
+        writer.write(SERVICE_RESPONSE_START);
+        writer.write("    <cas:authenticationSuccess>\n        <cas:user>");
+        val principal = (Principal) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL);
+        writer.write(escape(principal.getId()));
+        writer.write("</cas:user>\n        ");
+
+        val pgtIou = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        if (pgtIou != null && !StringUtils.equalsAnyIgnoreCase(pgtIou.toString(), "false", "off", "no")) {
+            writer.write("<cas:proxyGrantingTicket>");
+            writer.write(escape(pgtIou));
+            writer.write("</cas:proxyGrantingTicket>");
+        }
+        writer.write("\n        ");
+
+        val proxies = (Collection<Authentication>) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        if (proxies != null && !proxies.isEmpty()) {
+            writer.write("<cas:proxies>\n            ");
+            for (val proxy : proxies) {
+                writer.write("<cas:proxy>");
+                writer.write(escape(proxy.getPrincipal().getId()));
+                writer.write("</cas:proxy>");
+            }
+            writer.write("\n        </cas:proxies>");
+        }
+        writer.write('\n');
+
+        if (this.releaseAttributes) {
+            writer.write("        ");
+            val attributes = (Collection<?>) model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES);
+            if (attributes != null && !attributes.isEmpty()) {
+                writer.write("<cas:attributes>\n            ");
+                var first = true;
+                for (val attribute : attributes) {
+                    if (!first) {
+                        writer.write("\n            ");
+                    }
+                    first = false;
+                    writer.write("\n                ");
+                    writer.write(Objects.toString(attribute, StringUtils.EMPTY));
+                    writer.write("\n            ");
+                }
+                writer.write("\n        </cas:attributes>");
+            }
+            writer.write('\n');
+        }
+        writer.write("    </cas:authenticationSuccess>\n");
+        writer.write(SERVICE_RESPONSE_END);
+    }
+}
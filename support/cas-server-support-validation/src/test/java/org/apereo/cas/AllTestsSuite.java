@@ -8,6 +8,7 @@ import org.apereo.cas.web.view.Cas30ResponseViewTests;
 import org.apereo.cas.web.view.attributes.AttributeValuesPerLineProtocolAttributesRendererTests;
 import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRendererTests;
 import org.apereo.cas.web.view.attributes.InlinedCas30ProtocolAttributesRendererTests;
+import org.apereo.cas.web.view.xml.CasXmlResponseViewTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -28,7 +29,8 @@ import org.junit.runners.Suite;
     Cas30JsonResponseViewTests.class,
     DefaultCas30ProtocolAttributesRendererTests.class,
     InlinedCas30ProtocolAttributesRendererTests.class,
-    AttributeValuesPerLineProtocolAttributesRendererTests.class
+    AttributeValuesPerLineProtocolAttributesRendererTests.class,
+    CasXmlResponseViewTests.class
 })
 public class AllTestsSuite {
 }
@@ -19,6 +19,7 @@ import org.apereo.cas.web.AbstractServiceValidateController;
 import org.apereo.cas.web.AbstractServiceValidateControllerTests;
 import org.apereo.cas.web.ServiceValidateController;
 import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+import org.apereo.cas.web.view.xml.CasServiceSuccessXmlResponseView;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -196,6 +197,25 @@ public class Cas30ResponseViewTests extends AbstractServiceValidateControllerTes
         assertEquals("binaryAttributeValue", EncodingUtils.decodeBase64ToString(binaryAttr.toString()));
     }
 
+    @Test
+    public void verifyTemplateFreeView() throws Exception {
+        val modelAndView = this.getModelAndViewUponServiceValidationWithSecurePgtUrl();
+        val encoder = new DefaultCasProtocolAttributeEncoder(this.servicesManager, CipherExecutor.noOpOfStringToString());
+        val view = new Cas30ResponseView(true, encoder, servicesManager,
+            new CasServiceSuccessXmlResponseView(true, null, StandardCharsets.UTF_8.name()),
+            new DefaultAuthenticationAttributeReleasePolicy("attribute"),
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()),
+            new DefaultCas30ProtocolAttributesRenderer());
+        val resp = new MockHttpServletResponse();
+        view.render(modelAndView.getModel(), new MockHttpServletRequest(new MockServletContext()), resp);
+        val content = resp.getContentAsString();
+        assertTrue(content.contains("<cas:proxyGrantingTicket>"));
+        assertTrue(content.contains("<cas:attributes>"));
+        assertTrue(content.contains("<cas:eduPersonAffiliation>developer</cas:eduPersonAffiliation>"));
+        val binaryAttr = EncodingUtils.encodeBase64("binaryAttributeValue".getBytes(StandardCharsets.UTF_8));
+        assertTrue(content.contains("<cas:binaryAttribute>" + binaryAttr + "</cas:binaryAttribute>"));
+    }
+
     @TestConfiguration
     public static class AttributeRepositoryTestConfiguration {
         @Bean
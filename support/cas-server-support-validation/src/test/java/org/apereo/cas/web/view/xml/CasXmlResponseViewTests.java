@@ -0,0 +1,152 @@
+package org.apereo.cas.web.view.xml;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.web.view.Cas20ViewProperties;
+import org.apereo.cas.configuration.model.core.web.view.Cas30ViewProperties;
+import org.apereo.cas.web.view.CasProtocolView;
+
+import lombok.val;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CasXmlResponseViewTests}. Each view is expected to render the same response
+ * as the default protocol template does for the same model.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CasXmlResponseViewTests {
+    private static final String ENCODING = StandardCharsets.UTF_8.name();
+
+    private static final String XML_CONTENT_TYPE = "application/xml;charset=UTF-8";
+
+    private static final String HTML_CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private static final StaticWebApplicationContext APPLICATION_CONTEXT = new StaticWebApplicationContext();
+
+    private static final SpringTemplateEngine TEMPLATE_ENGINE = new SpringTemplateEngine();
+
+    private static final ThymeleafProperties THYMELEAF_PROPERTIES = new ThymeleafProperties();
+
+    @BeforeClass
+    public static void initialize() {
+        val resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(ENCODING);
+        resolver.setCacheable(false);
+        TEMPLATE_ENGINE.setTemplateResolver(resolver);
+        APPLICATION_CONTEXT.setServletContext(new MockServletContext());
+        APPLICATION_CONTEXT.refresh();
+    }
+
+    private static Map<String, Object> getMinimalSuccessModel() {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("casuser"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS, new ArrayList<>());
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES, new ArrayList<>());
+        return model;
+    }
+
+    private static Map<String, Object> getFullSuccessModel() {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("cas<user> & \"o'neil\" éè"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1-<&>");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS, List.of(
+            CoreAuthenticationTestUtils.getAuthentication("https://proxy.example.org/callback?a=1&b=<2>"),
+            CoreAuthenticationTestUtils.getAuthentication("https://proxy2.example.org")));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES, List.of(
+            "<cas:uid>cas&lt;user&gt;</cas:uid>",
+            "<cas:memberOf>staff</cas:memberOf>",
+            "<cas:memberOf>fac&amp;ulty é</cas:memberOf>"));
+        return model;
+    }
+
+    private static Map<String, Object> getFailureModel(final String code, final String description) {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE, code);
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION, description);
+        return model;
+    }
+
+    private static MockHttpServletResponse render(final View view, final Map<String, Object> model) throws Exception {
+        val request = new MockHttpServletRequest(APPLICATION_CONTEXT.getServletContext());
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, APPLICATION_CONTEXT);
+        val response = new MockHttpServletResponse();
+        view.render(new HashMap<>(model), request, response);
+        return response;
+    }
+
+    private static void verifyRenderedResponse(final View view, final Map<String, Object> model,
+                                               final String templateName, final String templateContentType,
+                                               final String expectedContentType) throws Exception {
+        val templateView = new CasProtocolView(templateName, APPLICATION_CONTEXT, TEMPLATE_ENGINE, THYMELEAF_PROPERTIES, templateContentType);
+        val expected = render(templateView, model);
+        val response = render(view, model);
+        assertEquals(expected.getContentAsString(), response.getContentAsString());
+        assertArrayEquals(expected.getContentAsByteArray(), response.getContentAsByteArray());
+        assertEquals(expected.getContentType(), response.getContentType());
+        assertEquals(expectedContentType, response.getContentType());
+    }
+
+    @Test
+    public void verifyCas2Success() throws Exception {
+        val view = new CasServiceSuccessXmlResponseView(false, MediaType.APPLICATION_XML_VALUE, ENCODING);
+        val template = new Cas20ViewProperties().getSuccess();
+        verifyRenderedResponse(view, getMinimalSuccessModel(), template, MediaType.APPLICATION_XML_VALUE, XML_CONTENT_TYPE);
+        verifyRenderedResponse(view, getFullSuccessModel(), template, MediaType.APPLICATION_XML_VALUE, XML_CONTENT_TYPE);
+    }
+
+    @Test
+    public void verifyCas3Success() throws Exception {
+        val view = new CasServiceSuccessXmlResponseView(true, null, ENCODING);
+        val template = new Cas30ViewProperties().getSuccess();
+        verifyRenderedResponse(view, getMinimalSuccessModel(), template, null, HTML_CONTENT_TYPE);
+        verifyRenderedResponse(view, getFullSuccessModel(), template, null, HTML_CONTENT_TYPE);
+    }
+
+    @Test
+    public void verifyServiceFailure() throws Exception {
+        val model = getFailureModel("INVALID_TICKET", "Ticket 'ST-1-<x>' not recognized & \"rejected\" é");
+        verifyRenderedResponse(new CasFailureXmlResponseView(CasFailureXmlResponseView.ELEMENT_AUTHENTICATION_FAILURE, null, ENCODING),
+            model, new Cas20ViewProperties().getFailure(), null, HTML_CONTENT_TYPE);
+
+        val view = new CasFailureXmlResponseView(CasFailureXmlResponseView.ELEMENT_AUTHENTICATION_FAILURE, MediaType.APPLICATION_XML_VALUE, ENCODING);
+        val template = new Cas30ViewProperties().getFailure();
+        verifyRenderedResponse(view, model, template, MediaType.APPLICATION_XML_VALUE, XML_CONTENT_TYPE);
+        verifyRenderedResponse(view, new HashMap<>(), template, MediaType.APPLICATION_XML_VALUE, XML_CONTENT_TYPE);
+    }
+
+    @Test
+    public void verifyProxyResponses() throws Exception {
+        verifyRenderedResponse(new CasProxySuccessXmlResponseView(MediaType.APPLICATION_XML_VALUE, ENCODING),
+            Map.of(CasProtocolConstants.PARAMETER_TICKET, "PT-1-<abc>&"), new Cas20ViewProperties.Proxy().getSuccess(),
+            MediaType.APPLICATION_XML_VALUE, XML_CONTENT_TYPE);
+        verifyRenderedResponse(new CasFailureXmlResponseView(CasFailureXmlResponseView.ELEMENT_PROXY_FAILURE, MediaType.APPLICATION_XML_VALUE, ENCODING),
+            getFailureModel("UNAUTHORIZED_SERVICE_PROXY", "The supplied service 'https://app.example.org?a=1&b=2' is not authorized"),
+            new Cas20ViewProperties.Proxy().getFailure(), MediaType.APPLICATION_XML_VALUE, XML_CONTENT_TYPE);
+    }
+}